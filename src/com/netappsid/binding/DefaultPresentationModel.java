@@ -2,13 +2,20 @@ package com.netappsid.binding;
 
 import java.beans.PropertyChangeEvent;
 import java.beans.PropertyChangeListener;
+import java.beans.PropertyChangeListenerProxy;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
 
 import com.jgoodies.binding.value.ValueModel;
 import com.netappsid.binding.beans.BeanAdapter;
+import com.netappsid.binding.beans.PropertyPath;
+import com.netappsid.binding.beans.PropertyPathValueModel;
 import com.netappsid.binding.beans.support.ChangeSupportFactory;
 import com.netappsid.binding.state.State;
 import com.netappsid.binding.state.StateModel;
 import com.netappsid.binding.state.StatePropertyChangeEvent;
+import com.netappsid.binding.utils.ConcurrentModelCache;
 import com.netappsid.binding.value.ValueHolder;
 import com.netappsid.observable.ObservableCollectionSupportFactory;
 import com.netappsid.undoredo.UndoRedoManager;
@@ -28,6 +35,7 @@ public class DefaultPresentationModel extends PresentationModel
 	private final StateModel stateModel;
 
 	private final UndoRedoManager undoRedoManager;
+	private final ConcurrentModelCache<PropertyPath, PropertyPathValueModel> pathValueModels;
 
 	private UpdateStateOnBeanPropertyChangeHandler stateUpdaterOnBeanPropertyChange;
 
@@ -57,11 +65,30 @@ public class DefaultPresentationModel extends PresentationModel
 
 	public DefaultPresentationModel(ChangeSupportFactory changeSupportFactory, ObservableCollectionSupportFactory observableCollectionSupportFactory,
 			Class<?> beanClass, ValueModel beanChannel, UndoRedoManager undoRedoManager)
+	{
+		this(changeSupportFactory, observableCollectionSupportFactory, beanClass, beanChannel, undoRedoManager, false);
+	}
+
+	/**
+	 * @param multiplexBeanListeners
+	 *            true to register the bean property change listeners with the bean through a single listener, for models whose bean changes often
+	 * @see BeanAdapter#BeanAdapter(ChangeSupportFactory, ObservableCollectionSupportFactory, ValueModel, Class, boolean)
+	 */
+	protected DefaultPresentationModel(ChangeSupportFactory changeSupportFactory, ObservableCollectionSupportFactory observableCollectionSupportFactory,
+			Class<?> beanClass, ValueModel beanChannel, UndoRedoManager undoRedoManager, boolean multiplexBeanListeners)
 	{
 		super(changeSupportFactory, observableCollectionSupportFactory);
 		this.undoRedoManager = undoRedoManager;
-		this.beanAdapter = new BeanAdapter(changeSupportFactory, observableCollectionSupportFactory, beanChannel, beanClass);
+		this.beanAdapter = new BeanAdapter(changeSupportFactory, observableCollectionSupportFactory, beanChannel, beanClass, multiplexBeanListeners);
 		this.stateModel = new StateModel(changeSupportFactory);
+		this.pathValueModels = new ConcurrentModelCache<PropertyPath, PropertyPathValueModel>()
+			{
+				@Override
+				protected PropertyPathValueModel create(PropertyPath path)
+				{
+					return new PropertyPathValueModel(getChangeSupportFactory(), beanAdapter.getBeanChannel(), path);
+				}
+			};
 
 		setBeanClass(beanClass);
 		beanAdapter.addPropertyChangeListener(BeanAdapter.PROPERTYNAME_BEAN, new BeanChangeHandler());
@@ -90,19 +117,41 @@ public class DefaultPresentationModel extends PresentationModel
 	@Override
 	public ValueModel getValueModel(String propertyName)
 	{
-		ValueModel valueModel = null;
-		int index = propertyName.lastIndexOf('.');
-
-		if (index == -1)
+		// Simple property names, by far the most common, are not compiled
+		if (propertyName.indexOf(PropertyPath.SEPARATOR) == -1)
 		{
-			valueModel = beanAdapter.getValueModel(propertyName);
+			return beanAdapter.getValueModel(propertyName);
 		}
-		else
+
+		final PropertyPath path = PropertyPath.compile(propertyName);
+		return getSubModel(path.getParentPath()).getValueModel(path.getLastSegment());
+	}
+
+	/**
+	 * <p>
+	 * Looks up and lazily creates a read-only ValueModel that follows the specified property path. Unlike {@link #getValueModel(String)}, no
+	 * sub-PresentationModel is created for the intermediate segments of the path; the returned model observes the beans along the path directly.
+	 * </p>
+	 * 
+	 * <p>
+	 * Subsequent calls to this method with the same path return the same ValueModel. A simple property name returns the same ValueModel as
+	 * {@link #getValueModel(String)}.
+	 * </p>
+	 * 
+	 * @param propertyPath
+	 *            a property name path delimited by '.'
+	 * @return a ValueModel that reads and observes the value at the end of the path
+	 * 
+	 * @see PropertyPathValueModel
+	 */
+	public ValueModel getPathValueModel(String propertyPath)
+	{
+		if (propertyPath.indexOf(PropertyPath.SEPARATOR) == -1)
 		{
-			valueModel = getSubModel(propertyName.substring(0, index)).getValueModel(propertyName.substring(index + 1, propertyName.length()));
+			return beanAdapter.getValueModel(propertyPath);
 		}
 
-		return valueModel;
+		return pathValueModels.get(PropertyPath.compile(propertyPath));
 	}
 
 	/**
@@ -122,6 +171,69 @@ public class DefaultPresentationModel extends PresentationModel
 	public void releaseBeanListeners()
 	{
 		beanAdapter.release();
+
+		for (PropertyPathValueModel valueModel : pathValueModels.values())
+		{
+			valueModel.release();
+		}
+
+		pathValueModels.clear();
+	}
+
+	/**
+	 * This model is also in use while its value models, other than the bean channels of its sub presentation models, or its bean have listeners.
+	 */
+	@Override
+	protected boolean isInUse()
+	{
+		if (super.isInUse() || beanAdapter.hasValueListenersOtherThan(getSubModelChannelListeners()))
+		{
+			return true;
+		}
+
+		for (PropertyPathValueModel valueModel : pathValueModels.values())
+		{
+			if (valueModel.getPropertyChangeListeners().length != 0)
+			{
+				return true;
+			}
+		}
+
+		for (PropertyChangeListener listener : beanAdapter.getBeanPropertyChangeListeners())
+		{
+			if (listener instanceof PropertyChangeListenerProxy)
+			{
+				listener = (PropertyChangeListener) ((PropertyChangeListenerProxy) listener).getListener();
+			}
+
+			if (listener != stateUpdaterOnBeanPropertyChange)
+			{
+				return true;
+			}
+		}
+
+		return false;
+	}
+
+	@Override
+	protected Collection<PropertyChangeListener> getBeanChannelListeners()
+	{
+		final List<PropertyChangeListener> listeners = new ArrayList<PropertyChangeListener>(beanAdapter.getBeanChannelListeners());
+
+		for (PropertyPathValueModel valueModel : pathValueModels.values())
+		{
+			listeners.add(valueModel.getBeanChannelHandler());
+		}
+
+		return listeners;
+	}
+
+	@Override
+	protected void dispose()
+	{
+		super.dispose();
+		releaseBeanListeners();
+		beanAdapter.dispose();
 	}
 
 	@Override
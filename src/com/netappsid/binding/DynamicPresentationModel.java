@@ -3,13 +3,18 @@ package com.netappsid.binding;
 import java.beans.PropertyChangeListener;
 import java.beans.PropertyChangeListenerProxy;
 import java.beans.PropertyChangeSupport;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 import com.google.common.collect.ImmutableMap;
 import com.jgoodies.binding.value.ValueModel;
 import com.netappsid.binding.beans.support.ChangeSupportFactory;
 import com.netappsid.binding.state.StateModel;
+import com.netappsid.binding.utils.ConcurrentModelCache;
+import com.netappsid.binding.value.AbstractValueModel;
 import com.netappsid.binding.value.ValueHolder;
 import com.netappsid.observable.ObservableCollectionSupportFactory;
 import com.netappsid.validate.Validate;
@@ -25,8 +30,15 @@ public class DynamicPresentationModel extends PresentationModel
 	private final ValueModel mapChannel;
 	private final PropertyChangeSupport propertyChangeSupport;
 	private final StateModel stateModel;
-	private final Map<String, ValueModel> namesToValueModels = new HashMap<String, ValueModel>();
-	private final Map<ValueModel, String> valueModelToNames = new HashMap<ValueModel, String>();
+	private final ConcurrentModelCache<String, ValueModel> namesToValueModels = new ConcurrentModelCache<String, ValueModel>()
+		{
+			@Override
+			protected ValueModel create(String propertyName)
+			{
+				return registerValueModel(propertyName);
+			}
+		};
+	private final Map<ValueModel, String> valueModelToNames = new ConcurrentHashMap<ValueModel, String>(8, 0.75f, 2);
 
 	public DynamicPresentationModel(ChangeSupportFactory changeSupportFactory, ObservableCollectionSupportFactory observableCollectionSupportFactory)
 	{
@@ -77,14 +89,7 @@ public class DynamicPresentationModel extends PresentationModel
 			setBean(new HashMap<String, Object>());
 		}
 
-		ValueModel valueModel = namesToValueModels.get(propertyName);
-
-		if (valueModel == null)
-		{
-			valueModel = registerValueModel(propertyName);
-		}
-
-		return valueModel;
+		return namesToValueModels.get(propertyName);
 	}
 
 	@Override
@@ -143,6 +148,60 @@ public class DynamicPresentationModel extends PresentationModel
 		return stateModel;
 	}
 
+	/**
+	 * This model is also in use while its value models have listeners other than the mapped value change handler.
+	 */
+	@Override
+	protected boolean isInUse()
+	{
+		if (super.isInUse())
+		{
+			return true;
+		}
+
+		for (ValueModel valueModel : namesToValueModels.values())
+		{
+			if (!(valueModel instanceof AbstractValueModel))
+			{
+				return true;
+			}
+
+			for (PropertyChangeListener listener : ((AbstractValueModel) valueModel).getPropertyChangeListeners())
+			{
+				if (listener instanceof PropertyChangeListenerProxy)
+				{
+					listener = (PropertyChangeListener) ((PropertyChangeListenerProxy) listener).getListener();
+				}
+
+				if (listener != getMappedValueChangeHandler())
+				{
+					return true;
+				}
+			}
+		}
+
+		return false;
+	}
+
+	@Override
+	protected Collection<PropertyChangeListener> getBeanChannelListeners()
+	{
+		if (mapBeanChangeHandler == null)
+		{
+			return Collections.emptySet();
+		}
+
+		return Collections.<PropertyChangeListener> singleton(mapBeanChangeHandler);
+	}
+
+	@Override
+	protected void dispose()
+	{
+		super.dispose();
+		releaseBeanListeners();
+		mapChannel.removeValueChangeListener(mapBeanChangeHandler);
+	}
+
 	protected Map<ValueModel, String> getValueModelToNames()
 	{
 		return ImmutableMap.copyOf(valueModelToNames);
@@ -150,24 +209,28 @@ public class DynamicPresentationModel extends PresentationModel
 
 	public Map<String, ValueModel> getNamesToValueModels()
 	{
-		return ImmutableMap.copyOf(namesToValueModels);
+		return ImmutableMap.copyOf(namesToValueModels.asMap());
 	}
 
 	@SuppressWarnings("unchecked")
 	private ValueModel registerValueModel(String propertyName)
 	{
 		Map map = (Map) getBean();
+		Object mapValue;
 
-		if (!map.containsKey(propertyName))
+		// Value models of different properties may be created concurrently
+		synchronized (map)
 		{
-			map.put(propertyName, (Object) null);
-		}
+			if (!map.containsKey(propertyName))
+			{
+				map.put(propertyName, (Object) null);
+			}
 
-		Object mapValue = map.get(propertyName);
+			mapValue = map.get(propertyName);
+		}
 
 		ValueModel valueModel = getValueModelFactory().createValueModelForMapValue(propertyName, mapValue, getChangeSupportFactory());
 		valueModel.addValueChangeListener(getMappedValueChangeHandler());
-		namesToValueModels.put(propertyName, valueModel);
 		valueModelToNames.put(valueModel, propertyName);
 
 		return valueModel;
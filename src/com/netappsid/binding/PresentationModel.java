@@ -1,8 +1,15 @@
 package com.netappsid.binding;
 
 import java.beans.PropertyChangeListener;
-import java.util.HashMap;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.IdentityHashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 
 import com.jgoodies.binding.beans.PropertyAccessException;
 import com.jgoodies.binding.beans.PropertyNotFoundException;
@@ -10,6 +17,7 @@ import com.jgoodies.binding.value.ValueModel;
 import com.netappsid.binding.beans.Bean;
 import com.netappsid.binding.beans.support.ChangeSupportFactory;
 import com.netappsid.binding.state.StateModel;
+import com.netappsid.binding.utils.ConcurrentModelCache;
 import com.netappsid.observable.ObservableCollectionSupportFactory;
 import com.netappsid.validate.Validate;
 
@@ -20,11 +28,32 @@ import com.netappsid.validate.Validate;
 @SuppressWarnings("serial")
 public abstract class PresentationModel extends Bean
 {
+	public static final int UNLIMITED_SUB_MODELS = Integer.MAX_VALUE;
+
+	private static final Comparator<Map.Entry<String, PresentationModel>> LEAST_RECENTLY_USED = new Comparator<Map.Entry<String, PresentationModel>>()
+		{
+			@Override
+			public int compare(Map.Entry<String, PresentationModel> entry1, Map.Entry<String, PresentationModel> entry2)
+			{
+				final long lastAccess1 = entry1.getValue().lastAccess;
+				final long lastAccess2 = entry2.getValue().lastAccess;
+
+				return lastAccess1 < lastAccess2 ? -1 : (lastAccess1 == lastAccess2 ? 0 : 1);
+			}
+		};
+
 	private final ChangeSupportFactory changeSupportFactory;
 	private final ObservableCollectionSupportFactory observableCollectionSupportFactory;
 	private Class<?> beanClass;
 	private PresentationModel parentModel;
-	private Map<String, PresentationModel> subModels;
+	private volatile ConcurrentModelCache<String, PresentationModel> subModels;
+	private volatile Map<String, PresentationModel> subModelPaths;
+	private volatile int subModelLimit = UNLIMITED_SUB_MODELS;
+
+	// Lookups of the sub presentation models stamp them with the clock of their parent, approximately under concurrent lookups
+	private long accessClock;
+	private long lastAccess;
+	private long evictionClock;
 
 	public PresentationModel(ChangeSupportFactory changeSupportFactory, ObservableCollectionSupportFactory observableCollectionSupportFactory)
 	{
@@ -83,12 +112,13 @@ public abstract class PresentationModel extends Bean
 	 * </p>
 	 * 
 	 * <p>
-	 * Subsequent calls to this method with the same property name return the same PresentationModel.
+	 * Subsequent calls to this method with the same property name return the same PresentationModel, even when called concurrently from several threads.
 	 * </p>
 	 * 
 	 * <p>
 	 * It is possible to pass a complex property name path. In this case, <code>PresentationModel</code> will be created for each property in the path and the
-	 * <code>PresentationModel</code> for the last property in the path will be returned. The property name delimiter is the character '.'.
+	 * <code>PresentationModel</code> for the last property in the path will be returned. The property name delimiter is the character '.'. Once resolved, a
+	 * path is found again in a single lookup.
 	 * </p>
 	 * 
 	 * @param modelName
@@ -99,26 +129,34 @@ public abstract class PresentationModel extends Bean
 	 */
 	public PresentationModel getSubModel(String modelName)
 	{
-		if (modelName.contains("."))
+		final int index = modelName.indexOf('.');
+
+		if (index == -1)
 		{
-			final String propertyName = modelName.substring(0, modelName.indexOf('.'));
-			final String subModelName = modelName.substring(modelName.indexOf('.') + 1);
+			final PresentationModel subModel = getSubModelCache().get(modelName);
 
-			return getSubModel(propertyName).getSubModel(subModelName);
+			subModel.lastAccess = ++accessClock;
+			return subModel;
+		}
+
+		// Read the paths before resolving, so that a path resolved while the paths are invalidated is not kept
+		final Map<String, PresentationModel> paths = getSubModelPaths();
+		PresentationModel subModel = paths.get(modelName);
+
+		if (subModel == null)
+		{
+			subModel = getSubModel(modelName.substring(0, index)).getSubModel(modelName.substring(index + 1));
+			paths.put(modelName, subModel);
 		}
 		else
 		{
-			PresentationModel subModel = getSubModels().get(modelName);
-			if (subModel == null)
+			for (PresentationModel model = subModel; model != this && model.parentModel != null; model = model.parentModel)
 			{
-				subModel = PresentationModelFactory.createPresentationModel(this, modelName);
-
-				getSubModels().put(modelName, subModel);
-				getStateModel().link(subModel.getStateModel());
+				model.lastAccess = ++model.parentModel.accessClock;
 			}
-
-			return subModel;
 		}
+
+		return subModel;
 	}
 
 	/**
@@ -309,23 +347,232 @@ public abstract class PresentationModel extends Bean
 
 	/**
 	 * <p>
-	 * Returns the map used to stored the sub presentation models.
+	 * Returns the sub presentation models created so far.
 	 * </p>
 	 * 
 	 * <p>
-	 * The map is lazily created the first time this method is called.
+	 * The returned map is a copy, sub presentation models are only created through {@link #getSubModel(String)}.
 	 * </p>
 	 * 
 	 * @return the map of sub presentation models.
 	 */
 	protected Map<String, PresentationModel> getSubModels()
 	{
-		if (subModels == null)
+		final ConcurrentModelCache<String, PresentationModel> cache = subModels;
+		return cache != null ? cache.asMap() : Collections.<String, PresentationModel> emptyMap();
+	}
+
+	/**
+	 * The paths are lazily created since most presentation models are never asked for complex property name paths.
+	 */
+	private Map<String, PresentationModel> getSubModelPaths()
+	{
+		Map<String, PresentationModel> paths = subModelPaths;
+
+		if (paths == null)
+		{
+			paths = new ConcurrentHashMap<String, PresentationModel>(8, 0.75f, 2);
+			subModelPaths = paths;
+		}
+
+		return paths;
+	}
+
+	/**
+	 * @return true if the given complex property name path is resolved in a single lookup
+	 */
+	boolean isSubModelPathResolved(String modelName)
+	{
+		final Map<String, PresentationModel> paths = subModelPaths;
+		return paths != null && paths.containsKey(modelName);
+	}
+
+	/**
+	 * Forgets the resolved paths of this model and of its ancestors, called when a sub presentation model below them is evicted. Adding a sub presentation
+	 * model does not change the paths already resolved.
+	 */
+	protected void invalidateSubModelPaths()
+	{
+		for (PresentationModel model = this; model != null; model = model.getParentModel())
+		{
+			model.subModelPaths = null;
+		}
+	}
+
+	public int getSubModelLimit()
+	{
+		return subModelLimit;
+	}
+
+	/**
+	 * Bounds the number of sub presentation models kept by this model and by the sub presentation models it creates from now on. Once the limit is exceeded,
+	 * the least recently used sub presentation models that are not {@link #isInUse() in use} are evicted: they are unlinked from the state model and
+	 * {@link #dispose() disposed}, and a new one is created if their property is asked for again. Sub presentation models in use are kept even above the
+	 * limit, as are those looked up since the previous eviction since their caller may not have bound them yet.
+	 * <p>
+	 *
+	 * Eviction assumes that a model is no longer referenced once nothing listens to it, it should only be enabled for hierarchies used from a single thread.
+	 *
+	 * @param subModelLimit
+	 *            the maximum number of sub presentation models, or {@link #UNLIMITED_SUB_MODELS}
+	 */
+	public void setSubModelLimit(int subModelLimit)
+	{
+		Validate.isTrue(subModelLimit >= 0, "The sub-model limit must not be negative.");
+		this.subModelLimit = subModelLimit;
+
+		final ConcurrentModelCache<String, PresentationModel> cache = subModels;
+
+		if (cache != null)
+		{
+			evictSubModels(cache);
+		}
+	}
+
+	/**
+	 * Tells if this model must be kept by its parent when its sub presentation models are evicted. A model is in use while it, its state model or one of its
+	 * sub presentation models has listeners; subclasses add the listeners of their value models.
+	 *
+	 * @return true if this model has listeners
+	 */
+	protected boolean isInUse()
+	{
+		final StateModel stateModel = getStateModel();
+
+		if (getPropertyChangeListeners().length != 0 || (stateModel != null && stateModel.getPropertyChangeListeners().length != 0))
+		{
+			return true;
+		}
+
+		for (PresentationModel subModel : getSubModels().values())
+		{
+			if (subModel.isInUse())
+			{
+				return true;
+			}
+		}
+
+		return false;
+	}
+
+	/**
+	 * Returns the listeners this model registers with its bean channel, so that they do not keep its parent {@link #isInUse() in use}.
+	 *
+	 * @return the listeners registered with the bean channel
+	 */
+	protected Collection<PropertyChangeListener> getBeanChannelListeners()
+	{
+		return Collections.emptySet();
+	}
+
+	/**
+	 * @return the listeners the sub presentation models created so far registered with the value models of this model
+	 */
+	protected Collection<PropertyChangeListener> getSubModelChannelListeners()
+	{
+		final Set<PropertyChangeListener> listeners = Collections.newSetFromMap(new IdentityHashMap<PropertyChangeListener, Boolean>());
+
+		for (PresentationModel subModel : getSubModels().values())
+		{
+			listeners.addAll(subModel.getBeanChannelListeners());
+		}
+
+		return listeners;
+	}
+
+	/**
+	 * Disposes this model once its parent has evicted it: its sub presentation models are unlinked and disposed. Subclasses also release their bean listeners
+	 * and the listeners registered with their bean channel.
+	 */
+	protected void dispose()
+	{
+		final ConcurrentModelCache<String, PresentationModel> cache = subModels;
+
+		if (cache != null)
+		{
+			for (Map.Entry<String, PresentationModel> entry : cache.asMap().entrySet())
+			{
+				evictSubModel(cache, entry.getKey(), entry.getValue());
+			}
+		}
+	}
+
+	private void evictSubModels(ConcurrentModelCache<String, PresentationModel> cache)
+	{
+		if (cache.size() <= subModelLimit)
 		{
-			subModels = new HashMap<String, PresentationModel>();
+			return;
+		}
+
+		final List<Map.Entry<String, PresentationModel>> candidates = new ArrayList<Map.Entry<String, PresentationModel>>(cache.asMap().entrySet());
+		final long previousEvictionClock = evictionClock;
+
+		evictionClock = accessClock;
+		Collections.sort(candidates, LEAST_RECENTLY_USED);
+
+		for (Map.Entry<String, PresentationModel> candidate : candidates)
+		{
+			// The remaining candidates were looked up since the previous eviction
+			if (cache.size() <= subModelLimit || candidate.getValue().lastAccess > previousEvictionClock)
+			{
+				break;
+			}
+
+			if (!candidate.getValue().isInUse())
+			{
+				evictSubModel(cache, candidate.getKey(), candidate.getValue());
+			}
+		}
+	}
+
+	private void evictSubModel(ConcurrentModelCache<String, PresentationModel> cache, String modelName, PresentationModel subModel)
+	{
+		if (cache.remove(modelName) == subModel)
+		{
+			if (getStateModel() != null)
+			{
+				getStateModel().unlink(subModel.getStateModel());
+			}
+
+			subModel.dispose();
+			invalidateSubModelPaths();
+		}
+	}
+
+	/**
+	 * The cache is lazily created since most presentation models never have sub presentation models.
+	 */
+	private ConcurrentModelCache<String, PresentationModel> getSubModelCache()
+	{
+		ConcurrentModelCache<String, PresentationModel> cache = subModels;
+
+		if (cache == null)
+		{
+			synchronized (this)
+			{
+				cache = subModels;
+
+				if (cache == null)
+				{
+					cache = new ConcurrentModelCache<String, PresentationModel>()
+						{
+							@Override
+							protected PresentationModel create(String modelName)
+							{
+								final PresentationModel subModel = PresentationModelFactory.createPresentationModel(PresentationModel.this, modelName);
+
+								getStateModel().link(subModel.getStateModel());
+								subModel.subModelLimit = subModelLimit;
+								evictSubModels(this);
+								return subModel;
+							}
+						};
+					subModels = cache;
+				}
+			}
 		}
 
-		return subModels;
+		return cache;
 	}
 
 	/**
@@ -8,7 +8,7 @@ import java.lang.reflect.WildcardType;
 import java.util.List;
 import java.util.Map;
 
-import com.netappsid.binding.beans.BeanUtils;
+import com.netappsid.binding.beans.BeanClassMetadata;
 
 public class PresentationModelFactory
 {
@@ -80,7 +80,7 @@ public class PresentationModelFactory
 	{
 		try
 		{
-			return BeanUtils.getPropertyDescriptor(beanClass, propertyName);
+			return BeanClassMetadata.forClass(beanClass).getPropertyDescriptor(propertyName);
 		}
 		catch (IntrospectionException e)
 		{
@@ -0,0 +1,294 @@
+package com.netappsid.binding;
+
+import java.beans.PropertyChangeEvent;
+import java.beans.PropertyChangeListener;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.List;
+
+import com.netappsid.binding.beans.BeanClassMetadata;
+import com.netappsid.binding.beans.BeanUtils;
+import com.netappsid.binding.beans.PropertyMetadata;
+import com.netappsid.binding.beans.support.ChangeSupportFactory;
+import com.netappsid.binding.state.State;
+import com.netappsid.binding.value.ValueHolder;
+import com.netappsid.observable.ObservableCollectionSupportFactory;
+
+/**
+ * A presentation model of the rows of a table, adapting one row at a time. A single set of value models and sub presentation models is shared by every row
+ * and follows a cursor that is moved from row to row, instead of one {@link DefaultPresentationModel} per row. The bean listeners are multiplexed so that
+ * moving the cursor costs the same whatever the number of bound columns.
+ * <p>
+ *
+ * The state of each row is kept in a bit set: the state model reflects the state of the row under the cursor, and a row becomes dirty when the state model
+ * becomes dirty while the cursor is on it. Memory use does not depend on the number of rows.
+ * <p>
+ *
+ * Cell renderers read the rows with {@link #getValueAt(int, String)}, which neither moves the cursor nor fires events. Like the Swing table models, this model
+ * is meant to be used from the event dispatch thread only.
+ *
+ * @author NetAppsID Inc.
+ */
+@SuppressWarnings("serial")
+public class RowCursorPresentationModel extends DefaultPresentationModel
+{
+	public static final int NO_ROW = -1;
+
+	public static final String PROPERTYNAME_ROW = "row";
+	public static final String PROPERTYNAME_ROWS = "rows";
+
+	private final BitSet dirtyRows = new BitSet();
+	private List<?> rows;
+	private int row = NO_ROW;
+	private boolean repositioning;
+	private BeanClassMetadata lastMetadata;
+
+	public RowCursorPresentationModel(ChangeSupportFactory changeSupportFactory, ObservableCollectionSupportFactory observableCollectionSupportFactory,
+			Class<?> beanClass, List<?> rows)
+	{
+		super(changeSupportFactory, observableCollectionSupportFactory, beanClass, new ValueHolder(changeSupportFactory, null, true), null, true);
+		this.rows = rows != null ? rows : Collections.emptyList();
+
+		getStateModel().addStateChangeListener(new RowStateHandler());
+	}
+
+	public List<?> getRows()
+	{
+		return rows;
+	}
+
+	/**
+	 * Replaces the adapted rows, the cursor is moved to {@link #NO_ROW} and every row is clean.
+	 */
+	public void setRows(List<?> rows)
+	{
+		final List<?> oldValue = this.rows;
+
+		moveTo(NO_ROW);
+		this.rows = rows != null ? rows : Collections.emptyList();
+		dirtyRows.clear();
+		fireIdentityPropertyChange(PROPERTYNAME_ROWS, oldValue, this.rows);
+	}
+
+	public int getRowCount()
+	{
+		return rows.size();
+	}
+
+	/**
+	 * @return the index of the row under the cursor or {@link #NO_ROW}
+	 */
+	public int getRow()
+	{
+		return row;
+	}
+
+	/**
+	 * Moves the cursor to the given row, the value models then adapt its bean and the state model takes its state.
+	 *
+	 * @param row
+	 *            the index of the row to adapt or {@link #NO_ROW}
+	 * @throws IndexOutOfBoundsException
+	 *             if there is no row at the given index
+	 */
+	public void moveTo(int row)
+	{
+		final Object bean = row == NO_ROW ? null : rows.get(row);
+		final int oldValue = this.row;
+
+		repositioning = true;
+
+		try
+		{
+			this.row = row;
+			super.setBean(bean);
+
+			final State rowState = row != NO_ROW && dirtyRows.get(row) ? State.DIRTY : State.CLEAN;
+
+			if (getStateModel().getState() != rowState)
+			{
+				getStateModel().setState(rowState);
+			}
+		}
+		finally
+		{
+			repositioning = false;
+		}
+
+		firePropertyChange(PROPERTYNAME_ROW, oldValue, row);
+	}
+
+	/**
+	 * Moves the cursor to the row of the given bean, found by a linear search of the rows.
+	 *
+	 * @throws IllegalArgumentException
+	 *             if the bean is not one of the rows
+	 */
+	@Override
+	public void setBean(Object newBean)
+	{
+		if (newBean == null)
+		{
+			moveTo(NO_ROW);
+		}
+		else if (row != NO_ROW && rows.get(row) == newBean)
+		{
+			super.setBean(newBean);
+		}
+		else
+		{
+			final int newRow = rows.indexOf(newBean);
+
+			if (newRow == -1)
+			{
+				throw new IllegalArgumentException("The bean is not one of the rows.");
+			}
+
+			moveTo(newRow);
+		}
+	}
+
+	/**
+	 * Reads a property of a row without moving the cursor nor firing any event. Properties the bean of the row does not have read as {@code null}, like
+	 * through the value models.
+	 *
+	 * @throws IndexOutOfBoundsException
+	 *             if there is no row at the given index
+	 */
+	public Object getValueAt(int row, String propertyName)
+	{
+		final Object bean = rows.get(row);
+
+		if (bean == null)
+		{
+			return null;
+		}
+
+		final PropertyMetadata property = getProperty(bean.getClass(), propertyName);
+		return property != null && property.isReadable() ? BeanUtils.getValue(bean, property) : null;
+	}
+
+	public boolean isRowDirty(int row)
+	{
+		return dirtyRows.get(row);
+	}
+
+	/**
+	 * @return a copy of the indexes of the dirty rows
+	 */
+	public BitSet getDirtyRows()
+	{
+		return (BitSet) dirtyRows.clone();
+	}
+
+	public int getDirtyRowCount()
+	{
+		return dirtyRows.cardinality();
+	}
+
+	/**
+	 * Makes every row clean, including the row under the cursor.
+	 */
+	public void resetRowStates()
+	{
+		dirtyRows.clear();
+		getStateModel().resetState();
+	}
+
+	/**
+	 * Shifts the row states and the cursor after rows have been inserted into the list of rows.
+	 */
+	public void rowsInserted(int firstRow, int count)
+	{
+		final BitSet shiftedRows = new BitSet();
+
+		for (int index = dirtyRows.nextSetBit(0); index >= 0; index = dirtyRows.nextSetBit(index + 1))
+		{
+			shiftedRows.set(index < firstRow ? index : index + count);
+		}
+
+		replaceDirtyRows(shiftedRows);
+
+		if (row != NO_ROW && row >= firstRow)
+		{
+			final int oldValue = row;
+
+			row += count;
+			firePropertyChange(PROPERTYNAME_ROW, oldValue, row);
+		}
+	}
+
+	/**
+	 * Shifts the row states and the cursor after rows have been removed from the list of rows. The cursor is moved to {@link #NO_ROW} if its row was removed.
+	 */
+	public void rowsRemoved(int firstRow, int count)
+	{
+		final BitSet shiftedRows = new BitSet();
+
+		for (int index = dirtyRows.nextSetBit(0); index >= 0; index = dirtyRows.nextSetBit(index + 1))
+		{
+			if (index < firstRow)
+			{
+				shiftedRows.set(index);
+			}
+			else if (index >= firstRow + count)
+			{
+				shiftedRows.set(index - count);
+			}
+		}
+
+		replaceDirtyRows(shiftedRows);
+
+		if (row != NO_ROW && row >= firstRow + count)
+		{
+			final int oldValue = row;
+
+			row -= count;
+			firePropertyChange(PROPERTYNAME_ROW, oldValue, row);
+		}
+		else if (row != NO_ROW && row >= firstRow)
+		{
+			moveTo(NO_ROW);
+		}
+	}
+
+	private void replaceDirtyRows(BitSet newDirtyRows)
+	{
+		dirtyRows.clear();
+		dirtyRows.or(newDirtyRows);
+	}
+
+	private PropertyMetadata getProperty(Class<?> beanClass, String propertyName)
+	{
+		try
+		{
+			BeanClassMetadata metadata = lastMetadata;
+
+			// The rows of a table are usually of the same class, skip the shared cache lookup in that case
+			if (metadata == null || metadata.getBeanClass() != beanClass)
+			{
+				metadata = BeanClassMetadata.forClass(beanClass);
+				lastMetadata = metadata;
+			}
+
+			return metadata.getProperty(propertyName);
+		}
+		catch (Exception e)
+		{
+			// Introspection failures read as missing properties, like through the value models
+			return null;
+		}
+	}
+
+	private final class RowStateHandler implements PropertyChangeListener
+	{
+		@Override
+		public void propertyChange(PropertyChangeEvent evt)
+		{
+			if (!repositioning && row != NO_ROW)
+			{
+				dirtyRows.set(row, evt.getNewValue() == State.DIRTY);
+			}
+		}
+	}
+}
@@ -7,10 +7,6 @@ import java.awt.event.FocusAdapter;
 import java.awt.event.FocusEvent;
 import java.beans.PropertyChangeEvent;
 import java.beans.PropertyChangeListener;
-import java.beans.PropertyChangeListenerProxy;
-import java.beans.PropertyChangeSupport;
-import java.lang.ref.ReferenceQueue;
-import java.lang.ref.WeakReference;
 
 import javax.swing.JCheckBox;
 import javax.swing.JCheckBoxMenuItem;
@@ -33,7 +29,9 @@ import com.jgoodies.binding.adapter.SingleListSelectionAdapter;
 import com.jgoodies.binding.adapter.ToggleButtonAdapter;
 import com.jgoodies.binding.value.ValueModel;
 import com.netappsid.binding.beans.PropertyConnector;
+import com.netappsid.binding.beans.support.IdentityPropertyChangeSupport;
 import com.netappsid.binding.beans.support.SwingChangeSupportFactory;
+import com.netappsid.binding.beans.support.WeakChangeSupportFactory;
 import com.netappsid.binding.list.SelectionInList;
 import com.netappsid.binding.value.BufferedValueModel;
 import com.netappsid.binding.value.ComponentValueModel;
@@ -780,7 +778,7 @@ public final class Bindings
 	private static final class WeakTrigger implements ValueModel
 	{
 
-		private final transient WeakPropertyChangeSupport changeSupport;
+		private final transient IdentityPropertyChangeSupport changeSupport;
 
 		private Boolean value;
 
@@ -792,7 +790,7 @@ public final class Bindings
 		WeakTrigger()
 		{
 			value = null;
-			changeSupport = new WeakPropertyChangeSupport(this);
+			changeSupport = new WeakChangeSupportFactory().createIdentityPropertyChangeSupport(this);
 		}
 
 		// ValueModel Implementation **********************************************
@@ -919,200 +917,4 @@ public final class Bindings
 
 	}
 
-	/**
-	 * Differs from its superclass {@link PropertyChangeSupport} in that it uses WeakReferences for registering listeners. It wraps registered
-	 * PropertyChangeListeners with instances of WeakPropertyChangeListener and cleans up a list of stale references when firing an event.
-	 * <p>
-	 * 
-	 * TODO: Merge this WeakPropertyChangeSupport with the ExtendedPropertyChangeSupport.
-	 */
-	private static final class WeakPropertyChangeSupport extends PropertyChangeSupport
-	{
-
-		// Instance Creation ******************************************************
-
-		/**
-		 * Constructs a WeakPropertyChangeSupport object.
-		 * 
-		 * @param sourceBean
-		 *            The bean to be given as the source for any events.
-		 */
-		WeakPropertyChangeSupport(Object sourceBean)
-		{
-			super(sourceBean);
-		}
-
-		// Managing Property Change Listeners **********************************
-
-		/** {@inheritDoc} */
-		@Override
-		public synchronized void addPropertyChangeListener(PropertyChangeListener listener)
-		{
-			if (listener == null)
-				return;
-			if (listener instanceof PropertyChangeListenerProxy)
-			{
-				PropertyChangeListenerProxy proxy = (PropertyChangeListenerProxy) listener;
-				// Call two argument add method.
-				addPropertyChangeListener(proxy.getPropertyName(), (PropertyChangeListener) proxy.getListener());
-			}
-			else
-			{
-				super.addPropertyChangeListener(new WeakPropertyChangeListener(listener));
-			}
-		}
-
-		/** {@inheritDoc} */
-		@Override
-		public synchronized void addPropertyChangeListener(String propertyName, PropertyChangeListener listener)
-		{
-			if (listener == null)
-				return;
-			super.addPropertyChangeListener(propertyName, new WeakPropertyChangeListener(propertyName, listener));
-		}
-
-		/** {@inheritDoc} */
-		@Override
-		public synchronized void removePropertyChangeListener(PropertyChangeListener listener)
-		{
-			if (listener == null)
-				return;
-			if (listener instanceof PropertyChangeListenerProxy)
-			{
-				PropertyChangeListenerProxy proxy = (PropertyChangeListenerProxy) listener;
-				// Call two argument remove method.
-				removePropertyChangeListener(proxy.getPropertyName(), (PropertyChangeListener) proxy.getListener());
-				return;
-			}
-			PropertyChangeListener[] listeners = getPropertyChangeListeners();
-			WeakPropertyChangeListener wpcl;
-			for (int i = listeners.length - 1; i >= 0; i--)
-			{
-				if (listeners[i] instanceof PropertyChangeListenerProxy)
-					continue;
-				wpcl = (WeakPropertyChangeListener) listeners[i];
-				if (wpcl.get() == listener)
-				{
-					// TODO: Should we call here the #clear() method of wpcl???
-					super.removePropertyChangeListener(wpcl);
-					break;
-				}
-			}
-		}
-
-		/** {@inheritDoc} */
-		@Override
-		public synchronized void removePropertyChangeListener(String propertyName, PropertyChangeListener listener)
-		{
-			if (listener == null)
-				return;
-			PropertyChangeListener[] listeners = getPropertyChangeListeners(propertyName);
-			WeakPropertyChangeListener wpcl;
-			for (int i = listeners.length - 1; i >= 0; i--)
-			{
-				wpcl = (WeakPropertyChangeListener) listeners[i];
-				if (wpcl.get() == listener)
-				{
-					// TODO: Should we call here the #clear() method of wpcl???
-					super.removePropertyChangeListener(propertyName, wpcl);
-					break;
-				}
-			}
-		}
-
-		// Firing Events **********************************************************
-
-		/**
-		 * Fires the specified PropertyChangeEvent to any registered listeners.
-		 * 
-		 * @param evt
-		 *            The PropertyChangeEvent object.
-		 * 
-		 * @see PropertyChangeSupport#firePropertyChange(PropertyChangeEvent)
-		 */
-		@Override
-		public void firePropertyChange(PropertyChangeEvent evt)
-		{
-			cleanUp();
-			super.firePropertyChange(evt);
-		}
-
-		/**
-		 * Reports a bound property update to any registered listeners.
-		 * 
-		 * @param propertyName
-		 *            The programmatic name of the property that was changed.
-		 * @param oldValue
-		 *            The old value of the property.
-		 * @param newValue
-		 *            The new value of the property.
-		 * 
-		 * @see PropertyChangeSupport#firePropertyChange(String, Object, Object)
-		 */
-		@Override
-		public void firePropertyChange(String propertyName, Object oldValue, Object newValue)
-		{
-			cleanUp();
-			super.firePropertyChange(propertyName, oldValue, newValue);
-		}
-
-		static final ReferenceQueue<PropertyChangeListener> QUEUE = new ReferenceQueue<PropertyChangeListener>();
-
-		private static void cleanUp()
-		{
-			WeakPropertyChangeListener wpcl;
-			while ((wpcl = (WeakPropertyChangeListener) QUEUE.poll()) != null)
-			{
-				wpcl.removeListener();
-			}
-		}
-
-		void removeWeakPropertyChangeListener(WeakPropertyChangeListener l)
-		{
-			if (l.propertyName == null)
-			{
-				super.removePropertyChangeListener(l);
-			}
-			else
-			{
-				super.removePropertyChangeListener(l.propertyName, l);
-			}
-		}
-
-		/**
-		 * Wraps a PropertyChangeListener to make it weak.
-		 */
-		private final class WeakPropertyChangeListener extends WeakReference<PropertyChangeListener> implements PropertyChangeListener
-		{
-
-			final String propertyName;
-
-			private WeakPropertyChangeListener(PropertyChangeListener delegate)
-			{
-				this(null, delegate);
-			}
-
-			private WeakPropertyChangeListener(String propertyName, PropertyChangeListener delegate)
-			{
-				super(delegate, QUEUE);
-				this.propertyName = propertyName;
-			}
-
-			/** {@inheritDoc} */
-			public void propertyChange(PropertyChangeEvent evt)
-			{
-				PropertyChangeListener delegate = get();
-				if (delegate != null)
-				{
-					delegate.propertyChange(evt);
-				}
-			}
-
-			void removeListener()
-			{
-				removeWeakPropertyChangeListener(this);
-			}
-		}
-	}
-
 }
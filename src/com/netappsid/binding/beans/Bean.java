@@ -6,119 +6,256 @@ import java.beans.PropertyVetoException;
 import java.beans.VetoableChangeListener;
 import java.beans.VetoableChangeSupport;
 import java.io.Serializable;
+import java.util.concurrent.atomic.AtomicReferenceFieldUpdater;
 
 import com.jgoodies.binding.BindingUtils;
 import com.netappsid.binding.beans.support.ChangeSupportFactory;
 import com.netappsid.binding.beans.support.IdentityPropertyChangeSupport;
+import com.netappsid.binding.beans.support.StandardChangeSupportFactory;
 import com.netappsid.observable.ObservableByName;
+import com.netappsid.validate.Validate;
 
+/**
+ * Base class of the observable beans and models. Listener registration does not lock the bean: the change supports created by the
+ * {@link ChangeSupportFactory} are thread safe on their own, and the ones of the {@link com.netappsid.binding.beans.support.KeyedChangeSupportFactory}
+ * never lock, so that a fire is a plain read of the current listeners.
+ * <p>
+ *
+ * The change supports are only created when the first listener is registered, most beans and value models never get a vetoable listener. Until then the
+ * fire methods return without doing anything.
+ *
+ * @author NetAppsID Inc.
+ */
 public abstract class Bean implements ObservableByName, Serializable
 {
-	private final IdentityPropertyChangeSupport propertyChangeSupport;
-	private final VetoableChangeSupport vetoableChangeSupport;
+	private static final PropertyChangeListener[] NO_PROPERTY_CHANGE_LISTENERS = new PropertyChangeListener[0];
+	private static final VetoableChangeListener[] NO_VETOABLE_CHANGE_LISTENERS = new VetoableChangeListener[0];
+
+	private static final AtomicReferenceFieldUpdater<Bean, IdentityPropertyChangeSupport> PROPERTY_CHANGE_SUPPORT_UPDATER = AtomicReferenceFieldUpdater
+			.newUpdater(Bean.class, IdentityPropertyChangeSupport.class, "propertyChangeSupport");
+	private static final AtomicReferenceFieldUpdater<Bean, VetoableChangeSupport> VETOABLE_CHANGE_SUPPORT_UPDATER = AtomicReferenceFieldUpdater.newUpdater(
+			Bean.class, VetoableChangeSupport.class, "vetoableChangeSupport");
+
+	private transient ChangeSupportFactory changeSupportFactory;
+	private volatile IdentityPropertyChangeSupport propertyChangeSupport;
+	private volatile VetoableChangeSupport vetoableChangeSupport;
 
 	public Bean(ChangeSupportFactory changeSupportFactory)
 	{
-		this.propertyChangeSupport = changeSupportFactory.createIdentityPropertyChangeSupport(this);
-		this.vetoableChangeSupport = changeSupportFactory.createVetoableChangeSupport(this);
+		this.changeSupportFactory = Validate.notNull(changeSupportFactory, "The change support factory must not be null.");
 	}
 
 	@Override
-	public synchronized void addPropertyChangeListener(PropertyChangeListener listener)
+	public void addPropertyChangeListener(PropertyChangeListener listener)
 	{
-		propertyChangeSupport.addPropertyChangeListener(listener);
+		if (listener != null)
+		{
+			getOrCreatePropertyChangeSupport().addPropertyChangeListener(listener);
+		}
 	}
 
 	@Override
-	public synchronized void removePropertyChangeListener(PropertyChangeListener listener)
+	public void removePropertyChangeListener(PropertyChangeListener listener)
 	{
-		propertyChangeSupport.removePropertyChangeListener(listener);
+		final IdentityPropertyChangeSupport support = propertyChangeSupport;
+
+		if (support != null)
+		{
+			support.removePropertyChangeListener(listener);
+		}
 	}
 
 	@Override
-	public synchronized void addPropertyChangeListener(String propertyName, PropertyChangeListener listener)
+	public void addPropertyChangeListener(String propertyName, PropertyChangeListener listener)
 	{
-		propertyChangeSupport.addPropertyChangeListener(propertyName, listener);
+		if (listener != null)
+		{
+			getOrCreatePropertyChangeSupport().addPropertyChangeListener(propertyName, listener);
+		}
 	}
 
 	@Override
-	public synchronized void removePropertyChangeListener(String propertyName, PropertyChangeListener listener)
+	public void removePropertyChangeListener(String propertyName, PropertyChangeListener listener)
 	{
-		propertyChangeSupport.removePropertyChangeListener(propertyName, listener);
+		final IdentityPropertyChangeSupport support = propertyChangeSupport;
+
+		if (support != null)
+		{
+			support.removePropertyChangeListener(propertyName, listener);
+		}
 	}
 
-	public synchronized void addVetoableChangeListener(VetoableChangeListener listener)
+	public void addVetoableChangeListener(VetoableChangeListener listener)
 	{
-		vetoableChangeSupport.addVetoableChangeListener(listener);
+		if (listener != null)
+		{
+			getOrCreateVetoableChangeSupport().addVetoableChangeListener(listener);
+		}
 	}
 
-	public synchronized void removeVetoableChangeListener(VetoableChangeListener listener)
+	public void removeVetoableChangeListener(VetoableChangeListener listener)
 	{
-		vetoableChangeSupport.removeVetoableChangeListener(listener);
+		final VetoableChangeSupport support = vetoableChangeSupport;
+
+		if (support != null)
+		{
+			support.removeVetoableChangeListener(listener);
+		}
 	}
 
-	public synchronized void addVetoableChangeListener(String propertyName, VetoableChangeListener listener)
+	public void addVetoableChangeListener(String propertyName, VetoableChangeListener listener)
 	{
-		vetoableChangeSupport.addVetoableChangeListener(propertyName, listener);
+		if (listener != null)
+		{
+			getOrCreateVetoableChangeSupport().addVetoableChangeListener(propertyName, listener);
+		}
 	}
 
-	public synchronized void removeVetoableChangeListener(String propertyName, VetoableChangeListener listener)
+	public void removeVetoableChangeListener(String propertyName, VetoableChangeListener listener)
 	{
-		vetoableChangeSupport.removeVetoableChangeListener(propertyName, listener);
+		final VetoableChangeSupport support = vetoableChangeSupport;
+
+		if (support != null)
+		{
+			support.removeVetoableChangeListener(propertyName, listener);
+		}
 	}
 
-	public synchronized PropertyChangeListener[] getPropertyChangeListeners()
+	public PropertyChangeListener[] getPropertyChangeListeners()
 	{
-		return propertyChangeSupport.getPropertyChangeListeners();
+		final IdentityPropertyChangeSupport support = propertyChangeSupport;
+		return support != null ? support.getPropertyChangeListeners() : NO_PROPERTY_CHANGE_LISTENERS;
 	}
 
-	public synchronized PropertyChangeListener[] getPropertyChangeListeners(String propertyName)
+	public PropertyChangeListener[] getPropertyChangeListeners(String propertyName)
 	{
-		return propertyChangeSupport.getPropertyChangeListeners(propertyName);
+		final IdentityPropertyChangeSupport support = propertyChangeSupport;
+		return support != null ? support.getPropertyChangeListeners(propertyName) : NO_PROPERTY_CHANGE_LISTENERS;
 	}
 
-	public synchronized VetoableChangeListener[] getVetoableChangeListeners()
+	public VetoableChangeListener[] getVetoableChangeListeners()
 	{
-		return vetoableChangeSupport.getVetoableChangeListeners();
+		final VetoableChangeSupport support = vetoableChangeSupport;
+		return support != null ? support.getVetoableChangeListeners() : NO_VETOABLE_CHANGE_LISTENERS;
 	}
 
-	public synchronized VetoableChangeListener[] getVetoableChangeListeners(String propertyName)
+	public VetoableChangeListener[] getVetoableChangeListeners(String propertyName)
 	{
-		return vetoableChangeSupport.getVetoableChangeListeners(propertyName);
+		final VetoableChangeSupport support = vetoableChangeSupport;
+		return support != null ? support.getVetoableChangeListeners(propertyName) : NO_VETOABLE_CHANGE_LISTENERS;
+	}
+
+	/**
+	 * Tells whether listeners would be notified of a change of the given property, so that callers can skip building the event values.
+	 */
+	protected boolean hasListeners(String propertyName)
+	{
+		final IdentityPropertyChangeSupport support = propertyChangeSupport;
+		return support != null && support.hasListeners(propertyName);
 	}
 
 	protected void firePropertyChange(PropertyChangeEvent event)
 	{
-		propertyChangeSupport.firePropertyChange(event);
+		final IdentityPropertyChangeSupport support = propertyChangeSupport;
+
+		if (support != null)
+		{
+			support.firePropertyChange(event);
+		}
 	}
 
 	protected void firePropertyChange(String propertyName, Object oldValue, Object newValue)
 	{
-		propertyChangeSupport.firePropertyChange(propertyName, oldValue, newValue);
+		final IdentityPropertyChangeSupport support = propertyChangeSupport;
+
+		if (support != null)
+		{
+			support.firePropertyChange(propertyName, oldValue, newValue);
+		}
 	}
 
 	protected void fireIdentityPropertyChange(String propertyName, Object oldValue, Object newValue)
 	{
-		propertyChangeSupport.fireIdentityPropertyChange(propertyName, oldValue, newValue);
+		final IdentityPropertyChangeSupport support = propertyChangeSupport;
+
+		if (support != null)
+		{
+			support.fireIdentityPropertyChange(propertyName, oldValue, newValue);
+		}
 	}
 
 	protected void fireIndexedPropertyChange(String propertyName, int index, Object oldValue, Object newValue)
 	{
-		propertyChangeSupport.fireIndexedPropertyChange(propertyName, index, oldValue, newValue);
+		final IdentityPropertyChangeSupport support = propertyChangeSupport;
+
+		if (support != null)
+		{
+			support.fireIndexedPropertyChange(propertyName, index, oldValue, newValue);
+		}
 	}
 
 	protected void fireVetoableChange(PropertyChangeEvent event) throws PropertyVetoException
 	{
-		vetoableChangeSupport.fireVetoableChange(event);
+		final VetoableChangeSupport support = vetoableChangeSupport;
+
+		if (support != null)
+		{
+			support.fireVetoableChange(event);
+		}
 	}
 
 	protected void fireVetoableChange(String propertyName, Object oldValue, Object newValue) throws PropertyVetoException
 	{
-		vetoableChangeSupport.fireVetoableChange(propertyName, oldValue, newValue);
+		final VetoableChangeSupport support = vetoableChangeSupport;
+
+		if (support != null)
+		{
+			support.fireVetoableChange(propertyName, oldValue, newValue);
+		}
 	}
 
 	protected boolean equals(Object o1, Object o2)
 	{
 		return BindingUtils.equals(o1, o2);
 	}
+
+	private IdentityPropertyChangeSupport getOrCreatePropertyChangeSupport()
+	{
+		IdentityPropertyChangeSupport support = propertyChangeSupport;
+
+		if (support == null)
+		{
+			// Threads racing on the first registration each create a support, only the first one published is kept
+			PROPERTY_CHANGE_SUPPORT_UPDATER.compareAndSet(this, null, getSupportFactory().createIdentityPropertyChangeSupport(this));
+			support = propertyChangeSupport;
+		}
+
+		return support;
+	}
+
+	private VetoableChangeSupport getOrCreateVetoableChangeSupport()
+	{
+		VetoableChangeSupport support = vetoableChangeSupport;
+
+		if (support == null)
+		{
+			VETOABLE_CHANGE_SUPPORT_UPDATER.compareAndSet(this, null, getSupportFactory().createVetoableChangeSupport(this));
+			support = vetoableChangeSupport;
+		}
+
+		return support;
+	}
+
+	/**
+	 * The factory is not serialized, deserialized beans create their missing supports with the standard one.
+	 */
+	private ChangeSupportFactory getSupportFactory()
+	{
+		if (changeSupportFactory == null)
+		{
+			changeSupportFactory = new StandardChangeSupportFactory();
+		}
+
+		return changeSupportFactory;
+	}
 }
@@ -1,14 +1,20 @@
 package com.netappsid.binding.beans;
 
+import java.beans.IntrospectionException;
 import java.beans.PropertyChangeEvent;
 import java.beans.PropertyChangeListener;
+import java.beans.PropertyVetoException;
+import java.util.Arrays;
+import java.util.Collection;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
-import com.google.common.collect.Lists;
 import com.jgoodies.binding.beans.PropertyUnboundException;
 import com.jgoodies.binding.value.ValueModel;
 import com.netappsid.binding.beans.support.ChangeSupportFactory;
+import com.netappsid.binding.beans.support.ListenerLeakTracker;
+import com.netappsid.binding.utils.ConcurrentModelCache;
 import com.netappsid.binding.value.AbstractValueModel;
 import com.netappsid.binding.value.IndexedCollectionValueModel;
 import com.netappsid.binding.value.ValueHolder;
@@ -21,11 +27,20 @@ public class BeanAdapter extends Bean
 	private final ObservableCollectionSupportFactory observableCollectionSupportFactory;
 	private final ValueModel beanChannel;
 	private final Class<?> beanClass;
-	private final Map<String, SimplePropertyAdapter> propertyAdapters;
-	private final Map<String, CollectionValueModel> collectionValueModels;
+	private final ConcurrentModelCache<String, SimplePropertyAdapter> propertyAdapters;
+	private final ConcurrentModelCache<String, CollectionValueModel> collectionValueModels;
+	private final Map<List<String>, BeanProjection> projections;
 	private final IndirectPropertyChangeSupport indirectChangeSupport;
 	private final PropertyChangeListener propertyChangeHandler;
+	private final PropertyChangeListener beanChangeHandler;
+	private final BeanSwitcher beanSwitcher;
+	private final Object observerLock = new Object();
 	private Object storedOldBean;
+	private Object followedBean;
+	private Object observedBean;
+	private int listeningAdapterCount;
+	private boolean released;
+	private boolean updatingObserver;
 
 	public BeanAdapter(ChangeSupportFactory changeSupportFactory, ObservableCollectionSupportFactory observableCollectionSupportFactory, Class<?> beanClass)
 	{
@@ -40,21 +55,51 @@ public class BeanAdapter extends Bean
 
 	public BeanAdapter(ChangeSupportFactory changeSupportFactory, ObservableCollectionSupportFactory observableCollectionSupportFactory,
 			ValueModel beanChannel, Class<?> beanClass)
+	{
+		this(changeSupportFactory, observableCollectionSupportFactory, beanChannel, beanClass, false);
+	}
+
+	/**
+	 * @param multiplexBeanListeners
+	 *            true to register the bean property change listeners with the bean through a single listener, so that a bean switch costs the same whatever
+	 *            their number
+	 * @see IndirectPropertyChangeSupport#IndirectPropertyChangeSupport(ValueModel, boolean)
+	 */
+	public BeanAdapter(ChangeSupportFactory changeSupportFactory, ObservableCollectionSupportFactory observableCollectionSupportFactory,
+			ValueModel beanChannel, Class<?> beanClass, boolean multiplexBeanListeners)
 	{
 		super(changeSupportFactory);
 		this.changeSupportFactory = changeSupportFactory;
 		this.observableCollectionSupportFactory = observableCollectionSupportFactory;
 		this.beanChannel = beanChannel != null ? beanChannel : new ValueHolder(changeSupportFactory, null, true);
 		this.beanClass = Validate.notNull(beanClass);
-		this.propertyAdapters = new HashMap<String, SimplePropertyAdapter>();
-		this.collectionValueModels = new HashMap<String, CollectionValueModel>();
-		this.indirectChangeSupport = new IndirectPropertyChangeSupport(this.beanChannel);
+		this.propertyAdapters = new ConcurrentModelCache<String, SimplePropertyAdapter>()
+			{
+				@Override
+				protected SimplePropertyAdapter create(String propertyName)
+				{
+					return createPropertyAdapter(propertyName);
+				}
+			};
+		this.collectionValueModels = new ConcurrentModelCache<String, CollectionValueModel>()
+			{
+				@Override
+				protected CollectionValueModel create(String propertyName)
+				{
+					return createCollectionValueModel(propertyName);
+				}
+			};
+		this.projections = new HashMap<List<String>, BeanProjection>();
+		this.indirectChangeSupport = new IndirectPropertyChangeSupport(this.beanChannel, multiplexBeanListeners);
 		this.propertyChangeHandler = new PropertyChangeHandler();
-		this.beanChannel.addValueChangeListener(new BeanChangeHandler());
+		this.beanSwitcher = new BeanSwitcher();
+		this.beanChangeHandler = new BeanChangeHandler();
+		this.beanChannel.addValueChangeListener(beanChangeHandler);
 		this.storedOldBean = getBean();
+		this.followedBean = storedOldBean;
 
 		checkBeanChannelIdentityCheck(this.beanChannel);
-		addChangeHandlerTo(getBean());
+		checkBoundProperties(getBean());
 	}
 
 	public Class<?> getBeanClass()
@@ -87,33 +132,116 @@ public class BeanAdapter extends Bean
 		getValueModel(propertyName).setValue(newValue);
 	}
 
-	public SimplePropertyAdapter getValueModel(String propertyName)
+	/**
+	 * Reads the given properties of the adapted bean in one pass, without creating a property adapter per property. The projection of a given list of
+	 * properties is compiled once and reused on subsequent calls.
+	 *
+	 * @return the values of the given properties, all {@code null} if there is no bean
+	 * @see BeanProjection
+	 */
+	public Object[] snapshot(String... propertyNames)
 	{
-		Validate.notNull(propertyName, "The property name must not be null.");
+		return snapshot(getProjection(propertyNames));
+	}
+
+	public Object[] snapshot(BeanProjection projection)
+	{
+		return projection.read(getBean());
+	}
 
-		SimplePropertyAdapter registeredPropertyAdapter = propertyAdapters.get(propertyName);
+	/**
+	 * Writes the given values back to the projected properties of the adapted bean, creating the bean if there is none. Adapters of the written properties
+	 * fire their value changes through the bean's own property changes.
+	 *
+	 * @throws PropertyVetoException
+	 *             if a bean setter throws this exception
+	 */
+	public void applyAll(BeanProjection projection, Object[] values) throws PropertyVetoException
+	{
+		Object bean = getBean();
 
-		if (registeredPropertyAdapter == null)
+		if (bean == null)
 		{
-			registeredPropertyAdapter = new SimplePropertyAdapter(this, propertyName);
-			propertyAdapters.put(propertyName, registeredPropertyAdapter);
+			try
+			{
+				bean = beanClass.newInstance();
+			}
+			catch (Exception e)
+			{
+				throw new IllegalStateException("Could not instantiate " + beanClass.getName() + ".", e);
+			}
+
+			setBean(bean);
 		}
 
-		return registeredPropertyAdapter;
+		projection.applyAll(bean, values);
 	}
 
-	public CollectionValueModel getCollectionValueModel(String propertyName)
+	public synchronized BeanProjection getProjection(String... propertyNames)
 	{
-		CollectionValueModel collectionValueModel = getCollectionValueModelsCache().get(propertyName);
+		final List<String> key = Arrays.asList(propertyNames.clone());
+		BeanProjection projection = projections.get(key);
 
-		if (collectionValueModel == null)
+		if (projection == null)
 		{
-			SimplePropertyAdapter propertyAdapter = getValueModel(propertyName);
-			collectionValueModel = new IndexedCollectionValueModel(propertyAdapter, getChangeSupportFactory(), observableCollectionSupportFactory);
-			getCollectionValueModelsCache().put(propertyName, collectionValueModel);
+			projection = BeanProjection.compile(beanClass, propertyNames);
+			projections.put(key, projection);
 		}
 
-		return collectionValueModel;
+		return projection;
+	}
+
+	public SimplePropertyAdapter getValueModel(String propertyName)
+	{
+		Validate.notNull(propertyName, "The property name must not be null.");
+		return propertyAdapters.get(propertyName);
+	}
+
+	/**
+	 * Creates the adapter of the given property, specialized for the primitive types that have typed accessors.
+	 */
+	private SimplePropertyAdapter createPropertyAdapter(String propertyName)
+	{
+		Class<?> propertyType = null;
+
+		try
+		{
+			final PropertyMetadata property = BeanClassMetadata.forClass(beanClass).getProperty(propertyName);
+			propertyType = property != null ? property.getPropertyType() : null;
+		}
+		catch (IntrospectionException e)
+		{
+			// The generic adapter reports introspection failures on access
+		}
+
+		if (propertyType == int.class)
+		{
+			return new IntPropertyAdapter(this, propertyName);
+		}
+		else if (propertyType == long.class)
+		{
+			return new LongPropertyAdapter(this, propertyName);
+		}
+		else if (propertyType == double.class)
+		{
+			return new DoublePropertyAdapter(this, propertyName);
+		}
+		else if (propertyType == boolean.class)
+		{
+			return new BooleanPropertyAdapter(this, propertyName);
+		}
+
+		return new SimplePropertyAdapter(this, propertyName);
+	}
+
+	public CollectionValueModel getCollectionValueModel(String propertyName)
+	{
+		return collectionValueModels.get(propertyName);
+	}
+
+	private CollectionValueModel createCollectionValueModel(String propertyName)
+	{
+		return new IndexedCollectionValueModel(getValueModel(propertyName), getChangeSupportFactory(), observableCollectionSupportFactory);
 	}
 
 	public synchronized void addBeanPropertyChangeListener(PropertyChangeListener listener)
@@ -158,9 +286,17 @@ public class BeanAdapter extends Bean
 		return indirectChangeSupport.getPropertyChangeListeners(propertyName);
 	}
 
-	public synchronized void release()
+	/**
+	 * Removes the listeners registered with the bean, which is not observed again before the next bean is set, even if value listeners are added meanwhile.
+	 */
+	public void release()
 	{
-		removeChangeHandlerFrom(getBean());
+		synchronized (observerLock)
+		{
+			released = true;
+		}
+
+		updateObservedBean();
 
 		// Ensure to dispose every CollectionValueModel in order
 		// to release listeners on Collections on the bean itself
@@ -172,20 +308,89 @@ public class BeanAdapter extends Bean
 		indirectChangeSupport.removeAll();
 	}
 
-	private void addChangeHandlerTo(Object bean)
+	/**
+	 * Releases the bean listeners like {@link #release()} and stops following the bean channel, for adapters that are discarded while their bean channel
+	 * lives on.
+	 */
+	public void dispose()
+	{
+		release();
+		beanChannel.removeValueChangeListener(beanChangeHandler);
+		indirectChangeSupport.dispose();
+	}
+
+	/**
+	 * @return the listeners this adapter registers with its bean channel
+	 */
+	public Collection<PropertyChangeListener> getBeanChannelListeners()
 	{
-		if (bean != null)
+		return Arrays.asList(beanChangeHandler, indirectChangeSupport.getBeanChannelHandler());
+	}
+
+	/**
+	 * @param ignoredListeners
+	 *            listeners that do not count, such as the bean channel handlers of the adapters of nested beans
+	 * @return true if a value model of this adapter has a listener other than the given ones
+	 */
+	public boolean hasValueListenersOtherThan(Collection<PropertyChangeListener> ignoredListeners)
+	{
+		for (SimplePropertyAdapter adapter : propertyAdapters.values())
 		{
-			if (BeanUtils.supportsBoundProperties(bean.getClass()))
-			{
-				BeanUtils.addPropertyChangeListener(bean, bean.getClass(), propertyChangeHandler);
-			}
-			else
+			if (adapter.hasValueListenersOtherThan(ignoredListeners))
 			{
-				throw new PropertyUnboundException(
-						"The bean must provide support for listening on property changes as described in section 7.4.5 of the Java Bean Specification.");
+				return true;
 			}
 		}
+
+		return false;
+	}
+
+	private void checkBoundProperties(Object bean)
+	{
+		if (bean != null && !BeanUtils.supportsBoundProperties(bean.getClass()))
+		{
+			throw new PropertyUnboundException(
+					"The bean must provide support for listening on property changes as described in section 7.4.5 of the Java Bean Specification.");
+		}
+	}
+
+	/**
+	 * Called by the property adapters when they get their first value listener or lose their last one. The bean is only observed while at least one adapter
+	 * has listeners, so that adapters nobody listens to cost nothing when the bean changes.
+	 */
+	void adapterListeningChanged(boolean listening)
+	{
+		synchronized (observerLock)
+		{
+			listeningAdapterCount += listening ? 1 : -1;
+		}
+
+		updateObservedBean();
+	}
+
+	/**
+	 * @return true if the change handler is registered with the bean
+	 */
+	boolean isObservingBean()
+	{
+		synchronized (observerLock)
+		{
+			return observedBean != null;
+		}
+	}
+
+	/**
+	 * Sets the bean to observe while adapters have listeners, {@code null} while the bean is being switched. Following a bean ends a {@link #release()}.
+	 */
+	private void followBean(Object bean)
+	{
+		synchronized (observerLock)
+		{
+			followedBean = bean;
+			released = false;
+		}
+
+		updateObservedBean();
 	}
 
 	protected ChangeSupportFactory getChangeSupportFactory()
@@ -193,11 +398,70 @@ public class BeanAdapter extends Bean
 		return changeSupportFactory;
 	}
 
-	private void removeChangeHandlerFrom(Object bean)
+	/**
+	 * Moves the change handler to the bean that should be observed. The handler is registered and unregistered outside of any lock of this adapter, since
+	 * the beans and the property adapters calling in have locks of their own. A single thread moves the handler at a time; changes requested meanwhile by
+	 * other threads are applied by that thread before it returns.
+	 */
+	private void updateObservedBean()
 	{
-		if (bean != null)
+		synchronized (observerLock)
 		{
-			BeanUtils.removePropertyChangeListener(bean, bean.getClass(), propertyChangeHandler);
+			if (updatingObserver)
+			{
+				return;
+			}
+
+			updatingObserver = true;
+		}
+
+		try
+		{
+			for (;;)
+			{
+				final Object oldBean;
+				final Object newBean;
+
+				synchronized (observerLock)
+				{
+					oldBean = observedBean;
+					newBean = listeningAdapterCount > 0 && !released ? followedBean : null;
+
+					if (oldBean == newBean)
+					{
+						updatingObserver = false;
+						return;
+					}
+
+					observedBean = null;
+				}
+
+				if (oldBean != null)
+				{
+					BeanUtils.removePropertyChangeListener(oldBean, oldBean.getClass(), propertyChangeHandler);
+					ListenerLeakTracker.getDefault().listenerRemoved(oldBean, propertyChangeHandler);
+				}
+
+				if (newBean != null)
+				{
+					BeanUtils.addPropertyChangeListener(newBean, newBean.getClass(), propertyChangeHandler);
+					ListenerLeakTracker.getDefault().listenerAdded(newBean, propertyChangeHandler);
+
+					synchronized (observerLock)
+					{
+						observedBean = newBean;
+					}
+				}
+			}
+		}
+		catch (RuntimeException e)
+		{
+			synchronized (observerLock)
+			{
+				updatingObserver = false;
+			}
+
+			throw e;
 		}
 	}
 
@@ -209,9 +473,12 @@ public class BeanAdapter extends Bean
 		}
 	}
 
+	/**
+	 * @return a copy of the collection value models created so far, by property name
+	 */
 	protected Map<String, CollectionValueModel> getCollectionValueModelsCache()
 	{
-		return collectionValueModels;
+		return collectionValueModels.asMap();
 	}
 
 	private final class BeanChangeHandler implements PropertyChangeListener
@@ -228,20 +495,13 @@ public class BeanAdapter extends Bean
 		private void setBean(Object oldBean, Object newBean)
 		{
 			fireIdentityPropertyChange(PROPERTYNAME_BEFORE_BEAN, oldBean, newBean);
-			removeChangeHandlerFrom(oldBean);
-			forwardAllAdaptedValuesChanged(oldBean, newBean);
-			addChangeHandlerTo(newBean);
+			followBean(null);
+			beanSwitcher.switchBean(changeSupportFactory, propertyAdapters.values(), oldBean, newBean);
+			checkBoundProperties(newBean);
+			followBean(newBean);
 			fireIdentityPropertyChange(PROPERTYNAME_BEAN, oldBean, newBean);
 			fireIdentityPropertyChange(PROPERTYNAME_AFTER_BEAN, oldBean, newBean);
 		}
-
-		private void forwardAllAdaptedValuesChanged(Object oldBean, Object newBean)
-		{
-			for (SimplePropertyAdapter adapter : Lists.newArrayList(propertyAdapters.values()))
-			{
-				adapter.setBean(oldBean, newBean);
-			}
-		}
 	}
 
 	private final class PropertyChangeHandler implements PropertyChangeListener
@@ -255,7 +515,7 @@ public class BeanAdapter extends Bean
 			}
 			else
 			{
-				final AbstractValueModel adapter = propertyAdapters.get(evt.getPropertyName());
+				final AbstractValueModel adapter = propertyAdapters.getIfPresent(evt.getPropertyName());
 
 				if (adapter != null)
 				{
@@ -268,7 +528,7 @@ public class BeanAdapter extends Bean
 		{
 			final Object currentBean = getBean();
 
-			for (SimplePropertyAdapter adapter : Lists.newArrayList(propertyAdapters.values()))
+			for (SimplePropertyAdapter adapter : propertyAdapters.values())
 			{
 				adapter.fireChange(currentBean);
 			}
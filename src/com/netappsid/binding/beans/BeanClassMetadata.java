@@ -0,0 +1,374 @@
+package com.netappsid.binding.beans;
+
+import java.beans.IntrospectionException;
+import java.beans.Introspector;
+import java.beans.PropertyDescriptor;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.SoftReference;
+import java.lang.ref.WeakReference;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import org.apache.log4j.Logger;
+
+/**
+ * Holds the introspected property metadata of a bean class: a name-indexed table of {@link PropertyMetadata} whose read and write methods are resolved once.
+ * <p>
+ *
+ * Instances are shared through a per-class cache, weakly keyed by class. The metadata of a class loaded by the class loader of this library or one of its
+ * parents is kept strongly, such a class cannot be unloaded before the cache anyway. The metadata of any other class strongly references its class, so it is
+ * only softly referenced: it survives garbage collections but never prevents a class loader (for example an OSGi bundle being refreshed) from being
+ * collected once memory runs low or the class is flushed. Lookups do not lock.
+ * <p>
+ *
+ * Classes annotated with {@link GenerateAccessors} are described from their {@link GeneratedBeanAccessor} instead of through the {@link Introspector}, and
+ * their properties are accessed without reflection. The lookup of the generated accessor is made once per class, whether it succeeds or not.
+ *
+ * @author NetAppsID Inc.
+ */
+public final class BeanClassMetadata
+{
+	private static final Logger LOGGER = Logger.getLogger(BeanClassMetadata.class);
+	private static final ConcurrentMap<ClassKey, MetadataReference> CACHE = new ConcurrentHashMap<ClassKey, MetadataReference>();
+	private static final ReferenceQueue<Object> STALE_REFERENCES = new ReferenceQueue<Object>();
+
+	private static volatile PropertyAccessorFactory propertyAccessorFactory = new ReflectivePropertyAccessorFactory();
+
+	private final Class<?> beanClass;
+	private final Map<String, PropertyMetadata> properties;
+	private final GeneratedBeanAccessor generatedAccessor;
+	private volatile ListenerRegistration listenerRegistration;
+
+	private BeanClassMetadata(Class<?> beanClass) throws IntrospectionException
+	{
+		GeneratedBeanAccessor generatedAccessor = findGeneratedAccessor(beanClass);
+		Map<String, PropertyMetadata> properties = null;
+
+		if (generatedAccessor != null)
+		{
+			try
+			{
+				properties = describe(beanClass, generatedAccessor);
+			}
+			catch (IntrospectionException e)
+			{
+				// The generated accessor no longer matches the bean class, fall back to introspection
+				LOGGER.warn("Ignoring the generated accessor of " + beanClass.getName() + ": " + e.getMessage(), e);
+				generatedAccessor = null;
+			}
+		}
+
+		if (properties == null)
+		{
+			properties = introspect(beanClass);
+		}
+
+		this.beanClass = beanClass;
+		this.properties = Collections.unmodifiableMap(properties);
+		this.generatedAccessor = generatedAccessor;
+	}
+
+	private static Map<String, PropertyMetadata> introspect(Class<?> beanClass) throws IntrospectionException
+	{
+		final PropertyDescriptor[] propertyDescriptors = Introspector.getBeanInfo(beanClass).getPropertyDescriptors();
+		final Map<String, PropertyMetadata> properties = new HashMap<String, PropertyMetadata>(propertyDescriptors.length * 2);
+
+		for (PropertyDescriptor propertyDescriptor : propertyDescriptors)
+		{
+			properties.put(propertyDescriptor.getName(), new PropertyMetadata(propertyDescriptor));
+		}
+
+		return properties;
+	}
+
+	private static Map<String, PropertyMetadata> describe(Class<?> beanClass, GeneratedBeanAccessor generatedAccessor) throws IntrospectionException
+	{
+		final String[] propertyNames = generatedAccessor.getPropertyNames();
+		final Map<String, PropertyMetadata> properties = new HashMap<String, PropertyMetadata>(propertyNames.length * 2);
+
+		for (int index = 0; index < propertyNames.length; index++)
+		{
+			// Resolves the two named methods only, the bean class and its BeanInfo are not introspected
+			final PropertyDescriptor propertyDescriptor = new PropertyDescriptor(propertyNames[index], beanClass, generatedAccessor.getReadMethodName(index),
+					generatedAccessor.getWriteMethodName(index));
+			propertyDescriptor.setBound(generatedAccessor.supportsBoundProperties());
+
+			properties.put(propertyNames[index], new PropertyMetadata(propertyDescriptor, GeneratedPropertyAccessor.create(generatedAccessor, index,
+					propertyDescriptor)));
+		}
+
+		return properties;
+	}
+
+	private static GeneratedBeanAccessor findGeneratedAccessor(Class<?> beanClass)
+	{
+		final ClassLoader classLoader = beanClass.getClassLoader();
+
+		if (classLoader == null)
+		{
+			return null;
+		}
+
+		try
+		{
+			final Class<?> accessorClass = Class.forName(beanClass.getName() + GeneratedBeanAccessor.CLASS_NAME_SUFFIX, true, classLoader);
+			final GeneratedBeanAccessor generatedAccessor = (GeneratedBeanAccessor) accessorClass.newInstance();
+
+			return generatedAccessor.getBeanClass() == beanClass ? generatedAccessor : null;
+		}
+		catch (ClassNotFoundException e)
+		{
+			return null;
+		}
+		catch (Exception e)
+		{
+			LOGGER.warn("Unable to load the generated accessor of " + beanClass.getName(), e);
+			return null;
+		}
+		catch (LinkageError e)
+		{
+			LOGGER.warn("Unable to load the generated accessor of " + beanClass.getName(), e);
+			return null;
+		}
+	}
+
+	/**
+	 * Returns the metadata of the given bean class, introspecting the class on first use only.
+	 *
+	 * @param beanClass
+	 *            the bean class to describe
+	 * @return the metadata of the bean class
+	 * @throws IntrospectionException
+	 *             if an exception occurs during introspection
+	 * @throws NullPointerException
+	 *             if the bean class is {@code null}
+	 */
+	public static BeanClassMetadata forClass(Class<?> beanClass) throws IntrospectionException
+	{
+		if (beanClass == null)
+			throw new NullPointerException("The bean class must not be null.");
+
+		final MetadataReference reference = CACHE.get(new ClassKey(beanClass, null));
+		BeanClassMetadata metadata = reference != null ? reference.get() : null;
+
+		if (metadata == null)
+		{
+			expungeStaleEntries();
+
+			// A concurrent introspection of the same class is harmless, the last one wins
+			metadata = new BeanClassMetadata(beanClass);
+
+			final ClassKey key = new ClassKey(beanClass, STALE_REFERENCES);
+			CACHE.put(key, new MetadataReference(key, metadata, isLoadedByLibraryLoader(beanClass)));
+		}
+
+		return metadata;
+	}
+
+	/**
+	 * Removes the metadata of the given class from the cache, as well as the bean information cached by the {@link Introspector}.
+	 *
+	 * @param beanClass
+	 *            the bean class to flush
+	 */
+	public static void flush(Class<?> beanClass)
+	{
+		CACHE.remove(new ClassKey(beanClass, null));
+
+		Introspector.flushFromCaches(beanClass);
+	}
+
+	/**
+	 * Removes the metadata of every class from the cache, as well as the bean information cached by the {@link Introspector}.
+	 */
+	public static void flushAll()
+	{
+		CACHE.clear();
+
+		Introspector.flushCaches();
+	}
+
+	public static PropertyAccessorFactory getPropertyAccessorFactory()
+	{
+		return propertyAccessorFactory;
+	}
+
+	/**
+	 * Replaces the engine used to create the {@link PropertyAccessor} of every property without a generated accessor. The cache is flushed so that accessors created by the previous
+	 * engine are no longer handed out; value models holding on to metadata resolved before the change keep their accessors.
+	 *
+	 * @param newPropertyAccessorFactory
+	 *            the new accessor engine
+	 */
+	public static void setPropertyAccessorFactory(PropertyAccessorFactory newPropertyAccessorFactory)
+	{
+		if (newPropertyAccessorFactory == null)
+			throw new NullPointerException("The property accessor factory must not be null.");
+
+		propertyAccessorFactory = newPropertyAccessorFactory;
+		flushAll();
+	}
+
+	/**
+	 * @return true if the given class is loaded by the class loader of this library or one of its parents
+	 */
+	private static boolean isLoadedByLibraryLoader(Class<?> beanClass)
+	{
+		final ClassLoader classLoader = beanClass.getClassLoader();
+
+		if (classLoader == null)
+		{
+			return true;
+		}
+
+		for (ClassLoader libraryLoader = BeanClassMetadata.class.getClassLoader(); libraryLoader != null; libraryLoader = libraryLoader.getParent())
+		{
+			if (libraryLoader == classLoader)
+			{
+				return true;
+			}
+		}
+
+		return false;
+	}
+
+	private static void expungeStaleEntries()
+	{
+		Object reference;
+
+		while ((reference = STALE_REFERENCES.poll()) != null)
+		{
+			if (reference instanceof MetadataReference)
+			{
+				CACHE.remove(((MetadataReference) reference).key, reference);
+			}
+			else
+			{
+				CACHE.remove(reference);
+			}
+		}
+	}
+
+	public Class<?> getBeanClass()
+	{
+		return beanClass;
+	}
+
+	/**
+	 * Returns the metadata of the property with the given name.
+	 *
+	 * @param propertyName
+	 *            the name of the property
+	 * @return the metadata of the property or {@code null} if the bean class has no such property
+	 */
+	public PropertyMetadata getProperty(String propertyName)
+	{
+		return properties.get(propertyName);
+	}
+
+	/**
+	 * Returns the descriptor of the property with the given name.
+	 *
+	 * @param propertyName
+	 *            the name of the property
+	 * @return the descriptor of the property or {@code null} if the bean class has no such property
+	 */
+	public PropertyDescriptor getPropertyDescriptor(String propertyName)
+	{
+		final PropertyMetadata property = getProperty(propertyName);
+		return property != null ? property.getPropertyDescriptor() : null;
+	}
+
+	/**
+	 * @return the accessor generated for the bean class or {@code null} if the class is introspected
+	 */
+	public GeneratedBeanAccessor getGeneratedAccessor()
+	{
+		return generatedAccessor;
+	}
+
+	/**
+	 * Returns how listeners are registered with instances of the bean class, resolving the registration methods on first use only.
+	 */
+	ListenerRegistration getListenerRegistration()
+	{
+		ListenerRegistration registration = listenerRegistration;
+
+		if (registration == null)
+		{
+			registration = new ListenerRegistration(beanClass, generatedAccessor);
+			listenerRegistration = registration;
+		}
+
+		return registration;
+	}
+
+	public Collection<PropertyMetadata> getProperties()
+	{
+		return properties.values();
+	}
+
+	@Override
+	public String toString()
+	{
+		return getClass().getSimpleName() + "[" + beanClass.getName() + "]";
+	}
+
+	/**
+	 * Weakly references a class, equal to the keys referencing the same class.
+	 */
+	private static final class ClassKey extends WeakReference<Class<?>>
+	{
+		private final int hashCode;
+
+		public ClassKey(Class<?> beanClass, ReferenceQueue<Object> queue)
+		{
+			super(beanClass, queue);
+			this.hashCode = System.identityHashCode(beanClass);
+		}
+
+		@Override
+		public int hashCode()
+		{
+			return hashCode;
+		}
+
+		@Override
+		public boolean equals(Object obj)
+		{
+			if (this == obj)
+			{
+				return true;
+			}
+
+			if (!(obj instanceof ClassKey))
+			{
+				return false;
+			}
+
+			final Class<?> beanClass = get();
+			return beanClass != null && beanClass == ((ClassKey) obj).get();
+		}
+	}
+
+	/**
+	 * Softly references the metadata of a class, or strongly if its class cannot be unloaded before the cache.
+	 */
+	private static final class MetadataReference extends SoftReference<BeanClassMetadata>
+	{
+		private final ClassKey key;
+		// Never read, only keeps the metadata strongly reachable
+		private final BeanClassMetadata pinnedMetadata;
+
+		public MetadataReference(ClassKey key, BeanClassMetadata metadata, boolean pinned)
+		{
+			super(metadata, STALE_REFERENCES);
+			this.key = key;
+			this.pinnedMetadata = pinned ? metadata : null;
+		}
+	}
+}
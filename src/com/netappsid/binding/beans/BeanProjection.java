@@ -0,0 +1,265 @@
+package com.netappsid.binding.beans;
+
+import java.beans.IntrospectionException;
+import java.beans.PropertyVetoException;
+import java.lang.ref.SoftReference;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Map;
+import java.util.WeakHashMap;
+
+import com.google.common.base.Defaults;
+import com.jgoodies.binding.beans.PropertyNotFoundException;
+import com.netappsid.validate.Validate;
+
+/**
+ * A precompiled list of properties that are read from or written to a bean in a single pass. The properties are resolved once per bean class into a table of
+ * {@link PropertyAccessor}s, so reading a row of thousands of beans of the same class costs one accessor call per property and no lookup by name.
+ * <p>
+ *
+ * Values are exchanged as flat arrays ordered like the property names. Properties the actual bean class does not have, and write-only properties, read as
+ * {@code null}; {@link #applyAll(Object, Object[])} skips them as well as read-only properties.
+ * <p>
+ *
+ * Beans of a subclass of the compiled class may override its accessors, the table of each subclass met is resolved on first use. It is weakly keyed by
+ * the subclass and softly referenced, since it references the subclass through its accessors, so a projection never keeps the class loader of a subclass
+ * from being collected. Beans of any other class are rejected. Instances may be shared between threads.
+ *
+ * @author NetAppsID Inc.
+ *
+ * @see BeanAdapter#snapshot(String...)
+ */
+public final class BeanProjection
+{
+	private final Class<?> beanClass;
+	private final String[] propertyNames;
+	private final AccessorTable table;
+	private final Map<Class<?>, SoftReference<AccessorTable>> subclassTables = Collections.synchronizedMap(new WeakHashMap<Class<?>, SoftReference<AccessorTable>>(4));
+
+	private BeanProjection(Class<?> beanClass, String[] propertyNames, AccessorTable table)
+	{
+		this.beanClass = beanClass;
+		this.propertyNames = propertyNames;
+		this.table = table;
+	}
+
+	/**
+	 * Compiles a projection of the given properties of the given bean class.
+	 *
+	 * @param beanClass
+	 *            the class of the projected beans
+	 * @param propertyNames
+	 *            the names of the projected properties, in the order of the values
+	 * @return the compiled projection
+	 * @throws PropertyNotFoundException
+	 *             if the bean class cannot be introspected or has no property of one of the given names
+	 */
+	public static BeanProjection compile(Class<?> beanClass, String... propertyNames)
+	{
+		Validate.notNull(beanClass, "The bean class must not be null.");
+		Validate.notNull(propertyNames, "The property names must not be null.");
+
+		final String[] names = propertyNames.clone();
+		final AccessorTable table = AccessorTable.resolve(beanClass, names);
+
+		for (int index = 0; index < names.length; index++)
+		{
+			if (table.properties[index] == null)
+			{
+				throw new PropertyNotFoundException(names[index], beanClass);
+			}
+		}
+
+		return new BeanProjection(beanClass, names, table);
+	}
+
+	public Class<?> getBeanClass()
+	{
+		return beanClass;
+	}
+
+	public int getPropertyCount()
+	{
+		return propertyNames.length;
+	}
+
+	public String getPropertyName(int index)
+	{
+		return propertyNames[index];
+	}
+
+	/**
+	 * @return the index of the value of the given property or {@code -1} if the property is not projected
+	 */
+	public int indexOf(String propertyName)
+	{
+		for (int index = 0; index < propertyNames.length; index++)
+		{
+			if (propertyNames[index].equals(propertyName))
+			{
+				return index;
+			}
+		}
+
+		return -1;
+	}
+
+	/**
+	 * Reads the projected properties of the given bean into a new array.
+	 *
+	 * @param bean
+	 *            the bean to read, or {@code null} to get an array of {@code null}s
+	 * @return the values of the projected properties
+	 * @throws IllegalArgumentException
+	 *             if the bean is not an instance of the compiled class
+	 */
+	public Object[] read(Object bean)
+	{
+		final Object[] values = new Object[propertyNames.length];
+		read(bean, values);
+		return values;
+	}
+
+	/**
+	 * Reads the projected properties of the given bean into the given array, so that a single array can be reused while exporting many beans.
+	 *
+	 * @param bean
+	 *            the bean to read, or {@code null} to fill the array with {@code null}s
+	 * @param values
+	 *            the array receiving the values, at least as long as the property count
+	 * @throws IllegalArgumentException
+	 *             if the bean is not an instance of the compiled class
+	 */
+	public void read(Object bean, Object[] values)
+	{
+		checkLength(values);
+
+		if (bean == null)
+		{
+			Arrays.fill(values, 0, propertyNames.length, null);
+			return;
+		}
+
+		final PropertyMetadata[] properties = getTable(bean.getClass()).properties;
+
+		for (int index = 0; index < properties.length; index++)
+		{
+			final PropertyMetadata property = properties[index];
+			values[index] = property != null && property.isReadable() ? property.getAccessor().getValue(bean) : null;
+		}
+	}
+
+	/**
+	 * Writes the given values to the projected properties of the given bean, in the order of the property names. A {@code null} value of a primitive property
+	 * is written as the default value of its type.
+	 *
+	 * @param bean
+	 *            the non-null bean to write to
+	 * @param values
+	 *            the values to write, at least as many as the property count
+	 * @throws IllegalArgumentException
+	 *             if the bean is not an instance of the compiled class
+	 * @throws PropertyVetoException
+	 *             if a bean setter throws this exception, the remaining properties are then left unchanged
+	 */
+	public void applyAll(Object bean, Object[] values) throws PropertyVetoException
+	{
+		if (bean == null)
+			throw new NullPointerException("The bean must not be null.");
+
+		checkLength(values);
+
+		final PropertyMetadata[] properties = getTable(bean.getClass()).properties;
+
+		for (int index = 0; index < properties.length; index++)
+		{
+			final PropertyMetadata property = properties[index];
+
+			if (property != null && property.isWritable())
+			{
+				Object value = values[index];
+
+				if (value == null && property.getPropertyType().isPrimitive())
+				{
+					value = Defaults.defaultValue(property.getPropertyType());
+				}
+
+				property.getAccessor().setValue(bean, value);
+			}
+		}
+	}
+
+	private void checkLength(Object[] values)
+	{
+		Validate.notNull(values, "The values must not be null.");
+
+		if (values.length < propertyNames.length)
+		{
+			throw new IllegalArgumentException("Expected " + propertyNames.length + " values but got " + values.length + ".");
+		}
+	}
+
+	private AccessorTable getTable(Class<?> actualClass)
+	{
+		if (actualClass == beanClass)
+		{
+			return table;
+		}
+
+		final SoftReference<AccessorTable> reference = subclassTables.get(actualClass);
+		AccessorTable accessorTable = reference != null ? reference.get() : null;
+
+		if (accessorTable == null)
+		{
+			if (!beanClass.isAssignableFrom(actualClass))
+			{
+				throw new IllegalArgumentException("Expected an instance of " + beanClass.getName() + " but got " + actualClass.getName() + ".");
+			}
+
+			// A concurrent resolution of the same subclass is harmless, the tables are equivalent
+			accessorTable = AccessorTable.resolve(actualClass, propertyNames);
+			subclassTables.put(actualClass, new SoftReference<AccessorTable>(accessorTable));
+		}
+
+		return accessorTable;
+	}
+
+	@Override
+	public String toString()
+	{
+		return getClass().getSimpleName() + "[" + beanClass.getName() + "; properties=" + Arrays.toString(propertyNames) + "]";
+	}
+
+	private static final class AccessorTable
+	{
+		private final PropertyMetadata[] properties;
+
+		private AccessorTable(PropertyMetadata[] properties)
+		{
+			this.properties = properties;
+		}
+
+		private static AccessorTable resolve(Class<?> beanClass, String[] propertyNames)
+		{
+			final BeanClassMetadata metadata;
+
+			try
+			{
+				metadata = BeanClassMetadata.forClass(beanClass);
+			}
+			catch (IntrospectionException e)
+			{
+				throw new PropertyNotFoundException(propertyNames.length > 0 ? propertyNames[0] : null, beanClass, e);
+			}
+
+			final PropertyMetadata[] properties = new PropertyMetadata[propertyNames.length];
+
+			for (int index = 0; index < propertyNames.length; index++)
+			{
+				properties[index] = metadata.getProperty(Validate.notNull(propertyNames[index], "The property names must not be null."));
+			}
+
+			return new AccessorTable(properties);
+		}
+	}
+}
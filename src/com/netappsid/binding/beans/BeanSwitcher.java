@@ -0,0 +1,118 @@
+package com.netappsid.binding.beans;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Set;
+
+import com.netappsid.binding.beans.support.BatchingChangeSupportFactory;
+import com.netappsid.binding.beans.support.ChangeSupportFactory;
+
+/**
+ * Notifies the property adapters of a {@link BeanAdapter} when its bean is replaced. The properties of the adapters are resolved once per pair of old and new
+ * bean classes into a plan that is reused for as long as the classes and the adapters stay the same, which is the usual case when navigating between rows;
+ * the adapters are compared by identity, whatever their order.
+ * Adapters without value listeners are skipped without reading their property, the others fire only if the old and new values are not identical. Adapters
+ * overriding {@link SimplePropertyAdapter#setBean(Object, Object)} are always switched through that method.
+ * <p>
+ *
+ * When the adapter's factory is a {@link BatchingChangeSupportFactory}, the value changes are delivered in a single batch once every adapter has been
+ * updated.
+ *
+ * @author NetAppsID Inc.
+ */
+final class BeanSwitcher
+{
+	private volatile Plan plan;
+
+	public void switchBean(ChangeSupportFactory changeSupportFactory, Collection<SimplePropertyAdapter> adapters, Object oldBean, Object newBean)
+	{
+		final BatchingChangeSupportFactory batchingFactory = changeSupportFactory instanceof BatchingChangeSupportFactory
+				? (BatchingChangeSupportFactory) changeSupportFactory : null;
+
+		if (batchingFactory != null)
+		{
+			batchingFactory.beginBatch();
+		}
+
+		try
+		{
+			getPlan(adapters, oldBean, newBean).execute(oldBean, newBean);
+		}
+		finally
+		{
+			if (batchingFactory != null)
+			{
+				batchingFactory.endBatch();
+			}
+		}
+	}
+
+	private Plan getPlan(Collection<SimplePropertyAdapter> adapters, Object oldBean, Object newBean)
+	{
+		final Class<?> oldClass = oldBean != null ? oldBean.getClass() : null;
+		final Class<?> newClass = newBean != null ? newBean.getClass() : null;
+		Plan currentPlan = plan;
+
+		if (currentPlan == null || currentPlan.oldClass != oldClass || currentPlan.newClass != newClass || !currentPlan.hasAdapters(adapters))
+		{
+			currentPlan = new Plan(oldClass, newClass, adapters.toArray(new SimplePropertyAdapter[adapters.size()]), oldBean, newBean);
+			plan = currentPlan;
+		}
+
+		return currentPlan;
+	}
+
+	private static final class Plan
+	{
+		private final Class<?> oldClass;
+		private final Class<?> newClass;
+		private final SimplePropertyAdapter[] adapters;
+		private final Set<SimplePropertyAdapter> adapterSet;
+		private final PropertyMetadata[] oldProperties;
+		private final PropertyMetadata[] newProperties;
+		private final boolean[] setBeanOverrides;
+
+		private Plan(Class<?> oldClass, Class<?> newClass, SimplePropertyAdapter[] adapters, Object oldBean, Object newBean)
+		{
+			this.oldClass = oldClass;
+			this.newClass = newClass;
+			this.adapters = adapters;
+			this.adapterSet = Collections.newSetFromMap(new IdentityHashMap<SimplePropertyAdapter, Boolean>(adapters.length * 2));
+			this.adapterSet.addAll(Arrays.asList(adapters));
+			this.oldProperties = new PropertyMetadata[adapters.length];
+			this.newProperties = new PropertyMetadata[adapters.length];
+			this.setBeanOverrides = new boolean[adapters.length];
+
+			for (int index = 0; index < adapters.length; index++)
+			{
+				setBeanOverrides[index] = adapters[index].overridesSetBean();
+				oldProperties[index] = oldBean != null ? adapters[index].getProperty(oldBean) : null;
+				newProperties[index] = newBean != null ? adapters[index].getProperty(newBean) : null;
+			}
+		}
+
+		private boolean hasAdapters(Collection<SimplePropertyAdapter> adapters)
+		{
+			return adapters.size() == this.adapters.length && adapterSet.containsAll(adapters);
+		}
+
+		private void execute(Object oldBean, Object newBean)
+		{
+			for (int index = 0; index < adapters.length; index++)
+			{
+				final SimplePropertyAdapter adapter = adapters[index];
+
+				if (setBeanOverrides[index])
+				{
+					adapter.setBean(oldBean, newBean);
+				}
+				else if (adapter.hasValueListeners())
+				{
+					adapter.switchBean(oldBean, oldProperties[index], newBean, newProperties[index]);
+				}
+			}
+		}
+	}
+}
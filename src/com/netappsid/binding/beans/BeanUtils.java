@@ -72,19 +72,21 @@ public final class BeanUtils {
      * public void removePropertyChangeListener(PropertyChangeListener x);
      * </pre>
      *
+     * The answer is cached per class.
+     *
      * @param clazz    the class to test
      * @return true if the class supports bound properties, false otherwise
      */
     public static boolean supportsBoundProperties(Class<?> clazz) {
-        return  (getPCLAdder(clazz)   != null)
-             && (getPCLRemover(clazz) != null);
+        return getListenerRegistration(clazz).supportsBoundProperties();
     }
 
 
     /**
      * Looks up and returns a <code>PropertyDescriptor</code> for the
      * given Java Bean class and property name using the standard
-     * Java Bean introspection behavior.
+     * Java Bean introspection behavior. The class is introspected once,
+     * subsequent lookups are served by the {@link BeanClassMetadata} cache.
      *
      * @param beanClass     the type of the bean that holds the property
      * @param propertyName  the name of the Bean property
@@ -102,14 +104,16 @@ public final class BeanUtils {
         String propertyName)
         throws IntrospectionException {
 
-        BeanInfo info = Introspector.getBeanInfo(beanClass);
-        for (PropertyDescriptor element : info.getPropertyDescriptors()) {
-            if (propertyName.equals(element.getName())) {
-                return element;
-            }
+        if (propertyName == null)
+            throw new NullPointerException("The property name must not be null.");
+
+        PropertyDescriptor descriptor =
+            BeanClassMetadata.forClass(beanClass).getPropertyDescriptor(propertyName);
+        if (descriptor == null) {
+            throw new IntrospectionException(
+                "Property '" + propertyName + "' not found in bean " + beanClass);
         }
-        throw new IntrospectionException(
-            "Property '" + propertyName + "' not found in bean " + beanClass);
+        return descriptor;
     }
 
 
@@ -150,35 +154,17 @@ public final class BeanUtils {
     }
 
 
-    /**
-     * Holds the class parameter list that is used to lookup
-     * the adder and remover methods for PropertyChangeListeners.
-     */
-    private static final Class<?>[] PCL_PARAMS =
-        new Class<?>[] {PropertyChangeListener.class};
-
-
-    /**
-     * Holds the class parameter list that is used to lookup
-     * the adder and remover methods for PropertyChangeListeners.
-     */
-    private static final Class<?>[] NAMED_PCL_PARAMS =
-        new Class<?>[] {String.class, PropertyChangeListener.class};
-
-
     /**
      * Looks up and returns the method that adds a multicast
      * PropertyChangeListener to instances of the given class.
      *
+     * The lookup is cached per class.
+     *
      * @param clazz   the class that provides the adder method
      * @return the method that adds multicast PropertyChangeListeners
      */
     public static Method getPCLAdder(Class<?> clazz) {
-        try {
-            return clazz.getMethod("addPropertyChangeListener", PCL_PARAMS);
-        } catch (NoSuchMethodException e) {
-            return null;
-        }
+        return getListenerRegistration(clazz).getPCLAdder();
     }
 
 
@@ -186,15 +172,13 @@ public final class BeanUtils {
      * Looks up and returns the method that removes a multicast
      * PropertyChangeListener from instances of the given class.
      *
+     * The lookup is cached per class.
+     *
      * @param clazz   the class that provides the remover method
      * @return the method that removes multicast PropertyChangeListeners
      */
     public static Method getPCLRemover(Class<?> clazz) {
-        try {
-            return clazz.getMethod("removePropertyChangeListener", PCL_PARAMS);
-        } catch (NoSuchMethodException e) {
-            return null;
-        }
+        return getListenerRegistration(clazz).getPCLRemover();
     }
 
 
@@ -202,15 +186,13 @@ public final class BeanUtils {
      * Looks up and returns the method that adds a PropertyChangeListener
      * for a specified property name to instances of the given class.
      *
+     * The lookup is cached per class.
+     *
      * @param clazz   the class that provides the adder method
      * @return the method that adds the PropertyChangeListeners
      */
     public static Method getNamedPCLAdder(Class<?> clazz) {
-        try {
-            return clazz.getMethod("addPropertyChangeListener", NAMED_PCL_PARAMS);
-        } catch (NoSuchMethodException e) {
-            return null;
-        }
+        return getListenerRegistration(clazz).getNamedPCLAdder();
     }
 
 
@@ -218,15 +200,13 @@ public final class BeanUtils {
      * Looks up and returns the method that removes a PropertyChangeListener
      * for a specified property name from instances of the given class.
      *
+     * The lookup is cached per class.
+     *
      * @param clazz   the class that provides the remover method
      * @return the method that removes the PropertyChangeListeners
      */
     public static Method getNamedPCLRemover(Class<?> clazz) {
-        try {
-            return clazz.getMethod("removePropertyChangeListener", NAMED_PCL_PARAMS);
-        } catch (NoSuchMethodException e) {
-            return null;
-        }
+        return getListenerRegistration(clazz).getNamedPCLRemover();
     }
 
 
@@ -265,17 +245,18 @@ public final class BeanUtils {
             return;
         }
 
+        ListenerRegistration registration = getListenerRegistration(beanClass);
+
         // Check whether the bean supports bound properties.
-        if (!BeanUtils.supportsBoundProperties(beanClass))
+        if (!registration.supportsBoundProperties())
             throw new PropertyUnboundException(
                 "Bound properties unsupported by bean class=" + beanClass
                     + "\nThe Bean class must provide a pair of methods:"
                     + "\npublic void addPropertyChangeListener(PropertyChangeListener x);"
                     + "\npublic void removePropertyChangeListener(PropertyChangeListener x);");
 
-        Method multicastPCLAdder = getPCLAdder(beanClass);
         try {
-            multicastPCLAdder.invoke(bean, listener);
+            registration.addPropertyChangeListener(bean, listener);
         } catch (InvocationTargetException e) {
             throw new PropertyNotBindableException(
                 "Due to an InvocationTargetException we failed to add "
@@ -331,15 +312,15 @@ public final class BeanUtils {
             return;
         }
 
-        Method namedPCLAdder = getNamedPCLAdder(beanClass);
-        if (namedPCLAdder == null)
+        ListenerRegistration registration = getListenerRegistration(beanClass);
+        if (registration.getNamedPCLAdder() == null)
             throw new PropertyNotBindableException(
               "Could not find the bean method"
             + "/npublic void addPropertyChangeListener(String, PropertyChangeListener);"
             + "/nin bean:" + bean);
 
         try {
-            namedPCLAdder.invoke(bean, propertyName, listener);
+            registration.addPropertyChangeListener(bean, propertyName, listener);
         } catch (InvocationTargetException e) {
             throw new PropertyNotBindableException(
                 "Due to an InvocationTargetException we failed to add "
@@ -432,13 +413,13 @@ public final class BeanUtils {
             return;
         }
 
-        Method multicastPCLRemover = getPCLRemover(beanClass);
-        if (multicastPCLRemover == null)
+        ListenerRegistration registration = getListenerRegistration(beanClass);
+        if (registration.getPCLRemover() == null)
             throw new PropertyUnboundException("Could not find the method:"
                 + "\npublic void removePropertyChangeListener(String, PropertyChangeListener x);"
                 + "\nfor bean:" + bean);
         try {
-            multicastPCLRemover.invoke(bean, listener);
+            registration.removePropertyChangeListener(bean, listener);
         } catch (InvocationTargetException e) {
             throw new PropertyNotBindableException(
                 "Due to an InvocationTargetException we failed to remove "
@@ -496,15 +477,15 @@ public final class BeanUtils {
             return;
         }
 
-        Method namedPCLRemover = getNamedPCLRemover(beanClass);
-        if (namedPCLRemover == null)
+        ListenerRegistration registration = getListenerRegistration(beanClass);
+        if (registration.getNamedPCLRemover() == null)
             throw new PropertyNotBindableException(
               "Could not find the bean method"
             + "/npublic void removePropertyChangeListener(String, PropertyChangeListener);"
             + "/nin bean:" + bean);
 
         try {
-            namedPCLRemover.invoke(bean, propertyName, listener);
+            registration.removePropertyChangeListener(bean, propertyName, listener);
         } catch (InvocationTargetException e) {
             throw new PropertyNotBindableException(
                 "Due to an InvocationTargetException we failed to remove "
@@ -580,6 +561,11 @@ public final class BeanUtils {
         if (bean == null)
             throw new NullPointerException("The bean must not be null.");
 
+        PropertyMetadata property = getCachedProperty(bean, propertyDescriptor);
+        if (property != null) {
+            return property.getAccessor().getValue(bean);
+        }
+
         Method getter = propertyDescriptor.getReadMethod();
         if (getter == null) {
             throw new UnsupportedOperationException(
@@ -622,6 +608,12 @@ public final class BeanUtils {
         if (bean == null)
             throw new NullPointerException("The bean must not be null.");
 
+        PropertyMetadata property = getCachedProperty(bean, propertyDescriptor);
+        if (property != null) {
+            property.getAccessor().setValue(bean, newValue);
+            return;
+        }
+
         Method setter = propertyDescriptor.getWriteMethod();
         if (setter == null) {
             throw new UnsupportedOperationException(
@@ -647,4 +639,96 @@ public final class BeanUtils {
     }
 
 
+    /**
+     * Returns the value of the specified property of the given non-null bean
+     * using the read method resolved by the cached property metadata.
+     * This operation is unsupported if the bean property is write-only.<p>
+     *
+     * If the read access fails, a PropertyAccessException is thrown
+     * that provides the Throwable that caused the failure.
+     *
+     * @param bean      the bean to read the value from
+     * @param property  describes the property to be read
+     * @return the bean's property value
+     *
+     * @throws NullPointerException           if the bean is {@code null}
+     * @throws UnsupportedOperationException  if the bean property is write-only
+     * @throws PropertyAccessException        if the new value could not be read
+     *
+     * @see BeanClassMetadata
+     */
+    public static Object getValue(Object bean, PropertyMetadata property) {
+        if (bean == null)
+            throw new NullPointerException("The bean must not be null.");
+
+        return property.getAccessor().getValue(bean);
+    }
+
+
+    /**
+     * Sets the given object as new value of the specified property of the given
+     * non-null bean using the accessor of the cached property metadata.
+     * This is unsupported if the bean property is read-only.<p>
+     *
+     * Failures are reported the same way as
+     * {@link #setValue(Object, PropertyDescriptor, Object)}.
+     *
+     * @param bean      the bean that holds the adapted property
+     * @param property  describes the property to be set
+     * @param newValue  the property value to be set
+     *
+     * @throws NullPointerException           if the bean is {@code null}
+     * @throws UnsupportedOperationException  if the bean property is read-only
+     * @throws PropertyAccessException        if the new value could not be set
+     * @throws PropertyVetoException          if the bean setter throws this exception
+     *
+     * @see BeanClassMetadata
+     */
+    public static void setValue(Object bean, PropertyMetadata property, Object newValue)
+        throws PropertyVetoException {
+        if (bean == null)
+            throw new NullPointerException("The bean must not be null.");
+
+        property.getAccessor().setValue(bean, newValue);
+    }
+
+
+    /**
+     * Returns the cached listener registration strategy of the given class.
+     * Classes that cannot be introspected get a strategy that is not cached.
+     *
+     * @param beanClass  the class that provides the registration methods
+     * @return the listener registration strategy of the class
+     */
+    private static ListenerRegistration getListenerRegistration(Class<?> beanClass) {
+        try {
+            return BeanClassMetadata.forClass(beanClass).getListenerRegistration();
+        } catch (IntrospectionException e) {
+            return new ListenerRegistration(beanClass, null);
+        }
+    }
+
+
+    /**
+     * Looks up the cached metadata of the given descriptor. Only descriptors
+     * handed out by the {@link BeanClassMetadata} cache have one; other
+     * descriptors, for example ones built from explicit getter and setter
+     * names or resolved for a superclass of the bean, are accessed through
+     * their read and write methods, like before the metadata was cached.
+     *
+     * @param bean                the bean that holds the property
+     * @param propertyDescriptor  describes the property to be accessed
+     * @return the cached metadata of the descriptor or {@code null}
+     */
+    private static PropertyMetadata getCachedProperty(Object bean, PropertyDescriptor propertyDescriptor) {
+        PropertyMetadata property;
+        try {
+            property = BeanClassMetadata.forClass(bean.getClass()).getProperty(propertyDescriptor.getName());
+        } catch (IntrospectionException e) {
+            return null;
+        }
+        return property != null && property.getPropertyDescriptor() == propertyDescriptor ? property : null;
+    }
+
+
 }
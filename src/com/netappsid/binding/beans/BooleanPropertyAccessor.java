@@ -0,0 +1,16 @@
+package com.netappsid.binding.beans;
+
+import java.beans.PropertyVetoException;
+
+/**
+ * A {@link PropertyAccessor} for a property of type {@code boolean} that also reads and writes the value as a {@code boolean}. Generated accessors call the bean
+ * without boxing, reflective ones box the value on every call.
+ *
+ * @author NetAppsID Inc.
+ */
+public interface BooleanPropertyAccessor extends PropertyAccessor
+{
+	boolean getBoolean(Object bean);
+
+	void setBoolean(Object bean, boolean newValue) throws PropertyVetoException;
+}
@@ -0,0 +1,61 @@
+package com.netappsid.binding.beans;
+
+import java.beans.PropertyVetoException;
+
+/**
+ * A {@link PrimitivePropertyAdapter} for a property of type {@code boolean}, created by {@link BeanAdapter} for such properties. The value is read and written
+ * through a {@link BooleanPropertyAccessor}, without boxing if the accessor is generated.
+ *
+ * @author NetAppsID Inc.
+ */
+public class BooleanPropertyAdapter extends PrimitivePropertyAdapter<BooleanPropertyAccessor>
+{
+	public BooleanPropertyAdapter(BeanAdapter beanAdapter, String propertyName)
+	{
+		super(beanAdapter, propertyName, BooleanPropertyAccessor.class);
+	}
+
+	@Override
+	public boolean booleanValue()
+	{
+		final Object bean = getBeanAdapter().getBean();
+		final BooleanPropertyAccessor accessor = getAccessor(bean, false);
+
+		return accessor != null ? accessor.getBoolean(bean) : super.booleanValue();
+	}
+
+	@Override
+	public void setValue(boolean newValue)
+	{
+		final Object bean = getBeanAdapter().getBean();
+		final BooleanPropertyAccessor accessor = getAccessor(bean, true);
+
+		if (accessor == null)
+		{
+			super.setValue(newValue);
+		}
+		else
+		{
+			try
+			{
+				accessor.setBoolean(bean, newValue);
+			}
+			catch (PropertyVetoException e)
+			{
+				vetoed(e);
+			}
+		}
+	}
+
+	@Override
+	protected void switchValue(BooleanPropertyAccessor oldAccessor, Object oldBean, BooleanPropertyAccessor newAccessor, Object newBean)
+	{
+		final boolean oldValue = oldAccessor.getBoolean(oldBean);
+		final boolean newValue = newAccessor.getBoolean(newBean);
+
+		if (oldValue != newValue && hasListeners(PROPERTYNAME_VALUE))
+		{
+			fireValueChange(oldValue, newValue);
+		}
+	}
+}
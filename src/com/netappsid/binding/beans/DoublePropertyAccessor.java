@@ -0,0 +1,16 @@
+package com.netappsid.binding.beans;
+
+import java.beans.PropertyVetoException;
+
+/**
+ * A {@link PropertyAccessor} for a property of type {@code double} that also reads and writes the value as a {@code double}. Generated accessors call the bean
+ * without boxing, reflective ones box the value on every call.
+ *
+ * @author NetAppsID Inc.
+ */
+public interface DoublePropertyAccessor extends PropertyAccessor
+{
+	double getDouble(Object bean);
+
+	void setDouble(Object bean, double newValue) throws PropertyVetoException;
+}
@@ -0,0 +1,61 @@
+package com.netappsid.binding.beans;
+
+import java.beans.PropertyVetoException;
+
+/**
+ * A {@link PrimitivePropertyAdapter} for a property of type {@code double}, created by {@link BeanAdapter} for such properties. The value is read and written
+ * through a {@link DoublePropertyAccessor}, without boxing if the accessor is generated.
+ *
+ * @author NetAppsID Inc.
+ */
+public class DoublePropertyAdapter extends PrimitivePropertyAdapter<DoublePropertyAccessor>
+{
+	public DoublePropertyAdapter(BeanAdapter beanAdapter, String propertyName)
+	{
+		super(beanAdapter, propertyName, DoublePropertyAccessor.class);
+	}
+
+	@Override
+	public double doubleValue()
+	{
+		final Object bean = getBeanAdapter().getBean();
+		final DoublePropertyAccessor accessor = getAccessor(bean, false);
+
+		return accessor != null ? accessor.getDouble(bean) : super.doubleValue();
+	}
+
+	@Override
+	public void setValue(double newValue)
+	{
+		final Object bean = getBeanAdapter().getBean();
+		final DoublePropertyAccessor accessor = getAccessor(bean, true);
+
+		if (accessor == null)
+		{
+			super.setValue(newValue);
+		}
+		else
+		{
+			try
+			{
+				accessor.setDouble(bean, newValue);
+			}
+			catch (PropertyVetoException e)
+			{
+				vetoed(e);
+			}
+		}
+	}
+
+	@Override
+	protected void switchValue(DoublePropertyAccessor oldAccessor, Object oldBean, DoublePropertyAccessor newAccessor, Object newBean)
+	{
+		final double oldValue = oldAccessor.getDouble(oldBean);
+		final double newValue = newAccessor.getDouble(newBean);
+
+		if (Double.doubleToLongBits(oldValue) != Double.doubleToLongBits(newValue) && hasListeners(PROPERTYNAME_VALUE))
+		{
+			fireValueChange(oldValue, newValue);
+		}
+	}
+}
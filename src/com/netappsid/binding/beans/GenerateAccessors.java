@@ -0,0 +1,23 @@
+package com.netappsid.binding.beans;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Requests the generation of a {@link GeneratedBeanAccessor} for the annotated bean class. The accessor is written at compile time by
+ * {@link com.netappsid.binding.beans.processor.BeanAccessorProcessor}, which must be registered with the compiler, for example with
+ * {@code -processor com.netappsid.binding.beans.processor.BeanAccessorProcessor}.
+ * <p>
+ *
+ * Beans without a generated accessor, including subclasses of an annotated bean, are introspected as usual.
+ *
+ * @author NetAppsID Inc.
+ */
+@Documented
+@Retention(RetentionPolicy.SOURCE)
+@Target(ElementType.TYPE)
+public @interface GenerateAccessors
+{}
@@ -0,0 +1,63 @@
+package com.netappsid.binding.beans;
+
+import java.beans.PropertyChangeListener;
+import java.beans.PropertyVetoException;
+
+/**
+ * Reflection-free access to the properties of a bean class, generated at compile time for classes annotated with {@link GenerateAccessors}. Properties are
+ * addressed by their index in {@link #getPropertyNames()}. The typed methods read and write {@code int}, {@code long}, {@code double} and {@code boolean}
+ * properties without boxing; they throw {@link UnsupportedOperationException} for an index whose property is not of their type.
+ * <p>
+ *
+ * The generated class is named after the binary name of the bean class followed by {@link #CLASS_NAME_SUFFIX} and is discovered once per class by
+ * {@link BeanClassMetadata}.
+ *
+ * @author NetAppsID Inc.
+ */
+public interface GeneratedBeanAccessor
+{
+	String CLASS_NAME_SUFFIX = "$$BeanAccessor";
+
+	Class<?> getBeanClass();
+
+	String[] getPropertyNames();
+
+	/**
+	 * @return the name of the read method of the property at the given index or {@code null} if the property is write-only
+	 */
+	String getReadMethodName(int index);
+
+	/**
+	 * @return the name of the write method of the property at the given index or {@code null} if the property is read-only
+	 */
+	String getWriteMethodName(int index);
+
+	Object getValue(Object bean, int index);
+
+	void setValue(Object bean, int index, Object newValue) throws PropertyVetoException;
+
+	int getInt(Object bean, int index);
+
+	void setInt(Object bean, int index, int newValue) throws PropertyVetoException;
+
+	long getLong(Object bean, int index);
+
+	void setLong(Object bean, int index, long newValue) throws PropertyVetoException;
+
+	double getDouble(Object bean, int index);
+
+	void setDouble(Object bean, int index, double newValue) throws PropertyVetoException;
+
+	boolean getBoolean(Object bean, int index);
+
+	void setBoolean(Object bean, int index, boolean newValue) throws PropertyVetoException;
+
+	/**
+	 * @return true if the bean class provides the pair of multicast {@code PropertyChangeListener} registration methods
+	 */
+	boolean supportsBoundProperties();
+
+	void addPropertyChangeListener(Object bean, PropertyChangeListener listener);
+
+	void removePropertyChangeListener(Object bean, PropertyChangeListener listener);
+}
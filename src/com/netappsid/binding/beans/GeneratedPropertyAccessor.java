@@ -0,0 +1,256 @@
+package com.netappsid.binding.beans;
+
+import java.beans.PropertyDescriptor;
+import java.beans.PropertyVetoException;
+
+import com.jgoodies.binding.beans.PropertyAccessException;
+
+/**
+ * Adapts one property of a {@link GeneratedBeanAccessor} to the {@link PropertyAccessor} contract, reporting failures like the reflective accessors do.
+ *
+ * @author NetAppsID Inc.
+ */
+class GeneratedPropertyAccessor implements PropertyAccessor
+{
+	protected final GeneratedBeanAccessor generatedAccessor;
+	protected final int index;
+	protected final PropertyDescriptor propertyDescriptor;
+	private final boolean readable;
+	private final boolean writable;
+
+	protected GeneratedPropertyAccessor(GeneratedBeanAccessor generatedAccessor, int index, PropertyDescriptor propertyDescriptor)
+	{
+		this.generatedAccessor = generatedAccessor;
+		this.index = index;
+		this.propertyDescriptor = propertyDescriptor;
+
+		// Resolved once, the descriptor synchronizes every read of its methods
+		this.readable = propertyDescriptor.getReadMethod() != null;
+		this.writable = propertyDescriptor.getWriteMethod() != null;
+	}
+
+	/**
+	 * Creates the accessor of the property at the given index, typed after the property type.
+	 */
+	static GeneratedPropertyAccessor create(GeneratedBeanAccessor generatedAccessor, int index, PropertyDescriptor propertyDescriptor)
+	{
+		final Class<?> propertyType = propertyDescriptor.getPropertyType();
+
+		if (propertyType == int.class)
+		{
+			return new GeneratedIntPropertyAccessor(generatedAccessor, index, propertyDescriptor);
+		}
+		else if (propertyType == long.class)
+		{
+			return new GeneratedLongPropertyAccessor(generatedAccessor, index, propertyDescriptor);
+		}
+		else if (propertyType == double.class)
+		{
+			return new GeneratedDoublePropertyAccessor(generatedAccessor, index, propertyDescriptor);
+		}
+		else if (propertyType == boolean.class)
+		{
+			return new GeneratedBooleanPropertyAccessor(generatedAccessor, index, propertyDescriptor);
+		}
+
+		return new GeneratedPropertyAccessor(generatedAccessor, index, propertyDescriptor);
+	}
+
+	@Override
+	public Object getValue(Object bean)
+	{
+		checkReadable();
+
+		try
+		{
+			return generatedAccessor.getValue(bean, index);
+		}
+		catch (RuntimeException e)
+		{
+			throw PropertyAccessException.createReadAccessException(bean, propertyDescriptor, e);
+		}
+	}
+
+	@Override
+	public void setValue(Object bean, Object newValue) throws PropertyVetoException
+	{
+		checkWritable();
+
+		try
+		{
+			generatedAccessor.setValue(bean, index, newValue);
+		}
+		catch (RuntimeException e)
+		{
+			throw PropertyAccessException.createWriteAccessException(bean, newValue, propertyDescriptor, e);
+		}
+	}
+
+	protected void checkReadable()
+	{
+		if (!readable)
+		{
+			throw new UnsupportedOperationException("The property '" + propertyDescriptor.getName() + "' is write-only.");
+		}
+	}
+
+	protected void checkWritable()
+	{
+		if (!writable)
+		{
+			throw new UnsupportedOperationException("The property '" + propertyDescriptor.getName() + "' is read-only.");
+		}
+	}
+
+	private static final class GeneratedIntPropertyAccessor extends GeneratedPropertyAccessor implements IntPropertyAccessor
+	{
+		public GeneratedIntPropertyAccessor(GeneratedBeanAccessor generatedAccessor, int index, PropertyDescriptor propertyDescriptor)
+		{
+			super(generatedAccessor, index, propertyDescriptor);
+		}
+
+		@Override
+		public int getInt(Object bean)
+		{
+			checkReadable();
+
+			try
+			{
+				return generatedAccessor.getInt(bean, index);
+			}
+			catch (RuntimeException e)
+			{
+				throw PropertyAccessException.createReadAccessException(bean, propertyDescriptor, e);
+			}
+		}
+
+		@Override
+		public void setInt(Object bean, int newValue) throws PropertyVetoException
+		{
+			checkWritable();
+
+			try
+			{
+				generatedAccessor.setInt(bean, index, newValue);
+			}
+			catch (RuntimeException e)
+			{
+				throw PropertyAccessException.createWriteAccessException(bean, Integer.valueOf(newValue), propertyDescriptor, e);
+			}
+		}
+	}
+
+	private static final class GeneratedLongPropertyAccessor extends GeneratedPropertyAccessor implements LongPropertyAccessor
+	{
+		public GeneratedLongPropertyAccessor(GeneratedBeanAccessor generatedAccessor, int index, PropertyDescriptor propertyDescriptor)
+		{
+			super(generatedAccessor, index, propertyDescriptor);
+		}
+
+		@Override
+		public long getLong(Object bean)
+		{
+			checkReadable();
+
+			try
+			{
+				return generatedAccessor.getLong(bean, index);
+			}
+			catch (RuntimeException e)
+			{
+				throw PropertyAccessException.createReadAccessException(bean, propertyDescriptor, e);
+			}
+		}
+
+		@Override
+		public void setLong(Object bean, long newValue) throws PropertyVetoException
+		{
+			checkWritable();
+
+			try
+			{
+				generatedAccessor.setLong(bean, index, newValue);
+			}
+			catch (RuntimeException e)
+			{
+				throw PropertyAccessException.createWriteAccessException(bean, Long.valueOf(newValue), propertyDescriptor, e);
+			}
+		}
+	}
+
+	private static final class GeneratedDoublePropertyAccessor extends GeneratedPropertyAccessor implements DoublePropertyAccessor
+	{
+		public GeneratedDoublePropertyAccessor(GeneratedBeanAccessor generatedAccessor, int index, PropertyDescriptor propertyDescriptor)
+		{
+			super(generatedAccessor, index, propertyDescriptor);
+		}
+
+		@Override
+		public double getDouble(Object bean)
+		{
+			checkReadable();
+
+			try
+			{
+				return generatedAccessor.getDouble(bean, index);
+			}
+			catch (RuntimeException e)
+			{
+				throw PropertyAccessException.createReadAccessException(bean, propertyDescriptor, e);
+			}
+		}
+
+		@Override
+		public void setDouble(Object bean, double newValue) throws PropertyVetoException
+		{
+			checkWritable();
+
+			try
+			{
+				generatedAccessor.setDouble(bean, index, newValue);
+			}
+			catch (RuntimeException e)
+			{
+				throw PropertyAccessException.createWriteAccessException(bean, Double.valueOf(newValue), propertyDescriptor, e);
+			}
+		}
+	}
+
+	private static final class GeneratedBooleanPropertyAccessor extends GeneratedPropertyAccessor implements BooleanPropertyAccessor
+	{
+		public GeneratedBooleanPropertyAccessor(GeneratedBeanAccessor generatedAccessor, int index, PropertyDescriptor propertyDescriptor)
+		{
+			super(generatedAccessor, index, propertyDescriptor);
+		}
+
+		@Override
+		public boolean getBoolean(Object bean)
+		{
+			checkReadable();
+
+			try
+			{
+				return generatedAccessor.getBoolean(bean, index);
+			}
+			catch (RuntimeException e)
+			{
+				throw PropertyAccessException.createReadAccessException(bean, propertyDescriptor, e);
+			}
+		}
+
+		@Override
+		public void setBoolean(Object bean, boolean newValue) throws PropertyVetoException
+		{
+			checkWritable();
+
+			try
+			{
+				generatedAccessor.setBoolean(bean, index, newValue);
+			}
+			catch (RuntimeException e)
+			{
+				throw PropertyAccessException.createWriteAccessException(bean, Boolean.valueOf(newValue), propertyDescriptor, e);
+			}
+		}
+	}
+}
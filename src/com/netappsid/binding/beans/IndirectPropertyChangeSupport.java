@@ -42,6 +42,7 @@ import java.util.Map.Entry;
 import com.jgoodies.binding.beans.PropertyNotBindableException;
 import com.jgoodies.binding.beans.PropertyUnboundException;
 import com.jgoodies.binding.value.ValueModel;
+import com.netappsid.binding.beans.support.ListenerLeakTracker;
 
 /**
  * A helper class for observing changes in bound bean properties where the target bean changes.
@@ -57,6 +58,11 @@ import com.jgoodies.binding.value.ValueModel;
  * alternative you may use event listener lists that are based on <code>WeakReference</code>s.
  * <p>
  * 
+ * In multiplexing mode, a single listener is registered with the target bean for all the registered listeners and dispatches its events to them, so that
+ * changing the target bean costs one removal and one registration whatever the number of listeners. The target beans must then support listeners for all
+ * their bound properties, and the listeners registered with this change support are not among the listeners of the target bean.
+ * <p>
+ * 
  * <strong>Constraints:</strong> All target bean classes must support bound properties, i. e. must provide the following pair of methods for registration of
  * multicast property change event listeners:
  * 
@@ -83,6 +89,7 @@ import com.jgoodies.binding.value.ValueModel;
  */
 public final class IndirectPropertyChangeSupport
 {
+	private static final ListenerLeakTracker LEAK_TRACKER = ListenerLeakTracker.getDefault();
 
 	/**
 	 * Holds a <code>ValueModel</code> that holds the bean, that in turn holds the adapted property.
@@ -112,6 +119,16 @@ public final class IndirectPropertyChangeSupport
 	 */
 	private final Map<String, List<PropertyChangeListener>> namedListeners;
 
+	/**
+	 * Holds the single listener registered with the target bean in multiplexing mode, {@code null} otherwise.
+	 */
+	private final MultiplexingHandler multiplexer;
+
+	/**
+	 * Listens to the bean channel and moves the listeners to the new bean.
+	 */
+	private final PropertyChangeListener beanChangeHandler;
+
 	/**
 	 * Constructs an IndirectPropertyChangeSupport using the given bean channel.
 	 * 
@@ -119,6 +136,20 @@ public final class IndirectPropertyChangeSupport
 	 *            the ValueModel that holds the bean
 	 */
 	public IndirectPropertyChangeSupport(ValueModel beanChannel)
+	{
+		this(beanChannel, false);
+	}
+
+	/**
+	 * Constructs an IndirectPropertyChangeSupport using the given bean channel, registering the listeners with the target bean one by one or through a single
+	 * multiplexing listener.
+	 * 
+	 * @param beanChannel
+	 *            the ValueModel that holds the bean
+	 * @param multiplexing
+	 *            true to register a single listener with the target bean
+	 */
+	public IndirectPropertyChangeSupport(ValueModel beanChannel, boolean multiplexing)
 	{
 		if (beanChannel == null)
 			throw new NullPointerException("The bean channel must not be null.");
@@ -126,8 +157,10 @@ public final class IndirectPropertyChangeSupport
 		this.beanChannel = beanChannel;
 		listenerList = new ArrayList<PropertyChangeListener>();
 		namedListeners = new HashMap<String, List<PropertyChangeListener>>();
+		multiplexer = multiplexing ? new MultiplexingHandler() : null;
 
-		beanChannel.addValueChangeListener(new BeanChangeHandler());
+		beanChangeHandler = new BeanChangeHandler();
+		beanChannel.addValueChangeListener(beanChangeHandler);
 	}
 
 	// Accessors ************************************************************
@@ -183,7 +216,15 @@ public final class IndirectPropertyChangeSupport
 		Object bean = getBean();
 		if (bean != null)
 		{
-			BeanUtils.addPropertyChangeListener(bean, listener);
+			if (multiplexer != null)
+			{
+				multiplexer.attachTo(bean);
+			}
+			else
+			{
+				BeanUtils.addPropertyChangeListener(bean, listener);
+				LEAK_TRACKER.listenerAdded(bean, listener);
+			}
 		}
 	}
 
@@ -210,9 +251,14 @@ public final class IndirectPropertyChangeSupport
 		}
 		listenerList.remove(listener);
 		Object bean = getBean();
-		if (bean != null)
+		if (multiplexer != null)
+		{
+			multiplexer.detachIfUnused();
+		}
+		else if (bean != null)
 		{
 			BeanUtils.removePropertyChangeListener(bean, listener);
+			LEAK_TRACKER.listenerRemoved(bean, listener);
 		}
 	}
 
@@ -250,7 +296,15 @@ public final class IndirectPropertyChangeSupport
 		Object bean = getBean();
 		if (bean != null)
 		{
-			BeanUtils.addPropertyChangeListener(bean, propertyName, listener);
+			if (multiplexer != null)
+			{
+				multiplexer.attachTo(bean);
+			}
+			else
+			{
+				BeanUtils.addPropertyChangeListener(bean, propertyName, listener);
+				LEAK_TRACKER.listenerAdded(bean, listener);
+			}
 		}
 	}
 
@@ -282,9 +336,14 @@ public final class IndirectPropertyChangeSupport
 		namedListenerList.remove(listener);
 
 		Object bean = getBean();
-		if (bean != null)
+		if (multiplexer != null)
+		{
+			multiplexer.detachIfUnused();
+		}
+		else if (bean != null)
 		{
 			BeanUtils.removePropertyChangeListener(bean, propertyName, listener);
+			LEAK_TRACKER.listenerRemoved(bean, listener);
 		}
 	}
 
@@ -340,6 +399,26 @@ public final class IndirectPropertyChangeSupport
 		removeAllListenersFrom(getBean());
 	}
 
+	/**
+	 * Removes all registered PropertyChangeListeners from the current target bean and stops observing the bean channel. This support must not be used
+	 * afterwards.
+	 */
+	public void dispose()
+	{
+		removeAll();
+		beanChannel.removeValueChangeListener(beanChangeHandler);
+	}
+
+	/**
+	 * Returns the listener this support registers with the bean channel.
+	 * 
+	 * @return the bean channel listener
+	 */
+	public PropertyChangeListener getBeanChannelHandler()
+	{
+		return beanChangeHandler;
+	}
+
 	// Changing the Bean & Adding and Removing the PropertyChangeHandlers *****
 
 	private void setBean0(Object oldBean, Object newBean)
@@ -360,9 +439,18 @@ public final class IndirectPropertyChangeSupport
 		{
 			return;
 		}
+		if (multiplexer != null)
+		{
+			if (hasListeners())
+			{
+				multiplexer.attachTo(bean);
+			}
+			return;
+		}
 		for (PropertyChangeListener listener : listenerList)
 		{
 			BeanUtils.addPropertyChangeListener(bean, listener);
+			LEAK_TRACKER.listenerAdded(bean, listener);
 		}
 		for (Entry<String, List<PropertyChangeListener>> entry : namedListeners.entrySet())
 		{
@@ -370,6 +458,7 @@ public final class IndirectPropertyChangeSupport
 			for (PropertyChangeListener listener : entry.getValue())
 			{
 				BeanUtils.addPropertyChangeListener(bean, propertyName, listener);
+				LEAK_TRACKER.listenerAdded(bean, listener);
 			}
 		}
 	}
@@ -390,9 +479,15 @@ public final class IndirectPropertyChangeSupport
 		{
 			return;
 		}
+		if (multiplexer != null)
+		{
+			multiplexer.detachFrom(bean);
+			return;
+		}
 		for (PropertyChangeListener listener : listenerList)
 		{
 			BeanUtils.removePropertyChangeListener(bean, listener);
+			LEAK_TRACKER.listenerRemoved(bean, listener);
 		}
 		for (Entry<String, List<PropertyChangeListener>> entry : namedListeners.entrySet())
 		{
@@ -400,10 +495,27 @@ public final class IndirectPropertyChangeSupport
 			for (PropertyChangeListener listener : entry.getValue())
 			{
 				BeanUtils.removePropertyChangeListener(bean, propertyName, listener);
+				LEAK_TRACKER.listenerRemoved(bean, listener);
 			}
 		}
 	}
 
+	private boolean hasListeners()
+	{
+		if (!listenerList.isEmpty())
+		{
+			return true;
+		}
+		for (List<PropertyChangeListener> namedListenerList : namedListeners.values())
+		{
+			if (!namedListenerList.isEmpty())
+			{
+				return true;
+			}
+		}
+		return false;
+	}
+
 	// Helper Classes *********************************************************
 
 	/**
@@ -424,4 +536,72 @@ public final class IndirectPropertyChangeSupport
 		}
 	}
 
+	/**
+	 * Listens to all the bound properties of the target bean in multiplexing mode and dispatches the changes to the registered listeners, the listeners of all
+	 * properties first.
+	 */
+	private final class MultiplexingHandler implements PropertyChangeListener
+	{
+
+		/**
+		 * Holds the bean this handler is registered with, if any.
+		 */
+		private Object attachedBean;
+
+		void attachTo(Object bean)
+		{
+			if (attachedBean != bean)
+			{
+				detachFrom(attachedBean);
+				BeanUtils.addPropertyChangeListener(bean, this);
+				LEAK_TRACKER.listenerAdded(bean, this);
+				attachedBean = bean;
+			}
+		}
+
+		void detachFrom(Object bean)
+		{
+			if (bean != null && attachedBean == bean)
+			{
+				BeanUtils.removePropertyChangeListener(bean, this);
+				LEAK_TRACKER.listenerRemoved(bean, this);
+				attachedBean = null;
+			}
+		}
+
+		void detachIfUnused()
+		{
+			if (!hasListeners())
+			{
+				detachFrom(attachedBean);
+			}
+		}
+
+		/**
+		 * A bound property of the target bean has been changed. Notifies the listeners of all properties and the listeners of the changed property.
+		 * 
+		 * @param evt
+		 *            the property change event to be handled
+		 */
+		public void propertyChange(PropertyChangeEvent evt)
+		{
+			final List<PropertyChangeListener> listeners;
+
+			synchronized (IndirectPropertyChangeSupport.this)
+			{
+				listeners = new ArrayList<PropertyChangeListener>(listenerList);
+				List<PropertyChangeListener> namedListenerList = evt.getPropertyName() != null ? namedListeners.get(evt.getPropertyName()) : null;
+				if (namedListenerList != null)
+				{
+					listeners.addAll(namedListenerList);
+				}
+			}
+
+			for (PropertyChangeListener listener : listeners)
+			{
+				listener.propertyChange(evt);
+			}
+		}
+	}
+
 }
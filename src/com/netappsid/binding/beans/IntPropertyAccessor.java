@@ -0,0 +1,16 @@
+package com.netappsid.binding.beans;
+
+import java.beans.PropertyVetoException;
+
+/**
+ * A {@link PropertyAccessor} for a property of type {@code int} that also reads and writes the value as a {@code int}. Generated accessors call the bean
+ * without boxing, reflective ones box the value on every call.
+ *
+ * @author NetAppsID Inc.
+ */
+public interface IntPropertyAccessor extends PropertyAccessor
+{
+	int getInt(Object bean);
+
+	void setInt(Object bean, int newValue) throws PropertyVetoException;
+}
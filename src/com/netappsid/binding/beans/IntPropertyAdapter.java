@@ -0,0 +1,61 @@
+package com.netappsid.binding.beans;
+
+import java.beans.PropertyVetoException;
+
+/**
+ * A {@link PrimitivePropertyAdapter} for a property of type {@code int}, created by {@link BeanAdapter} for such properties. The value is read and written
+ * through a {@link IntPropertyAccessor}, without boxing if the accessor is generated.
+ *
+ * @author NetAppsID Inc.
+ */
+public class IntPropertyAdapter extends PrimitivePropertyAdapter<IntPropertyAccessor>
+{
+	public IntPropertyAdapter(BeanAdapter beanAdapter, String propertyName)
+	{
+		super(beanAdapter, propertyName, IntPropertyAccessor.class);
+	}
+
+	@Override
+	public int intValue()
+	{
+		final Object bean = getBeanAdapter().getBean();
+		final IntPropertyAccessor accessor = getAccessor(bean, false);
+
+		return accessor != null ? accessor.getInt(bean) : super.intValue();
+	}
+
+	@Override
+	public void setValue(int newValue)
+	{
+		final Object bean = getBeanAdapter().getBean();
+		final IntPropertyAccessor accessor = getAccessor(bean, true);
+
+		if (accessor == null)
+		{
+			super.setValue(newValue);
+		}
+		else
+		{
+			try
+			{
+				accessor.setInt(bean, newValue);
+			}
+			catch (PropertyVetoException e)
+			{
+				vetoed(e);
+			}
+		}
+	}
+
+	@Override
+	protected void switchValue(IntPropertyAccessor oldAccessor, Object oldBean, IntPropertyAccessor newAccessor, Object newBean)
+	{
+		final int oldValue = oldAccessor.getInt(oldBean);
+		final int newValue = newAccessor.getInt(newBean);
+
+		if (oldValue != newValue && hasListeners(PROPERTYNAME_VALUE))
+		{
+			fireValueChange(oldValue, newValue);
+		}
+	}
+}
@@ -0,0 +1,135 @@
+package com.netappsid.binding.beans;
+
+import java.beans.PropertyChangeListener;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+
+import com.jgoodies.binding.beans.Observable;
+import com.netappsid.observable.ObservableByName;
+
+/**
+ * The way {@code PropertyChangeListener}s are registered with the instances of a bean class, resolved once per class by {@link BeanClassMetadata}. Beans
+ * implementing {@link Observable} or {@link ObservableByName}, and beans with a {@link GeneratedBeanAccessor}, are called directly; other beans are called
+ * through registration methods looked up once. Missing methods are remembered as well, so that unsupported classes are not searched again.
+ *
+ * @author NetAppsID Inc.
+ */
+final class ListenerRegistration
+{
+	private static final Class<?>[] PCL_PARAMS = new Class<?>[] { PropertyChangeListener.class };
+	private static final Class<?>[] NAMED_PCL_PARAMS = new Class<?>[] { String.class, PropertyChangeListener.class };
+
+	private final Method pclAdder;
+	private final Method pclRemover;
+	private final Method namedPCLAdder;
+	private final Method namedPCLRemover;
+	private final boolean observable;
+	private final boolean observableByName;
+	private final GeneratedBeanAccessor generatedAccessor;
+
+	ListenerRegistration(Class<?> beanClass, GeneratedBeanAccessor generatedAccessor)
+	{
+		this.pclAdder = getMethod(beanClass, "addPropertyChangeListener", PCL_PARAMS);
+		this.pclRemover = getMethod(beanClass, "removePropertyChangeListener", PCL_PARAMS);
+		this.namedPCLAdder = getMethod(beanClass, "addPropertyChangeListener", NAMED_PCL_PARAMS);
+		this.namedPCLRemover = getMethod(beanClass, "removePropertyChangeListener", NAMED_PCL_PARAMS);
+		this.observable = Observable.class.isAssignableFrom(beanClass);
+		this.observableByName = ObservableByName.class.isAssignableFrom(beanClass);
+		this.generatedAccessor = generatedAccessor != null && generatedAccessor.supportsBoundProperties() ? generatedAccessor : null;
+	}
+
+	private static Method getMethod(Class<?> beanClass, String name, Class<?>[] parameterTypes)
+	{
+		try
+		{
+			return beanClass.getMethod(name, parameterTypes);
+		}
+		catch (NoSuchMethodException e)
+		{
+			return null;
+		}
+	}
+
+	public Method getPCLAdder()
+	{
+		return pclAdder;
+	}
+
+	public Method getPCLRemover()
+	{
+		return pclRemover;
+	}
+
+	public Method getNamedPCLAdder()
+	{
+		return namedPCLAdder;
+	}
+
+	public Method getNamedPCLRemover()
+	{
+		return namedPCLRemover;
+	}
+
+	public boolean supportsBoundProperties()
+	{
+		return pclAdder != null && pclRemover != null;
+	}
+
+	public void addPropertyChangeListener(Object bean, PropertyChangeListener listener) throws InvocationTargetException, IllegalAccessException
+	{
+		if (observable)
+		{
+			((Observable) bean).addPropertyChangeListener(listener);
+		}
+		else if (generatedAccessor != null)
+		{
+			generatedAccessor.addPropertyChangeListener(bean, listener);
+		}
+		else
+		{
+			pclAdder.invoke(bean, listener);
+		}
+	}
+
+	public void removePropertyChangeListener(Object bean, PropertyChangeListener listener) throws InvocationTargetException, IllegalAccessException
+	{
+		if (observable)
+		{
+			((Observable) bean).removePropertyChangeListener(listener);
+		}
+		else if (generatedAccessor != null)
+		{
+			generatedAccessor.removePropertyChangeListener(bean, listener);
+		}
+		else
+		{
+			pclRemover.invoke(bean, listener);
+		}
+	}
+
+	public void addPropertyChangeListener(Object bean, String propertyName, PropertyChangeListener listener) throws InvocationTargetException,
+			IllegalAccessException
+	{
+		if (observableByName)
+		{
+			((ObservableByName) bean).addPropertyChangeListener(propertyName, listener);
+		}
+		else
+		{
+			namedPCLAdder.invoke(bean, propertyName, listener);
+		}
+	}
+
+	public void removePropertyChangeListener(Object bean, String propertyName, PropertyChangeListener listener) throws InvocationTargetException,
+			IllegalAccessException
+	{
+		if (observableByName)
+		{
+			((ObservableByName) bean).removePropertyChangeListener(propertyName, listener);
+		}
+		else
+		{
+			namedPCLRemover.invoke(bean, propertyName, listener);
+		}
+	}
+}
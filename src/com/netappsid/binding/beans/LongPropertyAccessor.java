@@ -0,0 +1,16 @@
+package com.netappsid.binding.beans;
+
+import java.beans.PropertyVetoException;
+
+/**
+ * A {@link PropertyAccessor} for a property of type {@code long} that also reads and writes the value as a {@code long}. Generated accessors call the bean
+ * without boxing, reflective ones box the value on every call.
+ *
+ * @author NetAppsID Inc.
+ */
+public interface LongPropertyAccessor extends PropertyAccessor
+{
+	long getLong(Object bean);
+
+	void setLong(Object bean, long newValue) throws PropertyVetoException;
+}
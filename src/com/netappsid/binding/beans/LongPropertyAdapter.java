@@ -0,0 +1,61 @@
+package com.netappsid.binding.beans;
+
+import java.beans.PropertyVetoException;
+
+/**
+ * A {@link PrimitivePropertyAdapter} for a property of type {@code long}, created by {@link BeanAdapter} for such properties. The value is read and written
+ * through a {@link LongPropertyAccessor}, without boxing if the accessor is generated.
+ *
+ * @author NetAppsID Inc.
+ */
+public class LongPropertyAdapter extends PrimitivePropertyAdapter<LongPropertyAccessor>
+{
+	public LongPropertyAdapter(BeanAdapter beanAdapter, String propertyName)
+	{
+		super(beanAdapter, propertyName, LongPropertyAccessor.class);
+	}
+
+	@Override
+	public long longValue()
+	{
+		final Object bean = getBeanAdapter().getBean();
+		final LongPropertyAccessor accessor = getAccessor(bean, false);
+
+		return accessor != null ? accessor.getLong(bean) : super.longValue();
+	}
+
+	@Override
+	public void setValue(long newValue)
+	{
+		final Object bean = getBeanAdapter().getBean();
+		final LongPropertyAccessor accessor = getAccessor(bean, true);
+
+		if (accessor == null)
+		{
+			super.setValue(newValue);
+		}
+		else
+		{
+			try
+			{
+				accessor.setLong(bean, newValue);
+			}
+			catch (PropertyVetoException e)
+			{
+				vetoed(e);
+			}
+		}
+	}
+
+	@Override
+	protected void switchValue(LongPropertyAccessor oldAccessor, Object oldBean, LongPropertyAccessor newAccessor, Object newBean)
+	{
+		final long oldValue = oldAccessor.getLong(oldBean);
+		final long newValue = newAccessor.getLong(newBean);
+
+		if (oldValue != newValue && hasListeners(PROPERTYNAME_VALUE))
+		{
+			fireValueChange(oldValue, newValue);
+		}
+	}
+}
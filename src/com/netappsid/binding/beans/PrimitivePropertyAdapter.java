@@ -0,0 +1,84 @@
+package com.netappsid.binding.beans;
+
+import java.beans.PropertyVetoException;
+
+import org.apache.log4j.Logger;
+
+/**
+ * A {@link SimplePropertyAdapter} for a property of a primitive type, read and written through the typed {@link PropertyAccessor} of the property. The value
+ * is only accessed without boxing when the accessor is generated, see {@link GenerateAccessors}; the reflective accessors box it through
+ * {@link java.lang.reflect.Method#invoke(Object, Object...)}. Beans whose property has no typed accessor, for example a subclass redeclaring the property with
+ * a wrapper type, are adapted like any other property.
+ * <p>
+ *
+ * A bean switch compares the old and new values through the typed accessors before firing, so that no wrapper is created for the comparison. The value
+ * changes fired still carry wrappers, as property change events do. Subclasses read, write and compare the values of their type.
+ *
+ * @param <A>
+ *            the typed accessor of the adapted primitive type
+ *
+ * @author NetAppsID Inc.
+ */
+public abstract class PrimitivePropertyAdapter<A extends PropertyAccessor> extends SimplePropertyAdapter
+{
+	private static final Logger LOGGER = Logger.getLogger(PrimitivePropertyAdapter.class);
+
+	private final Class<A> accessorType;
+
+	protected PrimitivePropertyAdapter(BeanAdapter beanAdapter, String propertyName, Class<A> accessorType)
+	{
+		super(beanAdapter, propertyName);
+		this.accessorType = accessorType;
+	}
+
+	@Override
+	protected void switchBean(Object oldBean, PropertyMetadata oldProperty, Object newBean, PropertyMetadata newProperty)
+	{
+		final A oldAccessor = getAccessor(oldProperty, false);
+		final A newAccessor = getAccessor(newProperty, false);
+
+		if (oldAccessor == null || newAccessor == null)
+		{
+			super.switchBean(oldBean, oldProperty, newBean, newProperty);
+		}
+		else
+		{
+			switchValue(oldAccessor, oldBean, newAccessor, newBean);
+		}
+	}
+
+	/**
+	 * Fires a value change if the value of the old bean differs from the value of the new bean.
+	 */
+	protected abstract void switchValue(A oldAccessor, Object oldBean, A newAccessor, Object newBean);
+
+	/**
+	 * Returns the typed accessor of the property of the given bean.
+	 *
+	 * @param write
+	 *            whether the accessor is used to write the property
+	 * @return the typed accessor or {@code null} if the bean is {@code null} or its property has no typed accessor
+	 */
+	protected final A getAccessor(Object bean, boolean write)
+	{
+		return getAccessor(bean != null ? getProperty(bean) : null, write);
+	}
+
+	private A getAccessor(PropertyMetadata property, boolean write)
+	{
+		if (property != null && (write ? property.isWritable() : property.isReadable()) && accessorType.isInstance(property.getAccessor()))
+		{
+			return accessorType.cast(property.getAccessor());
+		}
+
+		return null;
+	}
+
+	/**
+	 * Reports a veto of a typed write, which like any other write leaves the value unchanged.
+	 */
+	protected final void vetoed(PropertyVetoException e)
+	{
+		LOGGER.trace(e.getMessage(), e);
+	}
+}
@@ -0,0 +1,44 @@
+package com.netappsid.binding.beans;
+
+import java.beans.PropertyVetoException;
+
+import com.jgoodies.binding.beans.PropertyAccessException;
+
+/**
+ * Reads and writes a single bean property. Accessors are created once per property by a {@link PropertyAccessorFactory} and reused for every access.
+ *
+ * @author NetAppsID Inc.
+ *
+ * @see BeanClassMetadata#setPropertyAccessorFactory(PropertyAccessorFactory)
+ */
+public interface PropertyAccessor
+{
+	/**
+	 * Returns the value of the accessed property of the given non-null bean.
+	 *
+	 * @param bean
+	 *            the bean to read the value from
+	 * @return the bean's property value
+	 * @throws UnsupportedOperationException
+	 *             if the bean property is write-only
+	 * @throws PropertyAccessException
+	 *             if the value could not be read
+	 */
+	Object getValue(Object bean);
+
+	/**
+	 * Sets the given value as new value of the accessed property of the given non-null bean.
+	 *
+	 * @param bean
+	 *            the bean that holds the property
+	 * @param newValue
+	 *            the property value to be set
+	 * @throws UnsupportedOperationException
+	 *             if the bean property is read-only
+	 * @throws PropertyAccessException
+	 *             if the new value could not be set
+	 * @throws PropertyVetoException
+	 *             if the bean setter throws this exception
+	 */
+	void setValue(Object bean, Object newValue) throws PropertyVetoException;
+}
@@ -0,0 +1,13 @@
+package com.netappsid.binding.beans;
+
+/**
+ * Creates the {@link PropertyAccessor} of a bean property.
+ *
+ * @author NetAppsID Inc.
+ *
+ * @see ReflectivePropertyAccessorFactory
+ */
+public interface PropertyAccessorFactory
+{
+	PropertyAccessor createPropertyAccessor(PropertyMetadata property);
+}
@@ -140,12 +140,12 @@ public final class PropertyConnector {
     /**
      * Describes the accessor for property1; basically a getter and setter.
      */
-    private final PropertyDescriptor property1Descriptor;
+    private final PropertyMetadata property1Metadata;
 
     /**
      * Describes the accessor for property1; basically a getter and setter.
      */
-    private final PropertyDescriptor property2Descriptor;
+    private final PropertyMetadata property2Metadata;
 
 
     // Instance creation ****************************************************
@@ -191,13 +191,13 @@ public final class PropertyConnector {
         this.property1Name = property1Name;
         this.property2Name = property2Name;
 
-        property1Descriptor = getPropertyDescriptor(bean1Class, property1Name);
-        property2Descriptor = getPropertyDescriptor(bean2Class, property2Name);
+        property1Metadata = getPropertyMetadata(bean1Class, property1Name);
+        property2Metadata = getPropertyMetadata(bean2Class, property2Name);
 
         // Used to check if property2 shall be observed,
         // i.e. if a listener shall be registered with property2.
-        boolean property1Writable = property1Descriptor.getWriteMethod() != null;
-        boolean property1Readable = property1Descriptor.getReadMethod() != null;
+        boolean property1Writable = property1Metadata.isWritable();
+        boolean property1Readable = property1Metadata.isReadable();
 
         // Reject write-only property1
         if (property1Writable && !property1Readable) {
@@ -206,8 +206,8 @@ public final class PropertyConnector {
 
         // Used to check if property1 shall be observed,
         // i.e. if a listener shall be registered with property1.
-        boolean property2Writable = property2Descriptor.getWriteMethod() != null;
-        boolean property2Readable = property2Descriptor.getReadMethod() != null;
+        boolean property2Writable = property2Metadata.isWritable();
+        boolean property2Readable = property2Metadata.isReadable();
 
         // Reject write-only property2
         if (property2Writable && !property2Readable) {
@@ -228,7 +228,7 @@ public final class PropertyConnector {
         // bound bean properties, and if updates can be written to property2.
         if (property1Observable && property2Writable) {
             property1ChangeHandler = new PropertyChangeHandler(
-                    bean1, property1Descriptor, bean2, property2Descriptor);
+                    bean1, property1Metadata, bean2, property2Metadata);
             addPropertyChangeHandler(bean1, bean1Class, property1ChangeHandler);
         } else {
             property1ChangeHandler = null;
@@ -238,7 +238,7 @@ public final class PropertyConnector {
         // bound bean properties, and if updates can be written to property1.
         if (property2Observable && property1Writable) {
             property2ChangeHandler = new PropertyChangeHandler(
-                    bean2, property2Descriptor, bean1, property1Descriptor);
+                    bean2, property2Metadata, bean1, property1Metadata);
             addPropertyChangeHandler(bean2, bean2Class, property2ChangeHandler);
         } else {
             property2ChangeHandler = null;
@@ -354,9 +354,9 @@ public final class PropertyConnector {
      * @see #updateProperty2()
      */
     public void updateProperty1() {
-        Object property2Value = BeanUtils.getValue(bean2, property2Descriptor);
-        setValueSilently(bean2, property2Descriptor,
-                         bean1, property1Descriptor, property2Value);
+        Object property2Value = BeanUtils.getValue(bean2, property2Metadata);
+        setValueSilently(bean2, property2Metadata,
+                         bean1, property1Metadata, property2Value);
     }
 
     /**
@@ -366,9 +366,9 @@ public final class PropertyConnector {
      * @see #updateProperty1()
      */
     public void updateProperty2() {
-        Object property1Value = BeanUtils.getValue(bean1, property1Descriptor);
-        setValueSilently(bean1, property1Descriptor,
-                         bean2, property2Descriptor, property1Value);
+        Object property1Value = BeanUtils.getValue(bean1, property1Metadata);
+        setValueSilently(bean1, property1Metadata,
+                         bean2, property2Metadata, property1Value);
     }
 
 
@@ -444,11 +444,11 @@ public final class PropertyConnector {
 
     private void setValueSilently(
             Object sourceBean,
-            PropertyDescriptor sourcePropertyDescriptor,
+            PropertyMetadata sourcePropertyMetadata,
             Object targetBean,
-            PropertyDescriptor targetPropertyDescriptor,
+            PropertyMetadata targetPropertyMetadata,
             Object newValue) {
-        Object targetValue = BeanUtils.getValue(targetBean, targetPropertyDescriptor);
+        Object targetValue = BeanUtils.getValue(targetBean, targetPropertyMetadata);
         if (targetValue == newValue) {
             return;
         }
@@ -460,22 +460,22 @@ public final class PropertyConnector {
         }
         try {
             // Set the new value in the target bean.
-            BeanUtils.setValue(targetBean, targetPropertyDescriptor, newValue);
+            BeanUtils.setValue(targetBean, targetPropertyMetadata, newValue);
         } catch (PropertyVetoException e) {
             // Silently ignore this situation here, will be handled below.
         }
         // The target bean setter may have modified the new value.
         // Read the value set in the target bean.
-        targetValue = BeanUtils.getValue(targetBean, targetPropertyDescriptor);
+        targetValue = BeanUtils.getValue(targetBean, targetPropertyMetadata);
         // If the new value and the value read differ,
         // update the source bean's value.
         // This ignores that the source bean setter may modify the value again.
         // But we won't end in a loop.
         if (!BindingUtils.equals(targetValue, newValue)) {
-            boolean sourcePropertyWritable = sourcePropertyDescriptor.getWriteMethod() != null;
+            boolean sourcePropertyWritable = sourcePropertyMetadata.isWritable();
             if (sourcePropertyWritable) {
                 try {
-                    BeanUtils.setValue(sourceBean, sourcePropertyDescriptor, targetValue);
+                    BeanUtils.setValue(sourceBean, sourcePropertyMetadata, targetValue);
                 } catch (PropertyVetoException e) {
                     // Ignore. The value set is a modified variant
                     // of a value that had been accepted before.
@@ -492,22 +492,29 @@ public final class PropertyConnector {
 
 
     /**
-     * Looks up, lazily initializes and returns a <code>PropertyDescriptor</code>
+     * Looks up and returns the cached <code>PropertyMetadata</code>
      * for the given Java Bean and property name.
      *
      * @param beanClass     the Java Bean class used to lookup the property from
      * @param propertyName  the name of the property
-     * @return the descriptor for the given bean and property name
+     * @return the metadata for the given bean and property name
      * @throws PropertyNotFoundException   if the property could not be found
      */
-    private static PropertyDescriptor getPropertyDescriptor(
+    private static PropertyMetadata getPropertyMetadata(
         Class<?> beanClass,
         String propertyName) {
+        PropertyMetadata property;
         try {
-            return BeanUtils.getPropertyDescriptor(beanClass, propertyName);
+            property = BeanClassMetadata.forClass(beanClass).getProperty(propertyName);
         } catch (IntrospectionException e) {
             throw new PropertyNotFoundException(propertyName, beanClass, e);
         }
+        if (property == null) {
+            throw new PropertyNotFoundException(propertyName, beanClass,
+                new IntrospectionException(
+                    "Property '" + propertyName + "' not found in bean " + beanClass));
+        }
+        return property;
     }
 
     /**
@@ -521,9 +528,9 @@ public final class PropertyConnector {
         private final Object sourceBean;
 
         /**
-         * Holds the property descriptor for the bean to read from.
+         * Holds the property metadata for the bean to read from.
          */
-        private final PropertyDescriptor sourcePropertyDescriptor;
+        private final PropertyMetadata sourcePropertyMetadata;
 
         /**
          * Holds the bean to update.
@@ -531,20 +538,20 @@ public final class PropertyConnector {
         private final Object targetBean;
 
         /**
-         * Holds the property descriptor for the bean to update.
+         * Holds the property metadata for the bean to update.
          */
-        private final PropertyDescriptor targetPropertyDescriptor;
+        private final PropertyMetadata targetPropertyMetadata;
 
 
         private PropertyChangeHandler(
                 Object sourceBean,
-                PropertyDescriptor sourcePropertyDescriptor,
+                PropertyMetadata sourcePropertyMetadata,
                 Object targetBean,
-                PropertyDescriptor targetPropertyDescriptor) {
+                PropertyMetadata targetPropertyMetadata) {
             this.sourceBean = sourceBean;
-            this.sourcePropertyDescriptor = sourcePropertyDescriptor;
+            this.sourcePropertyMetadata = sourcePropertyMetadata;
             this.targetBean = targetBean;
-            this.targetPropertyDescriptor = targetPropertyDescriptor;
+            this.targetPropertyMetadata = targetPropertyMetadata;
         }
 
         /**
@@ -557,16 +564,16 @@ public final class PropertyConnector {
          * @param evt   the property change event to be handled
          */
         public void propertyChange(PropertyChangeEvent evt) {
-            String sourcePropertyName = sourcePropertyDescriptor.getName();
+            String sourcePropertyName = sourcePropertyMetadata.getName();
             String propertyName = evt.getPropertyName();
             if    ((propertyName == null)
                 || (propertyName.equals(sourcePropertyName))) {
                 Object newValue = evt.getNewValue();
                 if ((newValue == null) || (propertyName == null)) {
-                    newValue = BeanUtils.getValue(sourceBean, sourcePropertyDescriptor);
+                    newValue = BeanUtils.getValue(sourceBean, sourcePropertyMetadata);
                 }
-                setValueSilently(sourceBean, sourcePropertyDescriptor,
-                                 targetBean, targetPropertyDescriptor,
+                setValueSilently(sourceBean, sourcePropertyMetadata,
+                                 targetBean, targetPropertyMetadata,
                                  newValue);
             }
         }
@@ -0,0 +1,95 @@
+package com.netappsid.binding.beans;
+
+import java.beans.PropertyDescriptor;
+import java.lang.reflect.Method;
+
+/**
+ * Describes a single bean property as cached by {@link BeanClassMetadata}. The read and write methods are resolved once at creation instead of on every
+ * access through the {@link PropertyDescriptor}, and the {@link PropertyAccessor} is created on first access only unless the bean class has a generated one.
+ *
+ * @author NetAppsID Inc.
+ */
+public final class PropertyMetadata
+{
+	private final PropertyDescriptor propertyDescriptor;
+	private final String name;
+	private final Class<?> propertyType;
+	private final Method readMethod;
+	private final Method writeMethod;
+	private volatile PropertyAccessor accessor;
+
+	PropertyMetadata(PropertyDescriptor propertyDescriptor)
+	{
+		this.propertyDescriptor = propertyDescriptor;
+		this.name = propertyDescriptor.getName().intern();
+		this.propertyType = propertyDescriptor.getPropertyType();
+		this.readMethod = propertyDescriptor.getReadMethod();
+		this.writeMethod = propertyDescriptor.getWriteMethod();
+	}
+
+	PropertyMetadata(PropertyDescriptor propertyDescriptor, PropertyAccessor accessor)
+	{
+		this(propertyDescriptor);
+		this.accessor = accessor;
+	}
+
+	public PropertyDescriptor getPropertyDescriptor()
+	{
+		return propertyDescriptor;
+	}
+
+	public String getName()
+	{
+		return name;
+	}
+
+	public Class<?> getPropertyType()
+	{
+		return propertyType;
+	}
+
+	public Method getReadMethod()
+	{
+		return readMethod;
+	}
+
+	public Method getWriteMethod()
+	{
+		return writeMethod;
+	}
+
+	/**
+	 * Returns the accessor of this property, created on first use by the current {@link PropertyAccessorFactory}.
+	 *
+	 * @return the accessor of this property
+	 */
+	public PropertyAccessor getAccessor()
+	{
+		PropertyAccessor propertyAccessor = accessor;
+
+		if (propertyAccessor == null)
+		{
+			// Racing threads may each create an accessor, they are interchangeable
+			propertyAccessor = BeanClassMetadata.getPropertyAccessorFactory().createPropertyAccessor(this);
+			accessor = propertyAccessor;
+		}
+
+		return propertyAccessor;
+	}
+
+	public boolean isReadable()
+	{
+		return readMethod != null;
+	}
+
+	public boolean isWritable()
+	{
+		return writeMethod != null;
+	}
+
+	@Override
+	public String toString()
+	{
+		return getClass().getSimpleName() + "[name=" + name + "; type=" + propertyType + "]";
+	}
+}
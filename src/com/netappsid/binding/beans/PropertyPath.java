@@ -0,0 +1,149 @@
+package com.netappsid.binding.beans;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * A property name path such as {@code "customer.address.city"}, parsed once into interned segments. Compiled paths are shared, so that repeated lookups of
+ * the same path never split the string again. At most {@value #MAX_SHARED_PATHS} paths are shared, the paths compiled once that many have been are parsed
+ * on every use; paths are equal when their strings are.
+ * <p>
+ *
+ * A path holds names only; the bean classes met while walking it are resolved by the {@link PropertyPathValueModel} using it.
+ *
+ * @author NetAppsID Inc.
+ */
+public final class PropertyPath
+{
+	public static final char SEPARATOR = '.';
+
+	/**
+	 * The number of compiled paths kept, so that paths built on the fly cannot grow the shared paths without bound.
+	 */
+	public static final int MAX_SHARED_PATHS = 4096;
+
+	private static final ConcurrentMap<String, PropertyPath> COMPILED_PATHS = new ConcurrentHashMap<String, PropertyPath>();
+
+	private final String path;
+	private final String[] segments;
+	private final String parentPath;
+
+	private PropertyPath(String path)
+	{
+		final List<String> segments = new ArrayList<String>();
+		int start = 0;
+
+		for (int index = path.indexOf(SEPARATOR); index != -1; index = path.indexOf(SEPARATOR, start))
+		{
+			segments.add(segment(path, start, index));
+			start = index + 1;
+		}
+
+		segments.add(segment(path, start, path.length()));
+
+		this.path = path.intern();
+		this.segments = segments.toArray(new String[segments.size()]);
+		this.parentPath = start > 0 ? path.substring(0, start - 1).intern() : null;
+	}
+
+	private static String segment(String path, int start, int end)
+	{
+		if (start == end)
+		{
+			throw new IllegalArgumentException("The property path '" + path + "' has an empty segment.");
+		}
+
+		return path.substring(start, end).intern();
+	}
+
+	/**
+	 * Returns the compiled form of the given path, parsing it on first use only.
+	 *
+	 * @param path
+	 *            a property name or a property name path delimited by '.'
+	 * @return the compiled path
+	 * @throws NullPointerException
+	 *             if the path is {@code null}
+	 * @throws IllegalArgumentException
+	 *             if the path has an empty segment
+	 */
+	public static PropertyPath compile(String path)
+	{
+		if (path == null)
+			throw new NullPointerException("The property path must not be null.");
+
+		PropertyPath compiledPath = COMPILED_PATHS.get(path);
+
+		if (compiledPath == null)
+		{
+			compiledPath = new PropertyPath(path);
+
+			if (COMPILED_PATHS.size() >= MAX_SHARED_PATHS)
+			{
+				return compiledPath;
+			}
+
+			final PropertyPath existingPath = COMPILED_PATHS.putIfAbsent(compiledPath.getPath(), compiledPath);
+
+			if (existingPath != null)
+			{
+				compiledPath = existingPath;
+			}
+		}
+
+		return compiledPath;
+	}
+
+	public String getPath()
+	{
+		return path;
+	}
+
+	public int getSegmentCount()
+	{
+		return segments.length;
+	}
+
+	public String getSegment(int index)
+	{
+		return segments[index];
+	}
+
+	public String getLastSegment()
+	{
+		return segments[segments.length - 1];
+	}
+
+	/**
+	 * @return the path without its last segment or {@code null} if the path is a simple property name
+	 */
+	public String getParentPath()
+	{
+		return parentPath;
+	}
+
+	public boolean isNested()
+	{
+		return segments.length > 1;
+	}
+
+	@Override
+	public int hashCode()
+	{
+		return path.hashCode();
+	}
+
+	@Override
+	public boolean equals(Object obj)
+	{
+		return obj == this || (obj instanceof PropertyPath && path.equals(((PropertyPath) obj).path));
+	}
+
+	@Override
+	public String toString()
+	{
+		return path;
+	}
+}
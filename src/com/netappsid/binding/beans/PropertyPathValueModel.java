@@ -0,0 +1,222 @@
+package com.netappsid.binding.beans;
+
+import java.beans.IntrospectionException;
+import java.beans.PropertyChangeEvent;
+import java.beans.PropertyChangeListener;
+
+import org.apache.log4j.Logger;
+
+import com.jgoodies.binding.value.ValueModel;
+import com.netappsid.binding.beans.support.ChangeSupportFactory;
+import com.netappsid.binding.value.AbstractValueModel;
+import com.netappsid.validate.Validate;
+
+/**
+ * A read-only ValueModel that follows a {@link PropertyPath} from the bean held by a bean channel, for example {@code "customer.address.city"}. It observes
+ * every bean along the path directly and fires a value change whenever any of them changes, without creating a sub-PresentationModel, a BeanAdapter or a
+ * StateModel per segment.
+ * <p>
+ *
+ * The property of each segment is resolved once per bean class met. An unknown property or a {@code null} bean along the path yields a {@code null} value.
+ * Call {@link #release()} to remove the listeners from the observed beans.
+ *
+ * @author NetAppsID Inc.
+ */
+public class PropertyPathValueModel extends AbstractValueModel
+{
+	private static final Logger LOGGER = Logger.getLogger(PropertyPathValueModel.class);
+
+	private final ValueModel beanChannel;
+	private final PropertyPath path;
+	private final Class<?>[] resolvedClasses;
+	private final PropertyMetadata[] resolvedProperties;
+	private final Object[] observedBeans;
+	private final PropertyChangeListener beanChannelHandler;
+	private final PropertyChangeListener beanPropertyHandler;
+	private Object value;
+	private boolean released;
+
+	public PropertyPathValueModel(ChangeSupportFactory changeSupportFactory, ValueModel beanChannel, PropertyPath path)
+	{
+		super(changeSupportFactory);
+		this.beanChannel = Validate.notNull(beanChannel, "The bean channel must not be null.");
+		this.path = Validate.notNull(path, "The property path must not be null.");
+		this.resolvedClasses = new Class<?>[path.getSegmentCount()];
+		this.resolvedProperties = new PropertyMetadata[path.getSegmentCount()];
+		this.observedBeans = new Object[path.getSegmentCount()];
+		this.beanChannelHandler = new BeanChannelHandler();
+		this.beanPropertyHandler = new BeanPropertyHandler();
+		this.beanChannel.addValueChangeListener(beanChannelHandler);
+		this.value = observe(0, beanChannel.getValue());
+	}
+
+	public PropertyPath getPath()
+	{
+		return path;
+	}
+
+	/**
+	 * @return the listener this model registers with its bean channel
+	 */
+	public PropertyChangeListener getBeanChannelHandler()
+	{
+		return beanChannelHandler;
+	}
+
+	@Override
+	public String getPropertyName()
+	{
+		return path.getPath();
+	}
+
+	@Override
+	public Object getValue()
+	{
+		Object current = beanChannel.getValue();
+
+		for (int index = 0; index < observedBeans.length && current != null; index++)
+		{
+			final PropertyMetadata property = getProperty(index, current.getClass());
+			current = property != null ? BeanUtils.getValue(current, property) : null;
+		}
+
+		return current;
+	}
+
+	@Override
+	public void setValue(Object newValue)
+	{
+		throw new UnsupportedOperationException("The property path '" + path + "' is read-only.");
+	}
+
+	/**
+	 * Removes the listeners registered with the bean channel and with every bean along the path. The model no longer fires value changes afterwards.
+	 */
+	public void release()
+	{
+		if (!released)
+		{
+			released = true;
+			beanChannel.removeValueChangeListener(beanChannelHandler);
+
+			for (int index = 0; index < observedBeans.length; index++)
+			{
+				setObservedBean(index, null);
+			}
+		}
+	}
+
+	/**
+	 * Walks the path from the given segment, moving the listeners to the beans currently found along it, and returns the value at the end of the path.
+	 */
+	private Object observe(int fromIndex, Object bean)
+	{
+		Object current = bean;
+		int index = fromIndex;
+
+		for (; index < observedBeans.length && current != null; index++)
+		{
+			setObservedBean(index, current);
+
+			final PropertyMetadata property = getProperty(index, current.getClass());
+			current = property != null ? BeanUtils.getValue(current, property) : null;
+		}
+
+		for (; index < observedBeans.length; index++)
+		{
+			setObservedBean(index, null);
+		}
+
+		return current;
+	}
+
+	private void setObservedBean(int index, Object bean)
+	{
+		final Object oldBean = observedBeans[index];
+
+		if (oldBean != bean)
+		{
+			if (oldBean != null && BeanUtils.supportsBoundProperties(oldBean.getClass()))
+			{
+				BeanUtils.removePropertyChangeListener(oldBean, beanPropertyHandler);
+			}
+
+			observedBeans[index] = bean;
+
+			if (bean != null && BeanUtils.supportsBoundProperties(bean.getClass()))
+			{
+				BeanUtils.addPropertyChangeListener(bean, beanPropertyHandler);
+			}
+		}
+	}
+
+	private PropertyMetadata getProperty(int index, Class<?> beanClass)
+	{
+		if (resolvedClasses[index] != beanClass)
+		{
+			PropertyMetadata property = null;
+
+			try
+			{
+				property = BeanClassMetadata.forClass(beanClass).getProperty(path.getSegment(index));
+			}
+			catch (IntrospectionException e)
+			{
+				LOGGER.trace(e.getMessage(), e);
+			}
+
+			resolvedProperties[index] = property;
+			resolvedClasses[index] = beanClass;
+		}
+
+		return resolvedProperties[index];
+	}
+
+	private void updateValue(Object newValue)
+	{
+		final Object oldValue = value;
+
+		value = newValue;
+		fireValueChange(oldValue, newValue, true);
+	}
+
+	@Override
+	protected String paramString()
+	{
+		return "path=" + path + "; value=" + getValue();
+	}
+
+	private final class BeanChannelHandler implements PropertyChangeListener
+	{
+		@Override
+		public void propertyChange(PropertyChangeEvent evt)
+		{
+			if (!released)
+			{
+				updateValue(observe(0, beanChannel.getValue()));
+			}
+		}
+	}
+
+	private final class BeanPropertyHandler implements PropertyChangeListener
+	{
+		@Override
+		public void propertyChange(PropertyChangeEvent evt)
+		{
+			if (released)
+			{
+				return;
+			}
+
+			for (int index = 0; index < observedBeans.length; index++)
+			{
+				if (observedBeans[index] == evt.getSource()
+						&& (evt.getPropertyName() == null || evt.getPropertyName().equals(path.getSegment(index))))
+				{
+					updateValue(observe(index, observedBeans[index]));
+					return;
+				}
+			}
+		}
+	}
+}
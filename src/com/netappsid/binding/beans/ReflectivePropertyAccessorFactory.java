@@ -0,0 +1,223 @@
+package com.netappsid.binding.beans;
+
+import java.beans.PropertyDescriptor;
+import java.beans.PropertyVetoException;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+
+import org.apache.log4j.Logger;
+
+import com.jgoodies.binding.beans.PropertyAccessException;
+
+/**
+ * Default {@link PropertyAccessorFactory}. The accessors it creates invoke the property read and write methods reflectively, but resolve and prepare them only
+ * once: each method is looked up again to get a private copy on which the language access checks are suppressed, so that invocations skip the per-call access
+ * verification and also succeed for public methods declared by non-public bean classes.
+ *
+ * @author NetAppsID Inc.
+ */
+public class ReflectivePropertyAccessorFactory implements PropertyAccessorFactory
+{
+	private static final Logger LOGGER = Logger.getLogger(ReflectivePropertyAccessorFactory.class);
+
+	@Override
+	public PropertyAccessor createPropertyAccessor(PropertyMetadata property)
+	{
+		final PropertyDescriptor propertyDescriptor = property.getPropertyDescriptor();
+		final Method getter = prepare(property.getReadMethod());
+		final Method setter = prepare(property.getWriteMethod());
+		final Class<?> propertyType = property.getPropertyType();
+
+		if (propertyType == int.class)
+		{
+			return new ReflectiveIntPropertyAccessor(propertyDescriptor, getter, setter);
+		}
+		else if (propertyType == long.class)
+		{
+			return new ReflectiveLongPropertyAccessor(propertyDescriptor, getter, setter);
+		}
+		else if (propertyType == double.class)
+		{
+			return new ReflectiveDoublePropertyAccessor(propertyDescriptor, getter, setter);
+		}
+		else if (propertyType == boolean.class)
+		{
+			return new ReflectiveBooleanPropertyAccessor(propertyDescriptor, getter, setter);
+		}
+
+		return new ReflectivePropertyAccessor(propertyDescriptor, getter, setter);
+	}
+
+	private static Method prepare(Method method)
+	{
+		if (method == null)
+		{
+			return null;
+		}
+
+		try
+		{
+			// Work on a private copy, the instance held by the PropertyDescriptor is shared with every other Introspector client
+			final Method copy = method.getDeclaringClass().getDeclaredMethod(method.getName(), method.getParameterTypes());
+			copy.setAccessible(true);
+			return copy;
+		}
+		catch (Exception e)
+		{
+			LOGGER.trace(e.getMessage(), e);
+			return method;
+		}
+	}
+
+	private static class ReflectivePropertyAccessor implements PropertyAccessor
+	{
+		private final PropertyDescriptor propertyDescriptor;
+		private final Method getter;
+		private final Method setter;
+
+		public ReflectivePropertyAccessor(PropertyDescriptor propertyDescriptor, Method getter, Method setter)
+		{
+			this.propertyDescriptor = propertyDescriptor;
+			this.getter = getter;
+			this.setter = setter;
+		}
+
+		@Override
+		public Object getValue(Object bean)
+		{
+			if (getter == null)
+			{
+				throw new UnsupportedOperationException("The property '" + propertyDescriptor.getName() + "' is write-only.");
+			}
+
+			try
+			{
+				return getter.invoke(bean, (Object[]) null);
+			}
+			catch (InvocationTargetException e)
+			{
+				throw PropertyAccessException.createReadAccessException(bean, propertyDescriptor, e.getCause());
+			}
+			catch (IllegalAccessException e)
+			{
+				throw PropertyAccessException.createReadAccessException(bean, propertyDescriptor, e);
+			}
+		}
+
+		@Override
+		public void setValue(Object bean, Object newValue) throws PropertyVetoException
+		{
+			if (setter == null)
+			{
+				throw new UnsupportedOperationException("The property '" + propertyDescriptor.getName() + "' is read-only.");
+			}
+
+			try
+			{
+				setter.invoke(bean, newValue);
+			}
+			catch (InvocationTargetException e)
+			{
+				final Throwable cause = e.getCause();
+
+				if (cause instanceof PropertyVetoException)
+				{
+					throw (PropertyVetoException) cause;
+				}
+
+				throw PropertyAccessException.createWriteAccessException(bean, newValue, propertyDescriptor, cause);
+			}
+			catch (IllegalAccessException e)
+			{
+				throw PropertyAccessException.createWriteAccessException(bean, newValue, propertyDescriptor, e);
+			}
+			catch (IllegalArgumentException e)
+			{
+				throw PropertyAccessException.createWriteAccessException(bean, newValue, propertyDescriptor, e);
+			}
+		}
+	}
+
+	/**
+	 * Method.invoke boxes primitive values, the typed methods only spare the callers from doing it.
+	 */
+	private static final class ReflectiveIntPropertyAccessor extends ReflectivePropertyAccessor implements IntPropertyAccessor
+	{
+		public ReflectiveIntPropertyAccessor(PropertyDescriptor propertyDescriptor, Method getter, Method setter)
+		{
+			super(propertyDescriptor, getter, setter);
+		}
+
+		@Override
+		public int getInt(Object bean)
+		{
+			return ((Integer) getValue(bean)).intValue();
+		}
+
+		@Override
+		public void setInt(Object bean, int newValue) throws PropertyVetoException
+		{
+			setValue(bean, Integer.valueOf(newValue));
+		}
+	}
+
+	private static final class ReflectiveLongPropertyAccessor extends ReflectivePropertyAccessor implements LongPropertyAccessor
+	{
+		public ReflectiveLongPropertyAccessor(PropertyDescriptor propertyDescriptor, Method getter, Method setter)
+		{
+			super(propertyDescriptor, getter, setter);
+		}
+
+		@Override
+		public long getLong(Object bean)
+		{
+			return ((Long) getValue(bean)).longValue();
+		}
+
+		@Override
+		public void setLong(Object bean, long newValue) throws PropertyVetoException
+		{
+			setValue(bean, Long.valueOf(newValue));
+		}
+	}
+
+	private static final class ReflectiveDoublePropertyAccessor extends ReflectivePropertyAccessor implements DoublePropertyAccessor
+	{
+		public ReflectiveDoublePropertyAccessor(PropertyDescriptor propertyDescriptor, Method getter, Method setter)
+		{
+			super(propertyDescriptor, getter, setter);
+		}
+
+		@Override
+		public double getDouble(Object bean)
+		{
+			return ((Double) getValue(bean)).doubleValue();
+		}
+
+		@Override
+		public void setDouble(Object bean, double newValue) throws PropertyVetoException
+		{
+			setValue(bean, Double.valueOf(newValue));
+		}
+	}
+
+	private static final class ReflectiveBooleanPropertyAccessor extends ReflectivePropertyAccessor implements BooleanPropertyAccessor
+	{
+		public ReflectiveBooleanPropertyAccessor(PropertyDescriptor propertyDescriptor, Method getter, Method setter)
+		{
+			super(propertyDescriptor, getter, setter);
+		}
+
+		@Override
+		public boolean getBoolean(Object bean)
+		{
+			return ((Boolean) getValue(bean)).booleanValue();
+		}
+
+		@Override
+		public void setBoolean(Object bean, boolean newValue) throws PropertyVetoException
+		{
+			setValue(bean, Boolean.valueOf(newValue));
+		}
+	}
+}
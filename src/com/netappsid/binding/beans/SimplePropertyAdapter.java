@@ -1,8 +1,15 @@
 package com.netappsid.binding.beans;
 
+import java.beans.PropertyChangeListener;
+import java.beans.PropertyChangeListenerProxy;
 import java.beans.PropertyDescriptor;
 import java.beans.PropertyVetoException;
 import java.lang.reflect.Method;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Map;
+import java.util.WeakHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 import org.apache.log4j.Logger;
 
@@ -12,9 +19,12 @@ import com.netappsid.binding.value.AbstractValueModel;
 public class SimplePropertyAdapter extends AbstractValueModel
 {
 	private static final Logger LOGGER = Logger.getLogger(SimplePropertyAdapter.class);
+	private static final Map<Class<?>, Boolean> SET_BEAN_OVERRIDES = Collections.synchronizedMap(new WeakHashMap<Class<?>, Boolean>());
 
 	private final BeanAdapter beanAdapter;
 	private final String propertyName;
+	private BeanClassMetadata lastMetadata;
+	private final AtomicBoolean listening = new AtomicBoolean();
 
 	public SimplePropertyAdapter(BeanAdapter beanAdapter, String propertyName)
 	{
@@ -29,20 +39,26 @@ public class SimplePropertyAdapter extends AbstractValueModel
 		return propertyName;
 	}
 
+	protected BeanAdapter getBeanAdapter()
+	{
+		return beanAdapter;
+	}
+
 	public PropertyDescriptor getPropertyDescriptor()
 	{
-		return getPropertyDescriptor(beanAdapter.getBean());
+		final PropertyMetadata property = getProperty(beanAdapter.getBean());
+		return property != null ? property.getPropertyDescriptor() : null;
 	}
 
 	@Override
 	public Object getValue()
 	{
-		final PropertyDescriptor propertyDescriptor = getPropertyDescriptor();
 		Object bean = beanAdapter.getBean();
+		final PropertyMetadata property = getProperty(bean);
 
-		if (propertyDescriptor != null && bean != null)
+		if (property != null && bean != null)
 		{
-			return BeanUtils.getValue(bean, propertyDescriptor);
+			return BeanUtils.getValue(bean, property);
 		}
 		else
 		{
@@ -53,7 +69,7 @@ public class SimplePropertyAdapter extends AbstractValueModel
 	@Override
 	public void setValue(Object newValue)
 	{
-		PropertyDescriptor propertyDescriptor = getPropertyDescriptor();
+		PropertyMetadata property = getProperty(beanAdapter.getBean());
 
 		if (beanAdapter.getBean() == null)
 		{
@@ -61,7 +77,7 @@ public class SimplePropertyAdapter extends AbstractValueModel
 			{
 				Object newInstance = beanAdapter.getBeanClass().newInstance();
 				beanAdapter.setBean(newInstance);
-				propertyDescriptor = getPropertyDescriptor();
+				property = getProperty(newInstance);
 			}
 			catch (Exception e)
 			{
@@ -69,18 +85,18 @@ public class SimplePropertyAdapter extends AbstractValueModel
 			}
 		}
 
-		if (propertyDescriptor != null)
+		if (property != null)
 		{
 			try
 			{
 				Object effectiveNewValue = newValue;
 
-				if (effectiveNewValue == null && propertyDescriptor.getPropertyType().isPrimitive())
+				if (effectiveNewValue == null && property.getPropertyType().isPrimitive())
 				{
-					effectiveNewValue = Defaults.defaultValue(propertyDescriptor.getPropertyType());
+					effectiveNewValue = Defaults.defaultValue(property.getPropertyType());
 				}
 
-				BeanUtils.setValue(beanAdapter.getBean(), propertyDescriptor, effectiveNewValue);
+				BeanUtils.setValue(beanAdapter.getBean(), property, effectiveNewValue);
 			}
 			catch (PropertyVetoException e)
 			{
@@ -89,13 +105,57 @@ public class SimplePropertyAdapter extends AbstractValueModel
 		}
 	}
 
+	@Override
+	public void addPropertyChangeListener(PropertyChangeListener listener)
+	{
+		super.addPropertyChangeListener(listener);
+		updateListening();
+	}
+
+	@Override
+	public void removePropertyChangeListener(PropertyChangeListener listener)
+	{
+		super.removePropertyChangeListener(listener);
+		updateListening();
+	}
+
+	@Override
+	public void addPropertyChangeListener(String propertyName, PropertyChangeListener listener)
+	{
+		super.addPropertyChangeListener(propertyName, listener);
+		updateListening();
+	}
+
+	@Override
+	public void removePropertyChangeListener(String propertyName, PropertyChangeListener listener)
+	{
+		super.removePropertyChangeListener(propertyName, listener);
+		updateListening();
+	}
+
+	/**
+	 * Tells the bean adapter when the first value listener is added or the last one removed, the adapter only observes the bean while needed. The bean
+	 * adapter is called without holding the monitor of this adapter, and the state is checked again afterwards in case another thread changed the listeners
+	 * meanwhile.
+	 */
+	private void updateListening()
+	{
+		boolean newListening = hasValueListeners();
+
+		while (listening.compareAndSet(!newListening, newListening))
+		{
+			beanAdapter.adapterListeningChanged(newListening);
+			newListening = hasValueListeners();
+		}
+	}
+
 	protected void fireChange(Object currentBean)
 	{
-		final PropertyDescriptor propertyDescriptor = getPropertyDescriptor(currentBean);
+		final PropertyMetadata property = getProperty(currentBean);
 
-		if (propertyDescriptor != null && propertyDescriptor.getReadMethod() != null)
+		if (property != null && property.isReadable())
 		{
-			fireValueChange(null, BeanUtils.getValue(currentBean, propertyDescriptor));
+			fireValueChange(null, BeanUtils.getValue(currentBean, property));
 		}
 		else
 		{
@@ -103,30 +163,102 @@ public class SimplePropertyAdapter extends AbstractValueModel
 		}
 	}
 
+	/**
+	 * Fires the change of value caused by a bean switch. The bean adapter calls this method instead of
+	 * {@link #switchBean(Object, PropertyMetadata, Object, PropertyMetadata)} for the subclasses that override it, whether the adapter has listeners or not.
+	 */
 	protected void setBean(Object oldBean, Object newBean)
 	{
-		final PropertyDescriptor oldBeanPropertyDescriptor = getPropertyDescriptor(oldBean);
-		final PropertyDescriptor newBeanPropertyDescriptor = getPropertyDescriptor(newBean);
+		switchBean(oldBean, oldBean != null ? getProperty(oldBean) : null, newBean, newBean != null ? getProperty(newBean) : null);
+	}
+
+	/**
+	 * @return true if the class of this adapter overrides {@link #setBean(Object, Object)}
+	 */
+	boolean overridesSetBean()
+	{
+		final Class<?> adapterClass = getClass();
+		Boolean overrides = SET_BEAN_OVERRIDES.get(adapterClass);
 
+		if (overrides == null)
+		{
+			overrides = Boolean.FALSE;
+
+			for (Class<?> type = adapterClass; type != SimplePropertyAdapter.class && !overrides; type = type.getSuperclass())
+			{
+				try
+				{
+					type.getDeclaredMethod("setBean", Object.class, Object.class);
+					overrides = Boolean.TRUE;
+				}
+				catch (NoSuchMethodException e)
+				{
+					// Look for the override in the superclass
+				}
+			}
+
+			SET_BEAN_OVERRIDES.put(adapterClass, overrides);
+		}
+
+		return overrides;
+	}
+
+	/**
+	 * Fires the change of value caused by a bean switch, given the properties of both beans already resolved. A property is {@code null} if its bean is
+	 * {@code null} or does not have the adapted property.
+	 */
+	protected void switchBean(Object oldBean, PropertyMetadata oldProperty, Object newBean, PropertyMetadata newProperty)
+	{
 		Object oldValue = null;
 		Object newValue = null;
 
-		if (oldBean != null && oldBeanPropertyDescriptor != null && oldBeanPropertyDescriptor.getReadMethod() != null)
+		if (oldProperty != null && oldProperty.isReadable())
 		{
-			oldValue = BeanUtils.getValue(oldBean, oldBeanPropertyDescriptor);
+			oldValue = BeanUtils.getValue(oldBean, oldProperty);
 		}
 
-		if (newBean != null && newBeanPropertyDescriptor != null && newBeanPropertyDescriptor.getReadMethod() != null)
+		if (newProperty != null && newProperty.isReadable())
 		{
-			newValue = BeanUtils.getValue(newBean, newBeanPropertyDescriptor);
+			newValue = BeanUtils.getValue(newBean, newProperty);
 		}
 
-		if (oldValue != null || newValue != null)
+		if (oldValue != newValue)
 		{
 			fireValueChange(oldValue, newValue, true);
 		}
 	}
 
+	boolean hasValueListeners()
+	{
+		return hasListeners(PROPERTYNAME_VALUE);
+	}
+
+	/**
+	 * @return true if this adapter has a value listener other than the given ones
+	 */
+	boolean hasValueListenersOtherThan(Collection<PropertyChangeListener> ignoredListeners)
+	{
+		for (PropertyChangeListener listener : getPropertyChangeListeners())
+		{
+			if (listener instanceof PropertyChangeListenerProxy)
+			{
+				if (!PROPERTYNAME_VALUE.equals(((PropertyChangeListenerProxy) listener).getPropertyName()))
+				{
+					continue;
+				}
+
+				listener = (PropertyChangeListener) ((PropertyChangeListenerProxy) listener).getListener();
+			}
+
+			if (!ignoredListeners.contains(listener))
+			{
+				return true;
+			}
+		}
+
+		return false;
+	}
+
 	@Override
 	protected String paramString()
 	{
@@ -142,22 +274,31 @@ public class SimplePropertyAdapter extends AbstractValueModel
 		{
 			beanType = bean.getClass().getName();
 			valueType = value == null ? null : value.getClass().getName();
-			PropertyDescriptor propertyDescriptor = getPropertyDescriptor(bean);
-			propertyDescriptorName = propertyDescriptor != null ? propertyDescriptor.getName() : null;
-			propertyType = propertyDescriptor != null ? propertyDescriptor.getPropertyType().getName() : null;
-			propertySetter = propertyDescriptor != null ? propertyDescriptor.getWriteMethod() : null;
+			PropertyMetadata property = getProperty(bean);
+			propertyDescriptorName = property != null ? property.getName() : null;
+			propertyType = property != null ? property.getPropertyType().getName() : null;
+			propertySetter = property != null ? property.getWriteMethod() : null;
 		}
 
 		return "bean=" + bean + "; bean type=" + beanType + "; value=" + value + "; value type=" + valueType + "; property name=" + propertyDescriptorName
 				+ "; property type=" + propertyType + "; property setter=" + propertySetter;
 	}
 
-	private PropertyDescriptor getPropertyDescriptor(Object bean)
+	protected PropertyMetadata getProperty(Object bean)
 	{
 		try
 		{
 			Class<? extends Object> beanClass = bean != null ? bean.getClass() : beanAdapter.getBeanClass();
-			return BeanUtils.getPropertyDescriptor(beanClass, propertyName);
+			BeanClassMetadata metadata = lastMetadata;
+
+			// Beans adapted in sequence are usually of the same class, skip the shared cache lookup in that case
+			if (metadata == null || metadata.getBeanClass() != beanClass)
+			{
+				metadata = BeanClassMetadata.forClass(beanClass);
+				lastMetadata = metadata;
+			}
+
+			return metadata.getProperty(propertyName);
 		}
 		catch (Exception e)
 		{
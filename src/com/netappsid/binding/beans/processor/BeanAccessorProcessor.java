@@ -0,0 +1,502 @@
+package com.netappsid.binding.beans.processor;
+
+import java.beans.PropertyChangeListener;
+import java.beans.PropertyVetoException;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.PackageElement;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.ElementFilter;
+import javax.tools.Diagnostic;
+import javax.tools.JavaFileObject;
+
+import com.netappsid.binding.beans.GenerateAccessors;
+import com.netappsid.binding.beans.GeneratedBeanAccessor;
+
+/**
+ * Writes the {@link GeneratedBeanAccessor} of the classes annotated with {@link GenerateAccessors}. Properties are discovered with the same naming rules as
+ * the {@link java.beans.Introspector}: public {@code getX()}, {@code isX()} for primitive booleans and {@code setX(value)} methods, inherited ones included.
+ * <p>
+ *
+ * A class whose getters throw checked exceptions, or whose setters throw checked exceptions other than {@link PropertyVetoException}, is reported with a
+ * warning and left to introspection.
+ *
+ * @author NetAppsID Inc.
+ */
+@SupportedAnnotationTypes("com.netappsid.binding.beans.GenerateAccessors")
+public class BeanAccessorProcessor extends AbstractProcessor
+{
+	@Override
+	public SourceVersion getSupportedSourceVersion()
+	{
+		return SourceVersion.latestSupported();
+	}
+
+	@Override
+	public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv)
+	{
+		for (Element element : roundEnv.getElementsAnnotatedWith(GenerateAccessors.class))
+		{
+			if (element.getKind() != ElementKind.CLASS)
+			{
+				error(element, "@GenerateAccessors applies to classes only");
+			}
+			else if (element.getModifiers().contains(Modifier.PRIVATE))
+			{
+				error(element, "@GenerateAccessors cannot be used on a private class");
+			}
+			else
+			{
+				generate((TypeElement) element);
+			}
+		}
+
+		return true;
+	}
+
+	private void generate(TypeElement beanType)
+	{
+		final Map<String, Property> properties = new TreeMap<String, Property>();
+
+		if (!collectProperties(beanType, properties))
+		{
+			return;
+		}
+
+		final PackageElement packageElement = processingEnv.getElementUtils().getPackageOf(beanType);
+		final String packageName = packageElement.isUnnamed() ? "" : packageElement.getQualifiedName().toString();
+		final String binaryName = processingEnv.getElementUtils().getBinaryName(beanType).toString();
+		final String accessorSimpleName = (packageName.length() == 0 ? binaryName : binaryName.substring(packageName.length() + 1))
+				+ GeneratedBeanAccessor.CLASS_NAME_SUFFIX;
+		final String accessorName = packageName.length() == 0 ? accessorSimpleName : packageName + "." + accessorSimpleName;
+
+		try
+		{
+			final JavaFileObject sourceFile = processingEnv.getFiler().createSourceFile(accessorName, beanType);
+			final PrintWriter writer = new PrintWriter(sourceFile.openWriter());
+
+			try
+			{
+				new AccessorWriter(writer, packageName, accessorSimpleName, erasure(beanType.asType()), properties.values().toArray(new Property[0]),
+						supportsBoundProperties(beanType)).write();
+			}
+			finally
+			{
+				writer.close();
+			}
+		}
+		catch (IOException e)
+		{
+			error(beanType, "Unable to write " + accessorName + ": " + e.getMessage());
+		}
+	}
+
+	private boolean collectProperties(TypeElement beanType, Map<String, Property> properties)
+	{
+		final Map<String, ExecutableElement> getters = new HashMap<String, ExecutableElement>();
+		final Map<String, ExecutableElement> setters = new HashMap<String, ExecutableElement>();
+
+		for (ExecutableElement method : ElementFilter.methodsIn(processingEnv.getElementUtils().getAllMembers(beanType)))
+		{
+			if (!method.getModifiers().contains(Modifier.PUBLIC) || method.getModifiers().contains(Modifier.STATIC))
+			{
+				continue;
+			}
+
+			final String methodName = method.getSimpleName().toString();
+			final List<? extends Element> parameters = method.getParameters();
+			final TypeMirror returnType = method.getReturnType();
+
+			if (parameters.isEmpty() && methodName.startsWith("is") && methodName.length() > 2 && returnType.getKind() == TypeKind.BOOLEAN)
+			{
+				// isX() takes precedence over getX()
+				getters.put(decapitalize(methodName.substring(2)), method);
+			}
+			else if (parameters.isEmpty() && methodName.startsWith("get") && methodName.length() > 3 && returnType.getKind() != TypeKind.VOID)
+			{
+				final String propertyName = decapitalize(methodName.substring(3));
+
+				if (!getters.containsKey(propertyName) || !getters.get(propertyName).getSimpleName().toString().startsWith("is"))
+				{
+					getters.put(propertyName, method);
+				}
+			}
+		}
+
+		for (ExecutableElement method : ElementFilter.methodsIn(processingEnv.getElementUtils().getAllMembers(beanType)))
+		{
+			final String methodName = method.getSimpleName().toString();
+
+			if (!method.getModifiers().contains(Modifier.PUBLIC) || method.getModifiers().contains(Modifier.STATIC) || method.getParameters().size() != 1
+					|| method.getReturnType().getKind() != TypeKind.VOID || !methodName.startsWith("set") || methodName.length() <= 3)
+			{
+				continue;
+			}
+
+			final String propertyName = decapitalize(methodName.substring(3));
+			final ExecutableElement getter = getters.get(propertyName);
+			final TypeMirror parameterType = method.getParameters().get(0).asType();
+
+			// A setter must take the type returned by the getter, a write-only property keeps the first setter found
+			if (getter != null ? processingEnv.getTypeUtils().isSameType(getter.getReturnType(), parameterType) : !setters.containsKey(propertyName))
+			{
+				setters.put(propertyName, method);
+			}
+		}
+
+		boolean supported = true;
+
+		for (Map.Entry<String, ExecutableElement> entry : getters.entrySet())
+		{
+			supported &= checkThrownTypes(beanType, entry.getValue(), false);
+			properties.put(entry.getKey(), new Property(entry.getKey(), entry.getValue(), setters.get(entry.getKey())));
+		}
+
+		for (Map.Entry<String, ExecutableElement> entry : setters.entrySet())
+		{
+			supported &= checkThrownTypes(beanType, entry.getValue(), true);
+
+			if (!properties.containsKey(entry.getKey()))
+			{
+				properties.put(entry.getKey(), new Property(entry.getKey(), null, entry.getValue()));
+			}
+		}
+
+		return supported;
+	}
+
+	private boolean checkThrownTypes(TypeElement beanType, ExecutableElement method, boolean vetoable)
+	{
+		for (TypeMirror thrownType : method.getThrownTypes())
+		{
+			if (!isSubtype(thrownType, RuntimeException.class) && !isSubtype(thrownType, Error.class)
+					&& !(vetoable && isSubtype(thrownType, PropertyVetoException.class)))
+			{
+				processingEnv.getMessager().printMessage(Diagnostic.Kind.WARNING,
+						method.getSimpleName() + " throws " + thrownType + ", no accessor is generated for " + beanType.getQualifiedName(), beanType);
+				return false;
+			}
+		}
+
+		return true;
+	}
+
+	private boolean supportsBoundProperties(TypeElement beanType)
+	{
+		boolean hasAdder = false;
+		boolean hasRemover = false;
+
+		for (ExecutableElement method : ElementFilter.methodsIn(processingEnv.getElementUtils().getAllMembers(beanType)))
+		{
+			if (method.getModifiers().contains(Modifier.PUBLIC) && !method.getModifiers().contains(Modifier.STATIC) && method.getParameters().size() == 1
+					&& method.getThrownTypes().isEmpty() && isSameType(method.getParameters().get(0).asType(), PropertyChangeListener.class))
+			{
+				hasAdder |= method.getSimpleName().contentEquals("addPropertyChangeListener");
+				hasRemover |= method.getSimpleName().contentEquals("removePropertyChangeListener");
+			}
+		}
+
+		return hasAdder && hasRemover;
+	}
+
+	private boolean isSubtype(TypeMirror type, Class<?> supertype)
+	{
+		final TypeElement supertypeElement = processingEnv.getElementUtils().getTypeElement(supertype.getCanonicalName());
+		return supertypeElement != null && processingEnv.getTypeUtils().isSubtype(type, supertypeElement.asType());
+	}
+
+	private boolean isSameType(TypeMirror type, Class<?> otherType)
+	{
+		final TypeElement otherTypeElement = processingEnv.getElementUtils().getTypeElement(otherType.getCanonicalName());
+		return otherTypeElement != null && processingEnv.getTypeUtils().isSameType(type, otherTypeElement.asType());
+	}
+
+	private String erasure(TypeMirror type)
+	{
+		return processingEnv.getTypeUtils().erasure(type).toString();
+	}
+
+	private void error(Element element, String message)
+	{
+		processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR, message, element);
+	}
+
+	/**
+	 * Same rule as {@link java.beans.Introspector#decapitalize(String)}.
+	 */
+	private static String decapitalize(String name)
+	{
+		if (name.length() > 1 && Character.isUpperCase(name.charAt(1)) && Character.isUpperCase(name.charAt(0)))
+		{
+			return name;
+		}
+
+		return Character.toLowerCase(name.charAt(0)) + name.substring(1);
+	}
+
+	private final class Property
+	{
+		private final String name;
+		private final ExecutableElement getter;
+		private final ExecutableElement setter;
+
+		public Property(String name, ExecutableElement getter, ExecutableElement setter)
+		{
+			this.name = name;
+			this.getter = getter;
+			this.setter = setter;
+		}
+
+		public String getName()
+		{
+			return name;
+		}
+
+		public String getReadMethodName()
+		{
+			return getter != null ? getter.getSimpleName().toString() : null;
+		}
+
+		public String getWriteMethodName()
+		{
+			return setter != null ? setter.getSimpleName().toString() : null;
+		}
+
+		public TypeKind getTypeKind()
+		{
+			return getter != null ? getter.getReturnType().getKind() : setter.getParameters().get(0).asType().getKind();
+		}
+
+		/**
+		 * @return the expression converting {@code newValue} to the setter parameter type, unboxing explicitly so that an overload taking the wrapper type
+		 *         is never selected instead
+		 */
+		public String getSetterArgument()
+		{
+			final TypeMirror parameterType = setter.getParameters().get(0).asType();
+
+			if (parameterType.getKind().isPrimitive())
+			{
+				final String boxedType = processingEnv.getTypeUtils().boxedClass(processingEnv.getTypeUtils().getPrimitiveType(parameterType.getKind()))
+						.getQualifiedName().toString();
+				return "((" + boxedType + ") newValue)." + parameterType.getKind().name().toLowerCase() + "Value()";
+			}
+
+			return "(" + erasure(parameterType) + ") newValue";
+		}
+	}
+
+	private static final class AccessorWriter
+	{
+		private final PrintWriter writer;
+		private final String packageName;
+		private final String simpleName;
+		private final String beanTypeName;
+		private final Property[] properties;
+		private final boolean boundProperties;
+
+		public AccessorWriter(PrintWriter writer, String packageName, String simpleName, String beanTypeName, Property[] properties, boolean boundProperties)
+		{
+			this.writer = writer;
+			this.packageName = packageName;
+			this.simpleName = simpleName;
+			this.beanTypeName = beanTypeName;
+			this.properties = properties;
+			this.boundProperties = boundProperties;
+		}
+
+		public void write()
+		{
+			if (packageName.length() > 0)
+			{
+				writer.println("package " + packageName + ";");
+				writer.println();
+			}
+
+			writer.println("// Generated by " + BeanAccessorProcessor.class.getName() + ", do not edit");
+			writer.println("@SuppressWarnings(\"all\")");
+			writer.println("public final class " + simpleName + " implements " + GeneratedBeanAccessor.class.getName());
+			writer.println("{");
+			writeNames("PROPERTY_NAMES", 0);
+			writeNames("READ_METHOD_NAMES", 1);
+			writeNames("WRITE_METHOD_NAMES", 2);
+			writer.println();
+			writer.println("\tpublic Class<?> getBeanClass()");
+			writer.println("\t{");
+			writer.println("\t\treturn " + beanTypeName + ".class;");
+			writer.println("\t}");
+			writer.println();
+			writer.println("\tpublic String[] getPropertyNames()");
+			writer.println("\t{");
+			writer.println("\t\treturn PROPERTY_NAMES.clone();");
+			writer.println("\t}");
+			writer.println();
+			writer.println("\tpublic String getReadMethodName(int index)");
+			writer.println("\t{");
+			writer.println("\t\treturn READ_METHOD_NAMES[index];");
+			writer.println("\t}");
+			writer.println();
+			writer.println("\tpublic String getWriteMethodName(int index)");
+			writer.println("\t{");
+			writer.println("\t\treturn WRITE_METHOD_NAMES[index];");
+			writer.println("\t}");
+			writer.println();
+			writeGetValue();
+			writer.println();
+			writeSetValue();
+			writer.println();
+			writeTypedMethods(TypeKind.INT, "int", "Int");
+			writeTypedMethods(TypeKind.LONG, "long", "Long");
+			writeTypedMethods(TypeKind.DOUBLE, "double", "Double");
+			writeTypedMethods(TypeKind.BOOLEAN, "boolean", "Boolean");
+			writer.println("\tpublic boolean supportsBoundProperties()");
+			writer.println("\t{");
+			writer.println("\t\treturn " + boundProperties + ";");
+			writer.println("\t}");
+			writer.println();
+			writeListenerMethod("addPropertyChangeListener");
+			writer.println();
+			writeListenerMethod("removePropertyChangeListener");
+			writer.println("}");
+		}
+
+		private void writeNames(String fieldName, int column)
+		{
+			writer.print("\tprivate static final String[] " + fieldName + " = {");
+
+			for (int index = 0; index < properties.length; index++)
+			{
+				final String name = column == 0 ? properties[index].getName() : column == 1 ? properties[index].getReadMethodName() : properties[index]
+						.getWriteMethodName();
+				writer.print((index > 0 ? ", " : " ") + (name != null ? "\"" + name + "\"" : "null"));
+			}
+
+			writer.println(" };");
+		}
+
+		private void writeGetValue()
+		{
+			writer.println("\tpublic Object getValue(Object bean, int index)");
+			writer.println("\t{");
+			writer.println("\t\tswitch (index)");
+			writer.println("\t\t{");
+
+			for (int index = 0; index < properties.length; index++)
+			{
+				if (properties[index].getReadMethodName() != null)
+				{
+					writer.println("\t\t\tcase " + index + ":");
+					writer.println("\t\t\t\treturn ((" + beanTypeName + ") bean)." + properties[index].getReadMethodName() + "();");
+				}
+			}
+
+			writer.println("\t\t\tdefault:");
+			writer.println("\t\t\t\tthrow new UnsupportedOperationException(\"No readable property at index \" + index);");
+			writer.println("\t\t}");
+			writer.println("\t}");
+		}
+
+		private void writeSetValue()
+		{
+			writer.println("\tpublic void setValue(Object bean, int index, Object newValue) throws java.beans.PropertyVetoException");
+			writer.println("\t{");
+			writer.println("\t\tswitch (index)");
+			writer.println("\t\t{");
+
+			for (int index = 0; index < properties.length; index++)
+			{
+				if (properties[index].getWriteMethodName() != null)
+				{
+					writer.println("\t\t\tcase " + index + ":");
+					writer.println("\t\t\t\t((" + beanTypeName + ") bean)." + properties[index].getWriteMethodName() + "(" + properties[index].getSetterArgument()
+							+ ");");
+					writer.println("\t\t\t\treturn;");
+				}
+			}
+
+			writer.println("\t\t\tdefault:");
+			writer.println("\t\t\t\tthrow new UnsupportedOperationException(\"No writable property at index \" + index);");
+			writer.println("\t\t}");
+			writer.println("\t}");
+		}
+
+		/**
+		 * Writes the unboxed getter and setter for the properties of the given primitive type.
+		 */
+		private void writeTypedMethods(TypeKind typeKind, String typeName, String methodSuffix)
+		{
+			writer.println("\tpublic " + typeName + " get" + methodSuffix + "(Object bean, int index)");
+			writer.println("\t{");
+			writer.println("\t\tswitch (index)");
+			writer.println("\t\t{");
+
+			for (int index = 0; index < properties.length; index++)
+			{
+				if (properties[index].getTypeKind() == typeKind && properties[index].getReadMethodName() != null)
+				{
+					writer.println("\t\t\tcase " + index + ":");
+					writer.println("\t\t\t\treturn ((" + beanTypeName + ") bean)." + properties[index].getReadMethodName() + "();");
+				}
+			}
+
+			writer.println("\t\t\tdefault:");
+			writer.println("\t\t\t\tthrow new UnsupportedOperationException(\"No readable " + typeName + " property at index \" + index);");
+			writer.println("\t\t}");
+			writer.println("\t}");
+			writer.println();
+			writer.println("\tpublic void set" + methodSuffix + "(Object bean, int index, " + typeName + " newValue) throws java.beans.PropertyVetoException");
+			writer.println("\t{");
+			writer.println("\t\tswitch (index)");
+			writer.println("\t\t{");
+
+			for (int index = 0; index < properties.length; index++)
+			{
+				if (properties[index].getTypeKind() == typeKind && properties[index].getWriteMethodName() != null)
+				{
+					writer.println("\t\t\tcase " + index + ":");
+					writer.println("\t\t\t\t((" + beanTypeName + ") bean)." + properties[index].getWriteMethodName() + "(newValue);");
+					writer.println("\t\t\t\treturn;");
+				}
+			}
+
+			writer.println("\t\t\tdefault:");
+			writer.println("\t\t\t\tthrow new UnsupportedOperationException(\"No writable " + typeName + " property at index \" + index);");
+			writer.println("\t\t}");
+			writer.println("\t}");
+			writer.println();
+		}
+
+		private void writeListenerMethod(String methodName)
+		{
+			writer.println("\tpublic void " + methodName + "(Object bean, java.beans.PropertyChangeListener listener)");
+			writer.println("\t{");
+
+			if (boundProperties)
+			{
+				writer.println("\t\t((" + beanTypeName + ") bean)." + methodName + "(listener);");
+			}
+			else
+			{
+				writer.println("\t\tthrow new UnsupportedOperationException(\"Bound properties unsupported by " + beanTypeName + "\");");
+			}
+
+			writer.println("\t}");
+		}
+	}
+}
@@ -0,0 +1,169 @@
+package com.netappsid.binding.beans.support;
+
+import java.awt.EventQueue;
+import java.beans.PropertyChangeEvent;
+import java.beans.VetoableChangeSupport;
+import java.lang.reflect.InvocationTargetException;
+
+import org.apache.log4j.Logger;
+
+/**
+ * Creates change supports that notify their listeners on the event dispatch thread without blocking the threads firing the changes, unlike the
+ * {@link SwingChangeSupportFactory}. Changes fired off the event dispatch thread are queued in a {@link CoalescingEventBuffer} shared by the supports of this
+ * factory, and the whole queue is delivered by a single {@link EventQueue#invokeLater(Runnable)}; changes queued while a delivery is pending join it, so
+ * repeated changes of a property reach the listeners once per delivery.
+ * <p>
+ *
+ * Changes fired on the event dispatch thread are delivered at once, after the queued changes so that listeners are notified in the order of the changes.
+ * <p>
+ *
+ * Callers that must not continue before the listeners were notified either use {@link #flush()} or create the factory in synchronous mode, in which every
+ * change fired off the event dispatch thread waits for its delivery as with the {@link SwingChangeSupportFactory}.
+ *
+ * @author NetAppsID Inc.
+ */
+public class AsyncSwingChangeSupportFactory implements ChangeSupportFactory
+{
+	private static final Logger LOGGER = Logger.getLogger(AsyncSwingChangeSupportFactory.class);
+
+	private final boolean synchronous;
+	private final Object lock = new Object();
+	private final Runnable drainTask = new DrainTask();
+	private CoalescingEventBuffer pendingEvents = new CoalescingEventBuffer();
+	private boolean drainScheduled;
+
+	public AsyncSwingChangeSupportFactory()
+	{
+		this(false);
+	}
+
+	/**
+	 * @param synchronous
+	 *            whether changes fired off the event dispatch thread wait for their delivery instead of being queued
+	 */
+	public AsyncSwingChangeSupportFactory(boolean synchronous)
+	{
+		this.synchronous = synchronous;
+	}
+
+	@Override
+	public IdentityPropertyChangeSupport createIdentityPropertyChangeSupport(Object sourceBean)
+	{
+		return new AsyncSwingPropertyChangeSupport(sourceBean, this);
+	}
+
+	@Override
+	public VetoableChangeSupport createVetoableChangeSupport(Object sourceBean)
+	{
+		return new VetoableChangeSupport(sourceBean);
+	}
+
+	public boolean isSynchronous()
+	{
+		return synchronous;
+	}
+
+	/**
+	 * Delivers the queued changes and returns once their listeners were notified. Called off the event dispatch thread, this waits for the event dispatch
+	 * thread.
+	 */
+	public void flush()
+	{
+		if (EventQueue.isDispatchThread())
+		{
+			drain();
+		}
+		else
+		{
+			invokeAndWait(drainTask);
+		}
+	}
+
+	/**
+	 * @return the number of changes waiting for their delivery
+	 */
+	public int getPendingEventCount()
+	{
+		synchronized (lock)
+		{
+			return pendingEvents.size();
+		}
+	}
+
+	void post(final KeyedPropertyChangeSupport support, final PropertyChangeEvent evt)
+	{
+		if (EventQueue.isDispatchThread())
+		{
+			// Deliver the older changes queued off the event dispatch thread first, their values would otherwise replace this newer one
+			if (getPendingEventCount() > 0)
+			{
+				drain();
+			}
+
+			support.dispatch(evt);
+		}
+		else if (synchronous)
+		{
+			invokeAndWait(new Runnable()
+				{
+					@Override
+					public void run()
+					{
+						support.dispatch(evt);
+					}
+				});
+		}
+		else
+		{
+			synchronized (lock)
+			{
+				pendingEvents.add(support, evt);
+
+				if (!drainScheduled)
+				{
+					drainScheduled = true;
+					EventQueue.invokeLater(drainTask);
+				}
+			}
+		}
+	}
+
+	private void drain()
+	{
+		final CoalescingEventBuffer events;
+
+		synchronized (lock)
+		{
+			events = pendingEvents;
+			pendingEvents = new CoalescingEventBuffer();
+			drainScheduled = false;
+		}
+
+		events.deliver();
+	}
+
+	private void invokeAndWait(Runnable runnable)
+	{
+		try
+		{
+			EventQueue.invokeAndWait(runnable);
+		}
+		catch (InterruptedException e)
+		{
+			Thread.currentThread().interrupt();
+		}
+		catch (InvocationTargetException e)
+		{
+			LOGGER.error(e.getMessage(), e);
+		}
+	}
+
+	private final class DrainTask implements Runnable
+	{
+		@Override
+		public void run()
+		{
+			drain();
+		}
+	}
+}
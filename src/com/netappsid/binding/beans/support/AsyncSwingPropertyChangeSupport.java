@@ -0,0 +1,35 @@
+package com.netappsid.binding.beans.support;
+
+import java.beans.PropertyChangeEvent;
+
+/**
+ * A {@link KeyedPropertyChangeSupport} that notifies its listeners on the event dispatch thread. Changes fired on the event dispatch thread are delivered at
+ * once, the others are handed to its {@link AsyncSwingChangeSupportFactory}.
+ *
+ * @author NetAppsID Inc.
+ */
+public class AsyncSwingPropertyChangeSupport extends KeyedPropertyChangeSupport
+{
+	private static final long serialVersionUID = 1L;
+
+	private final transient AsyncSwingChangeSupportFactory factory;
+
+	public AsyncSwingPropertyChangeSupport(Object sourceBean, AsyncSwingChangeSupportFactory factory)
+	{
+		super(sourceBean);
+		this.factory = factory;
+	}
+
+	@Override
+	protected void fire(PropertyChangeEvent evt)
+	{
+		if (factory == null)
+		{
+			dispatch(evt);
+		}
+		else
+		{
+			factory.post(this, evt);
+		}
+	}
+}
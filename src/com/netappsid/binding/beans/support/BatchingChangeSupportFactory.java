@@ -0,0 +1,122 @@
+package com.netappsid.binding.beans.support;
+
+import java.beans.PropertyChangeEvent;
+import java.beans.VetoableChangeSupport;
+
+/**
+ * Creates change supports whose property changes can be deferred and coalesced. Between {@link #beginBatch()} and the matching {@link #endBatch()}, the
+ * changes fired on the calling thread by the supports of this factory are held back; several changes of the same property of the same source collapse into
+ * one change from the oldest to the newest value. The outermost {@link #endBatch()} delivers them in a single pass, in the order their properties first
+ * changed:
+ *
+ * <pre>
+ * factory.beginBatch();
+ *
+ * try
+ * {
+ * 	presentationModel.setBean(entity);
+ * }
+ * finally
+ * {
+ * 	factory.endBatch();
+ * }
+ * </pre>
+ *
+ * Batches nest and only affect the thread that opened them. Vetoable changes are never deferred.
+ *
+ * @author NetAppsID Inc.
+ *
+ * @see CoalescingEventBuffer
+ */
+public class BatchingChangeSupportFactory implements ChangeSupportFactory
+{
+	private final ThreadLocal<Batch> batches = new ThreadLocal<Batch>();
+
+	@Override
+	public IdentityPropertyChangeSupport createIdentityPropertyChangeSupport(Object sourceBean)
+	{
+		return new BatchingPropertyChangeSupport(sourceBean, this);
+	}
+
+	@Override
+	public VetoableChangeSupport createVetoableChangeSupport(Object sourceBean)
+	{
+		return new VetoableChangeSupport(sourceBean);
+	}
+
+	/**
+	 * Opens a batch on the calling thread, or nests in the one already open.
+	 */
+	public void beginBatch()
+	{
+		final Batch batch = batches.get();
+
+		if (batch == null)
+		{
+			batches.set(new Batch());
+		}
+		else
+		{
+			batch.depth++;
+		}
+	}
+
+	/**
+	 * Closes the batch opened by the matching {@link #beginBatch()}. Closing the outermost batch delivers the deferred changes; changes fired by their
+	 * listeners are delivered at once.
+	 *
+	 * @throws IllegalStateException
+	 *             if no batch is open on the calling thread
+	 */
+	public void endBatch()
+	{
+		final Batch batch = batches.get();
+
+		if (batch == null)
+		{
+			throw new IllegalStateException("No batch is open on the current thread.");
+		}
+
+		if (batch.depth > 0)
+		{
+			batch.depth--;
+		}
+		else
+		{
+			batches.remove();
+			batch.buffer.deliver();
+		}
+	}
+
+	/**
+	 * @return whether a batch is open on the calling thread
+	 */
+	public boolean isBatching()
+	{
+		return batches.get() != null;
+	}
+
+	/**
+	 * Holds back the given change if a batch is open on the calling thread.
+	 *
+	 * @return whether the change was deferred
+	 */
+	boolean defer(KeyedPropertyChangeSupport support, PropertyChangeEvent evt)
+	{
+		final Batch batch = batches.get();
+
+		if (batch == null)
+		{
+			return false;
+		}
+
+		batch.buffer.add(support, evt);
+		return true;
+	}
+
+	private static final class Batch
+	{
+		private final CoalescingEventBuffer buffer = new CoalescingEventBuffer();
+		private int depth;
+	}
+}
@@ -0,0 +1,30 @@
+package com.netappsid.binding.beans.support;
+
+import java.beans.PropertyChangeEvent;
+
+/**
+ * A {@link KeyedPropertyChangeSupport} that defers its changes while a batch of its {@link BatchingChangeSupportFactory} is open on the firing thread.
+ *
+ * @author NetAppsID Inc.
+ */
+public class BatchingPropertyChangeSupport extends KeyedPropertyChangeSupport
+{
+	private static final long serialVersionUID = 1L;
+
+	private final transient BatchingChangeSupportFactory factory;
+
+	public BatchingPropertyChangeSupport(Object sourceBean, BatchingChangeSupportFactory factory)
+	{
+		super(sourceBean);
+		this.factory = factory;
+	}
+
+	@Override
+	protected void fire(PropertyChangeEvent evt)
+	{
+		if (factory == null || !factory.defer(this, evt))
+		{
+			dispatch(evt);
+		}
+	}
+}
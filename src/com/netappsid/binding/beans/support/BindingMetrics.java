@@ -0,0 +1,282 @@
+package com.netappsid.binding.beans.support;
+
+import java.beans.PropertyChangeEvent;
+import java.beans.PropertyChangeListener;
+import java.lang.ref.WeakReference;
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+/**
+ * Collects the property change metrics of the supports created by an {@link InstrumentedChangeSupportFactory}: the number of events delivered per source
+ * class and property, the dispatch latencies per listener class, and the depth of cascaded events, an event fired by a listener of another event being one
+ * level deeper. Recording is disabled until {@link #setEnabled(boolean)} is called; instrumented listeners then cost a volatile read per notification.
+ * <p>
+ *
+ * The metrics are exposed as an MBean once {@link #register()} is called, and can be read programmatically with {@link #snapshot()}.
+ *
+ * @author NetAppsID Inc.
+ */
+public class BindingMetrics implements BindingMetricsMBean
+{
+	public static final String DEFAULT_OBJECT_NAME = "com.netappsid.binding:type=BindingMetrics";
+	public static final String ALL_PROPERTIES = "*";
+	public static final int MAX_TRACKED_CASCADE_DEPTH = 32;
+
+	private final ConcurrentMap<Class<?>, ConcurrentMap<String, AtomicLong>> eventCounts = new ConcurrentHashMap<Class<?>, ConcurrentMap<String, AtomicLong>>();
+	private final ConcurrentMap<Class<?>, LatencyHistogram> listenerLatencies = new ConcurrentHashMap<Class<?>, LatencyHistogram>();
+	private final ThreadLocal<Cascade> cascades = new ThreadLocal<Cascade>()
+		{
+			@Override
+			protected Cascade initialValue()
+			{
+				return new Cascade();
+			}
+		};
+	private volatile AtomicLongArray cascadeDepthCounts = new AtomicLongArray(MAX_TRACKED_CASCADE_DEPTH);
+	private volatile boolean enabled;
+
+	@Override
+	public boolean isEnabled()
+	{
+		return enabled;
+	}
+
+	@Override
+	public void setEnabled(boolean enabled)
+	{
+		this.enabled = enabled;
+	}
+
+	/**
+	 * Registers these metrics with the platform MBean server under {@link #DEFAULT_OBJECT_NAME}.
+	 *
+	 * @return the name the metrics were registered under
+	 */
+	public ObjectName register() throws JMException
+	{
+		return register(ManagementFactory.getPlatformMBeanServer(), new ObjectName(DEFAULT_OBJECT_NAME));
+	}
+
+	public ObjectName register(MBeanServer server, ObjectName name) throws JMException
+	{
+		return server.registerMBean(this, name).getObjectName();
+	}
+
+	public void unregister(MBeanServer server, ObjectName name) throws JMException
+	{
+		server.unregisterMBean(name);
+	}
+
+	@Override
+	public long getTotalEventCount()
+	{
+		long total = 0;
+
+		for (ConcurrentMap<String, AtomicLong> counts : eventCounts.values())
+		{
+			for (AtomicLong count : counts.values())
+			{
+				total += count.get();
+			}
+		}
+
+		return total;
+	}
+
+	@Override
+	public int getMaxCascadeDepth()
+	{
+		return snapshot().getMaxCascadeDepth();
+	}
+
+	@Override
+	public String[] getEventCounts()
+	{
+		final List<String> lines = snapshot().formatEventCounts();
+		return lines.toArray(new String[lines.size()]);
+	}
+
+	@Override
+	public String[] getListenerLatencies()
+	{
+		final List<String> lines = snapshot().formatListenerLatencies();
+		return lines.toArray(new String[lines.size()]);
+	}
+
+	@Override
+	public long[] getCascadeDepthCounts()
+	{
+		return snapshot().getCascadeDepthCounts();
+	}
+
+	/**
+	 * Clears every metric recorded so far. Events being delivered while resetting may be counted either way.
+	 */
+	@Override
+	public void reset()
+	{
+		eventCounts.clear();
+		listenerLatencies.clear();
+		cascadeDepthCounts = new AtomicLongArray(MAX_TRACKED_CASCADE_DEPTH);
+	}
+
+	public BindingMetricsSnapshot snapshot()
+	{
+		final Map<String, Long> counts = new HashMap<String, Long>();
+
+		for (Map.Entry<Class<?>, ConcurrentMap<String, AtomicLong>> classEntry : eventCounts.entrySet())
+		{
+			for (Map.Entry<String, AtomicLong> propertyEntry : classEntry.getValue().entrySet())
+			{
+				counts.put(key(classEntry.getKey(), propertyEntry.getKey()), propertyEntry.getValue().get());
+			}
+		}
+
+		final Map<String, LatencyHistogram> latencies = new HashMap<String, LatencyHistogram>();
+
+		for (Map.Entry<Class<?>, LatencyHistogram> entry : listenerLatencies.entrySet())
+		{
+			latencies.put(entry.getKey().getName(), entry.getValue().copy());
+		}
+
+		final AtomicLongArray depthCounts = cascadeDepthCounts;
+		final long[] depths = new long[depthCounts.length()];
+
+		for (int index = 0; index < depths.length; index++)
+		{
+			depths[index] = depthCounts.get(index);
+		}
+
+		return new BindingMetricsSnapshot(counts, latencies, depths);
+	}
+
+	static String key(Class<?> sourceClass, String propertyName)
+	{
+		return sourceClass.getName() + "#" + (propertyName != null ? propertyName : ALL_PROPERTIES);
+	}
+
+	/**
+	 * Counts an event delivered to its first listener, at the given cascade depth.
+	 */
+	private void eventDelivered(PropertyChangeEvent evt, int depth)
+	{
+		final Class<?> sourceClass = evt.getSource().getClass();
+		ConcurrentMap<String, AtomicLong> counts = eventCounts.get(sourceClass);
+
+		if (counts == null)
+		{
+			eventCounts.putIfAbsent(sourceClass, new ConcurrentHashMap<String, AtomicLong>());
+			counts = eventCounts.get(sourceClass);
+		}
+
+		final String propertyName = evt.getPropertyName() != null ? evt.getPropertyName() : ALL_PROPERTIES;
+		AtomicLong count = counts.get(propertyName);
+
+		if (count == null)
+		{
+			counts.putIfAbsent(propertyName, new AtomicLong());
+			count = counts.get(propertyName);
+		}
+
+		count.incrementAndGet();
+		cascadeDepthCounts.incrementAndGet(Math.min(MAX_TRACKED_CASCADE_DEPTH, depth + 1) - 1);
+	}
+
+	/**
+	 * Notifies the given listener of an event delivered by the given support, recording its latency and counting the events it fires in turn one level
+	 * deeper. The event itself is counted with its first listener.
+	 */
+	void notifyListener(Object support, PropertyChangeListener listener, PropertyChangeEvent evt)
+	{
+		final Cascade cascade = cascades.get();
+
+		if (cascade.isFirstNotification(support, evt))
+		{
+			eventDelivered(evt, cascade.depth);
+		}
+
+		final long start = System.nanoTime();
+
+		cascade.depth++;
+
+		try
+		{
+			listener.propertyChange(evt);
+		}
+		finally
+		{
+			cascade.depth--;
+			cascade.clearDeeperEvents();
+			getListenerLatency(listener.getClass()).record(System.nanoTime() - start);
+		}
+	}
+
+	private LatencyHistogram getListenerLatency(Class<?> listenerClass)
+	{
+		LatencyHistogram histogram = listenerLatencies.get(listenerClass);
+
+		if (histogram == null)
+		{
+			listenerLatencies.putIfAbsent(listenerClass, new LatencyHistogram());
+			histogram = listenerLatencies.get(listenerClass);
+		}
+
+		return histogram;
+	}
+
+	/**
+	 * The notifications running on a thread, with the last event delivered at each depth. Every listener of an event sees the same instance, even when one of
+	 * them fires a cascaded event on the same support, one level deeper. The events and their supports are only weakly referenced, so that the thread does not
+	 * keep their beans and values once the notification is over.
+	 */
+	private static final class Cascade
+	{
+		private final List<WeakReference<Object>> lastSupports = new ArrayList<WeakReference<Object>>();
+		private final List<WeakReference<PropertyChangeEvent>> lastEvents = new ArrayList<WeakReference<PropertyChangeEvent>>();
+		private int depth;
+
+		private boolean isFirstNotification(Object support, PropertyChangeEvent evt)
+		{
+			if (depth < lastEvents.size())
+			{
+				if (lastEvents.get(depth).get() == evt && lastSupports.get(depth).get() == support)
+				{
+					return false;
+				}
+
+				lastSupports.set(depth, new WeakReference<Object>(support));
+				lastEvents.set(depth, new WeakReference<PropertyChangeEvent>(evt));
+			}
+			else
+			{
+				lastSupports.add(new WeakReference<Object>(support));
+				lastEvents.add(new WeakReference<PropertyChangeEvent>(evt));
+			}
+
+			return true;
+		}
+
+		/**
+		 * Forgets the events delivered below the current depth, the listener that fired them has returned.
+		 */
+		private void clearDeeperEvents()
+		{
+			if (lastEvents.size() > depth + 1)
+			{
+				lastSupports.subList(depth + 1, lastSupports.size()).clear();
+				lastEvents.subList(depth + 1, lastEvents.size()).clear();
+			}
+		}
+	}
+}
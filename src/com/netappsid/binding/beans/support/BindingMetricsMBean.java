@@ -0,0 +1,34 @@
+package com.netappsid.binding.beans.support;
+
+/**
+ * The management interface of {@link BindingMetrics}.
+ *
+ * @author NetAppsID Inc.
+ */
+public interface BindingMetricsMBean
+{
+	boolean isEnabled();
+
+	void setEnabled(boolean enabled);
+
+	long getTotalEventCount();
+
+	int getMaxCascadeDepth();
+
+	/**
+	 * @return one line per source class and property, {@code "class#property=count"}, the most frequent first
+	 */
+	String[] getEventCounts();
+
+	/**
+	 * @return one line per listener class with its dispatch latencies, the slowest in total first
+	 */
+	String[] getListenerLatencies();
+
+	/**
+	 * @return the number of events delivered at each cascade depth, starting at depth 1
+	 */
+	long[] getCascadeDepthCounts();
+
+	void reset();
+}
@@ -0,0 +1,134 @@
+package com.netappsid.binding.beans.support;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The metrics recorded by {@link BindingMetrics} at a given time.
+ *
+ * @author NetAppsID Inc.
+ */
+public final class BindingMetricsSnapshot
+{
+	private final Map<String, Long> eventCounts;
+	private final Map<String, LatencyHistogram> listenerLatencies;
+	private final long[] cascadeDepthCounts;
+
+	BindingMetricsSnapshot(Map<String, Long> eventCounts, Map<String, LatencyHistogram> listenerLatencies, long[] cascadeDepthCounts)
+	{
+		this.eventCounts = Collections.unmodifiableMap(eventCounts);
+		this.listenerLatencies = Collections.unmodifiableMap(listenerLatencies);
+		this.cascadeDepthCounts = cascadeDepthCounts;
+	}
+
+	/**
+	 * @return the number of delivered events by {@code "class#property"}, the property being {@value BindingMetrics#ALL_PROPERTIES} for unnamed changes
+	 */
+	public Map<String, Long> getEventCounts()
+	{
+		return eventCounts;
+	}
+
+	public long getEventCount(Class<?> sourceClass, String propertyName)
+	{
+		final Long count = eventCounts.get(BindingMetrics.key(sourceClass, propertyName));
+		return count != null ? count : 0;
+	}
+
+	public long getTotalEventCount()
+	{
+		long total = 0;
+
+		for (Long count : eventCounts.values())
+		{
+			total += count;
+		}
+
+		return total;
+	}
+
+	/**
+	 * @return the dispatch latencies by listener class name
+	 */
+	public Map<String, LatencyHistogram> getListenerLatencies()
+	{
+		return listenerLatencies;
+	}
+
+	/**
+	 * @return the number of events delivered at each cascade depth, index 0 being the events fired outside of any listener
+	 */
+	public long[] getCascadeDepthCounts()
+	{
+		return cascadeDepthCounts.clone();
+	}
+
+	public int getMaxCascadeDepth()
+	{
+		for (int index = cascadeDepthCounts.length - 1; index >= 0; index--)
+		{
+			if (cascadeDepthCounts[index] > 0)
+			{
+				return index + 1;
+			}
+		}
+
+		return 0;
+	}
+
+	List<String> formatEventCounts()
+	{
+		final List<Map.Entry<String, Long>> entries = new ArrayList<Map.Entry<String, Long>>(eventCounts.entrySet());
+
+		Collections.sort(entries, new Comparator<Map.Entry<String, Long>>()
+			{
+				@Override
+				public int compare(Map.Entry<String, Long> o1, Map.Entry<String, Long> o2)
+				{
+					return o2.getValue().compareTo(o1.getValue());
+				}
+			});
+
+		final List<String> lines = new ArrayList<String>();
+
+		for (Map.Entry<String, Long> entry : entries)
+		{
+			lines.add(entry.getKey() + "=" + entry.getValue());
+		}
+
+		return lines;
+	}
+
+	List<String> formatListenerLatencies()
+	{
+		final List<Map.Entry<String, LatencyHistogram>> entries = new ArrayList<Map.Entry<String, LatencyHistogram>>(listenerLatencies.entrySet());
+
+		Collections.sort(entries, new Comparator<Map.Entry<String, LatencyHistogram>>()
+			{
+				@Override
+				public int compare(Map.Entry<String, LatencyHistogram> o1, Map.Entry<String, LatencyHistogram> o2)
+				{
+					return Long.valueOf(o2.getValue().getTotalNanos()).compareTo(o1.getValue().getTotalNanos());
+				}
+			});
+
+		final List<String> lines = new ArrayList<String>();
+
+		for (Map.Entry<String, LatencyHistogram> entry : entries)
+		{
+			lines.add(entry.getKey() + " " + entry.getValue());
+		}
+
+		return lines;
+	}
+
+	@Override
+	public String toString()
+	{
+		return getClass().getSimpleName() + "[events=" + getTotalEventCount() + "; listeners=" + listenerLatencies.size() + "; maxCascadeDepth="
+				+ getMaxCascadeDepth() + "]";
+	}
+}
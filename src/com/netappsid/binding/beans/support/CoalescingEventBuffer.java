@@ -0,0 +1,133 @@
+package com.netappsid.binding.beans.support;
+
+import java.beans.PropertyChangeEvent;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Holds deferred property changes until they are delivered. A change of a property that already has a pending change from the same source replaces it with
+ * a single change from the oldest old value to the newest new value, keeping the position of the first one; a change back to the identical old value is
+ * dropped on delivery. Changes without a property name and subclasses of {@link PropertyChangeEvent}, such as indexed changes, are never merged.
+ * <p>
+ *
+ * A buffer is not thread safe, each thread or queue uses its own.
+ *
+ * @author NetAppsID Inc.
+ */
+final class CoalescingEventBuffer
+{
+	private final List<PendingEvent> pendingEvents = new ArrayList<PendingEvent>();
+	private final Map<EventKey, PendingEvent> mergeableEvents = new HashMap<EventKey, PendingEvent>();
+
+	public void add(KeyedPropertyChangeSupport target, PropertyChangeEvent evt)
+	{
+		if (evt.getPropertyName() == null || evt.getClass() != PropertyChangeEvent.class)
+		{
+			pendingEvents.add(new PendingEvent(target, evt));
+			return;
+		}
+
+		final EventKey key = new EventKey(target, evt.getPropertyName());
+		final PendingEvent pendingEvent = mergeableEvents.get(key);
+
+		if (pendingEvent == null)
+		{
+			final PendingEvent newPendingEvent = new PendingEvent(target, evt);
+
+			pendingEvents.add(newPendingEvent);
+			mergeableEvents.put(key, newPendingEvent);
+		}
+		else
+		{
+			pendingEvent.merge(evt);
+		}
+	}
+
+	public boolean isEmpty()
+	{
+		return pendingEvents.isEmpty();
+	}
+
+	public int size()
+	{
+		return pendingEvents.size();
+	}
+
+	/**
+	 * Empties the buffer and delivers its changes in order. Changes raised while delivering are not part of this delivery.
+	 */
+	public void deliver()
+	{
+		final List<PendingEvent> events = new ArrayList<PendingEvent>(pendingEvents);
+
+		pendingEvents.clear();
+		mergeableEvents.clear();
+
+		for (PendingEvent pendingEvent : events)
+		{
+			pendingEvent.deliver();
+		}
+	}
+
+	private static final class PendingEvent
+	{
+		private final KeyedPropertyChangeSupport target;
+		private PropertyChangeEvent event;
+		private boolean merged;
+
+		private PendingEvent(KeyedPropertyChangeSupport target, PropertyChangeEvent event)
+		{
+			this.target = target;
+			this.event = event;
+		}
+
+		private void merge(PropertyChangeEvent newerEvent)
+		{
+			event = new PropertyChangeEvent(event.getSource(), event.getPropertyName(), event.getOldValue(), newerEvent.getNewValue());
+			merged = true;
+		}
+
+		private void deliver()
+		{
+			if (!merged || event.getOldValue() == null || event.getOldValue() != event.getNewValue())
+			{
+				target.dispatch(event);
+			}
+		}
+	}
+
+	/**
+	 * Identifies a property of a change support, the support is compared by identity.
+	 */
+	private static final class EventKey
+	{
+		private final KeyedPropertyChangeSupport target;
+		private final String propertyName;
+
+		private EventKey(KeyedPropertyChangeSupport target, String propertyName)
+		{
+			this.target = target;
+			this.propertyName = propertyName;
+		}
+
+		@Override
+		public int hashCode()
+		{
+			return System.identityHashCode(target) * 31 + propertyName.hashCode();
+		}
+
+		@Override
+		public boolean equals(Object obj)
+		{
+			if (!(obj instanceof EventKey))
+			{
+				return false;
+			}
+
+			final EventKey other = (EventKey) obj;
+			return target == other.target && propertyName.equals(other.propertyName);
+		}
+	}
+}
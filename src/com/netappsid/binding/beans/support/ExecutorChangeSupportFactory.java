@@ -0,0 +1,224 @@
+package com.netappsid.binding.beans.support;
+
+import java.beans.PropertyChangeEvent;
+import java.beans.VetoableChangeSupport;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.log4j.Logger;
+
+import com.netappsid.validate.Validate;
+
+/**
+ * Creates change supports that notify their listeners on an {@link Executor}, so that expensive listeners such as recalculations, validations or persistence
+ * do not run on the thread that changed the bean. Each support delivers its changes in the order they were fired, one at a time; supports of different
+ * sources are delivered independently.
+ * <p>
+ *
+ * A factory may bound the number of changes waiting for their delivery. Once the bound is reached, a thread firing a change blocks until a delivery makes
+ * room, except the delivering threads themselves, which never block so that listeners changing other beans cannot deadlock the executor. A change the
+ * executor rejects is delivered on the firing thread. Exceptions thrown by listeners are logged and do not stop the delivery of the following changes.
+ * <p>
+ *
+ * Tests wait for every queued change to be delivered with {@link #awaitQuiescence(long, TimeUnit)}. Vetoable changes are always fired synchronously.
+ *
+ * @author NetAppsID Inc.
+ */
+public class ExecutorChangeSupportFactory implements ChangeSupportFactory
+{
+	private static final Logger LOGGER = Logger.getLogger(ExecutorChangeSupportFactory.class);
+
+	private final Executor executor;
+	private final int maxPendingEvents;
+	private final Semaphore permits;
+	private final AtomicInteger unpermittedEventCount = new AtomicInteger();
+	private final ThreadLocal<Integer> deliveryDepth = new ThreadLocal<Integer>();
+	private final Object quiescenceLock = new Object();
+	private int pendingEventCount;
+
+	/**
+	 * Creates a factory that never blocks the firing threads.
+	 */
+	public ExecutorChangeSupportFactory(Executor executor)
+	{
+		this(executor, Integer.MAX_VALUE);
+	}
+
+	/**
+	 * @param executor
+	 *            runs the deliveries
+	 * @param maxPendingEvents
+	 *            the number of changes that may wait for their delivery before the firing threads block
+	 */
+	public ExecutorChangeSupportFactory(Executor executor, int maxPendingEvents)
+	{
+		if (maxPendingEvents <= 0)
+		{
+			throw new IllegalArgumentException("The maximum number of pending events must be positive.");
+		}
+
+		this.executor = Validate.notNull(executor, "The executor must not be null.");
+		this.maxPendingEvents = maxPendingEvents;
+		this.permits = maxPendingEvents != Integer.MAX_VALUE ? new Semaphore(maxPendingEvents) : null;
+	}
+
+	@Override
+	public IdentityPropertyChangeSupport createIdentityPropertyChangeSupport(Object sourceBean)
+	{
+		return new ExecutorPropertyChangeSupport(sourceBean, this);
+	}
+
+	@Override
+	public VetoableChangeSupport createVetoableChangeSupport(Object sourceBean)
+	{
+		return new VetoableChangeSupport(sourceBean);
+	}
+
+	public Executor getExecutor()
+	{
+		return executor;
+	}
+
+	public int getMaxPendingEvents()
+	{
+		return maxPendingEvents;
+	}
+
+	/**
+	 * @return the number of changes fired and not delivered yet
+	 */
+	public int getPendingEventCount()
+	{
+		synchronized (quiescenceLock)
+		{
+			return pendingEventCount;
+		}
+	}
+
+	/**
+	 * Waits until every change fired so far, and every change fired by their listeners, has been delivered.
+	 *
+	 * @return whether the deliveries completed before the timeout elapsed
+	 * @throws InterruptedException
+	 *             if the current thread is interrupted while waiting
+	 */
+	public boolean awaitQuiescence(long timeout, TimeUnit unit) throws InterruptedException
+	{
+		final long deadline = System.nanoTime() + unit.toNanos(timeout);
+
+		synchronized (quiescenceLock)
+		{
+			while (pendingEventCount > 0)
+			{
+				final long remaining = deadline - System.nanoTime();
+
+				if (remaining <= 0)
+				{
+					return false;
+				}
+
+				TimeUnit.NANOSECONDS.timedWait(quiescenceLock, remaining);
+			}
+
+			return true;
+		}
+	}
+
+	void acquire()
+	{
+		if (permits != null)
+		{
+			if (deliveryDepth.get() == null)
+			{
+				permits.acquireUninterruptibly();
+			}
+			else if (!permits.tryAcquire())
+			{
+				// Delivering threads never wait, the change is queued beyond the bound and the next release does not return a permit
+				unpermittedEventCount.incrementAndGet();
+			}
+		}
+
+		synchronized (quiescenceLock)
+		{
+			pendingEventCount++;
+		}
+	}
+
+	void release()
+	{
+		synchronized (quiescenceLock)
+		{
+			pendingEventCount--;
+
+			if (pendingEventCount == 0)
+			{
+				quiescenceLock.notifyAll();
+			}
+		}
+
+		if (permits != null && !decrementUnpermittedEventCount())
+		{
+			permits.release();
+		}
+	}
+
+	private boolean decrementUnpermittedEventCount()
+	{
+		int count;
+
+		do
+		{
+			count = unpermittedEventCount.get();
+
+			if (count == 0)
+			{
+				return false;
+			}
+		}
+		while (!unpermittedEventCount.compareAndSet(count, count - 1));
+
+		return true;
+	}
+
+	void execute(Runnable drainTask)
+	{
+		try
+		{
+			executor.execute(drainTask);
+		}
+		catch (RejectedExecutionException e)
+		{
+			LOGGER.warn("The executor rejected the delivery of property changes, delivering them on the firing thread.", e);
+			drainTask.run();
+		}
+	}
+
+	void enterDelivery()
+	{
+		final Integer depth = deliveryDepth.get();
+		deliveryDepth.set(depth != null ? depth + 1 : 1);
+	}
+
+	void exitDelivery()
+	{
+		final int depth = deliveryDepth.get();
+
+		if (depth > 1)
+		{
+			deliveryDepth.set(depth - 1);
+		}
+		else
+		{
+			deliveryDepth.remove();
+		}
+	}
+
+	void listenerFailed(PropertyChangeEvent evt, RuntimeException e)
+	{
+		LOGGER.error("A listener failed to handle the change of " + evt.getPropertyName() + " on " + evt.getSource() + ".", e);
+	}
+}
@@ -0,0 +1,98 @@
+package com.netappsid.binding.beans.support;
+
+import java.beans.PropertyChangeEvent;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * A {@link KeyedPropertyChangeSupport} that notifies its listeners on the executor of its {@link ExecutorChangeSupportFactory}. Its changes are queued and
+ * delivered one at a time, in the order they were fired, by at most one executor task at once.
+ *
+ * @author NetAppsID Inc.
+ */
+public class ExecutorPropertyChangeSupport extends KeyedPropertyChangeSupport
+{
+	private static final long serialVersionUID = 1L;
+
+	private final transient ExecutorChangeSupportFactory factory;
+	private final transient Queue<PropertyChangeEvent> pendingEvents = new ConcurrentLinkedQueue<PropertyChangeEvent>();
+	private final transient AtomicBoolean drainScheduled = new AtomicBoolean();
+	private final transient Runnable drainTask = new DrainTask();
+
+	public ExecutorPropertyChangeSupport(Object sourceBean, ExecutorChangeSupportFactory factory)
+	{
+		super(sourceBean);
+		this.factory = factory;
+	}
+
+	@Override
+	protected void fire(PropertyChangeEvent evt)
+	{
+		if (factory == null)
+		{
+			dispatch(evt);
+		}
+		else
+		{
+			factory.acquire();
+			pendingEvents.add(evt);
+			scheduleDrain();
+		}
+	}
+
+	private void scheduleDrain()
+	{
+		if (drainScheduled.compareAndSet(false, true))
+		{
+			factory.execute(drainTask);
+		}
+	}
+
+	private void drain()
+	{
+		PropertyChangeEvent evt;
+
+		while ((evt = pendingEvents.poll()) != null)
+		{
+			try
+			{
+				dispatch(evt);
+			}
+			catch (RuntimeException e)
+			{
+				factory.listenerFailed(evt, e);
+			}
+			finally
+			{
+				factory.release();
+			}
+		}
+
+		drainScheduled.set(false);
+
+		// A change queued after the last poll but before the flag was cleared found a drain scheduled, deliver it now
+		if (!pendingEvents.isEmpty())
+		{
+			scheduleDrain();
+		}
+	}
+
+	private final class DrainTask implements Runnable
+	{
+		@Override
+		public void run()
+		{
+			factory.enterDelivery();
+
+			try
+			{
+				drain();
+			}
+			finally
+			{
+				factory.exitDelivery();
+			}
+		}
+	}
+}
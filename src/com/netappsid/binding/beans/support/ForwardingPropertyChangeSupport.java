@@ -0,0 +1,184 @@
+package com.netappsid.binding.beans.support;
+
+import java.beans.PropertyChangeEvent;
+import java.beans.PropertyChangeListener;
+import java.beans.PropertyChangeListenerProxy;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * An {@link IdentityPropertyChangeSupport} that forwards every call to the support created by another factory, for factories decorating another one. The
+ * listeners may be replaced by a {@link PropertyChangeListenerWrapper} on their way to the delegate; the listeners handed out are the original ones.
+ *
+ * @author NetAppsID Inc.
+ */
+public class ForwardingPropertyChangeSupport extends IdentityPropertyChangeSupport
+{
+	private static final long serialVersionUID = 1L;
+
+	private final IdentityPropertyChangeSupport delegate;
+
+	public ForwardingPropertyChangeSupport(Object sourceBean, IdentityPropertyChangeSupport delegate)
+	{
+		super(sourceBean);
+		this.delegate = delegate;
+	}
+
+	protected IdentityPropertyChangeSupport getDelegate()
+	{
+		return delegate;
+	}
+
+	/**
+	 * Returns the listener registered with the delegate for the given listener, the listener itself by default.
+	 */
+	protected PropertyChangeListener wrap(PropertyChangeListener listener)
+	{
+		return listener;
+	}
+
+	/**
+	 * Returns the listener handed out for the given listener registered with the delegate, or {@code null} to leave it out. Unwraps the listeners created by
+	 * {@link #wrap(PropertyChangeListener)} when they are {@link PropertyChangeListenerWrapper}s.
+	 */
+	protected PropertyChangeListener unwrap(PropertyChangeListener listener)
+	{
+		return listener instanceof PropertyChangeListenerWrapper ? ((PropertyChangeListenerWrapper) listener).getDelegate() : listener;
+	}
+
+	@Override
+	public void addPropertyChangeListener(PropertyChangeListener listener)
+	{
+		delegate.addPropertyChangeListener(wrapAny(listener));
+	}
+
+	@Override
+	public void removePropertyChangeListener(PropertyChangeListener listener)
+	{
+		delegate.removePropertyChangeListener(wrapAny(listener));
+	}
+
+	@Override
+	public void addPropertyChangeListener(String propertyName, PropertyChangeListener listener)
+	{
+		delegate.addPropertyChangeListener(propertyName, wrapAny(listener));
+	}
+
+	@Override
+	public void removePropertyChangeListener(String propertyName, PropertyChangeListener listener)
+	{
+		delegate.removePropertyChangeListener(propertyName, wrapAny(listener));
+	}
+
+	@Override
+	public PropertyChangeListener[] getPropertyChangeListeners()
+	{
+		return unwrapAll(delegate.getPropertyChangeListeners());
+	}
+
+	@Override
+	public PropertyChangeListener[] getPropertyChangeListeners(String propertyName)
+	{
+		return unwrapAll(delegate.getPropertyChangeListeners(propertyName));
+	}
+
+	@Override
+	public boolean hasListeners(String propertyName)
+	{
+		return delegate.hasListeners(propertyName);
+	}
+
+	@Override
+	public void firePropertyChange(String propertyName, Object oldValue, Object newValue)
+	{
+		delegate.firePropertyChange(propertyName, oldValue, newValue);
+	}
+
+	@Override
+	public void firePropertyChange(String propertyName, int oldValue, int newValue)
+	{
+		delegate.firePropertyChange(propertyName, oldValue, newValue);
+	}
+
+	@Override
+	public void firePropertyChange(String propertyName, boolean oldValue, boolean newValue)
+	{
+		delegate.firePropertyChange(propertyName, oldValue, newValue);
+	}
+
+	@Override
+	public void firePropertyChange(PropertyChangeEvent evt)
+	{
+		delegate.firePropertyChange(evt);
+	}
+
+	@Override
+	public void fireIndexedPropertyChange(String propertyName, int index, Object oldValue, Object newValue)
+	{
+		delegate.fireIndexedPropertyChange(propertyName, index, oldValue, newValue);
+	}
+
+	@Override
+	public void fireIndexedPropertyChange(String propertyName, int index, int oldValue, int newValue)
+	{
+		delegate.fireIndexedPropertyChange(propertyName, index, oldValue, newValue);
+	}
+
+	@Override
+	public void fireIndexedPropertyChange(String propertyName, int index, boolean oldValue, boolean newValue)
+	{
+		delegate.fireIndexedPropertyChange(propertyName, index, oldValue, newValue);
+	}
+
+	@Override
+	public void fireIdentityPropertyChange(String propertyName, Object oldValue, Object newValue)
+	{
+		delegate.fireIdentityPropertyChange(propertyName, oldValue, newValue);
+	}
+
+	@Override
+	public void fireIdentityPropertyChange(PropertyChangeEvent evt)
+	{
+		delegate.fireIdentityPropertyChange(evt);
+	}
+
+	private PropertyChangeListener wrapAny(PropertyChangeListener listener)
+	{
+		if (listener instanceof PropertyChangeListenerProxy)
+		{
+			final PropertyChangeListenerProxy proxy = (PropertyChangeListenerProxy) listener;
+			return new PropertyChangeListenerProxy(proxy.getPropertyName(), wrapAny((PropertyChangeListener) proxy.getListener()));
+		}
+
+		return listener != null ? wrap(listener) : null;
+	}
+
+	private PropertyChangeListener[] unwrapAll(PropertyChangeListener[] listeners)
+	{
+		final List<PropertyChangeListener> unwrapped = new ArrayList<PropertyChangeListener>(listeners.length);
+
+		for (PropertyChangeListener listener : listeners)
+		{
+			final PropertyChangeListener unwrappedListener = unwrapAny(listener);
+
+			if (unwrappedListener != null)
+			{
+				unwrapped.add(unwrappedListener);
+			}
+		}
+
+		return unwrapped.toArray(new PropertyChangeListener[unwrapped.size()]);
+	}
+
+	private PropertyChangeListener unwrapAny(PropertyChangeListener listener)
+	{
+		if (listener instanceof PropertyChangeListenerProxy)
+		{
+			final PropertyChangeListenerProxy proxy = (PropertyChangeListenerProxy) listener;
+			final PropertyChangeListener unwrapped = unwrapAny((PropertyChangeListener) proxy.getListener());
+			return unwrapped != null ? new PropertyChangeListenerProxy(proxy.getPropertyName(), unwrapped) : null;
+		}
+
+		return unwrap(listener);
+	}
+}
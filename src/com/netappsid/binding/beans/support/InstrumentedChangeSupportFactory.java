@@ -0,0 +1,48 @@
+package com.netappsid.binding.beans.support;
+
+import java.beans.VetoableChangeSupport;
+
+import com.netappsid.validate.Validate;
+
+/**
+ * Decorates another factory so that the property changes of its supports are recorded by a {@link BindingMetrics}:
+ *
+ * <pre>
+ * final BindingMetrics metrics = new BindingMetrics();
+ * metrics.register();
+ * metrics.setEnabled(true);
+ * final ChangeSupportFactory factory = new InstrumentedChangeSupportFactory(new SwingChangeSupportFactory(), metrics);
+ * </pre>
+ *
+ * The decorated factory still decides when and on which thread listeners are notified. Vetoable changes are not recorded.
+ *
+ * @author NetAppsID Inc.
+ */
+public class InstrumentedChangeSupportFactory implements ChangeSupportFactory
+{
+	private final ChangeSupportFactory delegate;
+	private final BindingMetrics metrics;
+
+	public InstrumentedChangeSupportFactory(ChangeSupportFactory delegate, BindingMetrics metrics)
+	{
+		this.delegate = Validate.notNull(delegate, "The decorated factory must not be null.");
+		this.metrics = Validate.notNull(metrics, "The metrics must not be null.");
+	}
+
+	public BindingMetrics getMetrics()
+	{
+		return metrics;
+	}
+
+	@Override
+	public IdentityPropertyChangeSupport createIdentityPropertyChangeSupport(Object sourceBean)
+	{
+		return new InstrumentedPropertyChangeSupport(sourceBean, delegate.createIdentityPropertyChangeSupport(sourceBean), metrics);
+	}
+
+	@Override
+	public VetoableChangeSupport createVetoableChangeSupport(Object sourceBean)
+	{
+		return delegate.createVetoableChangeSupport(sourceBean);
+	}
+}
@@ -0,0 +1,48 @@
+package com.netappsid.binding.beans.support;
+
+import java.beans.PropertyChangeEvent;
+import java.beans.PropertyChangeListener;
+
+/**
+ * Forwards to the support of a decorated factory, registering its listeners wrapped so that {@link BindingMetrics} can record their notifications.
+ *
+ * @author NetAppsID Inc.
+ */
+public class InstrumentedPropertyChangeSupport extends ForwardingPropertyChangeSupport
+{
+	private static final long serialVersionUID = 1L;
+
+	private final transient BindingMetrics metrics;
+
+	public InstrumentedPropertyChangeSupport(Object sourceBean, IdentityPropertyChangeSupport delegate, BindingMetrics metrics)
+	{
+		super(sourceBean, delegate);
+		this.metrics = metrics;
+	}
+
+	@Override
+	protected PropertyChangeListener wrap(PropertyChangeListener listener)
+	{
+		return new InstrumentedListener(listener);
+	}
+
+	private final class InstrumentedListener extends PropertyChangeListenerWrapper
+	{
+		private InstrumentedListener(PropertyChangeListener delegate)
+		{
+			super(delegate);
+		}
+
+		@Override
+		public void propertyChange(PropertyChangeEvent evt)
+		{
+			if (metrics == null || !metrics.isEnabled())
+			{
+				getDelegate().propertyChange(evt);
+				return;
+			}
+
+			metrics.notifyListener(InstrumentedPropertyChangeSupport.this, getDelegate(), evt);
+		}
+	}
+}
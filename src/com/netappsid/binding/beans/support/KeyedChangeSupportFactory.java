@@ -0,0 +1,23 @@
+package com.netappsid.binding.beans.support;
+
+import java.beans.VetoableChangeSupport;
+
+/**
+ * Creates {@link KeyedPropertyChangeSupport}s, which dispatch each change to the listeners of its property only.
+ *
+ * @author NetAppsID Inc.
+ */
+public class KeyedChangeSupportFactory implements SynchronousChangeSupportFactory
+{
+	@Override
+	public IdentityPropertyChangeSupport createIdentityPropertyChangeSupport(Object sourceBean)
+	{
+		return new KeyedPropertyChangeSupport(sourceBean);
+	}
+
+	@Override
+	public VetoableChangeSupport createVetoableChangeSupport(Object sourceBean)
+	{
+		return new VetoableChangeSupport(sourceBean);
+	}
+}
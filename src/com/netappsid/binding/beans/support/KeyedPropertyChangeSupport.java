@@ -0,0 +1,408 @@
+package com.netappsid.binding.beans.support;
+
+import java.beans.IndexedPropertyChangeEvent;
+import java.beans.PropertyChangeEvent;
+import java.beans.PropertyChangeListener;
+import java.beans.PropertyChangeListenerProxy;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicReferenceFieldUpdater;
+
+/**
+ * An {@link IdentityPropertyChangeSupport} that keeps the listeners registered for a property in their own array, looked up by property name. A fire only
+ * visits the listeners interested in the fired property, and a fire for a property without any listener returns before creating its event.
+ * <p>
+ *
+ * The listeners are held in an immutable snapshot that registrations replace atomically, retrying when another thread replaced it first. Neither
+ * registrations nor fires lock, and a fire only reads the snapshot current when it started; registrations are meant to be much rarer than fires.
+ *
+ * @author NetAppsID Inc.
+ *
+ * @see KeyedChangeSupportFactory
+ */
+public class KeyedPropertyChangeSupport extends IdentityPropertyChangeSupport
+{
+	private static final long serialVersionUID = 1L;
+	private static final PropertyChangeListener[] NO_LISTENERS = new PropertyChangeListener[0];
+
+	private static final Registry EMPTY_REGISTRY = new Registry(NO_LISTENERS, Collections.<String, PropertyChangeListener[]> emptyMap());
+	private static final AtomicReferenceFieldUpdater<KeyedPropertyChangeSupport, Registry> REGISTRY_UPDATER = AtomicReferenceFieldUpdater.newUpdater(
+			KeyedPropertyChangeSupport.class, Registry.class, "registry");
+
+	private final Object source;
+	private transient volatile Registry registry = EMPTY_REGISTRY;
+
+	public KeyedPropertyChangeSupport(Object sourceBean)
+	{
+		super(sourceBean);
+		this.source = sourceBean;
+	}
+
+	@Override
+	public void addPropertyChangeListener(PropertyChangeListener listener)
+	{
+		if (listener instanceof PropertyChangeListenerProxy)
+		{
+			final PropertyChangeListenerProxy proxy = (PropertyChangeListenerProxy) listener;
+			addPropertyChangeListener(proxy.getPropertyName(), (PropertyChangeListener) proxy.getListener());
+		}
+		else if (listener != null)
+		{
+			Registry current;
+
+			do
+			{
+				current = registry;
+			}
+			while (!REGISTRY_UPDATER.compareAndSet(this, current, new Registry(add(current.listeners, listener), current.namedListeners)));
+		}
+	}
+
+	@Override
+	public void removePropertyChangeListener(PropertyChangeListener listener)
+	{
+		if (listener instanceof PropertyChangeListenerProxy)
+		{
+			final PropertyChangeListenerProxy proxy = (PropertyChangeListenerProxy) listener;
+			removePropertyChangeListener(proxy.getPropertyName(), (PropertyChangeListener) proxy.getListener());
+		}
+		else if (listener != null)
+		{
+			Registry current;
+			PropertyChangeListener[] newListeners;
+
+			do
+			{
+				current = registry;
+				newListeners = remove(current.listeners, listener);
+			}
+			while (newListeners != current.listeners
+					&& !REGISTRY_UPDATER.compareAndSet(this, current, new Registry(newListeners, current.namedListeners)));
+		}
+	}
+
+	@Override
+	public void addPropertyChangeListener(String propertyName, PropertyChangeListener listener)
+	{
+		final PropertyChangeListener unwrapped = unwrap(listener);
+
+		if (propertyName != null && unwrapped != null)
+		{
+			Registry current;
+			Map<String, PropertyChangeListener[]> newNamedListeners;
+
+			do
+			{
+				current = registry;
+				newNamedListeners = new HashMap<String, PropertyChangeListener[]>(current.namedListeners);
+
+				final PropertyChangeListener[] propertyListeners = newNamedListeners.get(propertyName);
+				newNamedListeners.put(propertyName, add(propertyListeners != null ? propertyListeners : NO_LISTENERS, unwrapped));
+			}
+			while (!REGISTRY_UPDATER.compareAndSet(this, current, new Registry(current.listeners, newNamedListeners)));
+		}
+	}
+
+	@Override
+	public void removePropertyChangeListener(String propertyName, PropertyChangeListener listener)
+	{
+		final PropertyChangeListener unwrapped = unwrap(listener);
+
+		if (propertyName == null || unwrapped == null)
+		{
+			return;
+		}
+
+		Registry current;
+		Map<String, PropertyChangeListener[]> newNamedListeners;
+
+		do
+		{
+			current = registry;
+
+			final PropertyChangeListener[] propertyListeners = current.namedListeners.get(propertyName);
+			final PropertyChangeListener[] newPropertyListeners = propertyListeners != null ? remove(propertyListeners, unwrapped) : null;
+
+			if (newPropertyListeners == propertyListeners)
+			{
+				return;
+			}
+
+			newNamedListeners = new HashMap<String, PropertyChangeListener[]>(current.namedListeners);
+
+			if (newPropertyListeners.length == 0)
+			{
+				newNamedListeners.remove(propertyName);
+			}
+			else
+			{
+				newNamedListeners.put(propertyName, newPropertyListeners);
+			}
+		}
+		while (!REGISTRY_UPDATER.compareAndSet(this, current, new Registry(current.listeners, newNamedListeners)));
+	}
+
+	@Override
+	public PropertyChangeListener[] getPropertyChangeListeners()
+	{
+		final Registry current = registry;
+		final List<PropertyChangeListener> result = new ArrayList<PropertyChangeListener>(Arrays.asList(current.listeners));
+
+		for (Map.Entry<String, PropertyChangeListener[]> entry : current.namedListeners.entrySet())
+		{
+			for (PropertyChangeListener listener : entry.getValue())
+			{
+				result.add(new PropertyChangeListenerProxy(entry.getKey(), listener));
+			}
+		}
+
+		return result.toArray(new PropertyChangeListener[result.size()]);
+	}
+
+	@Override
+	public PropertyChangeListener[] getPropertyChangeListeners(String propertyName)
+	{
+		final PropertyChangeListener[] propertyListeners = propertyName != null ? registry.namedListeners.get(propertyName) : null;
+		return propertyListeners != null ? propertyListeners.clone() : NO_LISTENERS;
+	}
+
+	@Override
+	public boolean hasListeners(String propertyName)
+	{
+		final Registry current = registry;
+		return current.listeners.length > 0 || (propertyName != null && current.namedListeners.containsKey(propertyName));
+	}
+
+	@Override
+	public void fireIdentityPropertyChange(String propertyName, Object oldValue, Object newValue)
+	{
+		if ((oldValue == null || oldValue != newValue) && hasListeners(propertyName))
+		{
+			fire(new PropertyChangeEvent(source, propertyName, oldValue, newValue));
+		}
+	}
+
+	@Override
+	public void fireIdentityPropertyChange(PropertyChangeEvent evt)
+	{
+		if (evt.getOldValue() == null || evt.getOldValue() != evt.getNewValue())
+		{
+			fire(evt);
+		}
+	}
+
+	@Override
+	public void firePropertyChange(String propertyName, Object oldValue, Object newValue)
+	{
+		if (!isEqual(oldValue, newValue) && hasListeners(propertyName))
+		{
+			fire(new PropertyChangeEvent(source, propertyName, oldValue, newValue));
+		}
+	}
+
+	@Override
+	public void firePropertyChange(String propertyName, int oldValue, int newValue)
+	{
+		if (oldValue != newValue && hasListeners(propertyName))
+		{
+			fire(new PropertyChangeEvent(source, propertyName, Integer.valueOf(oldValue), Integer.valueOf(newValue)));
+		}
+	}
+
+	@Override
+	public void firePropertyChange(String propertyName, boolean oldValue, boolean newValue)
+	{
+		if (oldValue != newValue && hasListeners(propertyName))
+		{
+			fire(new PropertyChangeEvent(source, propertyName, Boolean.valueOf(oldValue), Boolean.valueOf(newValue)));
+		}
+	}
+
+	@Override
+	public void firePropertyChange(PropertyChangeEvent evt)
+	{
+		if (!isEqual(evt.getOldValue(), evt.getNewValue()))
+		{
+			fire(evt);
+		}
+	}
+
+	@Override
+	public void fireIndexedPropertyChange(String propertyName, int index, Object oldValue, Object newValue)
+	{
+		if (!isEqual(oldValue, newValue) && hasListeners(propertyName))
+		{
+			fire(new IndexedPropertyChangeEvent(source, propertyName, oldValue, newValue, index));
+		}
+	}
+
+	@Override
+	public void fireIndexedPropertyChange(String propertyName, int index, int oldValue, int newValue)
+	{
+		if (oldValue != newValue && hasListeners(propertyName))
+		{
+			fire(new IndexedPropertyChangeEvent(source, propertyName, Integer.valueOf(oldValue), Integer.valueOf(newValue), index));
+		}
+	}
+
+	@Override
+	public void fireIndexedPropertyChange(String propertyName, int index, boolean oldValue, boolean newValue)
+	{
+		if (oldValue != newValue && hasListeners(propertyName))
+		{
+			fire(new IndexedPropertyChangeEvent(source, propertyName, Boolean.valueOf(oldValue), Boolean.valueOf(newValue), index));
+		}
+	}
+
+	/**
+	 * Called with every event that passed the value checks of the fire methods. Delivers the event at once, subclasses may defer it.
+	 */
+	protected void fire(PropertyChangeEvent evt)
+	{
+		dispatch(evt);
+	}
+
+	/**
+	 * Notifies the listeners of every property, then the listeners of the event's property. Events without a property name only reach the former.
+	 */
+	protected final void dispatch(PropertyChangeEvent evt)
+	{
+		final Registry current = registry;
+
+		for (PropertyChangeListener listener : current.listeners)
+		{
+			listener.propertyChange(evt);
+		}
+
+		final PropertyChangeListener[] propertyListeners = evt.getPropertyName() != null ? current.namedListeners.get(evt.getPropertyName()) : null;
+
+		if (propertyListeners != null)
+		{
+			for (PropertyChangeListener listener : propertyListeners)
+			{
+				listener.propertyChange(evt);
+			}
+		}
+	}
+
+	private static boolean isEqual(Object oldValue, Object newValue)
+	{
+		return oldValue != null && newValue != null && oldValue.equals(newValue);
+	}
+
+	private static PropertyChangeListener unwrap(PropertyChangeListener listener)
+	{
+		PropertyChangeListener unwrapped = listener;
+
+		while (unwrapped instanceof PropertyChangeListenerProxy)
+		{
+			unwrapped = (PropertyChangeListener) ((PropertyChangeListenerProxy) unwrapped).getListener();
+		}
+
+		return unwrapped;
+	}
+
+	private static PropertyChangeListener[] add(PropertyChangeListener[] array, PropertyChangeListener listener)
+	{
+		final PropertyChangeListener[] newArray = new PropertyChangeListener[array.length + 1];
+
+		System.arraycopy(array, 0, newArray, 0, array.length);
+		newArray[array.length] = listener;
+		return newArray;
+	}
+
+	/**
+	 * @return a copy of the array without the first occurrence of the listener, or the same array if it does not hold the listener
+	 */
+	private static PropertyChangeListener[] remove(PropertyChangeListener[] array, PropertyChangeListener listener)
+	{
+		for (int index = 0; index < array.length; index++)
+		{
+			if (listener.equals(array[index]))
+			{
+				if (array.length == 1)
+				{
+					return NO_LISTENERS;
+				}
+
+				final PropertyChangeListener[] newArray = new PropertyChangeListener[array.length - 1];
+
+				System.arraycopy(array, 0, newArray, 0, index);
+				System.arraycopy(array, index + 1, newArray, index, array.length - index - 1);
+				return newArray;
+			}
+		}
+
+		return array;
+	}
+
+	/**
+	 * Writes the serializable listeners only, as {@link java.beans.PropertyChangeSupport} does.
+	 */
+	private void writeObject(ObjectOutputStream out) throws IOException
+	{
+		out.defaultWriteObject();
+
+		for (PropertyChangeListener listener : getPropertyChangeListeners())
+		{
+			final Object target = listener instanceof PropertyChangeListenerProxy ? ((PropertyChangeListenerProxy) listener).getListener() : listener;
+
+			if (target instanceof Serializable)
+			{
+				out.writeObject(listener instanceof PropertyChangeListenerProxy ? ((PropertyChangeListenerProxy) listener).getPropertyName() : null);
+				out.writeObject(target);
+			}
+		}
+
+		out.writeObject(null);
+		out.writeObject(null);
+	}
+
+	private void readObject(ObjectInputStream in) throws IOException, ClassNotFoundException
+	{
+		in.defaultReadObject();
+		registry = EMPTY_REGISTRY;
+
+		while (true)
+		{
+			final String propertyName = (String) in.readObject();
+			final PropertyChangeListener listener = (PropertyChangeListener) in.readObject();
+
+			if (listener == null)
+			{
+				break;
+			}
+			else if (propertyName != null)
+			{
+				addPropertyChangeListener(propertyName, listener);
+			}
+			else
+			{
+				addPropertyChangeListener(listener);
+			}
+		}
+	}
+
+	/**
+	 * The unnamed listeners and the listeners of each property, never modified once published.
+	 */
+	private static final class Registry
+	{
+		private final PropertyChangeListener[] listeners;
+		private final Map<String, PropertyChangeListener[]> namedListeners;
+
+		private Registry(PropertyChangeListener[] listeners, Map<String, PropertyChangeListener[]> namedListeners)
+		{
+			this.listeners = listeners;
+			this.namedListeners = namedListeners;
+		}
+	}
+}
@@ -0,0 +1,123 @@
+package com.netappsid.binding.beans.support;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Counts durations in buckets of powers of two nanoseconds: bucket <i>n</i> holds the durations from 2<sup><i>n</i>-1</sup> up to 2<sup><i>n</i></sup>-1
+ * nanoseconds, the last bucket holds every longer duration. Recording is lock-free; a histogram read while recording may be slightly inconsistent.
+ *
+ * @author NetAppsID Inc.
+ */
+public final class LatencyHistogram
+{
+	public static final int BUCKET_COUNT = 40;
+
+	private final AtomicLongArray buckets = new AtomicLongArray(BUCKET_COUNT);
+	private final AtomicLong count = new AtomicLong();
+	private final AtomicLong totalNanos = new AtomicLong();
+	private final AtomicLong maxNanos = new AtomicLong();
+
+	public void record(long nanos)
+	{
+		final long duration = Math.max(0, nanos);
+
+		buckets.incrementAndGet(Math.min(BUCKET_COUNT - 1, 64 - Long.numberOfLeadingZeros(duration)));
+		count.incrementAndGet();
+		totalNanos.addAndGet(duration);
+
+		long max;
+
+		while (duration > (max = maxNanos.get()) && !maxNanos.compareAndSet(max, duration))
+		{
+			// Retry until the maximum is at least this duration
+		}
+	}
+
+	public long getCount()
+	{
+		return count.get();
+	}
+
+	public long getTotalNanos()
+	{
+		return totalNanos.get();
+	}
+
+	public long getMaxNanos()
+	{
+		return maxNanos.get();
+	}
+
+	public long getMeanNanos()
+	{
+		final long recorded = count.get();
+		return recorded > 0 ? totalNanos.get() / recorded : 0;
+	}
+
+	public long[] getBucketCounts()
+	{
+		final long[] counts = new long[BUCKET_COUNT];
+
+		for (int index = 0; index < BUCKET_COUNT; index++)
+		{
+			counts[index] = buckets.get(index);
+		}
+
+		return counts;
+	}
+
+	/**
+	 * Returns an upper bound of the given percentile of the recorded durations, the upper limit of the bucket the percentile falls in.
+	 *
+	 * @param percentile
+	 *            the percentile, between 0 and 100
+	 */
+	public long getPercentileNanos(double percentile)
+	{
+		final long[] counts = getBucketCounts();
+		long total = 0;
+
+		for (long bucketCount : counts)
+		{
+			total += bucketCount;
+		}
+
+		final long threshold = (long) Math.ceil(total * percentile / 100);
+		long seen = 0;
+
+		for (int index = 0; index < counts.length; index++)
+		{
+			seen += counts[index];
+
+			if (seen >= threshold && seen > 0)
+			{
+				return index == 0 ? 0 : Math.min((1L << index) - 1, getMaxNanos());
+			}
+		}
+
+		return 0;
+	}
+
+	LatencyHistogram copy()
+	{
+		final LatencyHistogram copy = new LatencyHistogram();
+
+		for (int index = 0; index < BUCKET_COUNT; index++)
+		{
+			copy.buckets.set(index, buckets.get(index));
+		}
+
+		copy.count.set(count.get());
+		copy.totalNanos.set(totalNanos.get());
+		copy.maxNanos.set(maxNanos.get());
+		return copy;
+	}
+
+	@Override
+	public String toString()
+	{
+		return "count=" + getCount() + "; mean=" + getMeanNanos() / 1000 + "us; p99=" + getPercentileNanos(99) / 1000 + "us; max=" + getMaxNanos() / 1000
+				+ "us";
+	}
+}
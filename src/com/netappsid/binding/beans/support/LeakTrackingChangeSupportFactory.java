@@ -0,0 +1,45 @@
+package com.netappsid.binding.beans.support;
+
+import java.beans.VetoableChangeSupport;
+
+import com.netappsid.validate.Validate;
+
+/**
+ * Decorates another factory so that the listeners registered with its supports are reported to a {@link ListenerLeakTracker}, the default one unless
+ * another is given. Vetoable change listeners are not tracked.
+ *
+ * @author NetAppsID Inc.
+ */
+public class LeakTrackingChangeSupportFactory implements ChangeSupportFactory
+{
+	private final ChangeSupportFactory delegate;
+	private final ListenerLeakTracker tracker;
+
+	public LeakTrackingChangeSupportFactory(ChangeSupportFactory delegate)
+	{
+		this(delegate, ListenerLeakTracker.getDefault());
+	}
+
+	public LeakTrackingChangeSupportFactory(ChangeSupportFactory delegate, ListenerLeakTracker tracker)
+	{
+		this.delegate = Validate.notNull(delegate, "The decorated factory must not be null.");
+		this.tracker = Validate.notNull(tracker, "The tracker must not be null.");
+	}
+
+	public ListenerLeakTracker getTracker()
+	{
+		return tracker;
+	}
+
+	@Override
+	public IdentityPropertyChangeSupport createIdentityPropertyChangeSupport(Object sourceBean)
+	{
+		return new LeakTrackingPropertyChangeSupport(sourceBean, delegate.createIdentityPropertyChangeSupport(sourceBean), tracker);
+	}
+
+	@Override
+	public VetoableChangeSupport createVetoableChangeSupport(Object sourceBean)
+	{
+		return delegate.createVetoableChangeSupport(sourceBean);
+	}
+}
@@ -0,0 +1,95 @@
+package com.netappsid.binding.beans.support;
+
+import java.beans.PropertyChangeListener;
+import java.beans.PropertyChangeListenerProxy;
+
+/**
+ * Forwards to the support of a decorated factory, reporting the listeners registered and removed to a {@link ListenerLeakTracker}.
+ *
+ * @author NetAppsID Inc.
+ */
+public class LeakTrackingPropertyChangeSupport extends ForwardingPropertyChangeSupport
+{
+	private static final long serialVersionUID = 1L;
+
+	private final transient Object sourceBean;
+	private final transient ListenerLeakTracker tracker;
+
+	public LeakTrackingPropertyChangeSupport(Object sourceBean, IdentityPropertyChangeSupport delegate, ListenerLeakTracker tracker)
+	{
+		super(sourceBean, delegate);
+		this.sourceBean = sourceBean;
+		this.tracker = tracker;
+	}
+
+	@Override
+	public void addPropertyChangeListener(PropertyChangeListener listener)
+	{
+		super.addPropertyChangeListener(listener);
+		track(true, listener);
+	}
+
+	@Override
+	public void removePropertyChangeListener(PropertyChangeListener listener)
+	{
+		final int listenerCount = getListenerCount();
+
+		super.removePropertyChangeListener(listener);
+		trackRemoval(listenerCount, listener);
+	}
+
+	@Override
+	public void addPropertyChangeListener(String propertyName, PropertyChangeListener listener)
+	{
+		super.addPropertyChangeListener(propertyName, listener);
+		track(true, listener);
+	}
+
+	@Override
+	public void removePropertyChangeListener(String propertyName, PropertyChangeListener listener)
+	{
+		final int listenerCount = getListenerCount();
+
+		super.removePropertyChangeListener(propertyName, listener);
+		trackRemoval(listenerCount, listener);
+	}
+
+	/**
+	 * @return the number of listeners registered with the delegate, only counted while the tracker is enabled
+	 */
+	private int getListenerCount()
+	{
+		return tracker != null && tracker.isEnabled() ? getDelegate().getPropertyChangeListeners().length : 0;
+	}
+
+	/**
+	 * Reports a removal only if the delegate actually had the listener, removing an unknown listener must not hide a leak.
+	 */
+	private void trackRemoval(int previousListenerCount, PropertyChangeListener listener)
+	{
+		if (getListenerCount() < previousListenerCount)
+		{
+			track(false, listener);
+		}
+	}
+
+	private void track(boolean added, PropertyChangeListener listener)
+	{
+		if (tracker == null)
+		{
+			return;
+		}
+
+		// The proxies of named listeners are created per call, the tracker matches the listeners they wrap
+		final Object trackedListener = listener instanceof PropertyChangeListenerProxy ? ((PropertyChangeListenerProxy) listener).getListener() : listener;
+
+		if (added)
+		{
+			tracker.listenerAdded(sourceBean, trackedListener);
+		}
+		else
+		{
+			tracker.listenerRemoved(sourceBean, trackedListener);
+		}
+	}
+}
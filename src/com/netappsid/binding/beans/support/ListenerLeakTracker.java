@@ -0,0 +1,394 @@
+package com.netappsid.binding.beans.support;
+
+import java.io.PrintWriter;
+import java.io.StringWriter;
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Tracks the listeners registered with models and beans to find the ones that are never removed. Tracking is disabled unless the
+ * {@code com.netappsid.binding.trackListeners} system property is {@code true} or {@link #setEnabled(boolean)} is called; a disabled tracker costs a volatile
+ * read per registration.
+ * <p>
+ *
+ * While enabled, the tracker counts the listeners of each source and keeps the stack trace of their registrations, every one or a sample of them. Sources
+ * and listeners are held weakly, so tracking does not leak itself, and removing a listener that is not registered is ignored. Each call to
+ * {@link #takeSample()} appends the current listener count of every source to its history; the sources whose count only grew over the kept history are
+ * reported by {@link #getSuspectedLeaks()}.
+ *
+ * @author NetAppsID Inc.
+ */
+public class ListenerLeakTracker
+{
+	public static final String ENABLED_PROPERTY = "com.netappsid.binding.trackListeners";
+
+	private static final ListenerLeakTracker DEFAULT = new ListenerLeakTracker(Boolean.getBoolean(ENABLED_PROPERTY));
+
+	private final ReferenceQueue<Object> collectedSources = new ReferenceQueue<Object>();
+	private final Map<IdentityReference, SourceRecord> sources = new HashMap<IdentityReference, SourceRecord>();
+	private volatile boolean enabled;
+	private volatile int sampleInterval = 1;
+	private int maxSitesPerSource = 16;
+	private int maxHistory = 16;
+	private long registrationCount;
+
+	/**
+	 * @return the tracker the models and beans of this library report to
+	 */
+	public static ListenerLeakTracker getDefault()
+	{
+		return DEFAULT;
+	}
+
+	public ListenerLeakTracker()
+	{
+		this(false);
+	}
+
+	public ListenerLeakTracker(boolean enabled)
+	{
+		this.enabled = enabled;
+	}
+
+	public boolean isEnabled()
+	{
+		return enabled;
+	}
+
+	public void setEnabled(boolean enabled)
+	{
+		this.enabled = enabled;
+	}
+
+	/**
+	 * @param sampleInterval
+	 *            the stack trace of one registration out of this many is kept, 1 to keep them all
+	 */
+	public void setSampleInterval(int sampleInterval)
+	{
+		if (sampleInterval <= 0)
+		{
+			throw new IllegalArgumentException("The sample interval must be positive.");
+		}
+
+		this.sampleInterval = sampleInterval;
+	}
+
+	/**
+	 * @param maxSitesPerSource
+	 *            the number of registration stack traces kept per source, the oldest ones being dropped
+	 * @param maxHistory
+	 *            the number of listener counts kept per source by {@link #takeSample()}
+	 */
+	public synchronized void setLimits(int maxSitesPerSource, int maxHistory)
+	{
+		if (maxSitesPerSource < 0 || maxHistory < 2)
+		{
+			throw new IllegalArgumentException("At least two listener counts must be kept per source.");
+		}
+
+		this.maxSitesPerSource = maxSitesPerSource;
+		this.maxHistory = maxHistory;
+	}
+
+	public void listenerAdded(Object source, Object listener)
+	{
+		if (enabled && source != null && listener != null)
+		{
+			added(source, listener);
+		}
+	}
+
+	public void listenerRemoved(Object source, Object listener)
+	{
+		if (enabled && source != null && listener != null)
+		{
+			removed(source, listener);
+		}
+	}
+
+	private synchronized void added(Object source, Object listener)
+	{
+		expungeCollectedSources();
+
+		SourceRecord record = sources.get(new IdentityReference(source, null));
+
+		if (record == null)
+		{
+			record = new SourceRecord(source);
+			sources.put(new IdentityReference(source, collectedSources), record);
+		}
+
+		record.registrationAdded(listener);
+
+		if (registrationCount++ % sampleInterval == 0 && maxSitesPerSource > 0)
+		{
+			if (record.sites.size() == maxSitesPerSource)
+			{
+				record.sites.removeFirst();
+			}
+
+			record.sites.add(new RegistrationSite(listener));
+		}
+	}
+
+	private synchronized void removed(Object source, Object listener)
+	{
+		expungeCollectedSources();
+
+		final SourceRecord record = sources.get(new IdentityReference(source, null));
+
+		// Removing a listener that is not registered changes nothing, it must not hide a registration that leaks
+		if (record != null && record.registrationRemoved(listener))
+		{
+			record.removeSite(listener);
+		}
+	}
+
+	/**
+	 * Appends the current listener count of every tracked source to its history.
+	 */
+	public synchronized void takeSample()
+	{
+		expungeCollectedSources();
+
+		for (SourceRecord record : sources.values())
+		{
+			if (record.history.size() == maxHistory)
+			{
+				record.history.removeFirst();
+			}
+
+			record.history.add(record.listenerCount);
+		}
+	}
+
+	/**
+	 * @return the current listener count of every tracked source still referenced, by source description
+	 */
+	public synchronized Map<String, Integer> getListenerCounts()
+	{
+		expungeCollectedSources();
+
+		final Map<String, Integer> counts = new LinkedHashMap<String, Integer>();
+
+		for (SourceRecord record : sources.values())
+		{
+			counts.put(record.description, record.listenerCount);
+		}
+
+		return counts;
+	}
+
+	/**
+	 * @return the sources sampled at least twice whose listener count never decreased and grew between the first and the last sample kept
+	 */
+	public synchronized List<SuspectedListenerLeak> getSuspectedLeaks()
+	{
+		expungeCollectedSources();
+
+		final List<SuspectedListenerLeak> leaks = new ArrayList<SuspectedListenerLeak>();
+
+		for (SourceRecord record : sources.values())
+		{
+			if (record.isGrowing())
+			{
+				final List<String> sites = new ArrayList<String>(record.sites.size());
+
+				for (RegistrationSite site : record.sites)
+				{
+					sites.add(site.toString());
+				}
+
+				leaks.add(new SuspectedListenerLeak(record.description, new ArrayList<Integer>(record.history), sites));
+			}
+		}
+
+		return leaks;
+	}
+
+	/**
+	 * @return the suspected leaks with the stack traces of the registrations still active, in a printable form
+	 */
+	public String dumpSuspectedLeaks()
+	{
+		final StringBuilder builder = new StringBuilder();
+
+		for (SuspectedListenerLeak leak : getSuspectedLeaks())
+		{
+			builder.append(leak).append('\n');
+		}
+
+		return builder.toString();
+	}
+
+	public synchronized void reset()
+	{
+		expungeCollectedSources();
+		sources.clear();
+		registrationCount = 0;
+	}
+
+	private void expungeCollectedSources()
+	{
+		Reference<?> reference;
+
+		while ((reference = collectedSources.poll()) != null)
+		{
+			sources.remove(reference);
+		}
+	}
+
+	/**
+	 * A weak reference to a source or a listener, compared by the identity of the referenced object.
+	 */
+	private static final class IdentityReference extends WeakReference<Object>
+	{
+		private final int hashCode;
+
+		private IdentityReference(Object referent, ReferenceQueue<Object> queue)
+		{
+			super(referent, queue);
+			this.hashCode = System.identityHashCode(referent);
+		}
+
+		@Override
+		public int hashCode()
+		{
+			return hashCode;
+		}
+
+		@Override
+		public boolean equals(Object obj)
+		{
+			if (obj == this)
+			{
+				return true;
+			}
+
+			if (!(obj instanceof IdentityReference))
+			{
+				return false;
+			}
+
+			final Object referent = get();
+			return referent != null && referent == ((IdentityReference) obj).get();
+		}
+	}
+
+	private static final class SourceRecord
+	{
+		private final String description;
+		private final LinkedList<RegistrationSite> sites = new LinkedList<RegistrationSite>();
+		private final LinkedList<Integer> history = new LinkedList<Integer>();
+		private final Map<IdentityReference, Integer> registrations = new HashMap<IdentityReference, Integer>();
+		private int listenerCount;
+
+		private SourceRecord(Object source)
+		{
+			this.description = source.getClass().getName() + "@" + Integer.toHexString(System.identityHashCode(source));
+		}
+
+		private void registrationAdded(Object listener)
+		{
+			final IdentityReference key = new IdentityReference(listener, null);
+			final Integer count = registrations.get(key);
+
+			registrations.put(key, count != null ? count + 1 : 1);
+			listenerCount++;
+		}
+
+		/**
+		 * @return true if the given listener was registered
+		 */
+		private boolean registrationRemoved(Object listener)
+		{
+			final IdentityReference key = new IdentityReference(listener, null);
+			final Integer count = registrations.get(key);
+
+			if (count == null)
+			{
+				return false;
+			}
+
+			if (count == 1)
+			{
+				registrations.remove(key);
+			}
+			else
+			{
+				registrations.put(key, count - 1);
+			}
+
+			listenerCount--;
+			return true;
+		}
+
+		private void removeSite(Object listener)
+		{
+			for (Iterator<RegistrationSite> iterator = sites.descendingIterator(); iterator.hasNext();)
+			{
+				final RegistrationSite site = iterator.next();
+
+				if (site.listener.get() == listener)
+				{
+					iterator.remove();
+					return;
+				}
+			}
+		}
+
+		private boolean isGrowing()
+		{
+			if (history.size() < 2 || history.getLast() <= history.getFirst())
+			{
+				return false;
+			}
+
+			int previous = history.getFirst();
+
+			for (int count : history)
+			{
+				if (count < previous)
+				{
+					return false;
+				}
+
+				previous = count;
+			}
+
+			return true;
+		}
+	}
+
+	/**
+	 * Where a listener was registered. The listener is only weakly referenced.
+	 */
+	private static final class RegistrationSite
+	{
+		private final WeakReference<Object> listener;
+		private final Throwable stackTrace;
+
+		private RegistrationSite(Object listener)
+		{
+			this.listener = new WeakReference<Object>(listener);
+			this.stackTrace = new Throwable("Registration of " + listener.getClass().getName());
+		}
+
+		@Override
+		public String toString()
+		{
+			final StringWriter writer = new StringWriter();
+			stackTrace.printStackTrace(new PrintWriter(writer));
+			return writer.toString();
+		}
+	}
+}
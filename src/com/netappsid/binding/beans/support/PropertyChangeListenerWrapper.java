@@ -0,0 +1,47 @@
+package com.netappsid.binding.beans.support;
+
+import java.beans.PropertyChangeListener;
+
+/**
+ * A listener registered by a {@link ForwardingPropertyChangeSupport} in place of the listener it wraps. Wrappers are equal to the wrappers of equal listeners,
+ * so that removing a listener removes its wrapper.
+ *
+ * @author NetAppsID Inc.
+ */
+public abstract class PropertyChangeListenerWrapper implements PropertyChangeListener
+{
+	private final PropertyChangeListener delegate;
+
+	protected PropertyChangeListenerWrapper(PropertyChangeListener delegate)
+	{
+		this.delegate = delegate;
+	}
+
+	public PropertyChangeListener getDelegate()
+	{
+		return delegate;
+	}
+
+	@Override
+	public int hashCode()
+	{
+		return delegate.hashCode();
+	}
+
+	@Override
+	public boolean equals(Object obj)
+	{
+		if (obj instanceof PropertyChangeListenerWrapper)
+		{
+			return delegate.equals(((PropertyChangeListenerWrapper) obj).delegate);
+		}
+
+		return delegate.equals(obj);
+	}
+
+	@Override
+	public String toString()
+	{
+		return getClass().getSimpleName() + "[" + delegate + "]";
+	}
+}
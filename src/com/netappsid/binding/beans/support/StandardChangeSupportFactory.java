@@ -2,7 +2,7 @@ package com.netappsid.binding.beans.support;
 
 import java.beans.VetoableChangeSupport;
 
-public class StandardChangeSupportFactory implements ChangeSupportFactory
+public class StandardChangeSupportFactory implements SynchronousChangeSupportFactory
 {
 	@Override
 	public IdentityPropertyChangeSupport createIdentityPropertyChangeSupport(Object sourceBean)
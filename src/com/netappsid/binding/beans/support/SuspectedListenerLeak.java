@@ -0,0 +1,62 @@
+package com.netappsid.binding.beans.support;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * A source whose listener count only grew while a {@link ListenerLeakTracker} was sampling it.
+ *
+ * @author NetAppsID Inc.
+ */
+public final class SuspectedListenerLeak
+{
+	private final String sourceDescription;
+	private final List<Integer> listenerCounts;
+	private final List<String> registrationSites;
+
+	SuspectedListenerLeak(String sourceDescription, List<Integer> listenerCounts, List<String> registrationSites)
+	{
+		this.sourceDescription = sourceDescription;
+		this.listenerCounts = Collections.unmodifiableList(listenerCounts);
+		this.registrationSites = Collections.unmodifiableList(registrationSites);
+	}
+
+	/**
+	 * @return the class and identity hash code of the source
+	 */
+	public String getSourceDescription()
+	{
+		return sourceDescription;
+	}
+
+	/**
+	 * @return the listener counts of the source at each sample kept, oldest first
+	 */
+	public List<Integer> getListenerCounts()
+	{
+		return listenerCounts;
+	}
+
+	/**
+	 * @return the printed stack traces of the sampled registrations that were not removed yet, oldest first
+	 */
+	public List<String> getRegistrationSites()
+	{
+		return registrationSites;
+	}
+
+	@Override
+	public String toString()
+	{
+		final StringBuilder builder = new StringBuilder();
+
+		builder.append(sourceDescription).append(" listener counts ").append(listenerCounts).append('\n');
+
+		for (String site : registrationSites)
+		{
+			builder.append(site);
+		}
+
+		return builder.toString();
+	}
+}
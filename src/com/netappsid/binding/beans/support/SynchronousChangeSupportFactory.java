@@ -0,0 +1,11 @@
+package com.netappsid.binding.beans.support;
+
+/**
+ * Marks the factories whose change supports notify every listener on the firing thread before the fire method returns, without deferring, reordering or
+ * merging events. Models created with such a factory may notify some of their listeners themselves instead of registering them with a change support.
+ *
+ * @author NetAppsID Inc.
+ */
+public interface SynchronousChangeSupportFactory extends ChangeSupportFactory
+{
+}
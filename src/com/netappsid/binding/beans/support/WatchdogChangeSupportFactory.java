@@ -0,0 +1,236 @@
+package com.netappsid.binding.beans.support;
+
+import java.beans.PropertyChangeEvent;
+import java.beans.PropertyChangeListener;
+import java.beans.VetoableChangeSupport;
+import java.lang.ref.WeakReference;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.log4j.Logger;
+
+import com.netappsid.validate.Validate;
+
+/**
+ * Decorates another factory to report the listeners of its supports that run over a time budget, and the changes that cascade into too many others, such as
+ * a bean switch fanning out through every property adapter and sub-model. Each incident is logged as a warning with the chain of notifications that led to
+ * it and kept in a bounded log, the oldest incidents being dropped first.
+ * <p>
+ *
+ * A cascade starts with a change delivered outside of any listener and includes every change its listeners fire, on the same thread, while it is being
+ * delivered. A slow listener is reported once, by its innermost notification over the budget. Vetoable changes are not watched.
+ *
+ * @author NetAppsID Inc.
+ */
+public class WatchdogChangeSupportFactory implements ChangeSupportFactory
+{
+	private static final Logger LOGGER = Logger.getLogger(WatchdogChangeSupportFactory.class);
+
+	private final ChangeSupportFactory delegate;
+	private final long listenerBudgetNanos;
+	private final int maxCascadeEvents;
+	private final WatchdogIncident[] incidents;
+	private final ThreadLocal<Cascade> cascades = new ThreadLocal<Cascade>()
+		{
+			@Override
+			protected Cascade initialValue()
+			{
+				return new Cascade();
+			}
+		};
+	private int incidentCount;
+
+	/**
+	 * @param delegate
+	 *            creates the supports being watched
+	 * @param listenerBudget
+	 *            the time a listener may take before it is reported, including the listeners it triggers
+	 * @param unit
+	 *            the unit of the budget
+	 * @param maxCascadeEvents
+	 *            the number of changes a cascade may deliver before it is reported
+	 * @param maxIncidents
+	 *            the number of incidents kept
+	 */
+	public WatchdogChangeSupportFactory(ChangeSupportFactory delegate, long listenerBudget, TimeUnit unit, int maxCascadeEvents, int maxIncidents)
+	{
+		if (maxCascadeEvents <= 0 || maxIncidents <= 0)
+		{
+			throw new IllegalArgumentException("The cascade limit and the number of incidents kept must be positive.");
+		}
+
+		this.delegate = Validate.notNull(delegate, "The decorated factory must not be null.");
+		this.listenerBudgetNanos = unit.toNanos(listenerBudget);
+		this.maxCascadeEvents = maxCascadeEvents;
+		this.incidents = new WatchdogIncident[maxIncidents];
+	}
+
+	@Override
+	public IdentityPropertyChangeSupport createIdentityPropertyChangeSupport(Object sourceBean)
+	{
+		return new WatchdogPropertyChangeSupport(sourceBean, delegate.createIdentityPropertyChangeSupport(sourceBean), this);
+	}
+
+	@Override
+	public VetoableChangeSupport createVetoableChangeSupport(Object sourceBean)
+	{
+		return delegate.createVetoableChangeSupport(sourceBean);
+	}
+
+	/**
+	 * @return the incidents kept, oldest first
+	 */
+	public synchronized List<WatchdogIncident> getIncidents()
+	{
+		final int size = Math.min(incidentCount, incidents.length);
+		final List<WatchdogIncident> result = new ArrayList<WatchdogIncident>(size);
+
+		for (int index = incidentCount - size; index < incidentCount; index++)
+		{
+			result.add(incidents[index % incidents.length]);
+		}
+
+		return result;
+	}
+
+	public synchronized void clearIncidents()
+	{
+		incidentCount = 0;
+
+		for (int index = 0; index < incidents.length; index++)
+		{
+			incidents[index] = null;
+		}
+	}
+
+	private synchronized void report(WatchdogIncident incident)
+	{
+		incidents[incidentCount % incidents.length] = incident;
+		incidentCount = incidentCount + 1 < 0 ? incidents.length : incidentCount + 1;
+		LOGGER.warn(incident);
+	}
+
+	void notifyListener(PropertyChangeListener listener, PropertyChangeEvent evt)
+	{
+		final Cascade cascade = cascades.get();
+
+		cascade.enter(listener, evt);
+
+		try
+		{
+			listener.propertyChange(evt);
+		}
+		finally
+		{
+			cascade.exit();
+		}
+	}
+
+	/**
+	 * The notifications running on a thread, from the change that started the cascade to the innermost listener. The last change of each depth is only weakly
+	 * referenced, so that the thread does not keep its bean and values once the cascade is over.
+	 */
+	private final class Cascade
+	{
+		private final List<Frame> frames = new ArrayList<Frame>();
+		private final List<WeakReference<PropertyChangeEvent>> lastEvents = new ArrayList<WeakReference<PropertyChangeEvent>>();
+		private long startNanos;
+		private int eventCount;
+		private boolean stormReported;
+		private int depth;
+
+		private void enter(PropertyChangeListener listener, PropertyChangeEvent evt)
+		{
+			if (depth == frames.size())
+			{
+				frames.add(new Frame());
+				lastEvents.add(null);
+			}
+
+			final WeakReference<PropertyChangeEvent> lastEvent = lastEvents.get(depth);
+
+			// Every listener of a change sees the same event, the change is counted by the first one
+			if (lastEvent == null || lastEvent.get() != evt)
+			{
+				if (depth == 0)
+				{
+					startNanos = System.nanoTime();
+					eventCount = 0;
+					stormReported = false;
+				}
+
+				lastEvents.set(depth, new WeakReference<PropertyChangeEvent>(evt));
+				eventCount++;
+
+				// The following depths belonged to the previous change of this depth
+				for (int index = depth + 1; index < lastEvents.size(); index++)
+				{
+					lastEvents.set(index, null);
+				}
+			}
+
+			final Frame frame = frames.get(depth++);
+
+			frame.listener = listener;
+			frame.event = evt;
+			frame.startNanos = System.nanoTime();
+			frame.slowDescendant = false;
+
+			if (eventCount > maxCascadeEvents && !stormReported)
+			{
+				stormReported = true;
+				report(new WatchdogIncident(WatchdogIncident.Kind.EVENT_STORM, frame.startNanos - startNanos, eventCount, getChain()));
+			}
+		}
+
+		private void exit()
+		{
+			final Frame frame = frames.get(depth - 1);
+			final long durationNanos = System.nanoTime() - frame.startNanos;
+			final boolean slow = durationNanos > listenerBudgetNanos;
+
+			if (slow && !frame.slowDescendant)
+			{
+				report(new WatchdogIncident(WatchdogIncident.Kind.SLOW_LISTENER, durationNanos, eventCount, getChain()));
+			}
+
+			depth--;
+
+			if (depth > 0 && (slow || frame.slowDescendant))
+			{
+				frames.get(depth - 1).slowDescendant = true;
+			}
+
+			frame.listener = null;
+			frame.event = null;
+
+			// The changes fired by the listener that returned are over
+			for (int index = depth + 1; index < lastEvents.size(); index++)
+			{
+				lastEvents.set(index, null);
+			}
+		}
+
+		private List<String> getChain()
+		{
+			final List<String> chain = new ArrayList<String>(depth);
+
+			for (int index = 0; index < depth; index++)
+			{
+				final Frame frame = frames.get(index);
+				chain.add(frame.listener.getClass().getName() + " <- " + BindingMetrics.key(frame.event.getSource().getClass(), frame.event.getPropertyName()));
+			}
+
+			return chain;
+		}
+	}
+
+	private static final class Frame
+	{
+		private PropertyChangeListener listener;
+		private PropertyChangeEvent event;
+		private long startNanos;
+		private boolean slowDescendant;
+	}
+}
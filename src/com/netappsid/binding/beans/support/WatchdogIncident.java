@@ -0,0 +1,82 @@
+package com.netappsid.binding.beans.support;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * A listener that ran over its time budget, or a cascade of changes that grew over its limit, as reported by a {@link WatchdogChangeSupportFactory}.
+ *
+ * @author NetAppsID Inc.
+ */
+public final class WatchdogIncident
+{
+	public enum Kind
+	{
+		SLOW_LISTENER, EVENT_STORM
+	}
+
+	private final Kind kind;
+	private final long timeMillis;
+	private final long durationNanos;
+	private final int eventCount;
+	private final List<String> chain;
+
+	WatchdogIncident(Kind kind, long durationNanos, int eventCount, List<String> chain)
+	{
+		this.kind = kind;
+		this.timeMillis = System.currentTimeMillis();
+		this.durationNanos = durationNanos;
+		this.eventCount = eventCount;
+		this.chain = Collections.unmodifiableList(chain);
+	}
+
+	public Kind getKind()
+	{
+		return kind;
+	}
+
+	public long getTimeMillis()
+	{
+		return timeMillis;
+	}
+
+	/**
+	 * @return the time the slow listener took, including the listeners it triggered, or the time the cascade had been running when it went over its limit
+	 */
+	public long getDurationNanos()
+	{
+		return durationNanos;
+	}
+
+	/**
+	 * @return the number of changes delivered since the change that started the cascade, that change included
+	 */
+	public int getEventCount()
+	{
+		return eventCount;
+	}
+
+	/**
+	 * @return the notifications being run when the incident was detected, from the change that started the cascade to the offending listener, each as
+	 *         {@code "listenerClass <- sourceClass#property"}
+	 */
+	public List<String> getChain()
+	{
+		return chain;
+	}
+
+	@Override
+	public String toString()
+	{
+		final StringBuilder builder = new StringBuilder();
+
+		builder.append(kind).append(" after ").append(durationNanos / 1000000).append(" ms and ").append(eventCount).append(" events");
+
+		for (String link : chain)
+		{
+			builder.append("\n\tat ").append(link);
+		}
+
+		return builder.toString();
+	}
+}
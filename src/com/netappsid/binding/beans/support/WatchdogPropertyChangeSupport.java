@@ -0,0 +1,50 @@
+package com.netappsid.binding.beans.support;
+
+import java.beans.PropertyChangeEvent;
+import java.beans.PropertyChangeListener;
+
+/**
+ * Forwards to the support of a decorated factory, registering its listeners wrapped so that a {@link WatchdogChangeSupportFactory} can watch their
+ * notifications.
+ *
+ * @author NetAppsID Inc.
+ */
+public class WatchdogPropertyChangeSupport extends ForwardingPropertyChangeSupport
+{
+	private static final long serialVersionUID = 1L;
+
+	private final transient WatchdogChangeSupportFactory watchdog;
+
+	public WatchdogPropertyChangeSupport(Object sourceBean, IdentityPropertyChangeSupport delegate, WatchdogChangeSupportFactory watchdog)
+	{
+		super(sourceBean, delegate);
+		this.watchdog = watchdog;
+	}
+
+	@Override
+	protected PropertyChangeListener wrap(PropertyChangeListener listener)
+	{
+		return new WatchedListener(listener);
+	}
+
+	private final class WatchedListener extends PropertyChangeListenerWrapper
+	{
+		private WatchedListener(PropertyChangeListener delegate)
+		{
+			super(delegate);
+		}
+
+		@Override
+		public void propertyChange(PropertyChangeEvent evt)
+		{
+			if (watchdog == null)
+			{
+				getDelegate().propertyChange(evt);
+			}
+			else
+			{
+				watchdog.notifyListener(getDelegate(), evt);
+			}
+		}
+	}
+}
@@ -0,0 +1,40 @@
+package com.netappsid.binding.beans.support;
+
+import java.beans.VetoableChangeSupport;
+
+import com.netappsid.validate.Validate;
+
+/**
+ * Creates change supports that hold their listeners weakly, so that short-lived listeners such as the components of a form do not keep a long-lived model
+ * reachable, nor the model them. A listener that nothing else references is eventually dropped: the owner of a listener must keep a reference to it for as
+ * long as it should be notified. Decorates the {@link StandardChangeSupportFactory} unless another factory is given. Vetoable change listeners are held
+ * strongly.
+ *
+ * @author NetAppsID Inc.
+ */
+public class WeakChangeSupportFactory implements ChangeSupportFactory
+{
+	private final ChangeSupportFactory delegate;
+
+	public WeakChangeSupportFactory()
+	{
+		this(new StandardChangeSupportFactory());
+	}
+
+	public WeakChangeSupportFactory(ChangeSupportFactory delegate)
+	{
+		this.delegate = Validate.notNull(delegate, "The decorated factory must not be null.");
+	}
+
+	@Override
+	public IdentityPropertyChangeSupport createIdentityPropertyChangeSupport(Object sourceBean)
+	{
+		return new WeakPropertyChangeSupport(sourceBean, delegate.createIdentityPropertyChangeSupport(sourceBean));
+	}
+
+	@Override
+	public VetoableChangeSupport createVetoableChangeSupport(Object sourceBean)
+	{
+		return delegate.createVetoableChangeSupport(sourceBean);
+	}
+}
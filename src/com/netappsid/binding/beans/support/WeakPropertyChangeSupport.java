@@ -0,0 +1,157 @@
+package com.netappsid.binding.beans.support;
+
+import java.beans.PropertyChangeEvent;
+import java.beans.PropertyChangeListener;
+import java.beans.PropertyChangeListenerProxy;
+import java.lang.ref.WeakReference;
+
+/**
+ * Forwards to the support of a decorated factory, registering its listeners through weak references so that they do not keep their owners reachable.
+ * <p>
+ *
+ * The references cleared by the garbage collector are purged without a reference queue: a cleared listener removes itself when it is notified, and the
+ * registered listeners are swept once the number of registrations since the last sweep exceeds the number of listeners that sweep left, which keeps the cost
+ * of sweeping constant per registration.
+ *
+ * @author NetAppsID Inc.
+ */
+public class WeakPropertyChangeSupport extends ForwardingPropertyChangeSupport
+{
+	private static final long serialVersionUID = 1L;
+	private static final int MIN_REGISTRATIONS_BETWEEN_SWEEPS = 8;
+
+	private transient volatile int registrationsBeforeSweep = MIN_REGISTRATIONS_BETWEEN_SWEEPS;
+
+	public WeakPropertyChangeSupport(Object sourceBean, IdentityPropertyChangeSupport delegate)
+	{
+		super(sourceBean, delegate);
+	}
+
+	@Override
+	protected PropertyChangeListener wrap(PropertyChangeListener listener)
+	{
+		return new WeakListener(listener);
+	}
+
+	@Override
+	protected PropertyChangeListener unwrap(PropertyChangeListener listener)
+	{
+		return listener instanceof WeakListener ? ((WeakListener) listener).get() : listener;
+	}
+
+	@Override
+	public void addPropertyChangeListener(PropertyChangeListener listener)
+	{
+		super.addPropertyChangeListener(listener);
+		registered();
+	}
+
+	@Override
+	public void addPropertyChangeListener(String propertyName, PropertyChangeListener listener)
+	{
+		super.addPropertyChangeListener(propertyName, listener);
+		registered();
+	}
+
+	private void registered()
+	{
+		if (--registrationsBeforeSweep <= 0)
+		{
+			registrationsBeforeSweep = Math.max(MIN_REGISTRATIONS_BETWEEN_SWEEPS, sweep());
+		}
+	}
+
+	/**
+	 * Removes the cleared listeners.
+	 *
+	 * @return the number of listeners left
+	 */
+	private int sweep()
+	{
+		final PropertyChangeListener[] listeners = getDelegate().getPropertyChangeListeners();
+		int listenerCount = 0;
+
+		for (PropertyChangeListener listener : listeners)
+		{
+			if (listener instanceof PropertyChangeListenerProxy)
+			{
+				final PropertyChangeListenerProxy proxy = (PropertyChangeListenerProxy) listener;
+
+				if (isCleared(proxy.getListener()))
+				{
+					getDelegate().removePropertyChangeListener(proxy.getPropertyName(), (PropertyChangeListener) proxy.getListener());
+					continue;
+				}
+			}
+			else if (isCleared(listener))
+			{
+				getDelegate().removePropertyChangeListener(listener);
+				continue;
+			}
+
+			listenerCount++;
+		}
+
+		return listenerCount;
+	}
+
+	private static boolean isCleared(Object listener)
+	{
+		return listener instanceof WeakListener && ((WeakListener) listener).get() == null;
+	}
+
+	/**
+	 * Refers to a listener weakly. Equal to the listeners equal to its listener and to the weak listeners of equal listeners, a cleared weak listener being
+	 * only equal to itself.
+	 */
+	private final class WeakListener extends WeakReference<PropertyChangeListener> implements PropertyChangeListener
+	{
+		private final int hashCode;
+
+		private WeakListener(PropertyChangeListener delegate)
+		{
+			super(delegate);
+			this.hashCode = delegate.hashCode();
+		}
+
+		@Override
+		public void propertyChange(PropertyChangeEvent evt)
+		{
+			final PropertyChangeListener delegate = get();
+
+			if (delegate != null)
+			{
+				delegate.propertyChange(evt);
+			}
+			else
+			{
+				// Only one of these is registered, removing the other does nothing
+				getDelegate().removePropertyChangeListener(this);
+
+				if (evt.getPropertyName() != null)
+				{
+					getDelegate().removePropertyChangeListener(evt.getPropertyName(), this);
+				}
+			}
+		}
+
+		@Override
+		public int hashCode()
+		{
+			return hashCode;
+		}
+
+		@Override
+		public boolean equals(Object obj)
+		{
+			if (obj == this)
+			{
+				return true;
+			}
+
+			final PropertyChangeListener delegate = get();
+			final Object other = obj instanceof WeakListener ? ((WeakListener) obj).get() : obj;
+			return delegate != null && other != null && delegate.equals(other);
+		}
+	}
+}
@@ -1,16 +1,17 @@
 package com.netappsid.binding.state;
 
 import java.beans.PropertyChangeListener;
-import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
 
 import com.netappsid.binding.beans.Bean;
 import com.netappsid.binding.beans.support.ChangeSupportFactory;
 
 public class StateModel extends Bean
 {
-	private final List<StateModel> parents = new ArrayList<StateModel>();
-	private final List<StateModel> children = new ArrayList<StateModel>();
+	// Models may be linked from the threads that build them while the state propagates
+	private final List<StateModel> parents = new CopyOnWriteArrayList<StateModel>();
+	private final List<StateModel> children = new CopyOnWriteArrayList<StateModel>();
 
 	private State state = State.CLEAN;
 
@@ -62,7 +63,7 @@ public class StateModel extends Bean
 	public void unlink(StateModel stateModel)
 	{
 		children.remove(stateModel);
-		stateModel.parents.remove(stateModel);
+		stateModel.parents.remove(this);
 	}
 
 	private void propagateState(State state)
@@ -0,0 +1,219 @@
+package com.netappsid.binding.utils;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.FutureTask;
+
+/**
+ * A cache of models created lazily by name, such as the value models of an adapter or the sub-models of a presentation model, that may be filled from several
+ * threads. Each model is created at most once: the first thread requesting a key creates its model while the other threads requesting the same key wait for
+ * it, and requests of other keys do not wait. A creation that fails is not cached, so that a later request tries again.
+ * <p>
+ *
+ * Subclasses create the models in {@link #create(Object)}. A model requesting its own key while being created is an error rather than a deadlock.
+ *
+ * @author NetAppsID Inc.
+ */
+public abstract class ConcurrentModelCache<K, V>
+{
+	private final ConcurrentMap<K, Creation> creations;
+
+	public ConcurrentModelCache()
+	{
+		// Models are mostly created from a single thread, keep the map small
+		this.creations = new ConcurrentHashMap<K, Creation>(8, 0.75f, 2);
+	}
+
+	/**
+	 * Creates the model of the given key, called once per key unless it fails.
+	 */
+	protected abstract V create(K key);
+
+	/**
+	 * @return the model of the given key, created by the calling thread if no other thread is already creating it
+	 */
+	public V get(K key)
+	{
+		Creation creation = creations.get(key);
+
+		if (creation == null)
+		{
+			final Creation newCreation = new Creation(key);
+			creation = creations.putIfAbsent(key, newCreation);
+
+			if (creation == null)
+			{
+				creation = newCreation;
+				creation.run();
+			}
+		}
+
+		return creation.getModel();
+	}
+
+	/**
+	 * @return the model of the given key if it has been created, {@code null} otherwise
+	 */
+	public V getIfPresent(K key)
+	{
+		final Creation creation = creations.get(key);
+		return creation != null && creation.isDone() ? creation.getModel() : null;
+	}
+
+	/**
+	 * @return the models created so far
+	 */
+	public List<V> values()
+	{
+		final List<V> values = new ArrayList<V>(creations.size());
+
+		for (Creation creation : creations.values())
+		{
+			if (creation.isDone() && !creation.failed)
+			{
+				values.add(creation.getModel());
+			}
+		}
+
+		return values;
+	}
+
+	/**
+	 * @return a copy of the models created so far, by key
+	 */
+	public Map<K, V> asMap()
+	{
+		final Map<K, V> map = new LinkedHashMap<K, V>();
+
+		for (Map.Entry<K, Creation> entry : creations.entrySet())
+		{
+			if (entry.getValue().isDone() && !entry.getValue().failed)
+			{
+				map.put(entry.getKey(), entry.getValue().getModel());
+			}
+		}
+
+		return map;
+	}
+
+	public int size()
+	{
+		return creations.size();
+	}
+
+	/**
+	 * Forgets the model of the given key, the next request of the key creates a new model.
+	 *
+	 * @return the forgotten model or {@code null} if it was not created yet
+	 */
+	public V remove(K key)
+	{
+		final Creation creation = creations.remove(key);
+		return creation != null && creation.isDone() && !creation.failed ? creation.getModel() : null;
+	}
+
+	/**
+	 * Forgets the models created so far, models being created are still returned to the threads waiting for them.
+	 */
+	public void clear()
+	{
+		creations.clear();
+	}
+
+	private final class Creation extends FutureTask<V>
+	{
+		private final K key;
+		private volatile Thread creatingThread;
+		private volatile boolean failed;
+
+		private Creation(final K key)
+		{
+			super(new Callable<V>()
+				{
+					@Override
+					public V call() throws Exception
+					{
+						return create(key);
+					}
+				});
+			this.key = key;
+		}
+
+		@Override
+		public void run()
+		{
+			creatingThread = Thread.currentThread();
+
+			try
+			{
+				super.run();
+			}
+			finally
+			{
+				creatingThread = null;
+			}
+		}
+
+		@Override
+		protected void setException(Throwable t)
+		{
+			failed = true;
+			creations.remove(key, this);
+			super.setException(t);
+		}
+
+		private V getModel()
+		{
+			if (!isDone() && creatingThread == Thread.currentThread())
+			{
+				throw new IllegalStateException("The model of " + key + " was requested while being created.");
+			}
+
+			boolean interrupted = false;
+
+			try
+			{
+				while (true)
+				{
+					try
+					{
+						return get();
+					}
+					catch (InterruptedException e)
+					{
+						// The model is being created by another thread, it must be waited for anyway
+						interrupted = true;
+					}
+					catch (ExecutionException e)
+					{
+						final Throwable cause = e.getCause();
+
+						if (cause instanceof RuntimeException)
+						{
+							throw (RuntimeException) cause;
+						}
+						else if (cause instanceof Error)
+						{
+							throw (Error) cause;
+						}
+
+						throw new IllegalStateException("Could not create the model of " + key + ".", cause);
+					}
+				}
+			}
+			finally
+			{
+				if (interrupted)
+				{
+					Thread.currentThread().interrupt();
+				}
+			}
+		}
+	}
+}
@@ -30,11 +30,21 @@
 
 package com.netappsid.binding.value;
 
+import java.beans.IndexedPropertyChangeEvent;
+import java.beans.PropertyChangeEvent;
 import java.beans.PropertyChangeListener;
+import java.beans.PropertyChangeListenerProxy;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.List;
 
 import com.jgoodies.binding.value.ValueModel;
 import com.netappsid.binding.beans.Bean;
 import com.netappsid.binding.beans.support.ChangeSupportFactory;
+import com.netappsid.binding.beans.support.SynchronousChangeSupportFactory;
 
 /**
  * An abstract class that minimizes the effort required to implement the {@link ValueModel} interface. It provides convenience methods to convert boolean,
@@ -42,6 +52,12 @@ import com.netappsid.binding.beans.support.ChangeSupportFactory;
  * <p>
  * 
  * Subclasses must implement <code>getValue()</code> and <code>setValue(Object)</code> to get and set this model's value.
+ * <p>
+ * 
+ * Models created with a {@link SynchronousChangeSupportFactory} keep their first {@value #INLINE_VALUE_LISTENER_COUNT} value listeners in a field of their
+ * own and notify them directly, after the listeners of the change support. Registering one more value listener moves them all to the change support for the
+ * rest of the model's life. Value listeners of other models are always registered with the change support, which decides on which thread they are notified.
+ * Deserialized models no longer know their factory, they register every value listener with the change support.
  * 
  * @author Karsten Lentzsch
  * @version $Revision: 1.10 $
@@ -55,11 +71,31 @@ public abstract class AbstractValueModel extends Bean implements BoundValueModel
 	 */
 	public static String PROPERTYNAME_VALUE = "value";
 
+	/**
+	 * The number of value listeners a model notifies itself before registering them with its change support.
+	 */
+	static final int INLINE_VALUE_LISTENER_COUNT = 2;
+
+	/**
+	 * Marks the models whose value listeners are all registered with the change support.
+	 */
+	private static final Object INFLATED = new Object();
+
+	/**
+	 * Either {@code null}, a single value listener, an array of value listeners or {@link #INFLATED}. Never modified, only replaced.
+	 */
+	private transient volatile Object inlineValueListeners;
+
 	// Change Management ****************************************************
 
 	public AbstractValueModel(ChangeSupportFactory changeSupportFactory)
 	{
 		super(changeSupportFactory);
+
+		if (!(changeSupportFactory instanceof SynchronousChangeSupportFactory))
+		{
+			inlineValueListeners = INFLATED;
+		}
 	}
 
 	/**
@@ -96,6 +132,130 @@ public abstract class AbstractValueModel extends Bean implements BoundValueModel
 		removePropertyChangeListener(PROPERTYNAME_VALUE, l);
 	}
 
+	/**
+	 * Removes the given listener, unwrapping the proxies of value listeners handed out by {@link #getPropertyChangeListeners()} so that inline listeners are
+	 * removed as well.
+	 */
+	@Override
+	public void removePropertyChangeListener(PropertyChangeListener listener)
+	{
+		if (listener instanceof PropertyChangeListenerProxy && isValueProperty(((PropertyChangeListenerProxy) listener).getPropertyName()))
+		{
+			removePropertyChangeListener(PROPERTYNAME_VALUE, (PropertyChangeListener) ((PropertyChangeListenerProxy) listener).getListener());
+		}
+		else
+		{
+			super.removePropertyChangeListener(listener);
+		}
+	}
+
+	@Override
+	public void addPropertyChangeListener(String propertyName, PropertyChangeListener listener)
+	{
+		if (!isValueProperty(propertyName) || listener == null || listener instanceof PropertyChangeListenerProxy || !addInlineValueListener(listener))
+		{
+			super.addPropertyChangeListener(propertyName, listener);
+		}
+	}
+
+	@Override
+	public void removePropertyChangeListener(String propertyName, PropertyChangeListener listener)
+	{
+		if (!isValueProperty(propertyName) || listener == null || !removeInlineValueListener(listener))
+		{
+			super.removePropertyChangeListener(propertyName, listener);
+		}
+	}
+
+	@Override
+	public PropertyChangeListener[] getPropertyChangeListeners()
+	{
+		final PropertyChangeListener[] listeners = super.getPropertyChangeListeners();
+		final PropertyChangeListener[] valueListeners = getInlineValueListeners();
+
+		if (valueListeners.length == 0)
+		{
+			return listeners;
+		}
+
+		final PropertyChangeListener[] allListeners = new PropertyChangeListener[listeners.length + valueListeners.length];
+		System.arraycopy(listeners, 0, allListeners, 0, listeners.length);
+
+		for (int index = 0; index < valueListeners.length; index++)
+		{
+			allListeners[listeners.length + index] = new PropertyChangeListenerProxy(PROPERTYNAME_VALUE, valueListeners[index]);
+		}
+
+		return allListeners;
+	}
+
+	@Override
+	public PropertyChangeListener[] getPropertyChangeListeners(String propertyName)
+	{
+		final PropertyChangeListener[] listeners = super.getPropertyChangeListeners(propertyName);
+		final PropertyChangeListener[] valueListeners = isValueProperty(propertyName) ? getInlineValueListeners() : NO_LISTENERS;
+
+		if (valueListeners.length == 0)
+		{
+			return listeners;
+		}
+
+		final PropertyChangeListener[] allListeners = new PropertyChangeListener[listeners.length + valueListeners.length];
+		System.arraycopy(listeners, 0, allListeners, 0, listeners.length);
+		System.arraycopy(valueListeners, 0, allListeners, listeners.length, valueListeners.length);
+		return allListeners;
+	}
+
+	@Override
+	protected boolean hasListeners(String propertyName)
+	{
+		return super.hasListeners(propertyName) || (isValueProperty(propertyName) && hasInlineValueListeners());
+	}
+
+	@Override
+	protected void firePropertyChange(PropertyChangeEvent event)
+	{
+		super.firePropertyChange(event);
+
+		if (isValueProperty(event.getPropertyName()) && hasInlineValueListeners() && !isEqual(event.getOldValue(), event.getNewValue()))
+		{
+			fireInlineValueChange(event);
+		}
+	}
+
+	@Override
+	protected void firePropertyChange(String propertyName, Object oldValue, Object newValue)
+	{
+		super.firePropertyChange(propertyName, oldValue, newValue);
+
+		if (isValueProperty(propertyName) && hasInlineValueListeners() && !isEqual(oldValue, newValue))
+		{
+			fireInlineValueChange(new PropertyChangeEvent(this, propertyName, oldValue, newValue));
+		}
+	}
+
+	@Override
+	protected void fireIdentityPropertyChange(String propertyName, Object oldValue, Object newValue)
+	{
+		super.fireIdentityPropertyChange(propertyName, oldValue, newValue);
+
+		if (isValueProperty(propertyName) && hasInlineValueListeners() && (oldValue == null || oldValue != newValue))
+		{
+			fireInlineValueChange(new PropertyChangeEvent(this, propertyName, oldValue, newValue));
+		}
+	}
+
+	@Override
+	protected void fireIndexedPropertyChange(String propertyName, int index, Object oldValue, Object newValue)
+	{
+		super.fireIndexedPropertyChange(propertyName, index, oldValue, newValue);
+
+		if (isValueProperty(propertyName) && hasInlineValueListeners() && !isEqual(oldValue, newValue))
+		{
+			fireInlineValueChange(new IndexedPropertyChangeEvent(this, propertyName, oldValue, newValue, index));
+		}
+	}
+
 	/**
 	 * Notifies all listeners that have registered interest for notification on this event type. The event instance is lazily created using the parameters
 	 * passed into the fire method.
@@ -406,4 +566,166 @@ public abstract class AbstractValueModel extends Bean implements BoundValueModel
 	{
 		return BoundValueModel.UNKNOWN_PROPERTY;
 	}
+
+	// Inline Value Listeners ***********************************************
+
+	private static final PropertyChangeListener[] NO_LISTENERS = new PropertyChangeListener[0];
+
+	private static boolean isValueProperty(String propertyName)
+	{
+		return propertyName != null && propertyName.equals(PROPERTYNAME_VALUE);
+	}
+
+	private static boolean isEqual(Object oldValue, Object newValue)
+	{
+		return oldValue != null && newValue != null && oldValue.equals(newValue);
+	}
+
+	private boolean hasInlineValueListeners()
+	{
+		final Object listeners = inlineValueListeners;
+		return listeners != null && listeners != INFLATED;
+	}
+
+	private PropertyChangeListener[] getInlineValueListeners()
+	{
+		final Object listeners = inlineValueListeners;
+
+		if (listeners instanceof PropertyChangeListener)
+		{
+			return new PropertyChangeListener[] { (PropertyChangeListener) listeners };
+		}
+		else if (listeners instanceof PropertyChangeListener[])
+		{
+			return ((PropertyChangeListener[]) listeners).clone();
+		}
+
+		return NO_LISTENERS;
+	}
+
+	private void fireInlineValueChange(PropertyChangeEvent event)
+	{
+		final Object listeners = inlineValueListeners;
+
+		if (listeners instanceof PropertyChangeListener)
+		{
+			((PropertyChangeListener) listeners).propertyChange(event);
+		}
+		else if (listeners instanceof PropertyChangeListener[])
+		{
+			for (PropertyChangeListener listener : (PropertyChangeListener[]) listeners)
+			{
+				listener.propertyChange(event);
+			}
+		}
+	}
+
+	/**
+	 * Keeps the given listener inline if there is room left, or moves every inline listener to the change support. Registrations are rare next to fires, they
+	 * are serialized on the model while fires read the listeners without locking.
+	 * 
+	 * @return whether the listener was kept inline
+	 */
+	private synchronized boolean addInlineValueListener(PropertyChangeListener listener)
+	{
+		final Object listeners = inlineValueListeners;
+
+		if (listeners == null)
+		{
+			inlineValueListeners = listener;
+			return true;
+		}
+		else if (listeners == INFLATED)
+		{
+			return false;
+		}
+
+		final PropertyChangeListener[] current = getInlineValueListeners();
+
+		if (current.length < INLINE_VALUE_LISTENER_COUNT)
+		{
+			final PropertyChangeListener[] newListeners = new PropertyChangeListener[current.length + 1];
+			System.arraycopy(current, 0, newListeners, 0, current.length);
+			newListeners[current.length] = listener;
+			inlineValueListeners = newListeners;
+			return true;
+		}
+
+		// Register the inline listeners before dropping them, a concurrent fire may notify them twice but never misses one
+		for (PropertyChangeListener inlineListener : current)
+		{
+			super.addPropertyChangeListener(PROPERTYNAME_VALUE, inlineListener);
+		}
+
+		inlineValueListeners = INFLATED;
+		return false;
+	}
+
+	/**
+	 * @return whether the listener was found inline and removed
+	 */
+	private synchronized boolean removeInlineValueListener(PropertyChangeListener listener)
+	{
+		final PropertyChangeListener[] current = getInlineValueListeners();
+
+		for (int index = 0; index < current.length; index++)
+		{
+			if (listener.equals(current[index]))
+			{
+				if (current.length == 1)
+				{
+					inlineValueListeners = null;
+				}
+				else if (current.length == 2)
+				{
+					inlineValueListeners = current[1 - index];
+				}
+				else
+				{
+					final PropertyChangeListener[] newListeners = new PropertyChangeListener[current.length - 1];
+					System.arraycopy(current, 0, newListeners, 0, index);
+					System.arraycopy(current, index + 1, newListeners, index, current.length - index - 1);
+					inlineValueListeners = newListeners;
+				}
+
+				return true;
+			}
+		}
+
+		return false;
+	}
+
+	/**
+	 * Writes the serializable inline value listeners, like the change support writes its own.
+	 */
+	private void writeObject(ObjectOutputStream out) throws IOException
+	{
+		out.defaultWriteObject();
+
+		final List<PropertyChangeListener> serializableListeners = new ArrayList<PropertyChangeListener>();
+
+		for (PropertyChangeListener listener : getInlineValueListeners())
+		{
+			if (listener instanceof Serializable)
+			{
+				serializableListeners.add(listener);
+			}
+		}
+
+		out.writeObject(serializableListeners.toArray(new PropertyChangeListener[serializableListeners.size()]));
+	}
+
+	/**
+	 * Registers the inline value listeners that were written with the change support, which keeps notifying them on the thread it was created for.
+	 */
+	private void readObject(ObjectInputStream in) throws IOException, ClassNotFoundException
+	{
+		in.defaultReadObject();
+		inlineValueListeners = INFLATED;
+
+		for (PropertyChangeListener listener : (PropertyChangeListener[]) in.readObject())
+		{
+			super.addPropertyChangeListener(PROPERTYNAME_VALUE, listener);
+		}
+	}
 }
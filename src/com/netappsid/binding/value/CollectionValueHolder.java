@@ -9,6 +9,7 @@ import com.google.common.base.Preconditions;
 import com.google.common.collect.ImmutableList;
 import com.netappsid.binding.beans.CollectionValueModel;
 import com.netappsid.binding.beans.support.ChangeSupportFactory;
+import com.netappsid.binding.beans.support.ListenerLeakTracker;
 import com.netappsid.observable.BatchAction;
 import com.netappsid.observable.CollectionChangeEvent;
 import com.netappsid.observable.CollectionChangeListener;
@@ -42,7 +43,7 @@ public class CollectionValueHolder<E> extends ValueHolder implements CollectionV
 	{
 		super(changeSupportFactory, observableList, checkIdentity);
 		collectionChangeSupport = observableCollectionSupportFactory.newObservableCollectionSupport(this);
-		observableList.addCollectionChangeListener(collectionChangeHandler);
+		installCollectionChangeHandler(observableList);
 	}
 
 	public void setValue(ObservableList<E> newValue)
@@ -54,21 +55,23 @@ public class CollectionValueHolder<E> extends ValueHolder implements CollectionV
 	public void setValue(Object newValue)
 	{
 		Preconditions.checkArgument(newValue instanceof ObservableList || newValue == null, "can only set an ObservableList or null.");
-		getObservableList().removeCollectionChangeListener(collectionChangeHandler);
+		uninstallCollectionChangeHandler(getObservableList());
 		super.setValue(newValue == null ? ObservableCollections.newObservableArrayList() : newValue);
-		getObservableList().addCollectionChangeListener(collectionChangeHandler);
+		installCollectionChangeHandler(getObservableList());
 	}
 
 	@Override
 	public void addCollectionChangeListener(CollectionChangeListener<E> listener)
 	{
 		collectionChangeSupport.addCollectionChangeListener(listener);
+		ListenerLeakTracker.getDefault().listenerAdded(this, listener);
 	}
 
 	@Override
 	public void removeCollectionChangeListener(CollectionChangeListener<E> listener)
 	{
 		collectionChangeSupport.removeCollectionChangeListener(listener);
+		ListenerLeakTracker.getDefault().listenerRemoved(this, listener);
 	}
 
 	@Override
@@ -219,7 +222,7 @@ public class CollectionValueHolder<E> extends ValueHolder implements CollectionV
 	public List<E> subList(int fromIndex, int toIndex)
 	{
 		final ObservableList<E> subList = (ObservableList<E>) getObservableList().subList(fromIndex, toIndex);
-		subList.addCollectionChangeListener(collectionChangeHandler);
+		installCollectionChangeHandler(subList);
 		return subList;
 	}
 
@@ -240,6 +243,18 @@ public class CollectionValueHolder<E> extends ValueHolder implements CollectionV
 		return (ObservableList<E>) getValue();
 	}
 
+	private void installCollectionChangeHandler(ObservableList<E> observableList)
+	{
+		observableList.addCollectionChangeListener(collectionChangeHandler);
+		ListenerLeakTracker.getDefault().listenerAdded(observableList, collectionChangeHandler);
+	}
+
+	private void uninstallCollectionChangeHandler(ObservableList<E> observableList)
+	{
+		observableList.removeCollectionChangeListener(collectionChangeHandler);
+		ListenerLeakTracker.getDefault().listenerRemoved(observableList, collectionChangeHandler);
+	}
+
 	private class CollectionChangeHandler implements CollectionChangeListener<E>
 	{
 		@Override
@@ -255,7 +270,7 @@ public class CollectionValueHolder<E> extends ValueHolder implements CollectionV
 		ObservableList<E> observableList = getObservableList();
 		if (observableList != null)
 		{
-			observableList.removeCollectionChangeListener(collectionChangeHandler);
+			uninstallCollectionChangeHandler(observableList);
 		}
 	}
 }
@@ -1,16 +1,21 @@
 package com.netappsid.undoredo;
 
-import java.util.HashMap;
-import java.util.Map;
-
 import com.jgoodies.binding.value.ValueModel;
+import com.netappsid.binding.utils.ConcurrentModelCache;
 import com.netappsid.binding.value.ValueModelFactory;
 
 public abstract class AbstractUndoRedoValueModelFactory<T extends ValueModel> implements ValueModelFactory<T>
 {
 	private final ValueModelFactory delegate;
 	private final UndoRedoManager undoRedoManager;
-	private final Map<String, T> valueModelCache = new HashMap<String, T>();
+	private final ConcurrentModelCache<String, T> valueModelCache = new ConcurrentModelCache<String, T>()
+		{
+			@Override
+			protected T create(String propertyName)
+			{
+				return wrap((T) getDelegate().getValueModel(propertyName));
+			}
+		};
 
 	public AbstractUndoRedoValueModelFactory(UndoRedoManager undoRedoManager, ValueModelFactory delegate)
 	{
@@ -21,15 +26,7 @@ public abstract class AbstractUndoRedoValueModelFactory<T extends ValueModel> im
 	@Override
 	public T getValueModel(String propertyName)
 	{
-		T returnedValueModel = valueModelCache.get(propertyName);
-
-		if (returnedValueModel == null)
-		{
-			T valueModel = (T) getDelegate().getValueModel(propertyName);
-			returnedValueModel = wrap(valueModel);
-			valueModelCache.put(propertyName, returnedValueModel);
-		}
-		return returnedValueModel;
+		return valueModelCache.get(propertyName);
 	}
 
 	protected abstract T wrap(T valueModel);
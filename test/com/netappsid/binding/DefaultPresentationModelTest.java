@@ -1,11 +1,23 @@
 package com.netappsid.binding;
 
+import java.beans.PropertyChangeEvent;
+import java.beans.PropertyChangeListener;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
 import org.junit.Assert;
 import org.junit.Test;
 
 import com.jgoodies.binding.value.ValueModel;
 import com.netappsid.binding.beans.StandardBean;
 import com.netappsid.binding.beans.support.StandardChangeSupportFactory;
+import com.netappsid.binding.state.State;
+import com.netappsid.binding.value.AbstractValueModel;
 import com.netappsid.observable.StandardObservableCollectionSupportFactory;
 
 public class DefaultPresentationModelTest
@@ -29,6 +41,221 @@ public class DefaultPresentationModelTest
 		Assert.assertEquals("PROPERTY2", property2Channel.getValue());
 	}
 
+	@Test
+	public void testGetSubModel_ConcurrentCallsCreateOneModelPerProperty() throws Exception
+	{
+		final ExecutorService executor = Executors.newFixedThreadPool(8);
+
+		try
+		{
+			for (int iteration = 0; iteration < 100; iteration++)
+			{
+				final PresentationModel rootModel = new DefaultPresentationModel(new StandardChangeSupportFactory(),
+						new StandardObservableCollectionSupportFactory(), TestParentModel.class);
+				final CountDownLatch start = new CountDownLatch(1);
+				final List<Future<Object[]>> results = new ArrayList<Future<Object[]>>();
+
+				for (int thread = 0; thread < 8; thread++)
+				{
+					results.add(executor.submit(new Callable<Object[]>()
+						{
+							@Override
+							public Object[] call() throws Exception
+							{
+								start.await();
+								return new Object[] { rootModel.getSubModel("child"), rootModel.getValueModel("child.property1") };
+							}
+						}));
+				}
+
+				start.countDown();
+
+				for (Future<Object[]> result : results)
+				{
+					final Object[] models = result.get();
+
+					Assert.assertSame(rootModel.getSubModel("child"), models[0]);
+					Assert.assertSame(rootModel.getSubModel("child").getValueModel("property1"), models[1]);
+				}
+
+				Assert.assertEquals(1, rootModel.getSubModels().size());
+			}
+		}
+		finally
+		{
+			executor.shutdownNow();
+		}
+	}
+
+	@Test
+	public void testGetSubModel_PathResolvesToModelOfLastSegment()
+	{
+		final PresentationModel rootModel = new DefaultPresentationModel(new StandardChangeSupportFactory(), new StandardObservableCollectionSupportFactory(),
+				TestParentModel.class);
+		final PresentationModel subModel = rootModel.getSubModel("child.property1");
+
+		Assert.assertSame(rootModel.getSubModel("child").getSubModel("property1"), subModel);
+		Assert.assertSame(subModel, rootModel.getSubModel("child.property1"));
+		Assert.assertSame(rootModel.getSubModel("child"), subModel.getParentModel());
+	}
+
+	@Test
+	public void testGetSubModel_PathResolvedAfterIntermediateModelAdded()
+	{
+		final PresentationModel rootModel = new DefaultPresentationModel(new StandardChangeSupportFactory(), new StandardObservableCollectionSupportFactory(),
+				TestParentModel.class);
+		final PresentationModel childModel = rootModel.getSubModel("child");
+		final PresentationModel subModel = childModel.getSubModel("property1");
+
+		Assert.assertSame(subModel, rootModel.getSubModel("child.property1"));
+		Assert.assertSame(subModel, rootModel.getSubModel("child.property1"));
+		Assert.assertEquals(1, childModel.getSubModels().size());
+	}
+
+	@Test
+	public void testGetSubModel_PathKeptWhenOtherSubModelsAdded()
+	{
+		final PresentationModel rootModel = new DefaultPresentationModel(new StandardChangeSupportFactory(), new StandardObservableCollectionSupportFactory(),
+				TestParentModel.class);
+		final PresentationModel subModel = rootModel.getSubModel("child.property1");
+
+		Assert.assertTrue(rootModel.isSubModelPathResolved("child.property1"));
+
+		rootModel.getSubModel("other.property2");
+
+		Assert.assertTrue(rootModel.isSubModelPathResolved("child.property1"));
+		Assert.assertTrue(rootModel.isSubModelPathResolved("other.property2"));
+		Assert.assertSame(subModel, rootModel.getSubModel("child.property1"));
+	}
+
+	@Test
+	public void testSetSubModelLimit_EvictsLeastRecentlyUsedSubModel()
+	{
+		final PresentationModel rootModel = new DefaultPresentationModel(new StandardChangeSupportFactory(), new StandardObservableCollectionSupportFactory(),
+				TestParentModel.class);
+		final AbstractValueModel childChannel = (AbstractValueModel) rootModel.getValueModel("child");
+
+		rootModel.setSubModelLimit(1);
+
+		final PresentationModel childModel = rootModel.getSubModel("child");
+
+		Assert.assertTrue(childChannel.getPropertyChangeListeners().length != 0);
+
+		rootModel.getSubModel("other");
+
+		// Looked up since the previous eviction, the child is only evicted by the next one
+		Assert.assertEquals(2, rootModel.getSubModels().size());
+
+		rootModel.setSubModelLimit(1);
+
+		Assert.assertEquals(1, rootModel.getSubModels().size());
+		Assert.assertTrue(rootModel.getSubModels().containsKey("other"));
+		Assert.assertEquals(0, childChannel.getPropertyChangeListeners().length);
+
+		childModel.getStateModel().setState(State.DIRTY);
+
+		Assert.assertEquals(State.CLEAN, rootModel.getStateModel().getState());
+		Assert.assertNotSame(childModel, rootModel.getSubModel("child"));
+	}
+
+	@Test
+	public void testSetSubModelLimit_KeepsSubModelsInUse()
+	{
+		final PresentationModel rootModel = new DefaultPresentationModel(new StandardChangeSupportFactory(), new StandardObservableCollectionSupportFactory(),
+				TestParentModel.class);
+		final PropertyChangeListener listener = new PropertyChangeListener()
+			{
+				@Override
+				public void propertyChange(PropertyChangeEvent evt)
+				{
+				}
+			};
+
+		rootModel.setSubModelLimit(1);
+
+		final PresentationModel childModel = rootModel.getSubModel("child");
+
+		childModel.getValueModel("property1").addValueChangeListener(listener);
+		rootModel.getSubModel("other");
+
+		Assert.assertEquals(2, rootModel.getSubModels().size());
+		Assert.assertSame(childModel, rootModel.getSubModel("child.property1").getParentModel());
+
+		childModel.getValueModel("property1").removeValueChangeListener(listener);
+		rootModel.setSubModelLimit(1);
+
+		// Looked up since the previous eviction, the child is only evicted by the next one
+		Assert.assertEquals(2, rootModel.getSubModels().size());
+
+		rootModel.getSubModel("other");
+		rootModel.setSubModelLimit(1);
+
+		Assert.assertEquals(1, rootModel.getSubModels().size());
+		Assert.assertTrue(rootModel.getSubModels().containsKey("other"));
+	}
+
+	@Test
+	public void testSetSubModelLimit_KeepsSubModelLookedUpSinceLastEviction()
+	{
+		final PresentationModel rootModel = new DefaultPresentationModel(new StandardChangeSupportFactory(), new StandardObservableCollectionSupportFactory(),
+				TestParentModel.class);
+		final TestParentModel parent = new TestParentModel();
+		final PropertyChangeListener listener = new PropertyChangeListener()
+			{
+				@Override
+				public void propertyChange(PropertyChangeEvent evt)
+				{
+				}
+			};
+
+		rootModel.setSubModelLimit(1);
+
+		final PresentationModel childModel = rootModel.getSubModel("child");
+
+		rootModel.getSubModel("other");
+		childModel.getValueModel("property1").addValueChangeListener(listener);
+		rootModel.setBean(parent);
+		parent.setChild(new TestSubModel1());
+
+		Assert.assertSame(childModel, rootModel.getSubModel("child"));
+		Assert.assertEquals("PROPERTY1", childModel.getValueModel("property1").getValue());
+	}
+
+	public static class TestParentModel extends StandardBean
+	{
+		private TestSubModel1 child;
+		private TestSubModel2 other;
+
+		public TestSubModel1 getChild()
+		{
+			return child;
+		}
+
+		public void setChild(TestSubModel1 child)
+		{
+			final TestSubModel1 oldValue = this.child;
+
+			this.child = child;
+			firePropertyChange(PROPERTYNAME_CHILD, oldValue, child);
+		}
+
+		public TestSubModel2 getOther()
+		{
+			return other;
+		}
+
+		public void setOther(TestSubModel2 other)
+		{
+			final TestSubModel2 oldValue = this.other;
+
+			this.other = other;
+			firePropertyChange(PROPERTYNAME_OTHER, oldValue, other);
+		}
+
+		public static final String PROPERTYNAME_CHILD = "child";
+		public static final String PROPERTYNAME_OTHER = "other";
+	}
+
 	public static class TestModel extends StandardBean
 	{
 
@@ -0,0 +1,199 @@
+package com.netappsid.binding;
+
+import static org.junit.Assert.*;
+
+import java.beans.PropertyChangeEvent;
+import java.beans.PropertyChangeListener;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import com.jgoodies.binding.value.ValueModel;
+import com.netappsid.binding.beans.StandardBean;
+import com.netappsid.binding.beans.support.StandardChangeSupportFactory;
+import com.netappsid.binding.state.State;
+import com.netappsid.binding.state.StatePropertyChangeEvent;
+import com.netappsid.observable.StandardObservableCollectionSupportFactory;
+
+public class RowCursorPresentationModelTest
+{
+	private List<RowBean> rows;
+	private RowCursorPresentationModel model;
+
+	@Before
+	public void setUp()
+	{
+		rows = new ArrayList<RowBean>();
+
+		for (int index = 0; index < 1000; index++)
+		{
+			rows.add(new RowBean("Row " + index));
+		}
+
+		model = new RowCursorPresentationModel(new StandardChangeSupportFactory(), new StandardObservableCollectionSupportFactory(), RowBean.class, rows);
+	}
+
+	@Test
+	public void testMoveTo_ValueModelsFollowCursor()
+	{
+		final ValueModel nameModel = model.getValueModel(RowBean.PROPERTYNAME_NAME);
+
+		assertEquals(RowCursorPresentationModel.NO_ROW, model.getRow());
+		assertNull(nameModel.getValue());
+
+		model.moveTo(10);
+
+		assertSame(rows.get(10), model.getBean());
+		assertEquals("Row 10", nameModel.getValue());
+
+		model.moveTo(999);
+
+		assertSame(nameModel, model.getValueModel(RowBean.PROPERTYNAME_NAME));
+		assertEquals("Row 999", nameModel.getValue());
+	}
+
+	@Test
+	public void testMoveTo_RowStatesAreKeptPerRow()
+	{
+		model.moveTo(3);
+		model.setValue(RowBean.PROPERTYNAME_NAME, "Edited");
+
+		assertEquals(State.DIRTY, model.getStateModel().getState());
+		assertTrue(model.isRowDirty(3));
+
+		model.moveTo(4);
+
+		assertEquals(State.CLEAN, model.getStateModel().getState());
+		assertFalse(model.isRowDirty(4));
+
+		model.moveTo(3);
+
+		assertEquals(State.DIRTY, model.getStateModel().getState());
+		assertEquals(1, model.getDirtyRowCount());
+	}
+
+	@Test
+	public void testResetRowStates()
+	{
+		model.moveTo(1);
+		model.setValue(RowBean.PROPERTYNAME_NAME, "Edited");
+		model.moveTo(2);
+		model.setValue(RowBean.PROPERTYNAME_NAME, "Edited");
+		model.resetRowStates();
+
+		assertEquals(0, model.getDirtyRowCount());
+		assertEquals(State.CLEAN, model.getStateModel().getState());
+	}
+
+	@Test
+	public void testGetValueAt_DoesNotMoveCursorNorFire()
+	{
+		final List<PropertyChangeEvent> events = new ArrayList<PropertyChangeEvent>();
+		final PropertyChangeListener listener = new PropertyChangeListener()
+			{
+				@Override
+				public void propertyChange(PropertyChangeEvent evt)
+				{
+					events.add(evt);
+				}
+			};
+
+		model.moveTo(0);
+		model.addPropertyChangeListener(listener);
+		model.getValueModel(RowBean.PROPERTYNAME_NAME).addValueChangeListener(listener);
+
+		for (int index = 0; index < rows.size(); index++)
+		{
+			assertEquals("Row " + index, model.getValueAt(index, RowBean.PROPERTYNAME_NAME));
+		}
+
+		assertNull(model.getValueAt(0, "missing"));
+		assertEquals(0, model.getRow());
+		assertTrue(events.isEmpty());
+	}
+
+	@Test
+	public void testRowsInsertedAndRemoved_ShiftRowStatesAndCursor()
+	{
+		model.moveTo(5);
+		model.setValue(RowBean.PROPERTYNAME_NAME, "Edited");
+		model.moveTo(8);
+
+		rows.add(0, new RowBean("New"));
+		rows.add(0, new RowBean("New"));
+		model.rowsInserted(0, 2);
+
+		assertEquals(10, model.getRow());
+		assertTrue(model.isRowDirty(7));
+		assertFalse(model.isRowDirty(5));
+
+		rows.remove(7);
+		model.rowsRemoved(7, 1);
+
+		assertEquals(9, model.getRow());
+		assertEquals(0, model.getDirtyRowCount());
+
+		rows.remove(9);
+		model.rowsRemoved(9, 1);
+
+		assertEquals(RowCursorPresentationModel.NO_ROW, model.getRow());
+		assertNull(model.getBean());
+	}
+
+	@Test
+	public void testSetBean_MovesToRowOfBean()
+	{
+		model.setBean(rows.get(42));
+
+		assertEquals(42, model.getRow());
+
+		model.setBean(null);
+
+		assertEquals(RowCursorPresentationModel.NO_ROW, model.getRow());
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testSetBean_RefusesBeanThatIsNotARow()
+	{
+		model.setBean(new RowBean("Other"));
+	}
+
+	@Test
+	public void testSetRows_ClearsRowStates()
+	{
+		model.moveTo(1);
+		model.setValue(RowBean.PROPERTYNAME_NAME, "Edited");
+		model.setRows(new ArrayList<RowBean>());
+
+		assertEquals(RowCursorPresentationModel.NO_ROW, model.getRow());
+		assertEquals(0, model.getDirtyRowCount());
+		assertEquals(0, model.getRowCount());
+	}
+
+	public static class RowBean extends StandardBean
+	{
+		private String name;
+
+		public RowBean(String name)
+		{
+			this.name = name;
+		}
+
+		public String getName()
+		{
+			return name;
+		}
+
+		public void setName(String name)
+		{
+			final String oldValue = this.name;
+
+			this.name = name;
+			firePropertyChange(new StatePropertyChangeEvent(this, PROPERTYNAME_NAME, oldValue, name, true));
+		}
+
+		public static final String PROPERTYNAME_NAME = "name";
+	}
+}
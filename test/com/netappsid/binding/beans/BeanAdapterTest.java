@@ -3,8 +3,15 @@ package com.netappsid.binding.beans;
 import static org.mockito.Mockito.*;
 
 import java.beans.PropertyChangeListener;
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 import org.junit.Assert;
 import org.junit.Test;
@@ -261,11 +268,188 @@ public class BeanAdapterTest
 		listenerSpy.assertEventFired(AbstractValueModel.PROPERTYNAME_VALUE, valueModel, "TEST_FORWARD");
 	}
 
+	@Test
+	public void testGetValueModel_BeanObservedOnlyWhileAdaptersHaveListeners()
+	{
+		final NumericBean bean = new NumericBean();
+		final BeanAdapter adapter = newBeanAdapter(bean, NumericBean.class);
+		final ValueModel nameModel = adapter.getValueModel("name");
+		final ValueModel intModel = adapter.getValueModel("intValue");
+		final PropertyChangeAssertion nameListener = new PropertyChangeAssertion();
+		final PropertyChangeAssertion intListener = new PropertyChangeAssertion();
+
+		Assert.assertFalse(adapter.isObservingBean());
+		Assert.assertEquals(0, bean.getPropertyChangeListeners().length);
+
+		nameModel.addValueChangeListener(nameListener);
+		intModel.addValueChangeListener(intListener);
+
+		Assert.assertTrue(adapter.isObservingBean());
+		Assert.assertEquals(1, bean.getPropertyChangeListeners().length);
+
+		bean.setName("TEST");
+		nameListener.assertEventFired(AbstractValueModel.PROPERTYNAME_VALUE, nameModel, "TEST");
+
+		nameModel.removeValueChangeListener(nameListener);
+
+		Assert.assertTrue(adapter.isObservingBean());
+
+		intModel.removeValueChangeListener(intListener);
+
+		Assert.assertFalse(adapter.isObservingBean());
+		Assert.assertEquals(0, bean.getPropertyChangeListeners().length);
+	}
+
+	@Test
+	public void testSetBean_ObservesNewBeanOnlyWhileAdaptersHaveListeners()
+	{
+		final NumericBean oldBean = new NumericBean();
+		final NumericBean newBean = new NumericBean();
+		final BeanAdapter adapter = newBeanAdapter(oldBean, NumericBean.class);
+		final PropertyChangeListener listener = new PropertyChangeAssertion();
+
+		adapter.getValueModel("name").addValueChangeListener(listener);
+		adapter.setBean(newBean);
+
+		Assert.assertEquals(0, oldBean.getPropertyChangeListeners().length);
+		Assert.assertEquals(1, newBean.getPropertyChangeListeners().length);
+
+		adapter.getValueModel("name").removeValueChangeListener(listener);
+		adapter.setBean(oldBean);
+
+		Assert.assertEquals(0, oldBean.getPropertyChangeListeners().length);
+		Assert.assertEquals(0, newBean.getPropertyChangeListeners().length);
+	}
+
+	@Test
+	public void testRelease_BeanNotObservedAgainBeforeNextBean()
+	{
+		final NumericBean bean = new NumericBean();
+		final NumericBean newBean = new NumericBean();
+		final BeanAdapter adapter = newBeanAdapter(bean, NumericBean.class);
+		final ValueModel nameModel = adapter.getValueModel("name");
+
+		nameModel.addValueChangeListener(new PropertyChangeAssertion());
+		adapter.release();
+		adapter.getValueModel("intValue").addValueChangeListener(new PropertyChangeAssertion());
+
+		Assert.assertFalse(adapter.isObservingBean());
+		Assert.assertEquals(0, bean.getPropertyChangeListeners().length);
+
+		adapter.setBean(newBean);
+
+		Assert.assertTrue(adapter.isObservingBean());
+		Assert.assertEquals(1, newBean.getPropertyChangeListeners().length);
+	}
+
+	@Test
+	public void testRelease_DoesNotLockAdaptersWhileHoldingBeanAdapter() throws Exception
+	{
+		final BeanAdapter adapter = newBeanAdapter(new NumericBean(), NumericBean.class);
+		final ValueModel nameModel = adapter.getValueModel("name");
+		final PropertyChangeListener listener = new PropertyChangeAssertion();
+
+		// The collection value model listens to the adapter, releasing the bean adapter removes that listener
+		adapter.getCollectionValueModel("name");
+
+		// Another thread holding either monitor must not block the other path, or both paths running together would deadlock
+		synchronized (adapter)
+		{
+			assertCompletes(new Runnable()
+				{
+					@Override
+					public void run()
+					{
+						nameModel.addValueChangeListener(listener);
+					}
+				});
+		}
+
+		synchronized (nameModel)
+		{
+			assertCompletes(new Runnable()
+				{
+					@Override
+					public void run()
+					{
+						adapter.release();
+					}
+				});
+		}
+
+		Assert.assertFalse(adapter.isObservingBean());
+	}
+
+	@Test
+	public void testGetValueModel_ConcurrentCallsCreateOneAdapterPerProperty() throws Exception
+	{
+		final String[] propertyNames = { "intValue", "longValue", "doubleValue", "booleanValue", "name" };
+		final ExecutorService executor = Executors.newFixedThreadPool(8);
+
+		try
+		{
+			for (int iteration = 0; iteration < 200; iteration++)
+			{
+				final BeanAdapter adapter = newBeanAdapter(new NumericBean(), NumericBean.class);
+				final CountDownLatch start = new CountDownLatch(1);
+				final List<Future<Object[]>> results = new ArrayList<Future<Object[]>>();
+
+				for (int thread = 0; thread < 8; thread++)
+				{
+					results.add(executor.submit(new Callable<Object[]>()
+						{
+							@Override
+							public Object[] call() throws Exception
+							{
+								final Object[] models = new Object[propertyNames.length];
+
+								start.await();
+
+								for (int index = 0; index < propertyNames.length; index++)
+								{
+									models[index] = adapter.getValueModel(propertyNames[index]);
+								}
+
+								return models;
+							}
+						}));
+				}
+
+				start.countDown();
+
+				for (Future<Object[]> result : results)
+				{
+					final Object[] models = result.get();
+
+					for (int index = 0; index < propertyNames.length; index++)
+					{
+						Assert.assertSame(adapter.getValueModel(propertyNames[index]), models[index]);
+					}
+				}
+			}
+		}
+		finally
+		{
+			executor.shutdownNow();
+		}
+	}
+
 	private BeanAdapter newBeanAdapter(Class beanClass)
 	{
 		return new BeanAdapter(new StandardChangeSupportFactory(), new StandardObservableCollectionSupportFactory(), beanClass);
 	}
 
+	private static void assertCompletes(Runnable runnable) throws InterruptedException
+	{
+		final Thread thread = new Thread(runnable);
+
+		thread.setDaemon(true);
+		thread.start();
+		thread.join(5000);
+
+		Assert.assertFalse(thread.isAlive());
+	}
+
 	private BeanAdapter newBeanAdapter(Object bean, Class beanClass)
 	{
 		return new BeanAdapter(new StandardChangeSupportFactory(), new StandardObservableCollectionSupportFactory(), bean, beanClass);
@@ -0,0 +1,129 @@
+package com.netappsid.binding.beans;
+
+import static org.junit.Assert.*;
+
+import java.beans.PropertyDescriptor;
+import java.lang.ref.WeakReference;
+
+import org.junit.Test;
+
+import com.netappsid.test.beans.TestBean;
+
+public class BeanClassMetadataTest
+{
+	@Test
+	public void testForClass_ReturnsSameInstanceForSameClass() throws Exception
+	{
+		assertSame(BeanClassMetadata.forClass(TestBean.class), BeanClassMetadata.forClass(TestBean.class));
+	}
+
+	@Test
+	public void testForClass_FlushDiscardsCachedInstance() throws Exception
+	{
+		final BeanClassMetadata metadata = BeanClassMetadata.forClass(TestBean.class);
+
+		BeanClassMetadata.flush(TestBean.class);
+
+		assertNotSame(metadata, BeanClassMetadata.forClass(TestBean.class));
+	}
+
+	@Test
+	public void testForClass_CacheRetainsUnusedMetadata() throws Exception
+	{
+		final WeakReference<BeanClassMetadata> reference = new WeakReference<BeanClassMetadata>(BeanClassMetadata.forClass(TestBean.class));
+
+		for (int attempt = 0; attempt < 5; attempt++)
+		{
+			System.gc();
+			Thread.sleep(10);
+		}
+
+		assertNotNull(reference.get());
+		assertSame(reference.get(), BeanClassMetadata.forClass(TestBean.class));
+	}
+
+	@Test
+	public void testGetProperty_ResolvesReadAndWriteMethods() throws Exception
+	{
+		final PropertyMetadata property = BeanClassMetadata.forClass(TestBean.class).getProperty(TestBean.PROPERTYNAME_PROPERTY1);
+
+		assertNotNull(property);
+		assertEquals(TestBean.PROPERTYNAME_PROPERTY1, property.getName());
+		assertEquals(String.class, property.getPropertyType());
+		assertEquals("getProperty1", property.getReadMethod().getName());
+		assertEquals("setProperty1", property.getWriteMethod().getName());
+	}
+
+	@Test
+	public void testGetProperty_UnknownPropertyReturnsNull() throws Exception
+	{
+		assertNull(BeanClassMetadata.forClass(TestBean.class).getProperty("nonExisting"));
+		assertNull(BeanClassMetadata.forClass(TestBean.class).getPropertyDescriptor("nonExisting"));
+	}
+
+	@Test
+	public void testGetPropertyDescriptor_SameAsBeanUtils() throws Exception
+	{
+		assertSame(BeanClassMetadata.forClass(TestBean.class).getPropertyDescriptor(TestBean.PROPERTYNAME_PROPERTY1),
+				BeanUtils.getPropertyDescriptor(TestBean.class, TestBean.PROPERTYNAME_PROPERTY1));
+	}
+
+	@Test
+	public void testBeanUtilsGetValue_ReadsThroughPropertyMetadata() throws Exception
+	{
+		final TestBean bean = new TestBean("1");
+		final PropertyMetadata property = BeanClassMetadata.forClass(TestBean.class).getProperty(TestBean.PROPERTYNAME_PROPERTY1);
+
+		BeanUtils.setValue(bean, property, "TEST");
+
+		assertEquals("TEST", bean.getProperty1());
+		assertEquals("TEST", BeanUtils.getValue(bean, property));
+	}
+
+	@Test
+	public void testBeanUtilsGetValue_ForeignDescriptorCreatesNoAccessor() throws Exception
+	{
+		final PropertyAccessorFactory previousFactory = BeanClassMetadata.getPropertyAccessorFactory();
+		final int[] createdAccessors = new int[1];
+		final TestBean bean = new TestBean("1");
+		final PropertyDescriptor propertyDescriptor = new PropertyDescriptor(TestBean.PROPERTYNAME_PROPERTY1, TestBean.class);
+
+		BeanClassMetadata.setPropertyAccessorFactory(new PropertyAccessorFactory()
+			{
+				@Override
+				public PropertyAccessor createPropertyAccessor(PropertyMetadata property)
+				{
+					createdAccessors[0]++;
+					return previousFactory.createPropertyAccessor(property);
+				}
+			});
+
+		try
+		{
+			BeanUtils.setValue(bean, propertyDescriptor, "TEST");
+
+			assertEquals("TEST", BeanUtils.getValue(bean, propertyDescriptor));
+			assertEquals(0, createdAccessors[0]);
+		}
+		finally
+		{
+			BeanClassMetadata.setPropertyAccessorFactory(previousFactory);
+		}
+	}
+
+	@Test
+	public void testGetPCLAdder_CachedPerClass() throws Exception
+	{
+		assertNotNull(BeanUtils.getPCLAdder(TestBean.class));
+		assertSame(BeanUtils.getPCLAdder(TestBean.class), BeanUtils.getPCLAdder(TestBean.class));
+		assertSame(BeanClassMetadata.forClass(TestBean.class).getListenerRegistration(), BeanClassMetadata.forClass(TestBean.class).getListenerRegistration());
+	}
+
+	@Test
+	public void testSupportsBoundProperties_UnboundClass() throws Exception
+	{
+		assertFalse(BeanUtils.supportsBoundProperties(Object.class));
+		assertNull(BeanUtils.getPCLAdder(Object.class));
+		assertNull(BeanUtils.getNamedPCLRemover(Object.class));
+	}
+}
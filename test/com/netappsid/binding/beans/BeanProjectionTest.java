@@ -0,0 +1,161 @@
+package com.netappsid.binding.beans;
+
+import static org.junit.Assert.*;
+
+import java.beans.PropertyChangeEvent;
+import java.beans.PropertyChangeListener;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import com.jgoodies.binding.beans.PropertyNotFoundException;
+import com.netappsid.binding.beans.support.StandardChangeSupportFactory;
+import com.netappsid.observable.StandardObservableCollectionSupportFactory;
+
+public class BeanProjectionTest
+{
+	private NumericBean bean;
+	private BeanAdapter beanAdapter;
+
+	@Before
+	public void setUp()
+	{
+		bean = new NumericBean();
+		bean.setIntValue(1);
+		bean.setDoubleValue(2.5);
+		bean.setName("TEST");
+		beanAdapter = new BeanAdapter(new StandardChangeSupportFactory(), new StandardObservableCollectionSupportFactory(), bean, NumericBean.class);
+	}
+
+	@Test
+	public void testRead_ReturnsValuesInOrder()
+	{
+		final BeanProjection projection = BeanProjection.compile(NumericBean.class, "name", "intValue", "doubleValue");
+
+		assertArrayEquals(new Object[] { "TEST", 1, 2.5 }, projection.read(bean));
+		assertEquals(1, projection.indexOf("intValue"));
+		assertEquals(-1, projection.indexOf("longValue"));
+	}
+
+	@Test
+	public void testRead_NullBean()
+	{
+		assertArrayEquals(new Object[] { null, null }, BeanProjection.compile(NumericBean.class, "name", "intValue").read(null));
+	}
+
+	@Test
+	public void testRead_ReusesArray()
+	{
+		final Object[] values = new Object[] { "OLD", "OLD", "UNTOUCHED" };
+
+		BeanProjection.compile(NumericBean.class, "name", "intValue").read(bean, values);
+
+		assertArrayEquals(new Object[] { "TEST", 1, "UNTOUCHED" }, values);
+	}
+
+	@Test
+	public void testRead_Subclass()
+	{
+		final NumericBean subclassBean = new NumericBean()
+			{
+				@Override
+				public String getName()
+				{
+					return "OVERRIDDEN";
+				}
+			};
+
+		assertArrayEquals(new Object[] { "OVERRIDDEN" }, BeanProjection.compile(NumericBean.class, "name").read(subclassBean));
+	}
+
+	@Test
+	public void testRead_AlternatingSubclasses()
+	{
+		final BeanProjection projection = BeanProjection.compile(NumericBean.class, "name");
+		final NumericBean subclassBean = new NumericBean()
+			{
+				@Override
+				public String getName()
+				{
+					return "OVERRIDDEN";
+				}
+			};
+
+		for (int row = 0; row < 3; row++)
+		{
+			assertArrayEquals(new Object[] { "TEST" }, projection.read(bean));
+			assertArrayEquals(new Object[] { "OVERRIDDEN" }, projection.read(subclassBean));
+		}
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testRead_UnrelatedClass()
+	{
+		BeanProjection.compile(NumericBean.class, "name").read(new FakeBean());
+	}
+
+	@Test(expected = PropertyNotFoundException.class)
+	public void testCompile_UnknownProperty()
+	{
+		BeanProjection.compile(NumericBean.class, "name", "unknown");
+	}
+
+	@Test
+	public void testApplyAll_WritesValues() throws Exception
+	{
+		final BeanProjection projection = BeanProjection.compile(NumericBean.class, "name", "intValue", "booleanValue");
+
+		projection.applyAll(bean, new Object[] { "OTHER", null, true });
+
+		assertEquals("OTHER", bean.getName());
+		assertEquals(0, bean.getIntValue());
+		assertTrue(bean.isBooleanValue());
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testApplyAll_TooFewValues() throws Exception
+	{
+		BeanProjection.compile(NumericBean.class, "name", "intValue").applyAll(bean, new Object[] { "OTHER" });
+	}
+
+	@Test
+	public void testSnapshot_ReusesProjection()
+	{
+		assertArrayEquals(new Object[] { "TEST", 2.5 }, beanAdapter.snapshot("name", "doubleValue"));
+		assertSame(beanAdapter.getProjection("name", "doubleValue"), beanAdapter.getProjection("name", "doubleValue"));
+	}
+
+	@Test
+	public void testApplyAll_AdaptersFireValueChange() throws Exception
+	{
+		final List<PropertyChangeEvent> events = new ArrayList<PropertyChangeEvent>();
+
+		beanAdapter.getValueModel("name").addValueChangeListener(new PropertyChangeListener()
+			{
+				@Override
+				public void propertyChange(PropertyChangeEvent evt)
+				{
+					events.add(evt);
+				}
+			});
+
+		final BeanProjection projection = beanAdapter.getProjection("name", "intValue");
+		final Object[] values = beanAdapter.snapshot(projection);
+		values[0] = "OTHER";
+		beanAdapter.applyAll(projection, values);
+
+		assertEquals(1, events.size());
+		assertEquals("OTHER", events.get(0).getNewValue());
+	}
+
+	@Test
+	public void testApplyAll_NullBeanCreatesBean() throws Exception
+	{
+		beanAdapter.setBean(null);
+		beanAdapter.applyAll(beanAdapter.getProjection("intValue"), new Object[] { 3 });
+
+		assertEquals(3, ((NumericBean) beanAdapter.getBean()).getIntValue());
+	}
+}
@@ -0,0 +1,171 @@
+package com.netappsid.binding.beans;
+
+import static org.junit.Assert.*;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import org.junit.Test;
+
+import com.netappsid.binding.beans.support.BatchingChangeSupportFactory;
+import com.netappsid.binding.beans.support.ChangeSupportFactory;
+import com.netappsid.binding.beans.support.IdentityPropertyChangeSupportTest.PropertyEventListenerSpy;
+import com.netappsid.binding.beans.support.StandardChangeSupportFactory;
+import com.netappsid.observable.StandardObservableCollectionSupportFactory;
+
+public class BeanSwitcherTest
+{
+	private final PropertyEventListenerSpy eventSpy = new PropertyEventListenerSpy();
+
+	@Test
+	public void testSetBean_FiresOnlyDifferentValues()
+	{
+		final String name = "Name";
+		final NumericBean oldBean = newBean(name, 1);
+		final NumericBean newBean = newBean(name, 2);
+		final BeanAdapter beanAdapter = newBeanAdapter(new StandardChangeSupportFactory(), oldBean);
+
+		beanAdapter.getValueModel("name").addValueChangeListener(eventSpy);
+		beanAdapter.getValueModel("intValue").addValueChangeListener(eventSpy);
+		beanAdapter.setBean(newBean);
+
+		assertEquals(1, eventSpy.getEvents().size());
+		assertEquals(2, eventSpy.getEvents().get(0).getNewValue());
+	}
+
+	@Test
+	public void testSetBean_SkipsAdaptersWithoutListeners()
+	{
+		final CountingBean oldBean = new CountingBean();
+		final CountingBean newBean = new CountingBean();
+		final BeanAdapter beanAdapter = newBeanAdapter(new StandardChangeSupportFactory(), oldBean);
+
+		beanAdapter.getValueModel("name");
+		beanAdapter.setBean(newBean);
+
+		assertEquals(0, oldBean.nameReadCount + newBean.nameReadCount);
+
+		beanAdapter.getValueModel("name").addValueChangeListener(eventSpy);
+		beanAdapter.setBean(oldBean);
+
+		assertEquals(1, oldBean.nameReadCount);
+		assertEquals(1, newBean.nameReadCount);
+	}
+
+	@Test
+	public void testSetBean_ResolvesPropertiesOfEachClass()
+	{
+		final BeanAdapter beanAdapter = newBeanAdapter(new StandardChangeSupportFactory(), newBean("A", 0));
+		beanAdapter.getValueModel("name").addValueChangeListener(eventSpy);
+
+		final CountingBean countingBean = new CountingBean();
+		countingBean.setName("B");
+		beanAdapter.setBean(countingBean);
+		beanAdapter.setBean(null);
+		beanAdapter.setBean(newBean("C", 0));
+
+		assertEquals(3, eventSpy.getEvents().size());
+		assertEquals("B", eventSpy.getEvents().get(0).getNewValue());
+		assertEquals("B", eventSpy.getEvents().get(1).getOldValue());
+		assertNull(eventSpy.getEvents().get(1).getNewValue());
+		assertEquals("C", eventSpy.getEvents().get(2).getNewValue());
+		assertEquals(2, countingBean.nameReadCount);
+	}
+
+	@Test
+	public void testSetBean_BatchingFactorySwitchesInOneBatch()
+	{
+		final CountingBatchingChangeSupportFactory factory = new CountingBatchingChangeSupportFactory();
+		final BeanAdapter beanAdapter = newBeanAdapter(factory, newBean("A", 1));
+
+		beanAdapter.getValueModel("name").addValueChangeListener(eventSpy);
+		beanAdapter.getValueModel("intValue").addValueChangeListener(eventSpy);
+		beanAdapter.setBean(newBean("B", 2));
+
+		assertEquals(1, factory.batchCount);
+		assertEquals(2, eventSpy.getEvents().size());
+		assertFalse(factory.isBatching());
+	}
+
+	@Test
+	public void testSwitchBean_RebuildsPlanForOtherAdaptersOfSameCount()
+	{
+		final NumericBean oldBean = newBean("A", 1);
+		final NumericBean newBean = newBean("B", 2);
+		final BeanAdapter beanAdapter = newBeanAdapter(new StandardChangeSupportFactory(), oldBean);
+		final SimplePropertyAdapter nameAdapter = (SimplePropertyAdapter) beanAdapter.getValueModel("name");
+		final SimplePropertyAdapter intAdapter = (SimplePropertyAdapter) beanAdapter.getValueModel("intValue");
+		final BeanSwitcher beanSwitcher = new BeanSwitcher();
+
+		nameAdapter.addValueChangeListener(eventSpy);
+		intAdapter.addValueChangeListener(eventSpy);
+		beanSwitcher.switchBean(new StandardChangeSupportFactory(), Collections.singletonList(nameAdapter), oldBean, newBean);
+		beanSwitcher.switchBean(new StandardChangeSupportFactory(), Collections.singletonList(intAdapter), oldBean, newBean);
+
+		assertEquals(2, eventSpy.getEvents().size());
+		assertSame(nameAdapter, eventSpy.getEvents().get(0).getSource());
+		assertSame(intAdapter, eventSpy.getEvents().get(1).getSource());
+	}
+
+	@Test
+	public void testSwitchBean_CallsSetBeanOverrides()
+	{
+		final NumericBean oldBean = newBean("A", 1);
+		final NumericBean newBean = newBean("B", 2);
+		final BeanAdapter beanAdapter = newBeanAdapter(new StandardChangeSupportFactory(), oldBean);
+		final List<Object> switchedBeans = new ArrayList<Object>();
+		final SimplePropertyAdapter adapter = new SimplePropertyAdapter(beanAdapter, "name")
+			{
+				@Override
+				protected void setBean(Object oldBean, Object newBean)
+				{
+					switchedBeans.add(newBean);
+					super.setBean(oldBean, newBean);
+				}
+			};
+
+		new BeanSwitcher().switchBean(new StandardChangeSupportFactory(), Collections.singletonList(adapter), oldBean, newBean);
+
+		assertEquals(Collections.singletonList(newBean), switchedBeans);
+		assertTrue(adapter.overridesSetBean());
+		assertFalse(((SimplePropertyAdapter) beanAdapter.getValueModel("name")).overridesSetBean());
+	}
+
+	private static BeanAdapter newBeanAdapter(ChangeSupportFactory factory, Object bean)
+	{
+		return new BeanAdapter(factory, new StandardObservableCollectionSupportFactory(), bean, NumericBean.class);
+	}
+
+	private static NumericBean newBean(String name, int intValue)
+	{
+		final NumericBean bean = new NumericBean();
+		bean.setName(name);
+		bean.setIntValue(intValue);
+		return bean;
+	}
+
+	public static class CountingBean extends NumericBean
+	{
+		private int nameReadCount;
+
+		@Override
+		public String getName()
+		{
+			nameReadCount++;
+			return super.getName();
+		}
+	}
+
+	private static final class CountingBatchingChangeSupportFactory extends BatchingChangeSupportFactory
+	{
+		private int batchCount;
+
+		@Override
+		public void beginBatch()
+		{
+			batchCount++;
+			super.beginBatch();
+		}
+	}
+}
@@ -0,0 +1,101 @@
+package com.netappsid.binding.beans;
+
+import static org.junit.Assert.*;
+
+import java.beans.PropertyChangeEvent;
+import java.beans.PropertyVetoException;
+import java.beans.VetoableChangeListener;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+
+import org.junit.Test;
+
+import com.netappsid.binding.beans.support.IdentityPropertyChangeSupportTest.PropertyEventListenerSpy;
+import com.netappsid.binding.beans.support.StandardChangeSupportFactory;
+
+public class BeanTest
+{
+	@Test
+	public void testFire_WithoutListeners()
+	{
+		final TestableBean bean = new TestableBean();
+
+		bean.firePropertyChange("test", "old", "new");
+
+		assertFalse(bean.hasListeners("test"));
+		assertEquals(0, bean.getPropertyChangeListeners().length);
+		assertEquals(0, bean.getPropertyChangeListeners("test").length);
+		assertEquals(0, bean.getVetoableChangeListeners().length);
+	}
+
+	@Test
+	public void testRemovePropertyChangeListener_WithoutListeners()
+	{
+		final TestableBean bean = new TestableBean();
+
+		bean.removePropertyChangeListener(new PropertyEventListenerSpy());
+		bean.removeVetoableChangeListener("test", null);
+
+		assertEquals(0, bean.getPropertyChangeListeners().length);
+	}
+
+	@Test
+	public void testFirePropertyChange_ListenerAddedLater()
+	{
+		final TestableBean bean = new TestableBean();
+		final PropertyEventListenerSpy eventSpy = new PropertyEventListenerSpy();
+
+		bean.firePropertyChange("test", "ignored", "event");
+		bean.addPropertyChangeListener("test", eventSpy);
+		bean.firePropertyChange("test", "old", "new");
+
+		eventSpy.assertEventRaised(bean, "test", "old", "new");
+		assertTrue(bean.hasListeners("test"));
+	}
+
+	@Test(expected = PropertyVetoException.class)
+	public void testFireVetoableChange_ListenerVetoes() throws Exception
+	{
+		final TestableBean bean = new TestableBean();
+
+		bean.fireVetoableChange("test", "old", "new");
+		bean.addVetoableChangeListener(new VetoableChangeListener()
+			{
+				@Override
+				public void vetoableChange(PropertyChangeEvent evt) throws PropertyVetoException
+				{
+					throw new PropertyVetoException("vetoed", evt);
+				}
+			});
+		bean.fireVetoableChange("test", "old", "new");
+	}
+
+	@Test
+	public void testSerialization_ListenersCanBeAddedAfterwards() throws Exception
+	{
+		final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		final ObjectOutputStream out = new ObjectOutputStream(bytes);
+		out.writeObject(new TestableBean());
+		out.close();
+
+		final TestableBean bean = (TestableBean) new ObjectInputStream(new ByteArrayInputStream(bytes.toByteArray())).readObject();
+		final PropertyEventListenerSpy eventSpy = new PropertyEventListenerSpy();
+
+		bean.addPropertyChangeListener(eventSpy);
+		bean.firePropertyChange("test", "old", "new");
+
+		eventSpy.assertEventRaised(bean, "test", "old", "new");
+	}
+
+	private static final class TestableBean extends Bean
+	{
+		private static final long serialVersionUID = 1L;
+
+		private TestableBean()
+		{
+			super(new StandardChangeSupportFactory());
+		}
+	}
+}
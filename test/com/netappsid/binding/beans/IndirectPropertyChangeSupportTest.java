@@ -0,0 +1,93 @@
+package com.netappsid.binding.beans;
+
+import static org.junit.Assert.*;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import com.netappsid.binding.beans.support.IdentityPropertyChangeSupportTest.PropertyEventListenerSpy;
+import com.netappsid.binding.beans.support.StandardChangeSupportFactory;
+import com.netappsid.binding.value.ValueHolder;
+
+public class IndirectPropertyChangeSupportTest
+{
+	private ValueHolder beanChannel;
+	private IndirectPropertyChangeSupport support;
+	private PropertyEventListenerSpy eventSpy;
+
+	@Before
+	public void setUp()
+	{
+		beanChannel = new ValueHolder(new StandardChangeSupportFactory(), null, true);
+		support = new IndirectPropertyChangeSupport(beanChannel, true);
+		eventSpy = new PropertyEventListenerSpy();
+	}
+
+	@Test
+	public void testMultiplexing_RegistersSingleListenerWithBean()
+	{
+		final NumericBean bean = new NumericBean();
+
+		support.addPropertyChangeListener(eventSpy);
+		support.addPropertyChangeListener("name", eventSpy);
+		support.addPropertyChangeListener("intValue", eventSpy);
+		beanChannel.setValue(bean);
+
+		assertEquals(1, bean.getPropertyChangeListeners().length);
+		assertEquals(1, support.getPropertyChangeListeners("name").length);
+	}
+
+	@Test
+	public void testMultiplexing_DispatchesByPropertyName()
+	{
+		final NumericBean bean = new NumericBean();
+		beanChannel.setValue(bean);
+
+		support.addPropertyChangeListener("name", eventSpy);
+		bean.setIntValue(1);
+		bean.setName("A");
+
+		assertEquals(1, eventSpy.getEvents().size());
+		assertEquals("name", eventSpy.getEvents().get(0).getPropertyName());
+		assertSame(bean, eventSpy.getEvents().get(0).getSource());
+	}
+
+	@Test
+	public void testMultiplexing_SwitchesBean()
+	{
+		final NumericBean oldBean = new NumericBean();
+		final NumericBean newBean = new NumericBean();
+		beanChannel.setValue(oldBean);
+		support.addPropertyChangeListener(eventSpy);
+
+		beanChannel.setValue(newBean);
+		oldBean.setName("A");
+		newBean.setName("B");
+
+		assertEquals(0, oldBean.getPropertyChangeListeners().length);
+		assertEquals(1, eventSpy.getEvents().size());
+		assertSame(newBean, eventSpy.getEvents().get(0).getSource());
+	}
+
+	@Test
+	public void testMultiplexing_RemovingLastListenerDetaches()
+	{
+		final NumericBean bean = new NumericBean();
+		beanChannel.setValue(bean);
+
+		support.addPropertyChangeListener(eventSpy);
+		support.addPropertyChangeListener("name", eventSpy);
+		support.removePropertyChangeListener(eventSpy);
+
+		assertEquals(1, bean.getPropertyChangeListeners().length);
+
+		support.removePropertyChangeListener("name", eventSpy);
+
+		assertEquals(0, bean.getPropertyChangeListeners().length);
+
+		support.addPropertyChangeListener(eventSpy);
+		support.removeAll();
+
+		assertEquals(0, bean.getPropertyChangeListeners().length);
+	}
+}
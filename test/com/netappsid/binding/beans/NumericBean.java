@@ -0,0 +1,70 @@
+package com.netappsid.binding.beans;
+
+public class NumericBean extends StandardBean
+{
+	private int intValue;
+	private long longValue;
+	private double doubleValue;
+	private boolean booleanValue;
+	private String name;
+
+	public int getIntValue()
+	{
+		return intValue;
+	}
+
+	public void setIntValue(int intValue)
+	{
+		final int oldValue = this.intValue;
+		this.intValue = intValue;
+		firePropertyChange("intValue", oldValue, intValue);
+	}
+
+	public long getLongValue()
+	{
+		return longValue;
+	}
+
+	public void setLongValue(long longValue)
+	{
+		final long oldValue = this.longValue;
+		this.longValue = longValue;
+		firePropertyChange("longValue", oldValue, longValue);
+	}
+
+	public double getDoubleValue()
+	{
+		return doubleValue;
+	}
+
+	public void setDoubleValue(double doubleValue)
+	{
+		final double oldValue = this.doubleValue;
+		this.doubleValue = doubleValue;
+		firePropertyChange("doubleValue", oldValue, doubleValue);
+	}
+
+	public boolean isBooleanValue()
+	{
+		return booleanValue;
+	}
+
+	public void setBooleanValue(boolean booleanValue)
+	{
+		final boolean oldValue = this.booleanValue;
+		this.booleanValue = booleanValue;
+		firePropertyChange("booleanValue", oldValue, booleanValue);
+	}
+
+	public String getName()
+	{
+		return name;
+	}
+
+	public void setName(String name)
+	{
+		final String oldValue = this.name;
+		this.name = name;
+		firePropertyChange("name", oldValue, name);
+	}
+}
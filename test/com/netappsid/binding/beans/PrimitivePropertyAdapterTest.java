@@ -0,0 +1,100 @@
+package com.netappsid.binding.beans;
+
+import static org.junit.Assert.*;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import com.netappsid.binding.beans.support.IdentityPropertyChangeSupportTest.PropertyEventListenerSpy;
+import com.netappsid.binding.beans.support.StandardChangeSupportFactory;
+import com.netappsid.observable.StandardObservableCollectionSupportFactory;
+
+public class PrimitivePropertyAdapterTest
+{
+	private NumericBean bean;
+	private BeanAdapter beanAdapter;
+	private PropertyEventListenerSpy eventSpy;
+
+	@Before
+	public void setUp()
+	{
+		bean = new NumericBean();
+		beanAdapter = new BeanAdapter(new StandardChangeSupportFactory(), new StandardObservableCollectionSupportFactory(), bean, NumericBean.class);
+		eventSpy = new PropertyEventListenerSpy();
+	}
+
+	@Test
+	public void testGetValueModel_CreatesPrimitiveAdapters()
+	{
+		assertTrue(beanAdapter.getValueModel("intValue") instanceof IntPropertyAdapter);
+		assertTrue(beanAdapter.getValueModel("longValue") instanceof LongPropertyAdapter);
+		assertTrue(beanAdapter.getValueModel("doubleValue") instanceof DoublePropertyAdapter);
+		assertTrue(beanAdapter.getValueModel("booleanValue") instanceof BooleanPropertyAdapter);
+		assertEquals(SimplePropertyAdapter.class, beanAdapter.getValueModel("name").getClass());
+	}
+
+	@Test
+	public void testSetValue_WritesThroughTypedAccessors()
+	{
+		beanAdapter.getValueModel("intValue").setValue(5);
+		beanAdapter.getValueModel("longValue").setValue(6L);
+		beanAdapter.getValueModel("doubleValue").setValue(7.5);
+		beanAdapter.getValueModel("booleanValue").setValue(true);
+
+		assertEquals(5, bean.getIntValue());
+		assertEquals(6L, bean.getLongValue());
+		assertEquals(7.5, bean.getDoubleValue(), 0);
+		assertTrue(bean.isBooleanValue());
+		assertEquals(5, beanAdapter.getValueModel("intValue").intValue());
+		assertEquals(6L, beanAdapter.getValueModel("longValue").longValue());
+		assertEquals(7.5, beanAdapter.getValueModel("doubleValue").doubleValue(), 0);
+		assertTrue(beanAdapter.getValueModel("booleanValue").booleanValue());
+	}
+
+	@Test
+	public void testSetValue_FiresValueChange()
+	{
+		beanAdapter.getValueModel("intValue").addValueChangeListener(eventSpy);
+		beanAdapter.getValueModel("intValue").setValue(1000);
+
+		assertEquals(1, eventSpy.getEvents().size());
+		assertEquals(1000, eventSpy.getEvents().get(0).getNewValue());
+	}
+
+	@Test
+	public void testSetBean_EqualValuesDoNotFire()
+	{
+		final NumericBean otherBean = new NumericBean();
+		bean.setIntValue(1000);
+		otherBean.setIntValue(1000);
+
+		beanAdapter.getValueModel("intValue").addValueChangeListener(eventSpy);
+		beanAdapter.setBean(otherBean);
+
+		eventSpy.assertNoEventRaised();
+	}
+
+	@Test
+	public void testSetBean_DifferentValuesFire()
+	{
+		final NumericBean otherBean = new NumericBean();
+		bean.setDoubleValue(1.5);
+		otherBean.setDoubleValue(2.5);
+
+		beanAdapter.getValueModel("doubleValue").addValueChangeListener(eventSpy);
+		beanAdapter.setBean(otherBean);
+
+		assertEquals(1, eventSpy.getEvents().size());
+		assertEquals(1.5, eventSpy.getEvents().get(0).getOldValue());
+		assertEquals(2.5, eventSpy.getEvents().get(0).getNewValue());
+	}
+
+	@Test
+	public void testSetValue_NullBeanCreatesBean()
+	{
+		beanAdapter.setBean(null);
+		beanAdapter.getValueModel("intValue").setValue(3);
+
+		assertEquals(3, ((NumericBean) beanAdapter.getBean()).getIntValue());
+	}
+}
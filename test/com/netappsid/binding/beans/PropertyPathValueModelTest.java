@@ -0,0 +1,159 @@
+package com.netappsid.binding.beans;
+
+import static org.junit.Assert.*;
+
+import java.beans.PropertyChangeEvent;
+import java.beans.PropertyChangeListener;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import com.netappsid.binding.beans.support.StandardChangeSupportFactory;
+import com.netappsid.binding.value.ValueHolder;
+import com.netappsid.test.beans.TestBean;
+import com.netappsid.test.beans.TestBeanDetail;
+
+public class PropertyPathValueModelTest
+{
+	private static final String PATH = TestBean.PROPERTYNAME_BEAN1 + "." + TestBeanDetail.PROPERTYNAME_PROPERTY;
+
+	private StandardChangeSupportFactory changeSupportFactory;
+	private ValueHolder beanChannel;
+	private TestBean bean;
+	private TestBeanDetail detail;
+	private PropertyPathValueModel valueModel;
+	private List<PropertyChangeEvent> events;
+
+	@Before
+	public void setUp()
+	{
+		changeSupportFactory = new StandardChangeSupportFactory();
+		detail = new TestBeanDetail();
+		detail.setProperty("TEST");
+		bean = new TestBean("1");
+		bean.setBean1(detail);
+		beanChannel = new ValueHolder(changeSupportFactory, bean, true);
+		valueModel = new PropertyPathValueModel(changeSupportFactory, beanChannel, PropertyPath.compile(PATH));
+		events = new ArrayList<PropertyChangeEvent>();
+		valueModel.addValueChangeListener(new PropertyChangeListener()
+			{
+				@Override
+				public void propertyChange(PropertyChangeEvent evt)
+				{
+					events.add(evt);
+				}
+			});
+	}
+
+	@Test
+	public void testCompile_ReturnsSameInstanceForSamePath()
+	{
+		assertSame(PropertyPath.compile(PATH), PropertyPath.compile(new String(PATH)));
+	}
+
+	@Test
+	public void testEquals_SamePathString()
+	{
+		final PropertyPath path = PropertyPath.compile(PATH);
+
+		assertEquals(path, PropertyPath.compile(PATH));
+		assertEquals(path.hashCode(), PATH.hashCode());
+		assertFalse(path.equals(PropertyPath.compile(TestBean.PROPERTYNAME_BEAN1)));
+	}
+
+	@Test
+	public void testCompile_SplitsSegments()
+	{
+		final PropertyPath path = PropertyPath.compile("customer.address.city");
+
+		assertTrue(path.isNested());
+		assertEquals(3, path.getSegmentCount());
+		assertSame("address", path.getSegment(1));
+		assertEquals("city", path.getLastSegment());
+		assertEquals("customer.address", path.getParentPath());
+		assertNull(PropertyPath.compile("customer").getParentPath());
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testCompile_EmptySegment()
+	{
+		PropertyPath.compile("customer..city");
+	}
+
+	@Test
+	public void testGetValue_FollowsPath()
+	{
+		assertEquals("TEST", valueModel.getValue());
+	}
+
+	@Test
+	public void testGetValue_NullIntermediateBean()
+	{
+		bean.setBean1(null);
+
+		assertNull(valueModel.getValue());
+	}
+
+	@Test
+	public void testGetValue_UnknownProperty()
+	{
+		assertNull(new PropertyPathValueModel(changeSupportFactory, beanChannel, PropertyPath.compile("bean1.unknown")).getValue());
+	}
+
+	@Test
+	public void testFiresOnLeafChange()
+	{
+		detail.setProperty("OTHER");
+
+		assertEquals(1, events.size());
+		assertEquals("TEST", events.get(0).getOldValue());
+		assertEquals("OTHER", events.get(0).getNewValue());
+	}
+
+	@Test
+	public void testFiresOnIntermediateChange()
+	{
+		final TestBeanDetail newDetail = new TestBeanDetail();
+		newDetail.setProperty("NEW");
+
+		bean.setBean1(newDetail);
+		detail.setProperty("IGNORED");
+		newDetail.setProperty("NEWER");
+
+		assertEquals(2, events.size());
+		assertEquals("NEW", events.get(0).getNewValue());
+		assertEquals("NEWER", events.get(1).getNewValue());
+	}
+
+	@Test
+	public void testFiresOnBeanChannelChange()
+	{
+		final TestBean newBean = new TestBean("2");
+
+		beanChannel.setValue(newBean);
+		bean.setBean1(new TestBeanDetail());
+
+		assertEquals(1, events.size());
+		assertEquals("TEST", events.get(0).getOldValue());
+		assertNull(events.get(0).getNewValue());
+	}
+
+	@Test
+	public void testRelease_StopsObservingBeans()
+	{
+		valueModel.release();
+		detail.setProperty("OTHER");
+		beanChannel.setValue(null);
+
+		assertTrue(events.isEmpty());
+		assertEquals(0, detail.getPropertyChangeListeners().length);
+	}
+
+	@Test(expected = UnsupportedOperationException.class)
+	public void testSetValue_ReadOnly()
+	{
+		valueModel.setValue("OTHER");
+	}
+}
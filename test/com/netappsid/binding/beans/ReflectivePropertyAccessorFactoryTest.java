@@ -0,0 +1,97 @@
+package com.netappsid.binding.beans;
+
+import static org.junit.Assert.*;
+
+import java.beans.PropertyChangeEvent;
+import java.beans.PropertyVetoException;
+
+import org.junit.Test;
+
+import com.jgoodies.binding.beans.PropertyAccessException;
+import com.netappsid.test.beans.TestBean;
+
+public class ReflectivePropertyAccessorFactoryTest
+{
+	private final ReflectivePropertyAccessorFactory factory = new ReflectivePropertyAccessorFactory();
+
+	@Test
+	public void testGetValue_ReadsProperty() throws Exception
+	{
+		final TestBean bean = new TestBean("1");
+		bean.setProperty1("TEST");
+
+		assertEquals("TEST", createAccessor(TestBean.class, TestBean.PROPERTYNAME_PROPERTY1).getValue(bean));
+	}
+
+	@Test
+	public void testSetValue_WritesProperty() throws Exception
+	{
+		final TestBean bean = new TestBean("1");
+
+		createAccessor(TestBean.class, TestBean.PROPERTYNAME_PROPERTY1).setValue(bean, "TEST");
+
+		assertEquals("TEST", bean.getProperty1());
+	}
+
+	@Test
+	public void testGetValue_NonPublicBeanClass() throws Exception
+	{
+		final HiddenBean bean = new HiddenBean();
+		bean.setValue("TEST");
+
+		assertEquals("TEST", createAccessor(HiddenBean.class, "value").getValue(bean));
+	}
+
+	@Test(expected = UnsupportedOperationException.class)
+	public void testSetValue_ReadOnlyProperty() throws Exception
+	{
+		createAccessor(HiddenBean.class, "readOnly").setValue(new HiddenBean(), "TEST");
+	}
+
+	@Test(expected = PropertyVetoException.class)
+	public void testSetValue_RethrowsVeto() throws Exception
+	{
+		createAccessor(HiddenBean.class, "vetoed").setValue(new HiddenBean(), "TEST");
+	}
+
+	@Test(expected = PropertyAccessException.class)
+	public void testSetValue_WrongTypeThrowsPropertyAccessException() throws Exception
+	{
+		createAccessor(HiddenBean.class, "value").setValue(new HiddenBean(), Integer.valueOf(1));
+	}
+
+	private PropertyAccessor createAccessor(Class<?> beanClass, String propertyName) throws Exception
+	{
+		return factory.createPropertyAccessor(BeanClassMetadata.forClass(beanClass).getProperty(propertyName));
+	}
+
+	static class HiddenBean
+	{
+		private String value;
+
+		public String getValue()
+		{
+			return value;
+		}
+
+		public void setValue(String value)
+		{
+			this.value = value;
+		}
+
+		public String getReadOnly()
+		{
+			return value;
+		}
+
+		public String getVetoed()
+		{
+			return value;
+		}
+
+		public void setVetoed(String vetoed) throws PropertyVetoException
+		{
+			throw new PropertyVetoException("vetoed", new PropertyChangeEvent(this, "vetoed", value, vetoed));
+		}
+	}
+}
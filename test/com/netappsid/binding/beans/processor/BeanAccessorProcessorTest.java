@@ -0,0 +1,222 @@
+package com.netappsid.binding.beans.processor;
+
+import static org.junit.Assert.*;
+
+import java.beans.Introspector;
+import java.beans.PropertyChangeEvent;
+import java.beans.PropertyChangeListener;
+import java.beans.PropertyDescriptor;
+import java.beans.PropertyVetoException;
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import javax.tools.JavaCompiler;
+import javax.tools.JavaFileObject;
+import javax.tools.StandardJavaFileManager;
+import javax.tools.ToolProvider;
+
+import org.junit.Assume;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import com.jgoodies.binding.beans.PropertyAccessException;
+import com.netappsid.binding.beans.BeanClassMetadata;
+import com.netappsid.binding.beans.BeanUtils;
+import com.netappsid.binding.beans.BooleanPropertyAccessor;
+import com.netappsid.binding.beans.GeneratedBeanAccessor;
+import com.netappsid.binding.beans.IntPropertyAccessor;
+import com.netappsid.binding.beans.PropertyAccessor;
+import com.netappsid.binding.beans.PropertyMetadata;
+import com.netappsid.test.beans.TestBean;
+
+public class BeanAccessorProcessorTest
+{
+	private static final String SAMPLE_BEAN_SOURCE = "package sample;\n" //
+			+ "import java.beans.*;\n" //
+			+ "@com.netappsid.binding.beans.GenerateAccessors\n" //
+			+ "public class SampleBean {\n" //
+			+ "  private final PropertyChangeSupport support = new PropertyChangeSupport(this);\n" //
+			+ "  private String name;\n" //
+			+ "  private int count;\n" //
+			+ "  private boolean active;\n" //
+			+ "  public String getName() { return name; }\n" //
+			+ "  public void setName(String name) { String old = this.name; this.name = name; support.firePropertyChange(\"name\", old, name); }\n" //
+			+ "  public int getCount() { return count; }\n" //
+			+ "  public void setCount(int count) { this.count = count; }\n" //
+			+ "  public void setCount(Integer count) { throw new IllegalStateException(); }\n" //
+			+ "  public boolean isActive() { return active; }\n" //
+			+ "  public void setActive(boolean active) { this.active = active; }\n" //
+			+ "  public String getReadOnly() { return name; }\n" //
+			+ "  public void setWriteOnly(String value) { name = value; }\n" //
+			+ "  public void setVetoed(String value) throws PropertyVetoException { throw new PropertyVetoException(\"vetoed\", null); }\n" //
+			+ "  public void addPropertyChangeListener(PropertyChangeListener l) { support.addPropertyChangeListener(l); }\n" //
+			+ "  public void removePropertyChangeListener(PropertyChangeListener l) { support.removePropertyChangeListener(l); }\n" //
+			+ "}\n";
+
+	private static Class<?> sampleBeanClass;
+
+	@BeforeClass
+	public static void compileSampleBean() throws Exception
+	{
+		final JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+		Assume.assumeNotNull(compiler);
+
+		final File directory = createTempDirectory();
+		final File sourceFile = new File(directory, "sample/SampleBean.java");
+		sourceFile.getParentFile().mkdirs();
+
+		final FileWriter writer = new FileWriter(sourceFile);
+
+		try
+		{
+			writer.write(SAMPLE_BEAN_SOURCE);
+		}
+		finally
+		{
+			writer.close();
+		}
+
+		final StandardJavaFileManager fileManager = compiler.getStandardFileManager(null, null, null);
+		final Iterable<? extends JavaFileObject> compilationUnits = fileManager.getJavaFileObjects(sourceFile);
+		final String classPath = new File(GeneratedBeanAccessor.class.getProtectionDomain().getCodeSource().getLocation().toURI()).getPath();
+		final List<String> options = Arrays.asList("-d", directory.getPath(), "-s", directory.getPath(), "-classpath", classPath);
+		final JavaCompiler.CompilationTask task = compiler.getTask(null, fileManager, null, options, null, compilationUnits);
+		task.setProcessors(Arrays.asList(new BeanAccessorProcessor()));
+
+		assertTrue(task.call());
+		fileManager.close();
+
+		sampleBeanClass = new URLClassLoader(new URL[] { directory.toURI().toURL() }, BeanAccessorProcessorTest.class.getClassLoader())
+				.loadClass("sample.SampleBean");
+	}
+
+	@Test
+	public void testForClass_DiscoversGeneratedAccessor() throws Exception
+	{
+		final GeneratedBeanAccessor generatedAccessor = BeanClassMetadata.forClass(sampleBeanClass).getGeneratedAccessor();
+
+		assertNotNull(generatedAccessor);
+		assertSame(sampleBeanClass, generatedAccessor.getBeanClass());
+		assertTrue(generatedAccessor.supportsBoundProperties());
+	}
+
+	@Test
+	public void testForClass_NoGeneratedAccessorFallsBackToIntrospection() throws Exception
+	{
+		assertNull(BeanClassMetadata.forClass(TestBean.class).getGeneratedAccessor());
+		assertNotNull(BeanClassMetadata.forClass(TestBean.class).getProperty(TestBean.PROPERTYNAME_PROPERTY1));
+	}
+
+	@Test
+	public void testGetProperties_SameAsIntrospector() throws Exception
+	{
+		final Set<String> introspected = new HashSet<String>();
+		final Set<String> generated = new HashSet<String>();
+
+		for (PropertyDescriptor propertyDescriptor : Introspector.getBeanInfo(sampleBeanClass).getPropertyDescriptors())
+		{
+			introspected.add(propertyDescriptor.getName() + ":" + propertyDescriptor.getReadMethod() + ":" + propertyDescriptor.getWriteMethod());
+		}
+
+		for (PropertyMetadata property : BeanClassMetadata.forClass(sampleBeanClass).getProperties())
+		{
+			generated.add(property.getName() + ":" + property.getReadMethod() + ":" + property.getWriteMethod());
+		}
+
+		assertEquals(introspected, generated);
+	}
+
+	@Test
+	public void testSetValue_ReadsAndWritesThroughGeneratedAccessor() throws Exception
+	{
+		final Object bean = sampleBeanClass.newInstance();
+		final BeanClassMetadata metadata = BeanClassMetadata.forClass(sampleBeanClass);
+
+		BeanUtils.setValue(bean, metadata.getProperty("name"), "TEST");
+		BeanUtils.setValue(bean, metadata.getProperty("count"), 5);
+		BeanUtils.setValue(bean, metadata.getProperty("active"), true);
+
+		assertEquals("TEST", BeanUtils.getValue(bean, metadata.getProperty("name")));
+		assertEquals(5, BeanUtils.getValue(bean, metadata.getProperty("count")));
+		assertEquals(Boolean.TRUE, BeanUtils.getValue(bean, metadata.getProperty("active")));
+		assertEquals("TEST", BeanUtils.getValue(bean, metadata.getProperty("readOnly")));
+	}
+
+	@Test
+	public void testGetAccessor_PrimitivePropertyIsTyped() throws Exception
+	{
+		final Object bean = sampleBeanClass.newInstance();
+		final PropertyAccessor accessor = BeanClassMetadata.forClass(sampleBeanClass).getProperty("count").getAccessor();
+
+		assertTrue(accessor instanceof IntPropertyAccessor);
+
+		((IntPropertyAccessor) accessor).setInt(bean, 7);
+
+		assertEquals(7, ((IntPropertyAccessor) accessor).getInt(bean));
+		assertTrue(BeanClassMetadata.forClass(sampleBeanClass).getProperty("active").getAccessor() instanceof BooleanPropertyAccessor);
+	}
+
+	@Test(expected = UnsupportedOperationException.class)
+	public void testSetValue_ReadOnlyProperty() throws Exception
+	{
+		BeanUtils.setValue(sampleBeanClass.newInstance(), BeanClassMetadata.forClass(sampleBeanClass).getProperty("readOnly"), "TEST");
+	}
+
+	@Test(expected = UnsupportedOperationException.class)
+	public void testGetValue_WriteOnlyProperty() throws Exception
+	{
+		BeanUtils.getValue(sampleBeanClass.newInstance(), BeanClassMetadata.forClass(sampleBeanClass).getProperty("writeOnly"));
+	}
+
+	@Test(expected = PropertyAccessException.class)
+	public void testSetValue_NullPrimitiveThrowsPropertyAccessException() throws Exception
+	{
+		BeanUtils.setValue(sampleBeanClass.newInstance(), BeanClassMetadata.forClass(sampleBeanClass).getProperty("count"), null);
+	}
+
+	@Test(expected = PropertyVetoException.class)
+	public void testSetValue_RethrowsVeto() throws Exception
+	{
+		BeanUtils.setValue(sampleBeanClass.newInstance(), BeanClassMetadata.forClass(sampleBeanClass).getProperty("vetoed"), "TEST");
+	}
+
+	@Test
+	public void testAddPropertyChangeListener_RegistersThroughGeneratedAccessor() throws Exception
+	{
+		final Object bean = sampleBeanClass.newInstance();
+		final List<PropertyChangeEvent> events = new ArrayList<PropertyChangeEvent>();
+		final PropertyChangeListener listener = new PropertyChangeListener()
+			{
+				@Override
+				public void propertyChange(PropertyChangeEvent evt)
+				{
+					events.add(evt);
+				}
+			};
+
+		BeanUtils.addPropertyChangeListener(bean, listener);
+		BeanUtils.setValue(bean, BeanClassMetadata.forClass(sampleBeanClass).getProperty("name"), "TEST");
+		BeanUtils.removePropertyChangeListener(bean, listener);
+		BeanUtils.setValue(bean, BeanClassMetadata.forClass(sampleBeanClass).getProperty("name"), "OTHER");
+
+		assertEquals(1, events.size());
+		assertEquals("TEST", events.get(0).getNewValue());
+	}
+
+	private static File createTempDirectory() throws IOException
+	{
+		final File directory = File.createTempFile("beanaccessor", "");
+		directory.delete();
+		directory.mkdirs();
+		directory.deleteOnExit();
+		return directory;
+	}
+}
@@ -0,0 +1,142 @@
+package com.netappsid.binding.beans.support;
+
+import static org.junit.Assert.*;
+
+import java.awt.EventQueue;
+import java.beans.PropertyChangeEvent;
+import java.beans.PropertyChangeListener;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import org.junit.Test;
+
+import com.netappsid.binding.value.ValueHolder;
+
+public class AsyncSwingChangeSupportFactoryTest
+{
+	private final List<PropertyChangeEvent> events = Collections.synchronizedList(new ArrayList<PropertyChangeEvent>());
+	private final PropertyChangeListener listener = new PropertyChangeListener()
+		{
+			@Override
+			public void propertyChange(PropertyChangeEvent evt)
+			{
+				assertTrue(EventQueue.isDispatchThread());
+				events.add(evt);
+			}
+		};
+
+	@Test
+	public void testFire_OffEventDispatchThreadIsQueuedAndCoalesced() throws Exception
+	{
+		final AsyncSwingChangeSupportFactory factory = new AsyncSwingChangeSupportFactory();
+		final ValueHolder valueHolder = new ValueHolder(factory, 0);
+		valueHolder.addValueChangeListener(listener);
+
+		// Hold the event dispatch thread so that every change is queued before the delivery runs
+		final Object monitor = new Object();
+
+		synchronized (monitor)
+		{
+			EventQueue.invokeLater(new Runnable()
+				{
+					@Override
+					public void run()
+					{
+						synchronized (monitor)
+						{
+						}
+					}
+				});
+
+			for (int index = 1; index <= 1000; index++)
+			{
+				valueHolder.setValue(index);
+			}
+
+			assertEquals(1, factory.getPendingEventCount());
+		}
+
+		factory.flush();
+
+		assertEquals(1, events.size());
+		assertEquals(0, events.get(0).getOldValue());
+		assertEquals(1000, events.get(0).getNewValue());
+		assertEquals(0, factory.getPendingEventCount());
+	}
+
+	@Test
+	public void testFire_OnEventDispatchThreadIsDeliveredAtOnce() throws Exception
+	{
+		final ValueHolder valueHolder = new ValueHolder(new AsyncSwingChangeSupportFactory(), "A");
+		valueHolder.addValueChangeListener(listener);
+
+		EventQueue.invokeAndWait(new Runnable()
+			{
+				@Override
+				public void run()
+				{
+					valueHolder.setValue("B");
+					assertEquals(1, events.size());
+				}
+			});
+	}
+
+	@Test
+	public void testFire_OnEventDispatchThreadAfterQueuedChanges() throws Exception
+	{
+		final AsyncSwingChangeSupportFactory factory = new AsyncSwingChangeSupportFactory();
+		final ValueHolder valueHolder = new ValueHolder(factory, "A");
+		valueHolder.addValueChangeListener(listener);
+
+		EventQueue.invokeAndWait(new Runnable()
+			{
+				@Override
+				public void run()
+				{
+					final Thread worker = new Thread()
+						{
+							@Override
+							public void run()
+							{
+								valueHolder.setValue("WORKER");
+							}
+						};
+
+					worker.start();
+
+					try
+					{
+						worker.join();
+					}
+					catch (InterruptedException e)
+					{
+						throw new IllegalStateException(e);
+					}
+
+					// The worker's change is queued behind this task
+					valueHolder.setValue("EDT");
+				}
+			});
+
+		factory.flush();
+
+		assertEquals("EDT", valueHolder.getValue());
+		assertEquals("EDT", events.get(events.size() - 1).getNewValue());
+		assertEquals(0, factory.getPendingEventCount());
+	}
+
+	@Test
+	public void testFire_SynchronousModeWaitsForDelivery()
+	{
+		final AsyncSwingChangeSupportFactory factory = new AsyncSwingChangeSupportFactory(true);
+		final ValueHolder valueHolder = new ValueHolder(factory, "A");
+		valueHolder.addValueChangeListener(listener);
+
+		valueHolder.setValue("B");
+		valueHolder.setValue("C");
+
+		assertEquals(2, events.size());
+		assertEquals(0, factory.getPendingEventCount());
+	}
+}
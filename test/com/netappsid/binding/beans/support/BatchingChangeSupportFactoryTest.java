@@ -0,0 +1,154 @@
+package com.netappsid.binding.beans.support;
+
+import static org.junit.Assert.*;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import com.netappsid.binding.beans.support.IdentityPropertyChangeSupportTest.PropertyEventListenerSpy;
+import com.netappsid.binding.value.ValueHolder;
+
+public class BatchingChangeSupportFactoryTest
+{
+	private BatchingChangeSupportFactory factory;
+	private PropertyEventListenerSpy eventSpy;
+
+	@Before
+	public void setUp()
+	{
+		factory = new BatchingChangeSupportFactory();
+		eventSpy = new PropertyEventListenerSpy();
+	}
+
+	@Test
+	public void testFire_OutsideBatchIsDelivered()
+	{
+		final ValueHolder valueHolder = new ValueHolder(factory, "A");
+
+		valueHolder.addValueChangeListener(eventSpy);
+		valueHolder.setValue("B");
+
+		assertEquals(1, eventSpy.getEvents().size());
+	}
+
+	@Test
+	public void testEndBatch_CoalescesChangesOfSameProperty()
+	{
+		final ValueHolder valueHolder = new ValueHolder(factory, "A");
+		valueHolder.addValueChangeListener(eventSpy);
+
+		factory.beginBatch();
+		valueHolder.setValue("B");
+		valueHolder.setValue("C");
+		valueHolder.setValue("D");
+
+		eventSpy.assertNoEventRaised();
+
+		factory.endBatch();
+
+		assertEquals(1, eventSpy.getEvents().size());
+		assertEquals("A", eventSpy.getEvents().get(0).getOldValue());
+		assertEquals("D", eventSpy.getEvents().get(0).getNewValue());
+	}
+
+	@Test
+	public void testEndBatch_KeepsOrderOfFirstChange()
+	{
+		final ValueHolder first = new ValueHolder(factory, "A");
+		final ValueHolder second = new ValueHolder(factory, "A");
+		first.addValueChangeListener(eventSpy);
+		second.addValueChangeListener(eventSpy);
+
+		factory.beginBatch();
+		first.setValue("B");
+		second.setValue("B");
+		first.setValue("C");
+		factory.endBatch();
+
+		assertEquals(2, eventSpy.getEvents().size());
+		assertSame(first, eventSpy.getEvents().get(0).getSource());
+		assertEquals("C", eventSpy.getEvents().get(0).getNewValue());
+		assertSame(second, eventSpy.getEvents().get(1).getSource());
+	}
+
+	@Test
+	public void testEndBatch_ChangeBackToIdenticalValueIsDropped()
+	{
+		final ValueHolder valueHolder = new ValueHolder(factory, "A");
+		valueHolder.addValueChangeListener(eventSpy);
+
+		factory.beginBatch();
+		valueHolder.setValue("B");
+		valueHolder.setValue("A");
+		factory.endBatch();
+
+		eventSpy.assertNoEventRaised();
+	}
+
+	@Test
+	public void testEndBatch_NestedBatchesDeliverOnOutermostEnd()
+	{
+		final ValueHolder valueHolder = new ValueHolder(factory, "A");
+		valueHolder.addValueChangeListener(eventSpy);
+
+		factory.beginBatch();
+		factory.beginBatch();
+		valueHolder.setValue("B");
+		factory.endBatch();
+
+		eventSpy.assertNoEventRaised();
+		assertTrue(factory.isBatching());
+
+		factory.endBatch();
+
+		assertEquals(1, eventSpy.getEvents().size());
+		assertFalse(factory.isBatching());
+	}
+
+	@Test
+	public void testEndBatch_UnnamedAndIndexedChangesAreNotMerged()
+	{
+		final IdentityPropertyChangeSupport support = factory.createIdentityPropertyChangeSupport(this);
+		support.addPropertyChangeListener(eventSpy);
+
+		factory.beginBatch();
+		support.firePropertyChange(null, "A", "B");
+		support.firePropertyChange(null, "B", "C");
+		support.fireIndexedPropertyChange("list", 0, "A", "B");
+		support.fireIndexedPropertyChange("list", 1, "A", "B");
+		factory.endBatch();
+
+		assertEquals(4, eventSpy.getEvents().size());
+	}
+
+	@Test
+	public void testBeginBatch_OnlyAffectsCurrentThread() throws Exception
+	{
+		final ValueHolder valueHolder = new ValueHolder(factory, "A");
+		valueHolder.addValueChangeListener(eventSpy);
+
+		factory.beginBatch();
+
+		final Thread thread = new Thread()
+			{
+				@Override
+				public void run()
+				{
+					valueHolder.setValue("B");
+				}
+			};
+
+		thread.start();
+		thread.join();
+
+		assertEquals(1, eventSpy.getEvents().size());
+
+		factory.endBatch();
+	}
+
+	@Test(expected = IllegalStateException.class)
+	public void testEndBatch_WithoutBatch()
+	{
+		factory.endBatch();
+	}
+}
@@ -0,0 +1,213 @@
+package com.netappsid.binding.beans.support;
+
+import static org.junit.Assert.*;
+
+import java.beans.PropertyChangeEvent;
+import java.beans.PropertyChangeListener;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.netappsid.binding.value.ValueHolder;
+
+public class ExecutorChangeSupportFactoryTest
+{
+	private ExecutorService executor;
+
+	@Before
+	public void setUp()
+	{
+		executor = Executors.newFixedThreadPool(4);
+	}
+
+	@After
+	public void tearDown()
+	{
+		executor.shutdownNow();
+	}
+
+	@Test
+	public void testFire_DeliveredOnExecutorInOrder() throws Exception
+	{
+		final ExecutorChangeSupportFactory factory = new ExecutorChangeSupportFactory(executor);
+		final ValueHolder valueHolder = new ValueHolder(factory, 0);
+		final List<Object> values = Collections.synchronizedList(new ArrayList<Object>());
+		final Thread firingThread = Thread.currentThread();
+
+		valueHolder.addValueChangeListener(new PropertyChangeListener()
+			{
+				@Override
+				public void propertyChange(PropertyChangeEvent evt)
+				{
+					if (Thread.currentThread() != firingThread)
+					{
+						values.add(evt.getNewValue());
+					}
+				}
+			});
+
+		for (int index = 1; index <= 1000; index++)
+		{
+			valueHolder.setValue(index);
+		}
+
+		assertTrue(factory.awaitQuiescence(10, TimeUnit.SECONDS));
+		assertEquals(1000, values.size());
+
+		for (int index = 0; index < values.size(); index++)
+		{
+			assertEquals(index + 1, values.get(index));
+		}
+
+		assertEquals(0, factory.getPendingEventCount());
+	}
+
+	@Test
+	public void testFire_BlocksWhenBoundReached() throws Exception
+	{
+		final ExecutorChangeSupportFactory factory = new ExecutorChangeSupportFactory(executor, 2);
+		final ValueHolder valueHolder = new ValueHolder(factory, 0);
+		final CountDownLatch release = new CountDownLatch(1);
+
+		valueHolder.addValueChangeListener(new PropertyChangeListener()
+			{
+				@Override
+				public void propertyChange(PropertyChangeEvent evt)
+				{
+					try
+					{
+						release.await();
+					}
+					catch (InterruptedException e)
+					{
+						Thread.currentThread().interrupt();
+					}
+				}
+			});
+
+		final Thread firingThread = new Thread()
+			{
+				@Override
+				public void run()
+				{
+					for (int index = 1; index <= 3; index++)
+					{
+						valueHolder.setValue(index);
+					}
+				}
+			};
+
+		firingThread.start();
+		firingThread.join(500);
+
+		assertTrue(firingThread.isAlive());
+		assertEquals(2, factory.getPendingEventCount());
+
+		release.countDown();
+		firingThread.join(5000);
+
+		assertFalse(firingThread.isAlive());
+		assertTrue(factory.awaitQuiescence(5, TimeUnit.SECONDS));
+	}
+
+	@Test
+	public void testFire_ListenersFiringFromDeliveryDoNotDeadlock() throws Exception
+	{
+		final ExecutorChangeSupportFactory factory = new ExecutorChangeSupportFactory(Executors.newSingleThreadExecutor(), 1);
+		final ValueHolder source = new ValueHolder(factory, 0);
+		final ValueHolder target = new ValueHolder(factory, 0);
+		final List<Object> values = Collections.synchronizedList(new ArrayList<Object>());
+
+		source.addValueChangeListener(new PropertyChangeListener()
+			{
+				@Override
+				public void propertyChange(PropertyChangeEvent evt)
+				{
+					target.setValue(evt.getNewValue());
+				}
+			});
+		target.addValueChangeListener(new PropertyChangeListener()
+			{
+				@Override
+				public void propertyChange(PropertyChangeEvent evt)
+				{
+					values.add(evt.getNewValue());
+				}
+			});
+
+		source.setValue(1);
+		source.setValue(2);
+
+		assertTrue(factory.awaitQuiescence(5, TimeUnit.SECONDS));
+		assertEquals(2, values.size());
+		((ExecutorService) factory.getExecutor()).shutdownNow();
+	}
+
+	@Test
+	public void testFire_FailingListenerDoesNotStopDelivery() throws Exception
+	{
+		final ExecutorChangeSupportFactory factory = new ExecutorChangeSupportFactory(executor);
+		final ValueHolder valueHolder = new ValueHolder(factory, 0);
+		final List<Object> values = Collections.synchronizedList(new ArrayList<Object>());
+
+		valueHolder.addValueChangeListener(new PropertyChangeListener()
+			{
+				@Override
+				public void propertyChange(PropertyChangeEvent evt)
+				{
+					values.add(evt.getNewValue());
+
+					if (evt.getNewValue().equals(1))
+					{
+						throw new IllegalStateException("Expected");
+					}
+				}
+			});
+
+		valueHolder.setValue(1);
+		valueHolder.setValue(2);
+
+		assertTrue(factory.awaitQuiescence(5, TimeUnit.SECONDS));
+		assertEquals(2, values.size());
+	}
+
+	@Test
+	public void testFire_RejectedDeliveryRunsOnFiringThread() throws Exception
+	{
+		final ExecutorChangeSupportFactory factory = new ExecutorChangeSupportFactory(new Executor()
+			{
+				@Override
+				public void execute(Runnable command)
+				{
+					throw new RejectedExecutionException();
+				}
+			});
+		final ValueHolder valueHolder = new ValueHolder(factory, 0);
+		final List<Thread> threads = new ArrayList<Thread>();
+
+		valueHolder.addValueChangeListener(new PropertyChangeListener()
+			{
+				@Override
+				public void propertyChange(PropertyChangeEvent evt)
+				{
+					threads.add(Thread.currentThread());
+				}
+			});
+
+		valueHolder.setValue(1);
+
+		assertEquals(1, threads.size());
+		assertSame(Thread.currentThread(), threads.get(0));
+		assertTrue(factory.awaitQuiescence(0, TimeUnit.SECONDS));
+	}
+}
@@ -67,6 +67,11 @@ public class IdentityPropertyChangeSupportTest
 		{
 			events.add(evt);
 		}
+
+		public List<PropertyChangeEvent> getEvents()
+		{
+			return events;
+		}
 		
 		public void assertNoEventRaised()
 		{
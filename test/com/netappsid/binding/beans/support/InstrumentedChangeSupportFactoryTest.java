@@ -0,0 +1,204 @@
+package com.netappsid.binding.beans.support;
+
+import static org.junit.Assert.*;
+
+import java.beans.PropertyChangeEvent;
+import java.beans.PropertyChangeListener;
+import java.lang.ref.WeakReference;
+import java.lang.management.ManagementFactory;
+
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import com.netappsid.binding.value.ValueHolder;
+
+public class InstrumentedChangeSupportFactoryTest
+{
+	private BindingMetrics metrics;
+	private InstrumentedChangeSupportFactory factory;
+	private int notificationCount;
+	private PropertyChangeListener listener;
+
+	@Before
+	public void setUp()
+	{
+		metrics = new BindingMetrics();
+		metrics.setEnabled(true);
+		factory = new InstrumentedChangeSupportFactory(new StandardChangeSupportFactory(), metrics);
+		notificationCount = 0;
+		listener = new PropertyChangeListener()
+			{
+				@Override
+				public void propertyChange(PropertyChangeEvent evt)
+				{
+					notificationCount++;
+				}
+			};
+	}
+
+	@Test
+	public void testFire_CountsEachEventOnce()
+	{
+		final ValueHolder valueHolder = new ValueHolder(factory, 0);
+		valueHolder.addValueChangeListener(listener);
+		valueHolder.addPropertyChangeListener(listener);
+
+		valueHolder.setValue(1);
+		valueHolder.setValue(2);
+
+		final BindingMetricsSnapshot snapshot = metrics.snapshot();
+
+		assertEquals(4, notificationCount);
+		assertEquals(2, snapshot.getEventCount(ValueHolder.class, ValueHolder.PROPERTYNAME_VALUE));
+		assertEquals(2, snapshot.getTotalEventCount());
+		assertEquals(4, snapshot.getListenerLatencies().get(listener.getClass().getName()).getCount());
+	}
+
+	@Test
+	public void testFire_RecordsCascadeDepth()
+	{
+		final ValueHolder source = new ValueHolder(factory, 0);
+		final ValueHolder target = new ValueHolder(factory, 0);
+
+		source.addValueChangeListener(new PropertyChangeListener()
+			{
+				@Override
+				public void propertyChange(PropertyChangeEvent evt)
+				{
+					target.setValue(evt.getNewValue());
+				}
+			});
+		target.addValueChangeListener(listener);
+
+		source.setValue(1);
+
+		final BindingMetricsSnapshot snapshot = metrics.snapshot();
+
+		assertEquals(2, snapshot.getMaxCascadeDepth());
+		assertEquals(1, snapshot.getCascadeDepthCounts()[0]);
+		assertEquals(1, snapshot.getCascadeDepthCounts()[1]);
+	}
+
+	@Test
+	public void testFire_CascadeOnSameSupportCountsEachEventOnce()
+	{
+		final ValueHolder valueHolder = new ValueHolder(factory, 0);
+
+		valueHolder.addValueChangeListener(new PropertyChangeListener()
+			{
+				@Override
+				public void propertyChange(PropertyChangeEvent evt)
+				{
+					if (Integer.valueOf(1).equals(evt.getNewValue()))
+					{
+						valueHolder.setValue(2);
+					}
+				}
+			});
+		valueHolder.addValueChangeListener(listener);
+
+		valueHolder.setValue(1);
+
+		final BindingMetricsSnapshot snapshot = metrics.snapshot();
+
+		assertEquals(2, notificationCount);
+		assertEquals(2, snapshot.getTotalEventCount());
+		assertEquals(1, snapshot.getCascadeDepthCounts()[0]);
+		assertEquals(1, snapshot.getCascadeDepthCounts()[1]);
+	}
+
+	@Test
+	public void testFire_DoesNotRetainDeliveredEvent() throws Exception
+	{
+		ValueHolder valueHolder = new ValueHolder(factory, null);
+		Object value = new Object();
+		final WeakReference<Object> reference = new WeakReference<Object>(value);
+
+		valueHolder.addValueChangeListener(listener);
+		valueHolder.setValue(value);
+		valueHolder = null;
+		value = null;
+
+		for (int attempt = 0; attempt < 20 && reference.get() != null; attempt++)
+		{
+			System.gc();
+			Thread.sleep(10);
+		}
+
+		assertNull(reference.get());
+		assertEquals(1, metrics.getTotalEventCount());
+	}
+
+	@Test
+	public void testFire_DisabledRecordsNothing()
+	{
+		final ValueHolder valueHolder = new ValueHolder(factory, 0);
+		valueHolder.addValueChangeListener(listener);
+		metrics.setEnabled(false);
+
+		valueHolder.setValue(1);
+
+		assertEquals(1, notificationCount);
+		assertEquals(0, metrics.getTotalEventCount());
+		assertTrue(metrics.snapshot().getListenerLatencies().isEmpty());
+	}
+
+	@Test
+	public void testRemovePropertyChangeListener_RemovesWrappedListener()
+	{
+		final ValueHolder valueHolder = new ValueHolder(factory, 0);
+		valueHolder.addValueChangeListener(listener);
+
+		assertSame(listener, valueHolder.getPropertyChangeListeners(ValueHolder.PROPERTYNAME_VALUE)[0]);
+
+		valueHolder.removeValueChangeListener(listener);
+		valueHolder.setValue(1);
+
+		assertEquals(0, notificationCount);
+		assertEquals(0, valueHolder.getPropertyChangeListeners(ValueHolder.PROPERTYNAME_VALUE).length);
+	}
+
+	@Test
+	public void testReset_ClearsMetrics()
+	{
+		final ValueHolder valueHolder = new ValueHolder(factory, 0);
+		valueHolder.addValueChangeListener(listener);
+		valueHolder.setValue(1);
+
+		final BindingMetricsSnapshot snapshot = metrics.snapshot();
+		metrics.reset();
+
+		assertEquals(1, snapshot.getTotalEventCount());
+		assertEquals(0, metrics.getTotalEventCount());
+		assertEquals(0, metrics.getMaxCascadeDepth());
+	}
+
+	@Test
+	public void testRegister_ExposesMetricsAsMBean() throws Exception
+	{
+		final MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+		final ObjectName name = new ObjectName(BindingMetrics.DEFAULT_OBJECT_NAME + ",test=" + getClass().getSimpleName());
+		final ValueHolder valueHolder = new ValueHolder(factory, 0);
+		valueHolder.addValueChangeListener(listener);
+		valueHolder.setValue(1);
+
+		metrics.register(server, name);
+
+		try
+		{
+			assertEquals(1L, server.getAttribute(name, "TotalEventCount"));
+			assertEquals(1, ((String[]) server.getAttribute(name, "EventCounts")).length);
+
+			server.invoke(name, "reset", null, null);
+
+			assertEquals(0L, server.getAttribute(name, "TotalEventCount"));
+		}
+		finally
+		{
+			metrics.unregister(server, name);
+		}
+	}
+}
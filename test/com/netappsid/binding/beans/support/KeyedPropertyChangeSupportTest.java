@@ -0,0 +1,218 @@
+package com.netappsid.binding.beans.support;
+
+import static org.junit.Assert.*;
+
+import java.beans.IndexedPropertyChangeEvent;
+import java.beans.PropertyChangeEvent;
+import java.beans.PropertyChangeListener;
+import java.beans.PropertyChangeListenerProxy;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import com.netappsid.binding.beans.support.IdentityPropertyChangeSupportTest.PropertyEventListenerSpy;
+
+public class KeyedPropertyChangeSupportTest
+{
+	private Object source;
+	private KeyedPropertyChangeSupport support;
+	private PropertyEventListenerSpy eventSpy;
+
+	@Before
+	public void setUp()
+	{
+		source = new Object();
+		support = new KeyedPropertyChangeSupport(source);
+		eventSpy = new PropertyEventListenerSpy();
+	}
+
+	@Test
+	public void testFireIdentityPropertyChange_NoEventIfSameIdentity()
+	{
+		final Object value = "value";
+
+		support.addPropertyChangeListener(eventSpy);
+		support.fireIdentityPropertyChange("test", value, value);
+
+		eventSpy.assertNoEventRaised();
+	}
+
+	@Test
+	public void testFireIdentityPropertyChange_EqualValuesFired()
+	{
+		final String oldValue = new String("value");
+		final String newValue = new String("value");
+
+		support.addPropertyChangeListener(eventSpy);
+		support.fireIdentityPropertyChange("test", oldValue, newValue);
+
+		eventSpy.assertEventRaised(source, "test", oldValue, newValue);
+	}
+
+	@Test
+	public void testFirePropertyChange_OnlyNamedListenersOfProperty()
+	{
+		final PropertyEventListenerSpy otherSpy = new PropertyEventListenerSpy();
+
+		support.addPropertyChangeListener("test", eventSpy);
+		support.addPropertyChangeListener("other", otherSpy);
+		support.firePropertyChange("test", "old", "new");
+
+		eventSpy.assertEventRaised(source, "test", "old", "new");
+		otherSpy.assertNoEventRaised();
+	}
+
+	@Test
+	public void testFirePropertyChange_NullNameOnlyReachesUnnamedListeners()
+	{
+		final PropertyEventListenerSpy namedSpy = new PropertyEventListenerSpy();
+
+		support.addPropertyChangeListener(eventSpy);
+		support.addPropertyChangeListener("test", namedSpy);
+		support.firePropertyChange(null, "old", "new");
+
+		eventSpy.assertEventRaised(source, null, "old", "new");
+		namedSpy.assertNoEventRaised();
+	}
+
+	@Test
+	public void testFireIndexedPropertyChange()
+	{
+		final List<PropertyChangeEvent> events = new ArrayList<PropertyChangeEvent>();
+
+		support.addPropertyChangeListener("test", new PropertyChangeListener()
+			{
+				@Override
+				public void propertyChange(PropertyChangeEvent evt)
+				{
+					events.add(evt);
+				}
+			});
+		support.fireIndexedPropertyChange("test", 2, 1, 3);
+
+		assertEquals(1, events.size());
+		assertEquals(2, ((IndexedPropertyChangeEvent) events.get(0)).getIndex());
+	}
+
+	@Test
+	public void testRemovePropertyChangeListener()
+	{
+		support.addPropertyChangeListener(eventSpy);
+		support.addPropertyChangeListener("test", eventSpy);
+		support.removePropertyChangeListener(eventSpy);
+		support.removePropertyChangeListener("test", eventSpy);
+		support.firePropertyChange("test", "old", "new");
+
+		eventSpy.assertNoEventRaised();
+		assertFalse(support.hasListeners("test"));
+		assertEquals(0, support.getPropertyChangeListeners().length);
+	}
+
+	@Test
+	public void testAddPropertyChangeListener_ProxyIsRegisteredByName()
+	{
+		support.addPropertyChangeListener(new PropertyChangeListenerProxy("test", eventSpy));
+
+		assertTrue(support.hasListeners("test"));
+		assertFalse(support.hasListeners("other"));
+		assertArrayEquals(new PropertyChangeListener[] { eventSpy }, support.getPropertyChangeListeners("test"));
+
+		final PropertyChangeListener[] listeners = support.getPropertyChangeListeners();
+
+		assertEquals(1, listeners.length);
+		assertEquals("test", ((PropertyChangeListenerProxy) listeners[0]).getPropertyName());
+	}
+
+	@Test
+	public void testAddPropertyChangeListener_ConcurrentRegistrationsAreKept() throws Exception
+	{
+		final int threadCount = 8;
+		final int listenerCount = 500;
+		final CountDownLatch start = new CountDownLatch(1);
+		final List<Thread> threads = new ArrayList<Thread>();
+
+		for (int thread = 0; thread < threadCount; thread++)
+		{
+			final String propertyName = thread % 2 == 0 ? null : "test";
+
+			threads.add(new Thread()
+				{
+					@Override
+					public void run()
+					{
+						try
+						{
+							start.await();
+						}
+						catch (InterruptedException e)
+						{
+							return;
+						}
+
+						for (int index = 0; index < listenerCount; index++)
+						{
+							if (propertyName == null)
+							{
+								support.addPropertyChangeListener(new PropertyEventListenerSpy());
+							}
+							else
+							{
+								support.addPropertyChangeListener(propertyName, new PropertyEventListenerSpy());
+							}
+						}
+					}
+				});
+		}
+
+		for (Thread thread : threads)
+		{
+			thread.start();
+		}
+
+		start.countDown();
+
+		for (Thread thread : threads)
+		{
+			thread.join();
+		}
+
+		assertEquals(threadCount * listenerCount, support.getPropertyChangeListeners().length);
+		assertEquals(threadCount * listenerCount / 2, support.getPropertyChangeListeners("test").length);
+	}
+
+	@Test
+	public void testSerialization_KeepsSerializableListeners() throws Exception
+	{
+		support = new KeyedPropertyChangeSupport("source");
+		support.addPropertyChangeListener("test", new SerializableListener());
+		support.addPropertyChangeListener(eventSpy);
+
+		final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		final ObjectOutputStream out = new ObjectOutputStream(bytes);
+		out.writeObject(support);
+		out.close();
+
+		final KeyedPropertyChangeSupport copy = (KeyedPropertyChangeSupport) new ObjectInputStream(new ByteArrayInputStream(bytes.toByteArray())).readObject();
+
+		assertEquals(1, copy.getPropertyChangeListeners("test").length);
+		assertEquals(1, copy.getPropertyChangeListeners().length);
+	}
+
+	private static final class SerializableListener implements PropertyChangeListener, Serializable
+	{
+		private static final long serialVersionUID = 1L;
+
+		@Override
+		public void propertyChange(PropertyChangeEvent evt)
+		{
+		}
+	}
+}
@@ -0,0 +1,152 @@
+package com.netappsid.binding.beans.support;
+
+import static org.junit.Assert.*;
+
+import java.beans.PropertyChangeEvent;
+import java.beans.PropertyChangeListener;
+import java.util.List;
+
+import org.junit.Test;
+
+import com.netappsid.binding.beans.IndirectPropertyChangeSupport;
+import com.netappsid.binding.value.ValueHolder;
+
+public class ListenerLeakTrackerTest
+{
+	private final ListenerLeakTracker tracker = new ListenerLeakTracker(true);
+	private final ChangeSupportFactory factory = new LeakTrackingChangeSupportFactory(new StandardChangeSupportFactory(), tracker);
+
+	@Test
+	public void testGetSuspectedLeaks_ReportsGrowingSources()
+	{
+		final ValueHolder leaking = new ValueHolder(factory, 0);
+		final ValueHolder stable = new ValueHolder(factory, 0);
+
+		for (int sample = 0; sample < 3; sample++)
+		{
+			final PropertyChangeListener listener = new NullListener();
+
+			leaking.addValueChangeListener(new NullListener());
+			stable.addValueChangeListener(listener);
+			tracker.takeSample();
+			stable.removeValueChangeListener(listener);
+		}
+
+		final List<SuspectedListenerLeak> leaks = tracker.getSuspectedLeaks();
+
+		assertEquals(1, leaks.size());
+		assertTrue(leaks.get(0).getSourceDescription().startsWith(ValueHolder.class.getName() + "@"));
+		assertEquals(3, leaks.get(0).getListenerCounts().size());
+		assertEquals(3, leaks.get(0).getRegistrationSites().size());
+		assertTrue(leaks.get(0).getRegistrationSites().get(0).contains(getClass().getName()));
+		assertTrue(tracker.dumpSuspectedLeaks().contains(NullListener.class.getName()));
+	}
+
+	@Test
+	public void testListenerRemoved_ForgetsRegistrationSite()
+	{
+		final ValueHolder valueHolder = new ValueHolder(factory, 0);
+		final NullListener listener = new NullListener();
+
+		valueHolder.addValueChangeListener(new NullListener());
+		tracker.takeSample();
+		valueHolder.addValueChangeListener(listener);
+		valueHolder.addValueChangeListener(new NullListener());
+		valueHolder.removeValueChangeListener(listener);
+		tracker.takeSample();
+
+		final List<SuspectedListenerLeak> leaks = tracker.getSuspectedLeaks();
+
+		assertEquals(1, leaks.size());
+		assertEquals(2, leaks.get(0).getRegistrationSites().size());
+		assertEquals(Integer.valueOf(2), tracker.getListenerCounts().values().iterator().next());
+	}
+
+	@Test
+	public void testListenerRemoved_IgnoresListenerNotRegistered()
+	{
+		final ValueHolder valueHolder = new ValueHolder(factory, 0);
+		final NullListener listener = new NullListener();
+		final Object source = new Object();
+
+		valueHolder.addValueChangeListener(new NullListener());
+		valueHolder.addValueChangeListener(listener);
+		valueHolder.removeValueChangeListener(listener);
+		valueHolder.removeValueChangeListener(listener);
+		valueHolder.removeValueChangeListener(new NullListener());
+
+		assertEquals(Integer.valueOf(1), tracker.getListenerCounts().values().iterator().next());
+
+		tracker.reset();
+		tracker.listenerAdded(source, listener);
+		tracker.listenerRemoved(source, new NullListener());
+
+		assertEquals(Integer.valueOf(1), tracker.getListenerCounts().values().iterator().next());
+	}
+
+	@Test
+	public void testSetSampleInterval_KeepsSomeSites()
+	{
+		final ValueHolder valueHolder = new ValueHolder(factory, 0);
+		tracker.setSampleInterval(2);
+		valueHolder.addValueChangeListener(new NullListener());
+		tracker.takeSample();
+
+		for (int index = 0; index < 3; index++)
+		{
+			valueHolder.addValueChangeListener(new NullListener());
+		}
+
+		tracker.takeSample();
+
+		assertEquals(2, tracker.getSuspectedLeaks().get(0).getRegistrationSites().size());
+	}
+
+	@Test
+	public void testListenerAdded_DisabledTracksNothing()
+	{
+		tracker.setEnabled(false);
+
+		new ValueHolder(factory, 0).addValueChangeListener(new NullListener());
+
+		assertTrue(tracker.getListenerCounts().isEmpty());
+	}
+
+	@Test
+	public void testIndirectPropertyChangeSupport_ReportsToDefaultTracker()
+	{
+		final ListenerLeakTracker defaultTracker = ListenerLeakTracker.getDefault();
+		final ValueHolder beanChannel = new ValueHolder(new StandardChangeSupportFactory(), null, true);
+		final IndirectPropertyChangeSupport support = new IndirectPropertyChangeSupport(beanChannel);
+		final ValueHolder bean = new ValueHolder(new StandardChangeSupportFactory(), 0);
+
+		defaultTracker.reset();
+		defaultTracker.setEnabled(true);
+
+		try
+		{
+			support.addPropertyChangeListener(new NullListener());
+			beanChannel.setValue(bean);
+
+			assertEquals(1, defaultTracker.getListenerCounts().size());
+
+			support.removeAll();
+
+			assertEquals(Integer.valueOf(0), defaultTracker.getListenerCounts().values().iterator().next());
+		}
+		finally
+		{
+			defaultTracker.setEnabled(false);
+			defaultTracker.reset();
+		}
+	}
+
+	private static final class NullListener implements PropertyChangeListener
+	{
+		@Override
+		public void propertyChange(PropertyChangeEvent evt)
+		{
+			// Does nothing
+		}
+	}
+}
@@ -0,0 +1,165 @@
+package com.netappsid.binding.beans.support;
+
+import static org.junit.Assert.*;
+
+import java.beans.PropertyChangeEvent;
+import java.beans.PropertyChangeListener;
+import java.lang.ref.WeakReference;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Test;
+
+import com.netappsid.binding.value.ValueHolder;
+
+public class WatchdogChangeSupportFactoryTest
+{
+	private final WatchdogChangeSupportFactory factory = new WatchdogChangeSupportFactory(new StandardChangeSupportFactory(), 50, TimeUnit.MILLISECONDS, 3,
+			2);
+
+	@Test
+	public void testFire_SlowListenerIsReportedOnce() throws Exception
+	{
+		final ValueHolder source = new ValueHolder(factory, 0);
+		final ValueHolder target = new ValueHolder(factory, 0);
+		final SlowListener slowListener = new SlowListener();
+
+		source.addValueChangeListener(new Forwarder(target));
+		target.addValueChangeListener(slowListener);
+
+		source.setValue(1);
+
+		final List<WatchdogIncident> incidents = factory.getIncidents();
+
+		assertEquals(1, incidents.size());
+		assertEquals(WatchdogIncident.Kind.SLOW_LISTENER, incidents.get(0).getKind());
+		assertTrue(incidents.get(0).getDurationNanos() >= TimeUnit.MILLISECONDS.toNanos(50));
+		assertEquals(2, incidents.get(0).getChain().size());
+		assertTrue(incidents.get(0).getChain().get(0).startsWith(Forwarder.class.getName()));
+		assertTrue(incidents.get(0).getChain().get(1).startsWith(SlowListener.class.getName()));
+	}
+
+	@Test
+	public void testFire_FastListenersAreNotReported()
+	{
+		final ValueHolder valueHolder = new ValueHolder(factory, 0);
+		valueHolder.addValueChangeListener(new Forwarder(new ValueHolder(factory, 0)));
+		valueHolder.addValueChangeListener(new Forwarder(new ValueHolder(factory, 0)));
+
+		valueHolder.setValue(1);
+
+		assertTrue(factory.getIncidents().isEmpty());
+	}
+
+	@Test
+	public void testFire_EventStormIsReported()
+	{
+		final ValueHolder first = new ValueHolder(factory, 0);
+		final ValueHolder second = new ValueHolder(factory, 0);
+		final ValueHolder third = new ValueHolder(factory, 0);
+		final ValueHolder fourth = new ValueHolder(factory, 0);
+
+		first.addValueChangeListener(new Forwarder(second));
+		first.addValueChangeListener(new Forwarder(third));
+		third.addValueChangeListener(new Forwarder(fourth));
+		second.addValueChangeListener(new Forwarder(new ValueHolder(new StandardChangeSupportFactory())));
+		fourth.addValueChangeListener(new Forwarder(new ValueHolder(new StandardChangeSupportFactory())));
+
+		first.setValue(1);
+
+		final List<WatchdogIncident> incidents = factory.getIncidents();
+
+		assertEquals(1, incidents.size());
+		assertEquals(WatchdogIncident.Kind.EVENT_STORM, incidents.get(0).getKind());
+		assertEquals(4, incidents.get(0).getEventCount());
+		assertEquals(3, incidents.get(0).getChain().size());
+	}
+
+	@Test
+	public void testFire_DoesNotRetainDeliveredEvent() throws Exception
+	{
+		ValueHolder valueHolder = new ValueHolder(factory, null);
+		Object value = new Object();
+		final WeakReference<Object> reference = new WeakReference<Object>(value);
+
+		valueHolder.addValueChangeListener(new Forwarder(new ValueHolder(factory, null)));
+		valueHolder.setValue(value);
+		valueHolder = null;
+		value = null;
+
+		for (int attempt = 0; attempt < 20 && reference.get() != null; attempt++)
+		{
+			System.gc();
+			Thread.sleep(10);
+		}
+
+		assertNull(reference.get());
+	}
+
+	@Test
+	public void testFire_SeparateChangesAreSeparateCascades()
+	{
+		final ValueHolder valueHolder = new ValueHolder(factory, 0);
+		valueHolder.addValueChangeListener(new Forwarder(new ValueHolder(factory, 0)));
+
+		for (int index = 1; index <= 10; index++)
+		{
+			valueHolder.setValue(index);
+		}
+
+		assertTrue(factory.getIncidents().isEmpty());
+	}
+
+	@Test
+	public void testGetIncidents_KeepsMostRecent()
+	{
+		final ValueHolder valueHolder = new ValueHolder(factory, 0);
+		valueHolder.addValueChangeListener(new SlowListener());
+
+		for (int index = 1; index <= 3; index++)
+		{
+			valueHolder.setValue(index);
+		}
+
+		final List<WatchdogIncident> incidents = factory.getIncidents();
+
+		assertEquals(2, incidents.size());
+		assertTrue(incidents.get(0).getChain().get(0).endsWith(ValueHolder.class.getName() + "#value"));
+
+		factory.clearIncidents();
+
+		assertTrue(factory.getIncidents().isEmpty());
+	}
+
+	private static final class Forwarder implements PropertyChangeListener
+	{
+		private final ValueHolder target;
+
+		private Forwarder(ValueHolder target)
+		{
+			this.target = target;
+		}
+
+		@Override
+		public void propertyChange(PropertyChangeEvent evt)
+		{
+			target.setValue(evt.getNewValue());
+		}
+	}
+
+	private static final class SlowListener implements PropertyChangeListener
+	{
+		@Override
+		public void propertyChange(PropertyChangeEvent evt)
+		{
+			try
+			{
+				Thread.sleep(60);
+			}
+			catch (InterruptedException e)
+			{
+				Thread.currentThread().interrupt();
+			}
+		}
+	}
+}
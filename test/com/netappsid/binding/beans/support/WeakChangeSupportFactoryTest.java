@@ -0,0 +1,106 @@
+package com.netappsid.binding.beans.support;
+
+import static org.junit.Assert.*;
+
+import java.beans.PropertyChangeEvent;
+import java.beans.PropertyChangeListener;
+import java.lang.ref.WeakReference;
+
+import org.junit.Test;
+
+import com.netappsid.binding.value.ValueHolder;
+
+public class WeakChangeSupportFactoryTest
+{
+	private final WeakChangeSupportFactory factory = new WeakChangeSupportFactory(new KeyedChangeSupportFactory());
+
+	@Test
+	public void testFire_NotifiesReferencedListeners()
+	{
+		final ValueHolder valueHolder = new ValueHolder(factory, 0);
+		final CountingListener listener = new CountingListener();
+		valueHolder.addValueChangeListener(listener);
+
+		valueHolder.setValue(1);
+
+		assertEquals(1, listener.count);
+		assertSame(listener, valueHolder.getPropertyChangeListeners(ValueHolder.PROPERTYNAME_VALUE)[0]);
+	}
+
+	@Test
+	public void testRemovePropertyChangeListener_RemovesWeakListener()
+	{
+		final IdentityPropertyChangeSupport support = factory.createIdentityPropertyChangeSupport(this);
+		final CountingListener listener = new CountingListener();
+		support.addPropertyChangeListener("value", listener);
+		support.addPropertyChangeListener(listener);
+
+		support.removePropertyChangeListener("value", listener);
+		support.removePropertyChangeListener(listener);
+		support.firePropertyChange("value", 0, 1);
+
+		assertEquals(0, listener.count);
+		assertFalse(support.hasListeners("value"));
+	}
+
+	@Test
+	public void testFire_ClearedListenerIsPurged() throws Exception
+	{
+		final IdentityPropertyChangeSupport support = factory.createIdentityPropertyChangeSupport(this);
+		CountingListener listener = new CountingListener();
+		final WeakReference<CountingListener> reference = new WeakReference<CountingListener>(listener);
+		support.addPropertyChangeListener("value", listener);
+
+		listener = null;
+		collect(reference);
+
+		assertEquals(0, support.getPropertyChangeListeners("value").length);
+		assertTrue(support.hasListeners("value"));
+
+		support.firePropertyChange("value", 0, 1);
+
+		assertFalse(support.hasListeners("value"));
+	}
+
+	@Test
+	public void testAddPropertyChangeListener_SweepsClearedListeners() throws Exception
+	{
+		final IdentityPropertyChangeSupport support = factory.createIdentityPropertyChangeSupport(this);
+		final CountingListener kept = new CountingListener();
+		CountingListener listener = new CountingListener();
+		final WeakReference<CountingListener> reference = new WeakReference<CountingListener>(listener);
+
+		support.addPropertyChangeListener("other", listener);
+		listener = null;
+		collect(reference);
+
+		for (int index = 0; index < 8; index++)
+		{
+			support.addPropertyChangeListener("value", kept);
+		}
+
+		assertFalse(support.hasListeners("other"));
+	}
+
+	private static void collect(WeakReference<?> reference) throws InterruptedException
+	{
+		for (int attempt = 0; attempt < 50 && reference.get() != null; attempt++)
+		{
+			System.gc();
+			Thread.sleep(10);
+		}
+
+		assertNull(reference.get());
+	}
+
+	private static final class CountingListener implements PropertyChangeListener
+	{
+		private int count;
+
+		@Override
+		public void propertyChange(PropertyChangeEvent evt)
+		{
+			count++;
+		}
+	}
+}
@@ -0,0 +1,170 @@
+package com.netappsid.binding.utils;
+
+import static org.junit.Assert.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+public class ConcurrentModelCacheTest
+{
+	private ExecutorService executor;
+
+	@Before
+	public void setUp()
+	{
+		executor = Executors.newFixedThreadPool(8);
+	}
+
+	@After
+	public void tearDown()
+	{
+		executor.shutdownNow();
+	}
+
+	@Test
+	public void testGet_ConcurrentCallsCreateOneModelPerKey() throws Exception
+	{
+		final AtomicInteger creations = new AtomicInteger();
+		final ConcurrentModelCache<Integer, Object> cache = new ConcurrentModelCache<Integer, Object>()
+			{
+				@Override
+				protected Object create(Integer key)
+				{
+					creations.incrementAndGet();
+					Thread.yield();
+					return new Object();
+				}
+			};
+		final CountDownLatch start = new CountDownLatch(1);
+		final List<Future<List<Object>>> results = new ArrayList<Future<List<Object>>>();
+
+		for (int thread = 0; thread < 8; thread++)
+		{
+			results.add(executor.submit(new Callable<List<Object>>()
+				{
+					@Override
+					public List<Object> call() throws Exception
+					{
+						final List<Object> models = new ArrayList<Object>();
+
+						start.await();
+
+						for (int key = 0; key < 500; key++)
+						{
+							models.add(cache.get(key));
+						}
+
+						return models;
+					}
+				}));
+		}
+
+		start.countDown();
+
+		final List<Object> expected = results.get(0).get();
+
+		for (Future<List<Object>> result : results)
+		{
+			final List<Object> models = result.get();
+
+			for (int key = 0; key < 500; key++)
+			{
+				assertSame(expected.get(key), models.get(key));
+			}
+		}
+
+		assertEquals(500, creations.get());
+		assertEquals(500, cache.values().size());
+	}
+
+	@Test
+	public void testGet_FailedCreationIsRetried()
+	{
+		final AtomicInteger creations = new AtomicInteger();
+		final ConcurrentModelCache<String, Object> cache = new ConcurrentModelCache<String, Object>()
+			{
+				@Override
+				protected Object create(String key)
+				{
+					if (creations.incrementAndGet() == 1)
+					{
+						throw new IllegalArgumentException("Expected");
+					}
+
+					return key;
+				}
+			};
+
+		try
+		{
+			cache.get("A");
+			fail();
+		}
+		catch (IllegalArgumentException e)
+		{
+			// Expected
+		}
+
+		assertNull(cache.getIfPresent("A"));
+		assertTrue(cache.asMap().isEmpty());
+		assertEquals("A", cache.get("A"));
+		assertEquals(2, creations.get());
+	}
+
+	@Test(expected = IllegalStateException.class)
+	public void testGet_RecursiveCreationOfSameKey()
+	{
+		new ConcurrentModelCache<String, Object>()
+			{
+				@Override
+				protected Object create(String key)
+				{
+					return get(key);
+				}
+			}.get("A");
+	}
+
+	@Test
+	public void testGet_CreationMayRequestOtherKeys()
+	{
+		final ConcurrentModelCache<Integer, Integer> cache = new ConcurrentModelCache<Integer, Integer>()
+			{
+				@Override
+				protected Integer create(Integer key)
+				{
+					return key == 0 ? 0 : get(key - 1) + key;
+				}
+			};
+
+		assertEquals(Integer.valueOf(10), cache.get(4));
+		assertEquals(5, cache.asMap().size());
+	}
+
+	@Test
+	public void testGetIfPresent_DoesNotCreate()
+	{
+		final ConcurrentModelCache<String, Object> cache = new ConcurrentModelCache<String, Object>()
+			{
+				@Override
+				protected Object create(String key)
+				{
+					return key;
+				}
+			};
+
+		assertNull(cache.getIfPresent("A"));
+		assertEquals(0, cache.size());
+		assertEquals("A", cache.get("A"));
+		assertEquals("A", cache.getIfPresent("A"));
+	}
+}
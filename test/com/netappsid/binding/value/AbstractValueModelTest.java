@@ -0,0 +1,195 @@
+package com.netappsid.binding.value;
+
+import static org.junit.Assert.*;
+
+import java.beans.PropertyChangeEvent;
+import java.beans.PropertyChangeListener;
+import java.beans.PropertyChangeListenerProxy;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import com.netappsid.binding.beans.support.BatchingChangeSupportFactory;
+import com.netappsid.binding.beans.support.StandardChangeSupportFactory;
+
+public class AbstractValueModelTest
+{
+	private List<String> notifications;
+
+	@Before
+	public void setUp()
+	{
+		notifications = new ArrayList<String>();
+	}
+
+	@Test
+	public void testSetValue_InlineListenerNotified()
+	{
+		final ValueHolder valueHolder = new ValueHolder(new StandardChangeSupportFactory(), "A");
+		valueHolder.addValueChangeListener(new RecordingListener("first"));
+
+		valueHolder.setValue("B");
+		valueHolder.setValue("B");
+
+		assertEquals(1, notifications.size());
+		assertEquals(1, valueHolder.getPropertyChangeListeners(AbstractValueModel.PROPERTYNAME_VALUE).length);
+	}
+
+	@Test
+	public void testSetValue_UnnamedListenersNotifiedFirst()
+	{
+		final ValueHolder valueHolder = new ValueHolder(new StandardChangeSupportFactory(), "A");
+		valueHolder.addValueChangeListener(new RecordingListener("value"));
+		valueHolder.addPropertyChangeListener(new RecordingListener("all"));
+
+		valueHolder.setValue("B");
+
+		assertEquals(2, notifications.size());
+		assertEquals("all", notifications.get(0));
+		assertEquals("value", notifications.get(1));
+	}
+
+	@Test
+	public void testAddValueChangeListener_ExceedingInlineCountKeepsOrder()
+	{
+		final ValueHolder valueHolder = new ValueHolder(new StandardChangeSupportFactory(), "A");
+
+		for (int index = 0; index <= AbstractValueModel.INLINE_VALUE_LISTENER_COUNT; index++)
+		{
+			valueHolder.addValueChangeListener(new RecordingListener(String.valueOf(index)));
+		}
+
+		valueHolder.setValue("B");
+
+		assertEquals(AbstractValueModel.INLINE_VALUE_LISTENER_COUNT + 1, notifications.size());
+
+		for (int index = 0; index < notifications.size(); index++)
+		{
+			assertEquals(String.valueOf(index), notifications.get(index));
+		}
+
+		assertEquals(AbstractValueModel.INLINE_VALUE_LISTENER_COUNT + 1, valueHolder.getPropertyChangeListeners().length);
+	}
+
+	@Test
+	public void testRemoveValueChangeListener()
+	{
+		final ValueHolder valueHolder = new ValueHolder(new StandardChangeSupportFactory(), "A");
+		final RecordingListener first = new RecordingListener("first");
+		final RecordingListener second = new RecordingListener("second");
+		valueHolder.addValueChangeListener(first);
+		valueHolder.addValueChangeListener(second);
+
+		valueHolder.removeValueChangeListener(first);
+		valueHolder.setValue("B");
+
+		assertEquals(1, notifications.size());
+		assertEquals("second", notifications.get(0));
+
+		valueHolder.removeValueChangeListener(second);
+
+		assertEquals(0, valueHolder.getPropertyChangeListeners().length);
+	}
+
+	@Test
+	public void testGetPropertyChangeListeners_InlineListenersAreProxies()
+	{
+		final ValueHolder valueHolder = new ValueHolder(new StandardChangeSupportFactory(), "A");
+		valueHolder.addValueChangeListener(new RecordingListener("first"));
+
+		final PropertyChangeListener[] listeners = valueHolder.getPropertyChangeListeners();
+
+		assertEquals(1, listeners.length);
+		assertEquals(AbstractValueModel.PROPERTYNAME_VALUE, ((PropertyChangeListenerProxy) listeners[0]).getPropertyName());
+	}
+
+	@Test
+	public void testRemovePropertyChangeListener_InlineListenerProxies()
+	{
+		final ValueHolder valueHolder = new ValueHolder(new StandardChangeSupportFactory(), "A");
+		valueHolder.addValueChangeListener(new RecordingListener("first"));
+		valueHolder.addPropertyChangeListener(new RecordingListener("all"));
+
+		for (PropertyChangeListener listener : valueHolder.getPropertyChangeListeners())
+		{
+			valueHolder.removePropertyChangeListener(listener);
+		}
+
+		valueHolder.setValue("B");
+
+		assertEquals(0, valueHolder.getPropertyChangeListeners().length);
+		assertTrue(notifications.isEmpty());
+	}
+
+	@Test
+	public void testSerialization_KeepsInlineListeners() throws Exception
+	{
+		final ValueHolder valueHolder = new ValueHolder(new StandardChangeSupportFactory(), "A");
+		valueHolder.addValueChangeListener(new CountingListener());
+
+		final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		final ObjectOutputStream out = new ObjectOutputStream(bytes);
+		out.writeObject(valueHolder);
+		out.close();
+
+		final ValueHolder copy = (ValueHolder) new ObjectInputStream(new ByteArrayInputStream(bytes.toByteArray())).readObject();
+		final PropertyChangeListener[] listeners = copy.getPropertyChangeListeners(AbstractValueModel.PROPERTYNAME_VALUE);
+
+		assertEquals(1, listeners.length);
+
+		copy.setValue("B");
+
+		assertEquals(1, ((CountingListener) listeners[0]).count);
+	}
+
+	@Test
+	public void testSetValue_DeferringFactoryNotifiesThroughChangeSupport()
+	{
+		final BatchingChangeSupportFactory factory = new BatchingChangeSupportFactory();
+		final ValueHolder valueHolder = new ValueHolder(factory, "A");
+		valueHolder.addValueChangeListener(new RecordingListener("first"));
+
+		factory.beginBatch();
+		valueHolder.setValue("B");
+
+		assertTrue(notifications.isEmpty());
+
+		factory.endBatch();
+
+		assertEquals(1, notifications.size());
+	}
+
+	private static final class CountingListener implements PropertyChangeListener, Serializable
+	{
+		private int count;
+
+		@Override
+		public void propertyChange(PropertyChangeEvent evt)
+		{
+			count++;
+		}
+	}
+
+	private final class RecordingListener implements PropertyChangeListener
+	{
+		private final String name;
+
+		private RecordingListener(String name)
+		{
+			this.name = name;
+		}
+
+		@Override
+		public void propertyChange(PropertyChangeEvent evt)
+		{
+			notifications.add(name);
+		}
+	}
+}